@@ -7,7 +7,7 @@
 export SPRING_FLYWAY_ENABLED=false
 
 # Change port if needed (most common: 3306, sometimes: 3307)
-export DB_URL="jdbc:mysql://127.0.0.1:3307/db_taskmate?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC"
+export DB_URL="jdbc:mysql://127.0.0.1:3307/db_taskmate?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&useCursorFetch=true"
 export DB_USERNAME="root"
 # leave empty for default XAMPP root (no password)
 export DB_PASSWORD=
@@ -0,0 +1,30 @@
+package com.taskmate.api.controller;
+
+import com.taskmate.api.dto.analytics.FlowAnalyticsResponse;
+import com.taskmate.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+  private final AnalyticsService analyticsService;
+
+  @GetMapping("/api/projects/{projectId}/analytics")
+  public FlowAnalyticsResponse project(@PathVariable Long projectId,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return analyticsService.project(projectId, from, to);
+  }
+
+  @GetMapping("/api/teams/{teamId}/analytics")
+  public FlowAnalyticsResponse team(@PathVariable Long teamId,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return analyticsService.team(teamId, from, to);
+  }
+}
@@ -2,11 +2,19 @@ package com.taskmate.api.controller;
 
 import com.taskmate.api.dto.discussion.MessageCreateRequest;
 import com.taskmate.api.dto.discussion.MessageResponse;
+import com.taskmate.api.stream.JsonStreamWriter;
+import com.taskmate.service.ContentVersionService;
 import com.taskmate.service.DiscussionService;
+import com.taskmate.service.UnreadService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,30 +23,61 @@ import java.util.List;
 public class DiscussionController {
 
   private final DiscussionService discussionService;
+  private final ContentVersionService contentVersionService;
+  private final JsonStreamWriter jsonStreamWriter;
+  private final UnreadService unreadService;
 
   @GetMapping
-  public List<MessageResponse> list(@PathVariable Long teamId) {
-    return discussionService.listByTeam(teamId).stream().map(m -> MessageResponse.builder()
+  public List<MessageResponse> list(@PathVariable Long teamId,
+                                    @RequestParam(defaultValue = "false") boolean includeArchived,
+                                    WebRequest request) {
+    if (request.checkNotModified(contentVersionService.teamEtag(teamId))) {
+      return null;
+    }
+    return discussionService.listByTeam(teamId, includeArchived);
+  }
+
+  // the chat view: newest messages (up to taskmate.discussion.recent.size), usually from memory
+  @GetMapping(params = "recent")
+  public List<MessageResponse> recent(@PathVariable Long teamId, @RequestParam int recent, WebRequest request) {
+    if (request.checkNotModified(contentVersionService.teamEtag(teamId))) {
+      return null;
+    }
+    return discussionService.recent(teamId, recent);
+  }
+
+  @GetMapping(params = "stream=true")
+  public void listStream(@PathVariable Long teamId,
+                         @RequestParam(defaultValue = "false") boolean includeArchived,
+                         HttpServletResponse response) throws IOException {
+    jsonStreamWriter.<MessageResponse>writeArray(response, sink -> discussionService.streamByTeam(teamId, includeArchived, m -> sink.accept(MessageResponse.builder()
         .id(m.getId())
         .teamId(m.getTeam().getId())
         .authorUserId(m.getAuthor().getId())
         .authorName(m.getAuthor().getName())
         .content(m.getContent())
         .createdAt(m.getCreatedAt())
-        .build()).toList();
+        .build())));
   }
 
+  // 202 without an id when write-behind answers before the row is stored (ack: QUEUED, or DURABLE past ack-timeout)
   @PostMapping
-  public MessageResponse post(@PathVariable Long teamId, @Valid @RequestBody MessageCreateRequest req) {
+  public ResponseEntity<MessageResponse> post(@PathVariable Long teamId, @Valid @RequestBody MessageCreateRequest req) {
     req.setTeamId(teamId);
     var m = discussionService.post(req);
-    return MessageResponse.builder()
+    return ResponseEntity.status(m.getId() == null ? HttpStatus.ACCEPTED : HttpStatus.OK).body(MessageResponse.builder()
         .id(m.getId())
         .teamId(m.getTeam().getId())
         .authorUserId(m.getAuthor().getId())
         .authorName(m.getAuthor().getName())
         .content(m.getContent())
         .createdAt(m.getCreatedAt())
-        .build();
+        .build());
+  }
+
+  @PostMapping("/read")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void markRead(@PathVariable Long teamId) {
+    unreadService.markRead(teamId);
   }
 }
@@ -1,15 +1,20 @@
 package com.taskmate.api.controller;
 
 import com.taskmate.api.dto.file.FileResponse;
+import com.taskmate.api.stream.JsonStreamWriter;
+import com.taskmate.service.ContentVersionService;
 import com.taskmate.service.FileService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -18,10 +23,20 @@ import java.util.List;
 public class FileController {
 
   private final FileService fileService;
+  private final ContentVersionService contentVersionService;
+  private final JsonStreamWriter jsonStreamWriter;
 
   @GetMapping
-  public List<FileResponse> list(@PathVariable Long teamId) {
-    return fileService.list(teamId).stream().map(f -> FileResponse.builder()
+  public List<FileResponse> list(@PathVariable Long teamId, WebRequest request) {
+    if (request.checkNotModified(contentVersionService.teamEtag(teamId))) {
+      return null;
+    }
+    return fileService.list(teamId);
+  }
+
+  @GetMapping(params = "stream=true")
+  public void listStream(@PathVariable Long teamId, HttpServletResponse response) throws IOException {
+    jsonStreamWriter.<FileResponse>writeArray(response, sink -> fileService.stream(teamId, f -> sink.accept(FileResponse.builder()
         .id(f.getId())
         .teamId(f.getTeam().getId())
         .uploadedByUserId(f.getUploadedBy().getId())
@@ -29,7 +44,7 @@ public class FileController {
         .contentType(f.getContentType())
         .sizeBytes(f.getSizeBytes())
         .createdAt(f.getCreatedAt())
-        .build()).toList();
+        .build())));
   }
 
   @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
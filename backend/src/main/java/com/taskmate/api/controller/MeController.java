@@ -1,16 +1,21 @@
 package com.taskmate.api.controller;
 
 import com.taskmate.api.dto.UserResponse;
+import com.taskmate.api.dto.discussion.UnreadResponse;
 import com.taskmate.service.CurrentUserProvider;
+import com.taskmate.service.UnreadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/me")
 @RequiredArgsConstructor
 public class MeController {
 
   private final CurrentUserProvider currentUserProvider;
+  private final UnreadService unreadService;
 
   @GetMapping
   public UserResponse me() {
@@ -23,4 +28,14 @@ public class MeController {
         .initials(u.getInitials())
         .build();
   }
+
+  // unread discussion messages per team, answered from counters (no COUNT over messages)
+  @GetMapping("/unread")
+  public List<UnreadResponse> unread() {
+    return unreadService.myUnread().stream().map(r -> UnreadResponse.builder()
+        .teamId(r.getTeamId())
+        .teamName(r.getTeamName())
+        .unread(Math.max(0, r.getTotal() - r.getRead()))
+        .build()).toList();
+  }
 }
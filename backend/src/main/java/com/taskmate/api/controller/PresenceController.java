@@ -0,0 +1,48 @@
+package com.taskmate.api.controller;
+
+import com.taskmate.api.dto.team.PresenceResponse;
+import com.taskmate.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/teams/{teamId}/presence")
+@RequiredArgsConstructor
+public class PresenceController {
+
+  private final PresenceService presenceService;
+
+  // clients call this every ~15s while the team is open (well under taskmate.presence.ttl)
+  @PostMapping("/heartbeat")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void heartbeat(@PathVariable Long teamId) {
+    presenceService.heartbeat(teamId);
+  }
+
+  @DeleteMapping
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void leave(@PathVariable Long teamId) {
+    presenceService.leave(teamId);
+  }
+
+  @GetMapping
+  public List<PresenceResponse> online(@PathVariable Long teamId) {
+    return presenceService.online(teamId).stream().map(m -> PresenceResponse.builder()
+        .userId(m.userId())
+        .name(m.name())
+        .initials(m.initials())
+        .lastSeenAt(m.lastSeenAt())
+        .build()).toList();
+  }
+
+  // Server-Sent Events: "snapshot" (list) on connect, then "online" / "offline" per member
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(@PathVariable Long teamId) {
+    return presenceService.subscribe(teamId);
+  }
+}
@@ -1,12 +1,17 @@
 package com.taskmate.api.controller;
 
 import com.taskmate.api.dto.project.*;
+import com.taskmate.api.stream.JsonStreamWriter;
+import com.taskmate.service.ContentVersionService;
 import com.taskmate.service.ProjectService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,10 +20,20 @@ import java.util.List;
 public class ProjectController {
 
   private final ProjectService projectService;
+  private final ContentVersionService contentVersionService;
+  private final JsonStreamWriter jsonStreamWriter;
 
   @GetMapping
-  public List<ProjectResponse> list(@PathVariable Long teamId) {
-    return projectService.listByTeam(teamId).stream().map(p -> ProjectResponse.builder()
+  public List<ProjectResponse> list(@PathVariable Long teamId, WebRequest request) {
+    if (request.checkNotModified(contentVersionService.teamEtag(teamId))) {
+      return null;
+    }
+    return projectService.listByTeam(teamId);
+  }
+
+  @GetMapping(params = "stream=true")
+  public void listStream(@PathVariable Long teamId, HttpServletResponse response) throws IOException {
+    jsonStreamWriter.<ProjectResponse>writeArray(response, sink -> projectService.streamByTeam(teamId, p -> sink.accept(ProjectResponse.builder()
         .id(p.getId())
         .teamId(p.getTeam().getId())
         .name(p.getName())
@@ -26,7 +41,7 @@ public class ProjectController {
         .status(p.getStatus())
         .startDate(p.getStartDate())
         .dueDate(p.getDueDate())
-        .build()).toList();
+        .build())));
   }
 
   @GetMapping("/{projectId}")
@@ -0,0 +1,48 @@
+package com.taskmate.api.controller;
+
+import com.taskmate.api.dto.common.MessageResponse;
+import com.taskmate.api.dto.search.SearchHitResponse;
+import com.taskmate.api.error.BadRequestException;
+import com.taskmate.service.SearchService;
+import com.taskmate.service.search.SearchType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+  private final SearchService searchService;
+
+  @GetMapping
+  public List<SearchHitResponse> search(@RequestParam String q,
+                                        @RequestParam(required = false) Long teamId,
+                                        @RequestParam(required = false) SearchType type,
+                                        @RequestParam(defaultValue = "20") int limit) {
+    return searchService.search(q, teamId, type, limit).stream().map(h -> SearchHitResponse.builder()
+        .type(h.type())
+        .id(h.id())
+        .teamId(h.teamId())
+        .projectId(h.projectId())
+        .title(h.title())
+        .snippet(h.snippet())
+        .createdAt(h.createdAt())
+        .score(h.score())
+        .build()).toList();
+  }
+
+  @PostMapping("/rebuild")
+  @PreAuthorize("hasRole('ADMIN')")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public MessageResponse rebuild() {
+    if (!searchService.rebuildIndex()) {
+      throw new BadRequestException("Search index rebuild already running");
+    }
+    return new MessageResponse("Search index rebuild started");
+  }
+}
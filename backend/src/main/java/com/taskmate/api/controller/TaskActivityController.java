@@ -0,0 +1,44 @@
+package com.taskmate.api.controller;
+
+import com.taskmate.api.dto.task.TaskEventResponse;
+import com.taskmate.domain.TaskEvent;
+import com.taskmate.service.TaskActivityLog;
+import com.taskmate.service.TaskActivityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TaskActivityController {
+
+  private final TaskActivityService taskActivityService;
+
+  @GetMapping("/api/projects/{projectId}/tasks/{taskId}/activity")
+  public List<TaskEventResponse> taskActivity(@PathVariable Long projectId, @PathVariable Long taskId,
+                                              @RequestParam(required = false) Long before,
+                                              @RequestParam(defaultValue = "50") int limit) {
+    return taskActivityService.taskFeed(projectId, taskId, before, limit).stream().map(this::toResponse).toList();
+  }
+
+  @GetMapping("/api/teams/{teamId}/activity")
+  public List<TaskEventResponse> teamActivity(@PathVariable Long teamId,
+                                              @RequestParam(required = false) Long before,
+                                              @RequestParam(defaultValue = "50") int limit) {
+    return taskActivityService.teamFeed(teamId, before, limit).stream().map(this::toResponse).toList();
+  }
+
+  private TaskEventResponse toResponse(TaskEvent e) {
+    return TaskEventResponse.builder()
+        .id(e.getId())
+        .taskId(e.getTaskId())
+        .projectId(e.getProjectId())
+        .type(e.getType())
+        .actorUserId(e.getActorUserId())
+        .occurredAt(e.getOccurredAt())
+        .from(TaskActivityLog.describe(e.getType(), e.getOldValue()))
+        .to(TaskActivityLog.describe(e.getType(), e.getNewValue()))
+        .build();
+  }
+}
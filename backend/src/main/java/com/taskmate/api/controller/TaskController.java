@@ -1,11 +1,16 @@
 package com.taskmate.api.controller;
 
 import com.taskmate.api.dto.task.*;
+import com.taskmate.api.stream.JsonStreamWriter;
+import com.taskmate.service.ContentVersionService;
 import com.taskmate.service.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,10 +19,26 @@ import java.util.List;
 public class TaskController {
 
   private final TaskService taskService;
+  private final ContentVersionService contentVersionService;
+  private final JsonStreamWriter jsonStreamWriter;
 
   @GetMapping
-  public List<TaskResponse> list(@PathVariable Long projectId) {
-    return taskService.listByProject(projectId).stream().map(t -> TaskResponse.builder()
+  public List<TaskResponse> list(@PathVariable Long projectId,
+                                 @RequestParam(defaultValue = "false") boolean includeArchived,
+                                 WebRequest request) {
+    // answered from the version counter alone when the client's copy is current
+    if (request.checkNotModified(contentVersionService.projectEtag(projectId))) {
+      return null;
+    }
+    return taskService.listByProject(projectId, includeArchived);
+  }
+
+  // Same payload as list(), written row by row from a DB cursor (constant memory for large projects)
+  @GetMapping(params = "stream=true")
+  public void listStream(@PathVariable Long projectId,
+                         @RequestParam(defaultValue = "false") boolean includeArchived,
+                         HttpServletResponse response) throws IOException {
+    jsonStreamWriter.<TaskResponse>writeArray(response, sink -> taskService.streamByProject(projectId, includeArchived, t -> sink.accept(TaskResponse.builder()
         .id(t.getId())
         .projectId(t.getProject().getId())
         .title(t.getTitle())
@@ -27,7 +48,10 @@ public class TaskController {
         .createdByUserId(t.getCreatedBy().getId())
         .assignedToUserId(t.getAssignedTo() == null ? null : t.getAssignedTo().getId())
         .dueDate(t.getDueDate())
-        .build()).toList();
+        .parentTaskId(t.getParentTaskId())
+        .subtasksTotal(t.getSubtasksTotal())
+        .subtasksDone(t.getSubtasksDone())
+        .build())));
   }
 
   @PostMapping
@@ -44,6 +68,9 @@ public class TaskController {
         .createdByUserId(t.getCreatedBy().getId())
         .assignedToUserId(t.getAssignedTo() == null ? null : t.getAssignedTo().getId())
         .dueDate(t.getDueDate())
+        .parentTaskId(t.getParentTaskId())
+        .subtasksTotal(t.getSubtasksTotal())
+        .subtasksDone(t.getSubtasksDone())
         .build();
   }
 
@@ -60,6 +87,9 @@ public class TaskController {
         .createdByUserId(t.getCreatedBy().getId())
         .assignedToUserId(t.getAssignedTo() == null ? null : t.getAssignedTo().getId())
         .dueDate(t.getDueDate())
+        .parentTaskId(t.getParentTaskId())
+        .subtasksTotal(t.getSubtasksTotal())
+        .subtasksDone(t.getSubtasksDone())
         .build();
   }
 
@@ -67,4 +97,47 @@ public class TaskController {
   public void delete(@PathVariable Long projectId, @PathVariable Long taskId) {
     taskService.delete(taskId);
   }
+
+  @PutMapping("/{taskId}/parent")
+  public TaskResponse move(@PathVariable Long projectId, @PathVariable Long taskId, @RequestBody TaskMoveRequest req) {
+    var t = taskService.move(taskId, req.getParentTaskId());
+    return TaskResponse.builder()
+        .id(t.getId())
+        .projectId(t.getProject().getId())
+        .title(t.getTitle())
+        .description(t.getDescription())
+        .status(t.getStatus())
+        .priority(t.getPriority())
+        .createdByUserId(t.getCreatedBy().getId())
+        .assignedToUserId(t.getAssignedTo() == null ? null : t.getAssignedTo().getId())
+        .dueDate(t.getDueDate())
+        .parentTaskId(t.getParentTaskId())
+        .subtasksTotal(t.getSubtasksTotal())
+        .subtasksDone(t.getSubtasksDone())
+        .build();
+  }
+
+  // the whole subtree in one query, parents before their children
+  @GetMapping("/{taskId}/subtasks")
+  public List<TaskResponse> subtasks(@PathVariable Long projectId, @PathVariable Long taskId) {
+    return taskService.subtasks(taskId).stream().map(t -> TaskResponse.builder()
+        .id(t.getId())
+        .projectId(t.getProject().getId())
+        .title(t.getTitle())
+        .description(t.getDescription())
+        .status(t.getStatus())
+        .priority(t.getPriority())
+        .createdByUserId(t.getCreatedBy().getId())
+        .assignedToUserId(t.getAssignedTo() == null ? null : t.getAssignedTo().getId())
+        .dueDate(t.getDueDate())
+        .parentTaskId(t.getParentTaskId())
+        .subtasksTotal(t.getSubtasksTotal())
+        .subtasksDone(t.getSubtasksDone())
+        .build()).toList();
+  }
+
+  @GetMapping("/{taskId}/rollup")
+  public SubtaskRollupResponse rollup(@PathVariable Long projectId, @PathVariable Long taskId) {
+    return taskService.rollup(taskId);
+  }
 }
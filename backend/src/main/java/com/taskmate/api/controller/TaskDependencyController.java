@@ -0,0 +1,56 @@
+package com.taskmate.api.controller;
+
+import com.taskmate.api.dto.task.DependencyCreateRequest;
+import com.taskmate.api.dto.task.ProjectScheduleResponse;
+import com.taskmate.api.dto.task.ScheduledTaskResponse;
+import com.taskmate.service.ContentVersionService;
+import com.taskmate.service.TaskDependencyService;
+import com.taskmate.service.dependency.ProjectSchedule;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequiredArgsConstructor
+public class TaskDependencyController {
+
+  private final TaskDependencyService taskDependencyService;
+  private final ContentVersionService contentVersionService;
+
+  @PostMapping("/api/projects/{projectId}/tasks/{taskId}/dependencies")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void add(@PathVariable Long projectId, @PathVariable Long taskId,
+                  @Valid @RequestBody DependencyCreateRequest req) {
+    taskDependencyService.add(projectId, taskId, req.getDependsOnTaskId());
+  }
+
+  @DeleteMapping("/api/projects/{projectId}/tasks/{taskId}/dependencies/{dependsOnTaskId}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void remove(@PathVariable Long projectId, @PathVariable Long taskId, @PathVariable Long dependsOnTaskId) {
+    taskDependencyService.remove(projectId, taskId, dependsOnTaskId);
+  }
+
+  @GetMapping("/api/projects/{projectId}/schedule")
+  public ProjectScheduleResponse schedule(@PathVariable Long projectId, WebRequest request) {
+    // same version as the task list: any task or edge change moves it
+    if (request.checkNotModified(contentVersionService.projectEtag(projectId))) {
+      return null;
+    }
+    ProjectSchedule s = taskDependencyService.schedule(projectId);
+    return ProjectScheduleResponse.builder()
+        .projectId(projectId)
+        .tasks(s.items().stream().map(i -> ScheduledTaskResponse.builder()
+            .taskId(i.taskId())
+            .dependsOn(i.dependsOn())
+            .dueDate(i.dueDate())
+            .earliestStart(i.earliestStart())
+            .finish(i.finish())
+            .late(i.late())
+            .build()).toList())
+        .criticalPath(s.criticalPath())
+        .finish(s.finish())
+        .build();
+  }
+}
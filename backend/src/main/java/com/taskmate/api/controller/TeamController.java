@@ -1,12 +1,19 @@
 package com.taskmate.api.controller;
 
 import com.taskmate.api.dto.team.*;
+import com.taskmate.api.stream.JsonStreamWriter;
+import com.taskmate.domain.TeamDeletionJob;
+import com.taskmate.service.ContentVersionService;
 import com.taskmate.service.TeamService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,6 +22,8 @@ import java.util.List;
 public class TeamController {
 
   private final TeamService teamService;
+  private final ContentVersionService contentVersionService;
+  private final JsonStreamWriter jsonStreamWriter;
 
   @GetMapping
   public List<TeamResponse> myTeams() {
@@ -64,20 +73,35 @@ public class TeamController {
 
   @DeleteMapping("/{teamId}")
   @PreAuthorize("hasRole('ADMIN')")
-  public void delete(@PathVariable Long teamId) {
-    teamService.deleteTeam(teamId);
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public TeamDeletionResponse delete(@PathVariable Long teamId) {
+    return toDeletionResponse(teamService.deleteTeam(teamId));
+  }
+
+  @GetMapping("/{teamId}/deletion")
+  @PreAuthorize("hasRole('ADMIN')")
+  public TeamDeletionResponse deletion(@PathVariable Long teamId) {
+    return toDeletionResponse(teamService.getDeletion(teamId));
   }
 
   @GetMapping("/{teamId}/members")
-  public List<TeamMemberResponse> members(@PathVariable Long teamId) {
-    return teamService.listMembers(teamId).stream().map(tm -> TeamMemberResponse.builder()
+  public List<TeamMemberResponse> members(@PathVariable Long teamId, WebRequest request) {
+    if (request.checkNotModified(contentVersionService.teamEtag(teamId))) {
+      return null;
+    }
+    return teamService.listMembers(teamId);
+  }
+
+  @GetMapping(value = "/{teamId}/members", params = "stream=true")
+  public void membersStream(@PathVariable Long teamId, HttpServletResponse response) throws IOException {
+    jsonStreamWriter.<TeamMemberResponse>writeArray(response, sink -> teamService.streamMembers(teamId, tm -> sink.accept(TeamMemberResponse.builder()
         .id(tm.getId())
         .teamId(tm.getTeam().getId())
         .userId(tm.getUser().getId())
         .userName(tm.getUser().getName())
         .userEmail(tm.getUser().getEmail())
         .teamRole(tm.getTeamRole())
-        .build()).toList();
+        .build())));
   }
 
   @PostMapping("/{teamId}/members")
@@ -99,4 +123,33 @@ public class TeamController {
   public void removeMember(@PathVariable Long teamId, @PathVariable Long memberId) {
     teamService.removeMember(teamId, memberId);
   }
+
+  private static TeamDeletionResponse toDeletionResponse(TeamDeletionJob job) {
+    long total = job.totalRows();
+    int percent = switch (job.getStatus()) {
+      case PENDING -> 0;
+      case DONE -> 100;
+      // the team row itself is the last step, so never report 100 before it is gone
+      case RUNNING -> total == 0 ? 99 : (int) Math.min(99, job.deletedRows() * 100 / total);
+    };
+    return TeamDeletionResponse.builder()
+        .jobId(job.getId())
+        .teamId(job.getTeamId())
+        .teamName(job.getTeamName())
+        .status(job.getStatus())
+        .phase(job.getPhase())
+        .filesDeleted(job.getFilesDeleted())
+        .filesTotal(job.getFilesTotal())
+        .messagesDeleted(job.getMessagesDeleted())
+        .messagesTotal(job.getMessagesTotal())
+        .tasksDeleted(job.getTasksDeleted())
+        .tasksTotal(job.getTasksTotal())
+        .projectsDeleted(job.getProjectsDeleted())
+        .projectsTotal(job.getProjectsTotal())
+        .percent(percent)
+        .lastError(job.getLastError())
+        .requestedAt(job.getCreatedAt())
+        .finishedAt(job.getFinishedAt())
+        .build();
+  }
 }
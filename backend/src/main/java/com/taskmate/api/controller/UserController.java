@@ -0,0 +1,31 @@
+package com.taskmate.api.controller;
+
+import com.taskmate.api.dto.UserSummaryResponse;
+import com.taskmate.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+  private final UserService userService;
+
+  // autocomplete for "add team member"; teamId leaves out users already in that team
+  @GetMapping("/search")
+  @PreAuthorize("hasRole('ADMIN')")
+  public List<UserSummaryResponse> search(@RequestParam String q,
+                                          @RequestParam(required = false) Long teamId,
+                                          @RequestParam(defaultValue = "10") int limit) {
+    return userService.search(q, teamId, limit).stream().map(u -> UserSummaryResponse.builder()
+        .id(u.id())
+        .name(u.name())
+        .email(u.email())
+        .initials(u.initials())
+        .build()).toList();
+  }
+}
@@ -0,0 +1,13 @@
+package com.taskmate.api.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserSummaryResponse {
+  private Long id;
+  private String name;
+  private String email;
+  private String initials;
+}
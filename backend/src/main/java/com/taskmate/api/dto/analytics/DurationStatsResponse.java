@@ -0,0 +1,26 @@
+package com.taskmate.api.dto.analytics;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DurationStatsResponse {
+  private long count;
+  private Double averageDays;
+  /** Upper bound (exclusive, in days) of the histogram bucket holding the percentile; null if open-ended or no data. */
+  private Integer p50Days;
+  private Integer p85Days;
+  private List<Bucket> histogram;
+
+  @Data
+  @Builder
+  public static class Bucket {
+    private int minDays;
+    /** Exclusive; null for the last bucket. */
+    private Integer maxDays;
+    private long count;
+  }
+}
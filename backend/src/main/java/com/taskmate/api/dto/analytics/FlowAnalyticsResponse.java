@@ -0,0 +1,21 @@
+package com.taskmate.api.dto.analytics;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class FlowAnalyticsResponse {
+  private LocalDate from;
+  private LocalDate to;
+  private List<FlowDayResponse> days;
+  /** Tasks completed within the range. */
+  private long throughput;
+  /** Creation to DONE. */
+  private DurationStatsResponse leadTime;
+  /** First move out of TODO to DONE. */
+  private DurationStatsResponse cycleTime;
+}
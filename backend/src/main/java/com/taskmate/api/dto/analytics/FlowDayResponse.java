@@ -0,0 +1,19 @@
+package com.taskmate.api.dto.analytics;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/** One day of the cumulative flow: tasks per status at the end of the day, arrivals and completions. */
+@Data
+@Builder
+public class FlowDayResponse {
+  private LocalDate date;
+  private long todo;
+  private long inProgress;
+  private long review;
+  private long done;
+  private long created;
+  private long completed;
+}
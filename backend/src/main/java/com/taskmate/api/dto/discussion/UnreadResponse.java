@@ -0,0 +1,12 @@
+package com.taskmate.api.dto.discussion;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UnreadResponse {
+  private Long teamId;
+  private String teamName;
+  private long unread;
+}
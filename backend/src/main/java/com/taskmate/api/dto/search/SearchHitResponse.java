@@ -0,0 +1,20 @@
+package com.taskmate.api.dto.search;
+
+import com.taskmate.service.search.SearchType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class SearchHitResponse {
+  private SearchType type;
+  private Long id;
+  private Long teamId;
+  private Long projectId;
+  private String title;
+  private String snippet;
+  private Instant createdAt;
+  private float score;
+}
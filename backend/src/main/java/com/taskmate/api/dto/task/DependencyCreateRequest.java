@@ -0,0 +1,10 @@
+package com.taskmate.api.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class DependencyCreateRequest {
+  @NotNull
+  private Long dependsOnTaskId;
+}
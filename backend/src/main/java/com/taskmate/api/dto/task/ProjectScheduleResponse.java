@@ -0,0 +1,18 @@
+package com.taskmate.api.dto.task;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class ProjectScheduleResponse {
+  private Long projectId;
+  /** Topological order: every task after all of its prerequisites. */
+  private List<ScheduledTaskResponse> tasks;
+  /** Task ids driving the latest finish, first to last. */
+  private List<Long> criticalPath;
+  private LocalDate finish;
+}
@@ -0,0 +1,21 @@
+package com.taskmate.api.dto.task;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class ScheduledTaskResponse {
+  private Long taskId;
+  private List<Long> dependsOn;
+  private LocalDate dueDate;
+  /** Day after the latest-finishing prerequisite; null without dated prerequisites. */
+  private LocalDate earliestStart;
+  /** Due date, or earliest start when that is later or there is no due date. */
+  private LocalDate finish;
+  /** Earliest start falls after the due date. */
+  private boolean late;
+}
@@ -0,0 +1,18 @@
+package com.taskmate.api.dto.task;
+
+import com.taskmate.domain.enums.TaskStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class SubtaskRollupResponse {
+  private Long taskId;
+  /** All descendants, archived ones included. */
+  private int total;
+  private int done;
+  private int percentDone;
+  private Map<TaskStatus, Long> byStatus;
+}
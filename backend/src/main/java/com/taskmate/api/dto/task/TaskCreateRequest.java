@@ -25,4 +25,7 @@ public class TaskCreateRequest {
 
   private Long assignedToUserId;
   private LocalDate dueDate;
+
+  /** Makes the new task a subtask; must be in the same project. */
+  private Long parentTaskId;
 }
@@ -0,0 +1,21 @@
+package com.taskmate.api.dto.task;
+
+import com.taskmate.domain.enums.TaskEventType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class TaskEventResponse {
+  private Long id;
+  private Long taskId;
+  private Long projectId;
+  private TaskEventType type;
+  private Long actorUserId;
+  private Instant occurredAt;
+  /** Status/priority name, assignee user id or ISO due date; null when unset. */
+  private String from;
+  private String to;
+}
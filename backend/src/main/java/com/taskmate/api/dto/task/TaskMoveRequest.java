@@ -0,0 +1,9 @@
+package com.taskmate.api.dto.task;
+
+import lombok.Data;
+
+@Data
+public class TaskMoveRequest {
+  /** New parent in the same project; null moves the task to the top level. */
+  private Long parentTaskId;
+}
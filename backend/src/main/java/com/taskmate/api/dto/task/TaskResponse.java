@@ -19,4 +19,8 @@ public class TaskResponse {
   private Long createdByUserId;
   private Long assignedToUserId;
   private LocalDate dueDate;
+  private Long parentTaskId;
+  /** All descendants, archived ones included. */
+  private int subtasksTotal;
+  private int subtasksDone;
 }
@@ -0,0 +1,15 @@
+package com.taskmate.api.dto.team;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class PresenceResponse {
+  private Long userId;
+  private String name;
+  private String initials;
+  private Instant lastSeenAt;
+}
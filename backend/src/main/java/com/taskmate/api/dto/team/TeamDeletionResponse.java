@@ -0,0 +1,31 @@
+package com.taskmate.api.dto.team;
+
+import com.taskmate.domain.enums.TeamDeletionPhase;
+import com.taskmate.domain.enums.TeamDeletionStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class TeamDeletionResponse {
+  private Long jobId;
+  private Long teamId;
+  private String teamName;
+  private TeamDeletionStatus status;
+  private TeamDeletionPhase phase;
+  private long filesDeleted;
+  private long filesTotal;
+  private long messagesDeleted;
+  private long messagesTotal;
+  private long tasksDeleted;
+  private long tasksTotal;
+  private long projectsDeleted;
+  private long projectsTotal;
+  /** 0-100, based on the row counts taken when the job started. */
+  private int percent;
+  private String lastError;
+  private Instant requestedAt;
+  private Instant finishedAt;
+}
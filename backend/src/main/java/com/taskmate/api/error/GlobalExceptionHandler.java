@@ -1,9 +1,11 @@
 package com.taskmate.api.error;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -36,6 +38,27 @@ public class GlobalExceptionHandler {
     return build(HttpStatus.FORBIDDEN, "Forbidden", req.getRequestURI(), null);
   }
 
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ApiErrorResponse> handleUnavailable(ServiceUnavailableException ex, HttpServletRequest req) {
+    ResponseEntity<ApiErrorResponse> res = build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req.getRequestURI(), null);
+    return ResponseEntity.status(res.getStatusCode())
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfterSeconds())))
+        .body(res.getBody());
+  }
+
+  // DaoAuthenticationProvider wraps failures of its user lookup / timing-protection path, including a
+  // full password-hash pool; that one is still a 503 for the login caller
+  @ExceptionHandler(InternalAuthenticationServiceException.class)
+  public ResponseEntity<ApiErrorResponse> handleInternalAuthentication(InternalAuthenticationServiceException ex,
+                                                                       HttpServletRequest req) {
+    for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ServiceUnavailableException unavailable) {
+        return handleUnavailable(unavailable, req);
+      }
+    }
+    return handleGeneric(ex, req);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ApiErrorResponse> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest req) {
     Map<String, String> errors = new LinkedHashMap<>();
@@ -0,0 +1,15 @@
+package com.taskmate.api.error;
+
+/** Server is temporarily saturated; answered with 503 and a {@code Retry-After} header. */
+public class ServiceUnavailableException extends RuntimeException {
+  private final long retryAfterSeconds;
+
+  public ServiceUnavailableException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -0,0 +1,67 @@
+package com.taskmate.api.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit. A request that finishes within the target latency while the limit is
+ * actually in use grows the limit by about one per round trip ({@code +1/limit} per request);
+ * a slow or failed (5xx) request shrinks it multiplicatively. Lock-free: the limit lives in an
+ * {@link AtomicLong} holding the double's bits.
+ */
+public class AdaptiveConcurrencyLimit {
+
+  private static final double BACKOFF = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long targetLatencyNanos;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong limitBits;
+
+  public AdaptiveConcurrencyLimit(int minLimit, int maxLimit, int initialLimit, long targetLatencyNanos) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.targetLatencyNanos = targetLatencyNanos;
+    this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+  }
+
+  /** @return true if the caller may proceed; it must then call {@link #release} exactly once. */
+  public boolean tryAcquire() {
+    int current = inFlight.incrementAndGet();
+    if (current > getLimit()) {
+      inFlight.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  public void release(long latencyNanos, boolean failed) {
+    int wasInFlight = inFlight.getAndDecrement();
+    if (failed || latencyNanos > targetLatencyNanos) {
+      update(limit -> Math.max(minLimit, limit * BACKOFF));
+    } else if (wasInFlight * 2 >= getLimit()) {
+      // only probe upwards when the limit is what constrains us
+      update(limit -> Math.min(maxLimit, limit + 1.0 / limit));
+    }
+  }
+
+  public int getLimit() {
+    return (int) Double.longBitsToDouble(limitBits.get());
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private void update(DoubleUnaryOperator fn) {
+    long prev;
+    long next;
+    do {
+      prev = limitBits.get();
+      next = Double.doubleToLongBits(fn.applyAsDouble(Double.longBitsToDouble(prev)));
+    } while (prev != next && !limitBits.compareAndSet(prev, next));
+  }
+}
@@ -0,0 +1,156 @@
+package com.taskmate.api.limit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the public auth endpoints with token buckets per client IP and per target email,
+ * each with its own policy per route ({@code taskmate.ratelimit.routes.<route>.ip|email}).
+ * Runs first, before the concurrency limiter and security, so abusive clients cost almost nothing.
+ * Over the limit: 429 + Retry-After; bodies over 16 KB on routes limited per email: 413.
+ * Metrics: {@code taskmate.ratelimit.requests} (tags route, outcome, key) and
+ * {@code taskmate.ratelimit.buckets}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 20)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+  private static final String[] ROUTES = {"login", "register", "forgot-password", "reset-password"};
+  private static final int MAX_BODY = 16 * 1024;
+
+  private final boolean enabled;
+  private final TokenBucketRateLimiter limiter;
+  private final ObjectMapper objectMapper;
+  private final RejectionWriter rejectionWriter;
+  private final Map<String, Route> routes = new HashMap<>();
+
+  public AuthRateLimitFilter(Environment env, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                             RejectionWriter rejectionWriter) {
+    this.enabled = env.getProperty("taskmate.ratelimit.enabled", Boolean.class, true);
+    this.limiter = new TokenBucketRateLimiter(env.getProperty("taskmate.ratelimit.max-keys", Integer.class, 100_000));
+    this.objectMapper = objectMapper;
+    this.rejectionWriter = rejectionWriter;
+    for (String name : ROUTES) {
+      String prefix = "taskmate.ratelimit.routes." + name;
+      String ip = env.getProperty(prefix + ".ip");
+      String email = env.getProperty(prefix + ".email");
+      routes.put("/api/auth/" + name, new Route(name,
+          ip == null ? null : RateLimitPolicy.parse(ip),
+          email == null ? null : RateLimitPolicy.parse(email),
+          counter(meterRegistry, name, "allowed", "none"),
+          counter(meterRegistry, name, "rejected", "ip"),
+          counter(meterRegistry, name, "rejected", "email"),
+          counter(meterRegistry, name, "rejected", "size")));
+    }
+    Gauge.builder("taskmate.ratelimit.buckets", limiter, TokenBucketRateLimiter::size)
+        .description("Token buckets currently held in memory")
+        .register(meterRegistry);
+  }
+
+  private static Counter counter(MeterRegistry registry, String route, String outcome, String key) {
+    return Counter.builder("taskmate.ratelimit.requests")
+        .description("Rate limit decisions on auth routes")
+        .tag("route", route)
+        .tag("outcome", outcome)
+        .tag("key", key)
+        .register(registry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled || !"POST".equals(request.getMethod()) || route(request) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Route route = route(request);
+    long now = System.nanoTime();
+
+    if (route.ip() != null) {
+      long wait = limiter.tryAcquire(route.name() + "|ip|" + request.getRemoteAddr(), route.ip(), now);
+      if (wait > 0) {
+        route.rejectedByIp().increment();
+        reject(request, response, wait);
+        return;
+      }
+    }
+
+    HttpServletRequest forward = request;
+    if (route.email() != null) {
+      // read whatever the framing (declared length, chunked, none) with a hard cap: a body the filter
+      // cannot inspect must never get past the per-email bucket
+      byte[] body = request.getContentLength() > MAX_BODY
+          ? null
+          : request.getInputStream().readNBytes(MAX_BODY + 1);
+      if (body == null || body.length > MAX_BODY) {
+        route.rejectedBySize().increment();
+        rejectionWriter.reject(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+            "Request body exceeds " + MAX_BODY + " bytes");
+        return;
+      }
+      forward = new CachedBodyRequest(request, body);
+      String email = email(body);
+      if (email != null) {
+        long wait = limiter.tryAcquire(route.name() + "|email|" + email, route.email(), now);
+        if (wait > 0) {
+          route.rejectedByEmail().increment();
+          reject(request, response, wait);
+          return;
+        }
+      }
+    }
+
+    route.allowed().increment();
+    filterChain.doFilter(forward, response);
+  }
+
+  @Scheduled(fixedDelay = 60_000)
+  public void evictIdleBuckets() {
+    limiter.evictIdle(System.nanoTime());
+  }
+
+  private Route route(HttpServletRequest request) {
+    return routes.get(request.getRequestURI().substring(request.getContextPath().length()));
+  }
+
+  private String email(byte[] body) {
+    try {
+      JsonNode email = objectMapper.readTree(body).get("email");
+      return email == null || !email.isTextual() ? null : email.asText().trim().toLowerCase(Locale.ROOT);
+    } catch (IOException e) {
+      // malformed body: validation will reject it, the IP bucket already counted it
+      return null;
+    }
+  }
+
+  private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+    long seconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1;
+    rejectionWriter.reject(request, response, HttpStatus.TOO_MANY_REQUESTS, seconds,
+        "Too many requests, please retry later");
+  }
+
+  private record Route(String name, RateLimitPolicy ip, RateLimitPolicy email,
+                       Counter allowed, Counter rejectedByIp, Counter rejectedByEmail, Counter rejectedBySize) {
+  }
+}
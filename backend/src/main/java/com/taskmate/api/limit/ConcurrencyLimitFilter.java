@@ -0,0 +1,91 @@
+package com.taskmate.api.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-{@link EndpointGroup} adaptive concurrency limit, in front of Spring Security so even
+ * authentication work (JWT user lookup, BCrypt) is bounded. Requests over the limit are answered
+ * at once with 503 + Retry-After instead of queuing for a database connection.
+ * Metrics: {@code taskmate.limiter.limit}, {@code taskmate.limiter.inflight},
+ * {@code taskmate.limiter.rejected}, all tagged by {@code group}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private final boolean enabled;
+  private final RejectionWriter rejectionWriter;
+  private final Map<EndpointGroup, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointGroup.class);
+  private final Map<EndpointGroup, Counter> rejected = new EnumMap<>(EndpointGroup.class);
+
+  public ConcurrencyLimitFilter(Environment env, MeterRegistry meterRegistry, RejectionWriter rejectionWriter) {
+    this.enabled = env.getProperty("taskmate.limiter.enabled", Boolean.class, true);
+    this.rejectionWriter = rejectionWriter;
+    int minLimit = env.getProperty("taskmate.limiter.min", Integer.class, 2);
+    for (EndpointGroup group : EndpointGroup.values()) {
+      String prefix = "taskmate.limiter." + group.key();
+      int max = env.getRequiredProperty(prefix + ".max", Integer.class);
+      Duration target = env.getRequiredProperty(prefix + ".target-latency", Duration.class);
+      int min = Math.min(minLimit, max);
+      AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(min, max, Math.max(min, max / 2), target.toNanos());
+      limits.put(group, limit);
+
+      Gauge.builder("taskmate.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+          .description("Current adaptive concurrency limit")
+          .tag("group", group.key())
+          .register(meterRegistry);
+      Gauge.builder("taskmate.limiter.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+          .description("Requests currently admitted")
+          .tag("group", group.key())
+          .register(meterRegistry);
+      rejected.put(group, Counter.builder("taskmate.limiter.rejected")
+          .description("Requests rejected because the group was at its limit")
+          .tag("group", group.key())
+          .register(meterRegistry));
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled || EndpointGroup.of(request) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    EndpointGroup group = EndpointGroup.of(request);
+    AdaptiveConcurrencyLimit limit = limits.get(group);
+    if (!limit.tryAcquire()) {
+      rejected.get(group).increment();
+      rejectionWriter.reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+          "Server is busy, please retry shortly");
+      return;
+    }
+
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      filterChain.doFilter(request, response);
+      failed = response.getStatus() >= 500;
+    } finally {
+      limit.release(System.nanoTime() - start, failed);
+    }
+  }
+}
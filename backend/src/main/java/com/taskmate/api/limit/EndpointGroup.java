@@ -0,0 +1,41 @@
+package com.taskmate.api.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/** Endpoint groups that get their own concurrency limit, so a spike in one cannot starve the others. */
+public enum EndpointGroup {
+  AUTH("auth"),
+  READ("read"),
+  WRITE("write"),
+  FILE_TRANSFER("file-transfer");
+
+  private final String key;
+
+  EndpointGroup(String key) {
+    this.key = key;
+  }
+
+  /** Config / metric tag name, e.g. {@code taskmate.limiter.file-transfer.max}. */
+  public String key() {
+    return key;
+  }
+
+  /** @return the group of an API request, or {@code null} for anything outside {@code /api}. */
+  public static EndpointGroup of(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    if (!path.startsWith("/api/")) {
+      return null;
+    }
+    if (path.startsWith("/api/auth/")) {
+      return AUTH;
+    }
+    String method = request.getMethod();
+    if (path.contains("/files") && (path.endsWith("/download") || "POST".equals(method))) {
+      return FILE_TRANSFER;
+    }
+    if ("GET".equals(method) || "HEAD".equals(method)) {
+      return READ;
+    }
+    return WRITE;
+  }
+}
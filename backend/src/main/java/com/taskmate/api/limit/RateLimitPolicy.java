@@ -0,0 +1,40 @@
+package com.taskmate.api.limit;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * "capacity / period", e.g. {@code 10/1m}: up to {@code capacity} requests at once, refilled evenly
+ * over {@code period} (one token every period / capacity).
+ */
+public record RateLimitPolicy(int capacity, Duration period) {
+
+  public static RateLimitPolicy parse(String spec) {
+    String[] parts = spec.trim().split("/");
+    if (parts.length != 2) {
+      throw new IllegalArgumentException("Rate limit must look like '10/1m': " + spec);
+    }
+    int capacity = Integer.parseInt(parts[0].trim());
+    Duration period = DurationStyle.detectAndParse(parts[1].trim());
+    if (capacity <= 0 || period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("Rate limit must be positive: " + spec);
+    }
+    return new RateLimitPolicy(capacity, period);
+  }
+
+  /** Time to earn one token. */
+  long intervalNanos() {
+    return period.toNanos() / capacity;
+  }
+
+  /** How far ahead of "now" a bucket may be booked before it is empty. */
+  long toleranceNanos() {
+    return intervalNanos() * (capacity - 1);
+  }
+
+  @Override
+  public String toString() {
+    return capacity + "/" + period;
+  }
+}
@@ -0,0 +1,42 @@
+package com.taskmate.api.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.api.error.ApiErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/** Writes the usual {@link ApiErrorResponse} body for requests turned away before reaching MVC. */
+@Component
+@RequiredArgsConstructor
+public class RejectionWriter {
+
+  private final ObjectMapper objectMapper;
+
+  public void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                     long retryAfterSeconds, String message) throws IOException {
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+    reject(request, response, status, message);
+  }
+
+  /** Same body, without Retry-After: for requests that will fail again as sent. */
+  public void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                     String message) throws IOException {
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), ApiErrorResponse.builder()
+        .timestamp(Instant.now())
+        .status(status.value())
+        .error(status.getReasonPhrase())
+        .message(message)
+        .path(request.getRequestURI())
+        .build());
+  }
+}
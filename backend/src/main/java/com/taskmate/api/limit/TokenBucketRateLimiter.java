@@ -0,0 +1,102 @@
+package com.taskmate.api.limit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets as GCRA: each key is a single {@link AtomicLong} holding the bucket's "theoretical
+ * arrival time", so a decision is one map lookup plus one CAS, with no locks.
+ *
+ * <p>A bucket whose arrival time is in the past is full, i.e. indistinguishable from a missing key,
+ * so such idle buckets can be dropped at any time. Keys are spread over stripes with their own
+ * capacity; a stripe that outgrows it drops its idle buckets, and if that is not enough (a flood
+ * of distinct keys) arbitrary ones, keeping memory bounded.
+ */
+public class TokenBucketRateLimiter {
+
+  private static final int STRIPES = 16;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  private final int maxKeysPerStripe;
+
+  public TokenBucketRateLimiter(int maxKeys) {
+    this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * Takes one token for {@code key}.
+   *
+   * @return 0 if allowed, otherwise nanoseconds until a token becomes available
+   */
+  public long tryAcquire(String key, RateLimitPolicy policy, long nowNanos) {
+    Stripe stripe = stripes[(key.hashCode() ^ (key.hashCode() >>> 16)) & (STRIPES - 1)];
+    AtomicLong tat = stripe.buckets.get(key);
+    if (tat == null) {
+      tat = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+      if (stripe.buckets.size() > maxKeysPerStripe) {
+        // sweep down to a low-water mark so the cost is amortized over many inserts
+        stripe.evict(nowNanos, maxKeysPerStripe - maxKeysPerStripe / 4);
+      }
+    }
+
+    long interval = policy.intervalNanos();
+    long tolerance = policy.toleranceNanos();
+    while (true) {
+      long prev = tat.get();
+      long base = prev - nowNanos > 0 ? prev : nowNanos;
+      long booked = base - nowNanos;
+      if (booked > tolerance) {
+        return booked - tolerance;
+      }
+      if (tat.compareAndSet(prev, base + interval)) {
+        return 0;
+      }
+    }
+  }
+
+  /** Drops every full (idle) bucket. */
+  public void evictIdle(long nowNanos) {
+    for (Stripe stripe : stripes) {
+      stripe.evict(nowNanos, 0);
+    }
+  }
+
+  public int size() {
+    int n = 0;
+    for (Stripe stripe : stripes) {
+      n += stripe.buckets.size();
+    }
+    return n;
+  }
+
+  private static final class Stripe {
+    final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    final ReentrantLock sweeping = new ReentrantLock();
+
+    void evict(long nowNanos, int target) {
+      // one sweeper per stripe; everyone else carries on
+      if (!sweeping.tryLock()) {
+        return;
+      }
+      try {
+        buckets.values().removeIf(tat -> tat.get() - nowNanos <= 0);
+        if (target == 0 || buckets.size() <= target) {
+          return;
+        }
+        // still over (a flood of distinct keys): drop arbitrary buckets, which forgives those keys
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (it.hasNext() && buckets.size() > target) {
+          it.next();
+          it.remove();
+        }
+      } finally {
+        sweeping.unlock();
+      }
+    }
+  }
+}
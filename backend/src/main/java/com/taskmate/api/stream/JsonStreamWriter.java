@@ -0,0 +1,71 @@
+package com.taskmate.api.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array straight to the response output stream, one element at a time,
+ * instead of building the whole list (and its serialized form) in memory first.
+ *
+ * The response is only touched once the first element arrives (or the producer returns),
+ * so permission / not-found errors thrown up front still go through GlobalExceptionHandler.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamWriter {
+
+  private final ObjectMapper objectMapper;
+
+  public <T> void writeArray(HttpServletResponse response, Consumer<Consumer<T>> producer) throws IOException {
+    ArrayWriter<T> writer = new ArrayWriter<>(response);
+    try {
+      producer.accept(writer);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.finish();
+  }
+
+  private class ArrayWriter<T> implements Consumer<T> {
+
+    private final HttpServletResponse response;
+    private JsonGenerator gen;
+
+    ArrayWriter(HttpServletResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public void accept(T item) {
+      try {
+        start();
+        gen.writeObject(item);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    void finish() throws IOException {
+      start();
+      gen.writeEndArray();
+      gen.close();
+    }
+
+    private void start() throws IOException {
+      if (gen != null) return;
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      gen = objectMapper.createGenerator(response.getOutputStream());
+      gen.writeStartArray();
+    }
+  }
+}
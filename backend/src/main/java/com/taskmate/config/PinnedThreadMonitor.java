@@ -0,0 +1,105 @@
+package com.taskmate.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * With virtual threads on, watches JFR for virtual threads that block while pinned to their carrier
+ * (inside a {@code synchronized} block or a native frame), in our code or in a library.
+ * Each pinning site is logged once with its stack; all events are counted in
+ * {@code taskmate.virtual.pinned} tagged {@code origin=app|library}.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+  private static final String EVENT = "jdk.VirtualThreadPinned";
+  private static final int MAX_REPORTED_SITES = 200;
+
+  private final Counter appPinned;
+  private final Counter libraryPinned;
+  private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+  @Value("${taskmate.virtual-threads.pinned-threshold:20ms}")
+  private Duration threshold;
+
+  private volatile RecordingStream stream;
+
+  public PinnedThreadMonitor(MeterRegistry meterRegistry) {
+    this.appPinned = pinnedCounter(meterRegistry, "app");
+    this.libraryPinned = pinnedCounter(meterRegistry, "library");
+  }
+
+  private static Counter pinnedCounter(MeterRegistry registry, String origin) {
+    return Counter.builder("taskmate.virtual.pinned")
+        .description("Virtual threads that blocked while pinned to their carrier thread")
+        .tag("origin", origin)
+        .register(registry);
+  }
+
+  @Override
+  public void start() {
+    RecordingStream rs = new RecordingStream();
+    rs.enable(EVENT).withStackTrace().withThreshold(threshold);
+    rs.onEvent(EVENT, this::onPinned);
+    rs.startAsync();
+    stream = rs;
+  }
+
+  @Override
+  public void stop() {
+    RecordingStream rs = stream;
+    stream = null;
+    if (rs != null) {
+      rs.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  private void onPinned(RecordedEvent event) {
+    RecordedFrame site = pinningSite(event);
+    String where = site == null ? "unknown"
+        : site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    boolean ours = site != null && site.getMethod().getType().getName().startsWith("com.taskmate.");
+    (ours ? appPinned : libraryPinned).increment();
+
+    if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(where)) {
+      log.warn("Virtual thread pinned for {} ms at {}\n{}", event.getDuration().toMillis(), where,
+          event.getStackTrace() == null ? "" : event.getStackTrace().toString());
+    }
+  }
+
+  /** Innermost frame outside the JDK: the code that blocked while holding the monitor. */
+  private static RecordedFrame pinningSite(RecordedEvent event) {
+    if (event.getStackTrace() == null) {
+      return null;
+    }
+    for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+      if (!frame.isJavaFrame() || frame.getMethod() == null) {
+        continue;
+      }
+      String type = frame.getMethod().getType().getName();
+      if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+        return frame;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,104 @@
+package com.taskmate.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read/write splitting. {@code @Transactional(readOnly = true)} marks the JDBC connection read-only
+ * before the first statement runs; the lazy proxy only then picks the physical connection, so
+ * read-only transactions go to a replica and everything else to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmate.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Value("${taskmate.datasource.replicas.urls}")
+  private String replicaUrls;
+
+  @Value("${taskmate.datasource.replicas.username}")
+  private String replicaUsername;
+
+  @Value("${taskmate.datasource.replicas.password}")
+  private String replicaPassword;
+
+  @Value("${taskmate.datasource.replicas.read-your-writes-window:5s}")
+  private Duration readYourWritesWindow;
+
+  @Value("${taskmate.datasource.replicas.failover-cooldown:30s}")
+  private Duration failoverCooldown;
+
+  @Value("${taskmate.datasource.replicas.connection-timeout:2s}")
+  private Duration connectionTimeout;
+
+  @Value("${taskmate.datasource.replicas.pool-size:10}")
+  private int poolSize;
+
+  @Bean
+  ReadYourWritesTracker readYourWritesTracker() {
+    return new ReadYourWritesTracker(readYourWritesWindow);
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    ds.setPoolName("primary");
+    return ds;
+  }
+
+  @Bean
+  ReplicaPools replicaPools(DataSourceProperties properties) {
+    List<HikariDataSource> pools = new ArrayList<>();
+    List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(u -> !u.isEmpty()).toList();
+    for (int i = 0; i < urls.size(); i++) {
+      HikariDataSource ds = new HikariDataSource();
+      ds.setPoolName("replica-" + i);
+      ds.setJdbcUrl(urls.get(i));
+      ds.setDriverClassName(properties.determineDriverClassName());
+      ds.setUsername(replicaUsername);
+      ds.setPassword(replicaPassword);
+      ds.setReadOnly(true);
+      ds.setMaximumPoolSize(poolSize);
+      // fail fast so a dead replica falls back instead of stalling the request
+      ds.setConnectionTimeout(connectionTimeout.toMillis());
+      // don't refuse to start because a replica is down; it is probed on first use
+      ds.setInitializationFailTimeout(-1);
+      pools.add(ds);
+    }
+    return new ReplicaPools(pools);
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPools replicaPools,
+                        ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+    LazyConnectionDataSourceProxy proxy =
+        new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker));
+    if (!replicaPools.pools().isEmpty()) {
+      proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource,
+          new ArrayList<>(replicaPools.pools()), readYourWritesTracker, failoverCooldown, meterRegistry));
+    }
+    return proxy;
+  }
+
+  /** Holder so the replica pools are closed with the context without becoming DataSource beans. */
+  record ReplicaPools(List<HikariDataSource> pools) implements AutoCloseable {
+    @Override
+    public void close() {
+      pools.forEach(HikariDataSource::close);
+    }
+  }
+}
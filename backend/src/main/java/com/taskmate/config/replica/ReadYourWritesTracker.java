@@ -0,0 +1,69 @@
+package com.taskmate.config.replica;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers which users committed a write recently, so their reads stay on the primary
+ * until the replicas had time to catch up (the window should cover the expected replication lag).
+ */
+public class ReadYourWritesTracker {
+
+  private static final int PURGE_THRESHOLD = 10_000;
+
+  private final long windowNanos;
+  private final ConcurrentMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+  public ReadYourWritesTracker(Duration window) {
+    this.windowNanos = window.toNanos();
+  }
+
+  /** Called when a read-write transaction takes a primary connection; the window starts at commit. */
+  public void onWriteConnection() {
+    String user = currentUser();
+    if (user == null || windowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        recordWrite(user);
+      }
+    });
+  }
+
+  public void recordWrite(String user) {
+    if (pinnedUntil.size() > PURGE_THRESHOLD) {
+      long now = System.nanoTime();
+      pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+    pinnedUntil.put(user, System.nanoTime() + windowNanos);
+  }
+
+  /** True if the current user wrote within the window and must read from the primary. */
+  public boolean currentUserPinned() {
+    String user = currentUser();
+    if (user == null) {
+      return false;
+    }
+    Long until = pinnedUntil.get(user);
+    if (until == null) {
+      return false;
+    }
+    if (until - System.nanoTime() > 0) {
+      return true;
+    }
+    pinnedUntil.remove(user, until);
+    return false;
+  }
+
+  private static String currentUser() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    return auth == null || !auth.isAuthenticated() ? null : auth.getName();
+  }
+}
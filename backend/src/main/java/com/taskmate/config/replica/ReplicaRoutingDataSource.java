@@ -0,0 +1,99 @@
+package com.taskmate.config.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Read-only side of the read/write split: hands out replica connections round-robin.
+ * Falls back to the primary when the current user is inside its read-your-writes window,
+ * or when every replica is marked down (a replica that fails to give a connection is
+ * skipped for the failover cooldown).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  private final DataSource primary;
+  private final List<DataSource> replicas;
+  private final ReadYourWritesTracker readYourWrites;
+  private final long cooldownNanos;
+
+  private final AtomicInteger next = new AtomicInteger();
+  private final AtomicLongArray downUntil;
+
+  private final Counter replicaReads;
+  private final Counter pinnedReads;
+  private final Counter failoverReads;
+
+  public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                  ReadYourWritesTracker readYourWrites, Duration failoverCooldown,
+                                  MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.readYourWrites = readYourWrites;
+    this.cooldownNanos = failoverCooldown.toNanos();
+    this.downUntil = new AtomicLongArray(this.replicas.size());
+    this.replicaReads = readCounter(meterRegistry, "replica");
+    this.pinnedReads = readCounter(meterRegistry, "primary-read-your-writes");
+    this.failoverReads = readCounter(meterRegistry, "primary-failover");
+  }
+
+  private static Counter readCounter(MeterRegistry registry, String target) {
+    return Counter.builder("taskmate.datasource.reads")
+        .description("Read-only connections handed out, by target")
+        .tag("target", target)
+        .register(registry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (readYourWrites.currentUserPinned()) {
+      pinnedReads.increment();
+      return primary.getConnection();
+    }
+    int n = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), n);
+    for (int i = 0; i < n; i++) {
+      int idx = (start + i) % n;
+      long until = downUntil.get(idx);
+      if (until != 0 && until - System.nanoTime() > 0) {
+        continue;
+      }
+      try {
+        Connection con = replicas.get(idx).getConnection();
+        if (until != 0) {
+          downUntil.compareAndSet(idx, until, 0);
+          log.info("Read replica #{} is back", idx);
+        }
+        replicaReads.increment();
+        return con;
+      } catch (SQLException ex) {
+        markDown(idx, ex);
+      }
+    }
+    failoverReads.increment();
+    return primary.getConnection();
+  }
+
+  // replica pools carry their own credentials; explicit ones can only mean the primary
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  private void markDown(int idx, SQLException ex) {
+    // never store 0: it means "up"
+    long until = (System.nanoTime() + cooldownNanos) | 1L;
+    downUntil.set(idx, until);
+    log.warn("Read replica #{} unavailable, using other replicas / primary for {} ms: {}",
+        idx, cooldownNanos / 1_000_000, ex.getMessage());
+  }
+}
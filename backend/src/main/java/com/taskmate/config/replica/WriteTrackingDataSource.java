@@ -0,0 +1,27 @@
+package com.taskmate.config.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Primary side of the read/write split: notes read-write transactions for read-your-writes. */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+  private final ReadYourWritesTracker readYourWrites;
+
+  public WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker readYourWrites) {
+    super(primary);
+    this.readYourWrites = readYourWrites;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      readYourWrites.onWriteConnection();
+    }
+    return super.getConnection();
+  }
+}
@@ -0,0 +1,52 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/** Cold copy of an old discussion message moved out by {@code ArchivalJob}; keeps the original id. */
+@Getter
+@Setter
+@Entity
+@Table(name = "discussion_messages_archive", indexes = {
+    @Index(name = "idx_discussion_archive_team", columnList = "team_id, created_at")
+})
+public class ArchivedDiscussionMessage {
+
+  @Id
+  private Long id;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Column(name = "archived_at", nullable = false)
+  private Instant archivedAt;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "team_id", nullable = false)
+  private Team team;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "author_user_id", nullable = false)
+  private User author;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String content;
+
+  /** Detached, never-persisted {@link DiscussionMessage} view of this row. */
+  public DiscussionMessage toMessage() {
+    DiscussionMessage m = new DiscussionMessage();
+    m.setId(id);
+    m.setCreatedAt(createdAt);
+    m.setUpdatedAt(updatedAt);
+    m.setTeam(team);
+    m.setAuthor(author);
+    m.setContent(content);
+    return m;
+  }
+}
@@ -0,0 +1,84 @@
+package com.taskmate.domain;
+
+import com.taskmate.domain.enums.TaskPriority;
+import com.taskmate.domain.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Cold copy of a DONE task moved out of {@code tasks} by {@code ArchivalJob}; keeps the original id.
+ * Read-only as far as the API is concerned.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tasks_archive", indexes = {
+    @Index(name = "idx_tasks_archive_project", columnList = "project_id")
+})
+public class ArchivedTask {
+
+  @Id
+  private Long id;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Column(name = "archived_at", nullable = false)
+  private Instant archivedAt;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "project_id", nullable = false)
+  private Project project;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "created_by_user_id", nullable = false)
+  private User createdBy;
+
+  @ManyToOne
+  @JoinColumn(name = "assigned_to_user_id")
+  private User assignedTo;
+
+  @Column(nullable = false, length = 200)
+  private String title;
+
+  @Column(columnDefinition = "TEXT")
+  private String description;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private TaskStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private TaskPriority priority;
+
+  private LocalDate dueDate;
+
+  @Column(name = "parent_task_id")
+  private Long parentTaskId;
+
+  /** Detached, never-persisted {@link Task} view so callers can treat hot and cold rows alike. */
+  public Task toTask() {
+    Task t = new Task();
+    t.setId(id);
+    t.setCreatedAt(createdAt);
+    t.setUpdatedAt(updatedAt);
+    t.setProject(project);
+    t.setCreatedBy(createdBy);
+    t.setAssignedTo(assignedTo);
+    t.setTitle(title);
+    t.setDescription(description);
+    t.setStatus(status);
+    t.setPriority(priority);
+    t.setDueDate(dueDate);
+    t.setParentTaskId(parentTaskId);
+    return t;
+  }
+}
@@ -0,0 +1,27 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Monotonic change counter for a scope such as "team:12" or "project:5".
+ * Bumped in the same transaction as every write in that scope; list endpoints use it as ETag.
+ */
+@Entity
+@Table(name = "content_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentVersion {
+
+  @Id
+  @Column(name = "scope_key", length = 64)
+  private String scopeKey;
+
+  @Column(nullable = false)
+  private long version;
+}
@@ -0,0 +1,44 @@
+package com.taskmate.domain;
+
+import com.taskmate.domain.enums.DigestRunStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Checkpoint of the daily digest for one day. Recipients are sent in user id order and
+ * {@code lastUserId} moves in the same transaction as each batch of emails, so a rerun after a
+ * crash rebuilds the digests and continues after the last committed recipient.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "digest_runs",
+    uniqueConstraints = @UniqueConstraint(name = "uk_digest_runs_day", columnNames = "digest_day"))
+public class DigestRun extends BaseEntity {
+
+  @Column(name = "digest_day", nullable = false)
+  private LocalDate day;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private DigestRunStatus status;
+
+  @Column(name = "last_user_id", nullable = false)
+  private long lastUserId;
+
+  @Column(name = "changes_total", nullable = false)
+  private long changesTotal;
+
+  @Column(name = "recipients_total", nullable = false)
+  private long recipientsTotal;
+
+  @Column(name = "emails_sent", nullable = false)
+  private long emailsSent;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+}
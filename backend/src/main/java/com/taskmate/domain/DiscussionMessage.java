@@ -8,7 +8,8 @@ import lombok.Setter;
 @Setter
 @Entity
 @Table(name = "discussion_messages", indexes = {
-    @Index(name = "idx_discussion_team", columnList = "team_id")
+    @Index(name = "idx_discussion_team", columnList = "team_id"),
+    @Index(name = "idx_discussion_created", columnList = "created_at")
 })
 public class DiscussionMessage extends BaseEntity {
 
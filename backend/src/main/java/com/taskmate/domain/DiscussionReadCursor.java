@@ -0,0 +1,27 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * How far a member has read a team's discussion, as a position in the team's message counter
+ * ({@code content_versions} row {@code messages:<teamId>}). Unread = counter - readCount, so a post
+ * writes one counter row no matter how many members the team has.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "discussion_read_cursors",
+    uniqueConstraints = @UniqueConstraint(name = "uk_read_cursor_team_user", columnNames = {"team_id", "user_id"}))
+public class DiscussionReadCursor extends BaseEntity {
+
+  @Column(name = "team_id", nullable = false)
+  private Long teamId;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "read_count", nullable = false)
+  private long readCount;
+}
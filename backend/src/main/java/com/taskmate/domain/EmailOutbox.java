@@ -0,0 +1,67 @@
+package com.taskmate.domain;
+
+import com.taskmate.domain.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** Email queued in the sender's transaction; delivered later by {@code EmailOutboxDispatcher}. */
+@Entity
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbox_dedup", columnList = "dedup_key"),
+    @Index(name = "idx_outbox_claim", columnList = "claim_token"),
+    @Index(name = "idx_outbox_finished", columnList = "status, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "dedup_key", nullable = false, length = 128)
+  private String dedupKey;
+
+  @Column(nullable = false, length = 190)
+  private String recipient;
+
+  @Column(nullable = false, length = 255)
+  private String subject;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String body;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private EmailOutboxStatus status;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "claim_token", length = 36)
+  private String claimToken;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "sent_at")
+  private Instant sentAt;
+
+  @PrePersist
+  void prePersist() {
+    if (createdAt == null) createdAt = Instant.now();
+    if (nextAttemptAt == null) nextAttemptAt = createdAt;
+  }
+}
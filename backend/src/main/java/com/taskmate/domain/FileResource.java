@@ -8,7 +8,8 @@ import lombok.Setter;
 @Setter
 @Entity
 @Table(name = "files", indexes = {
-    @Index(name = "idx_files_team", columnList = "team_id")
+    @Index(name = "idx_files_team", columnList = "team_id"),
+    @Index(name = "idx_files_created", columnList = "created_at")
 })
 public class FileResource extends BaseEntity {
 
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "password_reset_otps")
+@Table(name = "password_reset_otps", indexes = {
+    @Index(name = "idx_reset_user_active", columnList = "user_id, used, created_at"),
+    @Index(name = "idx_reset_expires", columnList = "expires_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +34,10 @@ public class PasswordResetOtp {
   @Column(name = "used", nullable = false)
   private boolean used;
 
+  /** Wrong guesses so far; the OTP is burnt (marked used) at the configured maximum. */
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
   @Column(name = "created_at", nullable = false)
   private Instant createdAt;
 
@@ -4,12 +4,16 @@ import com.taskmate.domain.enums.ProjectStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 @Table(name = "projects", uniqueConstraints = @UniqueConstraint(name = "uk_team_project_name", columnNames = {"team_id", "name"}))
 public class Project extends BaseEntity {
 
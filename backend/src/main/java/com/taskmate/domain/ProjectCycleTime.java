@@ -0,0 +1,39 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Lead/cycle time histogram of the tasks a project completed on one day: one row per non-empty
+ * bucket (see {@code CycleTimeBuckets}), so a day costs at most a handful of rows.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "project_cycle_times",
+    uniqueConstraints = @UniqueConstraint(name = "uk_cycle_times_project_day_bucket",
+        columnNames = {"project_id", "stat_day", "bucket"}))
+public class ProjectCycleTime {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  @Column(name = "stat_day", nullable = false)
+  private LocalDate day;
+
+  @Column(nullable = false, columnDefinition = "TINYINT")
+  private int bucket;
+
+  @Column(name = "lead_count", nullable = false)
+  private int leadCount;
+
+  @Column(name = "cycle_count", nullable = false)
+  private int cycleCount;
+}
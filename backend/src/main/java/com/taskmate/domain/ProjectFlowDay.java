@@ -0,0 +1,71 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * One day of a project's task flow. Task writes only add to the {@code *_delta} columns (net change
+ * of tasks per status that day) plus arrivals, completions and summed lead/cycle hours. The nightly
+ * compaction folds the deltas into absolute end-of-day {@code *_count} columns, which stay null for
+ * days not yet compacted (today).
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "project_flow_days",
+    uniqueConstraints = @UniqueConstraint(name = "uk_flow_days_project_day", columnNames = {"project_id", "stat_day"}))
+public class ProjectFlowDay {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  @Column(name = "stat_day", nullable = false)
+  private LocalDate day;
+
+  @Column(name = "todo_delta", nullable = false)
+  private int todoDelta;
+
+  @Column(name = "in_progress_delta", nullable = false)
+  private int inProgressDelta;
+
+  @Column(name = "review_delta", nullable = false)
+  private int reviewDelta;
+
+  @Column(name = "done_delta", nullable = false)
+  private int doneDelta;
+
+  @Column(name = "todo_count")
+  private Integer todoCount;
+
+  @Column(name = "in_progress_count")
+  private Integer inProgressCount;
+
+  @Column(name = "review_count")
+  private Integer reviewCount;
+
+  @Column(name = "done_count")
+  private Integer doneCount;
+
+  @Column(nullable = false)
+  private int created;
+
+  @Column(nullable = false)
+  private int completed;
+
+  @Column(name = "lead_hours", nullable = false)
+  private long leadHours;
+
+  @Column(name = "cycle_hours", nullable = false)
+  private long cycleHours;
+
+  public boolean isCompacted() {
+    return todoCount != null;
+  }
+}
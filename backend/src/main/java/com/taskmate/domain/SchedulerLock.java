@@ -0,0 +1,32 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A named lease for background work that must run on one node only (e.g. "due-reminders").
+ * The owner renews it on every run; another node takes over once {@code leaseUntil} has passed.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  @Column(nullable = false, length = 100)
+  private String owner;
+
+  @Column(name = "lease_until", nullable = false)
+  private Instant leaseUntil;
+}
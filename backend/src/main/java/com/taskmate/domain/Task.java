@@ -5,6 +5,7 @@ import com.taskmate.domain.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -13,7 +14,9 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "tasks", indexes = {
     @Index(name = "idx_tasks_project", columnList = "project_id"),
-    @Index(name = "idx_tasks_assignee", columnList = "assigned_to_user_id")
+    @Index(name = "idx_tasks_assignee", columnList = "assigned_to_user_id"),
+    @Index(name = "idx_tasks_status_updated", columnList = "status, updated_at"),
+    @Index(name = "idx_tasks_due_status", columnList = "due_date, status")
 })
 public class Task extends BaseEntity {
 
@@ -44,4 +47,18 @@ public class Task extends BaseEntity {
   private TaskPriority priority = TaskPriority.MEDIUM;
 
   private LocalDate dueDate;
+
+  /** Direct parent; the whole ancestry is in {@code task_closure}. */
+  @Column(name = "parent_task_id")
+  private Long parentTaskId;
+
+  // rollup over all descendants, archived ones included; only ever changed by relative updates
+  // (TaskHierarchy), so the entity never writes it back
+  @ColumnDefault("0")
+  @Column(name = "subtasks_total", nullable = false, insertable = false, updatable = false)
+  private int subtasksTotal;
+
+  @ColumnDefault("0")
+  @Column(name = "subtasks_done", nullable = false, insertable = false, updatable = false)
+  private int subtasksDone;
 }
@@ -0,0 +1,46 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Closure table of the subtask hierarchy: one row per (ancestor, descendant) pair at any distance,
+ * including each task with itself at depth 0. A subtree, the ancestors of a task and a move are then
+ * single range queries on the unique key or on {@code (descendant_id, depth)}, never a walk.
+ * Rows go with either task.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "task_closure",
+    uniqueConstraints = @UniqueConstraint(name = "uk_task_closure_pair", columnNames = {"ancestor_id", "descendant_id"}),
+    indexes = @Index(name = "idx_task_closure_descendant", columnList = "descendant_id, depth"))
+public class TaskClosure {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "ancestor_id", nullable = false)
+  private Long ancestorId;
+
+  @Column(name = "descendant_id", nullable = false)
+  private Long descendantId;
+
+  @Column(nullable = false)
+  private int depth;
+
+  // mapped only for the foreign keys (ON DELETE CASCADE); queries use the id columns
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "ancestor_id", insertable = false, updatable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Task ancestor;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "descendant_id", insertable = false, updatable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Task descendant;
+}
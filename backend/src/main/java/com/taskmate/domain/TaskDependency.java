@@ -0,0 +1,41 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Edge of a project's dependency graph: {@code task} cannot start before {@code dependsOn} is
+ * finished. Both tasks belong to {@code projectId}; the rows go away with either task, whether it
+ * is deleted, archived or purged with its team.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "task_dependencies",
+    uniqueConstraints = @UniqueConstraint(name = "uk_task_dependencies_edge", columnNames = {"task_id", "depends_on_task_id"}),
+    indexes = {
+        @Index(name = "idx_task_dependencies_project", columnList = "project_id"),
+        @Index(name = "idx_task_dependencies_depends_on", columnList = "depends_on_task_id")
+    })
+public class TaskDependency {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "task_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Task task;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "depends_on_task_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Task dependsOn;
+}
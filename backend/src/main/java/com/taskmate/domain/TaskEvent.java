@@ -0,0 +1,66 @@
+package com.taskmate.domain;
+
+import com.taskmate.domain.enums.TaskEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One entry of the append-only task activity log, kept narrow: the change kind is a small code and
+ * old/new values are numbers (enum code, user id or epoch day, see {@code TaskActivityLog}).
+ * No FK to {@code tasks}: history outlives archived and deleted tasks.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "task_events", indexes = {
+    @Index(name = "idx_task_events_task", columnList = "task_id, id"),
+    @Index(name = "idx_task_events_team", columnList = "team_id, id"),
+    @Index(name = "idx_task_events_time", columnList = "occurred_at")
+})
+public class TaskEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "task_id", nullable = false)
+  private Long taskId;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  @Column(name = "team_id", nullable = false)
+  private Long teamId;
+
+  @Column(name = "actor_user_id", nullable = false)
+  private Long actorUserId;
+
+  @Column(name = "occurred_at", nullable = false)
+  private Instant occurredAt;
+
+  @Convert(converter = TypeConverter.class)
+  @Column(nullable = false, columnDefinition = "TINYINT")
+  private TaskEventType type;
+
+  @Column(name = "old_value")
+  private Long oldValue;
+
+  @Column(name = "new_value")
+  private Long newValue;
+
+  @Converter
+  public static class TypeConverter implements AttributeConverter<TaskEventType, Integer> {
+    @Override
+    public Integer convertToDatabaseColumn(TaskEventType type) {
+      return type == null ? null : type.code();
+    }
+
+    @Override
+    public TaskEventType convertToEntityAttribute(Integer code) {
+      return code == null ? null : TaskEventType.of(code);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.taskmate.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Marks that the due-date reminder of a task was sent for one due date, written in the same
+ * transaction as the digest email, so a reload or a node taking over never reminds twice.
+ * A changed due date is a new reminder.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "task_reminders",
+    uniqueConstraints = @UniqueConstraint(name = "uk_task_reminders_task_due", columnNames = {"task_id", "due_date"}),
+    indexes = @Index(name = "idx_task_reminders_due", columnList = "due_date"))
+public class TaskReminder {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "task_id", nullable = false)
+  private Long taskId;
+
+  @Column(name = "due_date", nullable = false)
+  private LocalDate dueDate;
+
+  @Column(name = "sent_at", nullable = false)
+  private Instant sentAt;
+}
@@ -3,10 +3,14 @@ package com.taskmate.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teams")
 @Table(name = "teams")
 public class Team extends BaseEntity {
 
@@ -19,4 +23,8 @@ public class Team extends BaseEntity {
   @ManyToOne(optional = false)
   @JoinColumn(name = "created_by_user_id", nullable = false)
   private User createdBy;
+
+  /** Set when deletion was requested; content is then purged in the background by {@code TeamDeletionWorker}. */
+  @Column(nullable = false)
+  private boolean deleting;
 }
@@ -0,0 +1,83 @@
+package com.taskmate.domain;
+
+import com.taskmate.domain.enums.TeamDeletionPhase;
+import com.taskmate.domain.enums.TeamDeletionStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Checkpoint of a background team deletion. Counters are updated in the same transaction as the
+ * batch they describe, so a restarted worker resumes exactly where the last committed batch ended.
+ * No FK to {@code teams}: the job outlives the team row.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "team_deletion_jobs", indexes = {
+    @Index(name = "idx_tdj_team", columnList = "team_id"),
+    @Index(name = "idx_tdj_status", columnList = "status, lease_until")
+})
+public class TeamDeletionJob extends BaseEntity {
+
+  @Column(name = "team_id", nullable = false)
+  private Long teamId;
+
+  @Column(name = "team_name", nullable = false, length = 120)
+  private String teamName;
+
+  @Column(name = "requested_by_user_id", nullable = false)
+  private Long requestedByUserId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private TeamDeletionStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private TeamDeletionPhase phase;
+
+  @Column(name = "files_total", nullable = false)
+  private long filesTotal;
+
+  @Column(name = "files_deleted", nullable = false)
+  private long filesDeleted;
+
+  @Column(name = "messages_total", nullable = false)
+  private long messagesTotal;
+
+  @Column(name = "messages_deleted", nullable = false)
+  private long messagesDeleted;
+
+  @Column(name = "tasks_total", nullable = false)
+  private long tasksTotal;
+
+  @Column(name = "tasks_deleted", nullable = false)
+  private long tasksDeleted;
+
+  @Column(name = "projects_total", nullable = false)
+  private long projectsTotal;
+
+  @Column(name = "projects_deleted", nullable = false)
+  private long projectsDeleted;
+
+  /** Worker that owns the job until then; an expired lease lets another run (or node) resume it. */
+  @Column(name = "lease_until")
+  private Instant leaseUntil;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  public long totalRows() {
+    return filesTotal + messagesTotal + tasksTotal + projectsTotal;
+  }
+
+  public long deletedRows() {
+    return filesDeleted + messagesDeleted + tasksDeleted + projectsDeleted;
+  }
+}
@@ -4,12 +4,17 @@ import com.taskmate.domain.enums.GlobalRole;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users", indexes = {
-    @Index(name = "idx_users_email", columnList = "email", unique = true)
+    @Index(name = "idx_users_email", columnList = "email", unique = true),
+    @Index(name = "idx_users_updated", columnList = "updated_at")
 })
 public class User extends BaseEntity {
 
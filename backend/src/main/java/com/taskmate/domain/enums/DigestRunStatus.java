@@ -0,0 +1,5 @@
+package com.taskmate.domain.enums;
+
+public enum DigestRunStatus {
+  RUNNING, DONE
+}
@@ -0,0 +1,5 @@
+package com.taskmate.domain.enums;
+
+public enum EmailOutboxStatus {
+  PENDING, SENT, FAILED
+}
@@ -0,0 +1,25 @@
+package com.taskmate.domain.enums;
+
+/** Kinds of task activity; {@code code} is what is stored, so existing codes must never change. */
+public enum TaskEventType {
+  CREATED(1), STATUS(2), ASSIGNEE(3), PRIORITY(4), DUE_DATE(5), DELETED(6);
+
+  private final int code;
+
+  TaskEventType(int code) {
+    this.code = code;
+  }
+
+  public int code() {
+    return code;
+  }
+
+  public static TaskEventType of(int code) {
+    for (TaskEventType t : values()) {
+      if (t.code == code) {
+        return t;
+      }
+    }
+    throw new IllegalArgumentException("Unknown task event code: " + code);
+  }
+}
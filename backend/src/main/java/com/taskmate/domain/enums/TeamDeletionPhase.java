@@ -0,0 +1,10 @@
+package com.taskmate.domain.enums;
+
+/** Order in which a team's content is purged; children go before the rows they reference. */
+public enum TeamDeletionPhase {
+  FILES, MESSAGES, TASKS, PROJECTS, TEAM;
+
+  public TeamDeletionPhase next() {
+    return this == TEAM ? TEAM : values()[ordinal() + 1];
+  }
+}
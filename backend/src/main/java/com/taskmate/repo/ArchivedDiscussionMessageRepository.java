@@ -0,0 +1,33 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.ArchivedDiscussionMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArchivedDiscussionMessageRepository extends JpaRepository<ArchivedDiscussionMessage, Long> {
+  List<ArchivedDiscussionMessage> findByTeamIdOrderByCreatedAtAsc(Long teamId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<ArchivedDiscussionMessage> streamByTeamIdOrderByCreatedAtAsc(Long teamId);
+
+  @Modifying
+  @Query("insert into ArchivedDiscussionMessage (id, createdAt, updatedAt, archivedAt, team, author, content) " +
+      "select m.id, m.createdAt, m.updatedAt, ?2, m.team, m.author, m.content " +
+      "from DiscussionMessage m where m.id in ?1")
+  int copyFromMessages(Collection<Long> ids, Instant archivedAt);
+
+  @Query("select m.id from ArchivedDiscussionMessage m where m.team.id = ?1 order by m.id")
+  List<Long> findIdsByTeamId(Long teamId, Pageable page);
+
+  long countByTeamId(Long teamId);
+}
@@ -0,0 +1,36 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.ArchivedTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+  List<ArchivedTask> findByProjectId(Long projectId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<ArchivedTask> streamByProjectId(Long projectId);
+
+  // copied with one INSERT ... SELECT; the caller deletes the hot rows in the same transaction
+  @Modifying
+  @Query("insert into ArchivedTask (id, createdAt, updatedAt, archivedAt, project, createdBy, assignedTo, " +
+      "title, description, status, priority, dueDate, parentTaskId) " +
+      "select t.id, t.createdAt, t.updatedAt, ?2, t.project, t.createdBy, t.assignedTo, " +
+      "t.title, t.description, t.status, t.priority, t.dueDate, t.parentTaskId from Task t where t.id in ?1")
+  int copyFromTasks(Collection<Long> ids, Instant archivedAt);
+
+  @Query("select t.id from ArchivedTask t where t.project.team.id = ?1 order by t.id")
+  List<Long> findIdsByTeamId(Long teamId, Pageable page);
+
+  @Query("select count(t) from ArchivedTask t where t.project.team.id = ?1")
+  long countByTeamId(Long teamId);
+}
@@ -0,0 +1,8 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.ContentVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// counters are incremented through ContentVersionCounter (update, or insert on first use)
+public interface ContentVersionRepository extends JpaRepository<ContentVersion, String> {
+}
@@ -0,0 +1,15 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.DigestRun;
+import com.taskmate.domain.enums.DigestRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface DigestRunRepository extends JpaRepository<DigestRun, Long> {
+  Optional<DigestRun> findByDay(LocalDate day);
+
+  List<DigestRun> findByStatusOrderByDay(DigestRunStatus status);
+}
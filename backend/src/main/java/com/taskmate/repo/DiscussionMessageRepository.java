@@ -1,10 +1,55 @@
 package com.taskmate.repo;
 
 import com.taskmate.domain.DiscussionMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface DiscussionMessageRepository extends JpaRepository<DiscussionMessage, Long> {
   List<DiscussionMessage> findByTeamIdOrderByCreatedAtAsc(Long teamId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<DiscussionMessage> streamByTeamIdOrderByCreatedAtAsc(Long teamId);
+
+  // ids grow in posting order (write-behind included), and (team_id, id) is the team index itself
+  @Query("select m from DiscussionMessage m join fetch m.author where m.team.id = ?1 order by m.id desc")
+  List<DiscussionMessage> findNewestByTeamId(Long teamId, Pageable page);
+
+  @Query("select m.id from DiscussionMessage m where m.team.id = ?1 order by m.id")
+  List<Long> findIdsByTeamId(Long teamId, Pageable page);
+
+  long countByTeamId(Long teamId);
+
+  @Query("select m.id from DiscussionMessage m where m.createdAt < ?1 order by m.createdAt")
+  List<Long> findIdsCreatedBefore(Instant cutoff, Pageable page);
+
+  @Query("select distinct m.team.id from DiscussionMessage m where m.id in ?1")
+  List<Long> findTeamIdsByIdIn(Collection<Long> ids);
+
+  interface DigestRow {
+    Long getId();
+
+    Long getTeamId();
+
+    String getAuthorName();
+
+    String getContent();
+
+    Instant getCreatedAt();
+  }
+
+  @Query("select min(m.id) from DiscussionMessage m where m.createdAt >= ?1")
+  Long findFirstIdCreatedFrom(Instant from);
+
+  @Query("select m.id as id, m.team.id as teamId, a.name as authorName, m.content as content, m.createdAt as createdAt "
+      + "from DiscussionMessage m join m.author a where m.id >= ?1 order by m.id")
+  List<DigestRow> findDigestRowsFrom(long fromId, Pageable page);
 }
@@ -0,0 +1,41 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.DiscussionReadCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface DiscussionReadCursorRepository extends JpaRepository<DiscussionReadCursor, Long> {
+
+  interface UnreadRow {
+    Long getTeamId();
+
+    String getTeamName();
+
+    long getTotal();
+
+    long getRead();
+  }
+
+  boolean existsByTeamIdAndUserId(Long teamId, Long userId);
+
+  // only ever moves forward, so a late mark-read cannot undo a newer one
+  @Modifying
+  @Query("update DiscussionReadCursor c set c.readCount = ?3, c.updatedAt = ?4 "
+      + "where c.teamId = ?1 and c.userId = ?2 and c.readCount < ?3")
+  int advance(Long teamId, Long userId, long readCount, Instant now);
+
+  @Query("select t.id as teamId, t.name as teamName, coalesce(v.version, 0) as total, coalesce(c.readCount, 0) as read "
+      + "from TeamMember tm join tm.team t "
+      + "left join ContentVersion v on v.scopeKey = concat('messages:', cast(t.id as String)) "
+      + "left join DiscussionReadCursor c on c.teamId = t.id and c.userId = tm.user.id "
+      + "where tm.user.id = ?1 and t.deleting = false order by t.name")
+  List<UnreadRow> findUnreadByUserId(Long userId);
+
+  @Modifying
+  @Query("delete from DiscussionReadCursor c where c.teamId = ?1")
+  int deleteByTeamId(Long teamId);
+}
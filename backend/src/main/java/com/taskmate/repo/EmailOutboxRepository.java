@@ -0,0 +1,33 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.EmailOutbox;
+import com.taskmate.domain.enums.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+  boolean existsByDedupKeyAndCreatedAtAfter(String dedupKey, Instant since);
+
+  @Query("select e.id from EmailOutbox e where e.status = ?1 and e.nextAttemptAt <= ?2 order by e.id")
+  List<Long> findDueIds(EmailOutboxStatus status, Instant now, Pageable page);
+
+  // Only rows still due are taken, so two dispatchers never claim the same row; the lease makes
+  // rows of a dispatcher that died mid-batch due again.
+  @Modifying
+  @Query("update EmailOutbox e set e.claimToken = ?1, e.nextAttemptAt = ?2 " +
+      "where e.id in ?3 and e.status = ?4 and e.nextAttemptAt <= ?5")
+  int claim(String claimToken, Instant leaseUntil, Collection<Long> ids, EmailOutboxStatus status, Instant now);
+
+  List<EmailOutbox> findByClaimTokenOrderById(String claimToken);
+
+  @Query("select e.id from EmailOutbox e where e.status in ?1 and e.createdAt < ?2 order by e.id")
+  List<Long> findFinishedIdsCreatedBefore(Collection<EmailOutboxStatus> statuses, Instant cutoff, Pageable page);
+
+  long countByStatus(EmailOutboxStatus status);
+}
@@ -1,10 +1,42 @@
 package com.taskmate.repo;
 
 import com.taskmate.domain.FileResource;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface FileResourceRepository extends JpaRepository<FileResource, Long> {
   List<FileResource> findByTeamIdOrderByCreatedAtDesc(Long teamId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<FileResource> streamByTeamIdOrderByCreatedAtDesc(Long teamId);
+
+  @Query("select f from FileResource f where f.team.id = ?1 order by f.id")
+  List<FileResource> findBatchByTeamId(Long teamId, Pageable page);
+
+  long countByTeamId(Long teamId);
+
+  interface DigestRow {
+    Long getId();
+
+    Long getTeamId();
+
+    String getName();
+
+    Instant getCreatedAt();
+  }
+
+  @Query("select min(f.id) from FileResource f where f.createdAt >= ?1")
+  Long findFirstIdCreatedFrom(Instant from);
+
+  @Query("select f.id as id, f.team.id as teamId, f.originalName as name, f.createdAt as createdAt "
+      + "from FileResource f where f.id >= ?1 order by f.id")
+  List<DigestRow> findDigestRowsFrom(long fromId, Pageable page);
 }
@@ -2,10 +2,37 @@ package com.taskmate.repo;
 
 import com.taskmate.domain.PasswordResetOtp;
 import com.taskmate.domain.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface PasswordResetOtpRepository extends JpaRepository<PasswordResetOtp, Long> {
+  // served by idx_reset_user_active (user_id, used, created_at)
   Optional<PasswordResetOtp> findTopByUserAndUsedFalseOrderByCreatedAtDesc(User user);
+
+  // used / burnt OTPs reach their expiry within the OTP TTL, so expiry alone covers both
+  @Query("select o.id from PasswordResetOtp o where o.expiresAt < ?1")
+  List<Long> findExpiredIds(Instant now, Pageable page);
+
+  // Counts a wrong guess in the row itself (burning the OTP on the last one), so concurrent guesses
+  // can't overwrite each other's increments; 0 means the OTP was already used or burnt. `used` is
+  // assigned first: MySQL/MariaDB apply SET left to right, so later assignments see earlier ones.
+  @Modifying
+  @Query("update PasswordResetOtp o set o.used = case when o.attempts + 1 >= ?2 then true else false end, " +
+      "o.attempts = o.attempts + 1 " +
+      "where o.id = ?1 and o.used = false and o.attempts < ?2")
+  int recordWrongGuess(Long id, int maxAttempts);
+
+  // 0 means another request used or burnt the OTP first
+  @Modifying
+  @Query("update PasswordResetOtp o set o.used = true where o.id = ?1 and o.used = false and o.attempts < ?2")
+  int consume(Long id, int maxAttempts);
+
+  @Query("select o.used from PasswordResetOtp o where o.id = ?1")
+  boolean isUsed(Long id);
 }
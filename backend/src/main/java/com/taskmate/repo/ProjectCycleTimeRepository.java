@@ -0,0 +1,29 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.ProjectCycleTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectCycleTimeRepository extends JpaRepository<ProjectCycleTime, Long> {
+
+  interface BucketRow {
+    int getBucket();
+
+    long getLeadCount();
+
+    long getCycleCount();
+  }
+
+  @Query("select c.bucket as bucket, sum(c.leadCount) as leadCount, sum(c.cycleCount) as cycleCount "
+      + "from ProjectCycleTime c where c.projectId in ?1 and c.day between ?2 and ?3 group by c.bucket")
+  List<BucketRow> sumByBucket(Collection<Long> projectIds, LocalDate from, LocalDate to);
+
+  @Modifying
+  @Query("delete from ProjectCycleTime c where c.projectId in ?1")
+  int deleteByProjectIdIn(Collection<Long> projectIds);
+}
@@ -0,0 +1,47 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.ProjectFlowDay;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectFlowDayRepository extends JpaRepository<ProjectFlowDay, Long> {
+
+  // latest compacted day before the given one: the starting point for folding or reading forward
+  @Query("select d from ProjectFlowDay d where d.projectId = ?1 and d.day < ?2 and d.todoCount is not null "
+      + "order by d.day desc")
+  List<ProjectFlowDay> findCompactedBefore(Long projectId, LocalDate day, Pageable page);
+
+  List<ProjectFlowDay> findByProjectIdAndDayBetweenOrderByDay(Long projectId, LocalDate from, LocalDate to);
+
+  // locked, so a late commit cannot add to a day between reading its delta and storing its count
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select d from ProjectFlowDay d where d.projectId = ?1 and d.day between ?2 and ?3 order by d.day")
+  List<ProjectFlowDay> lockRange(Long projectId, LocalDate from, LocalDate to);
+
+  @Modifying
+  @Query("update ProjectFlowDay d set d.todoCount = ?2, d.inProgressCount = ?3, d.reviewCount = ?4, d.doneCount = ?5 "
+      + "where d.id = ?1")
+  int setCounts(Long id, int todo, int inProgress, int review, int done);
+
+  @Query("select d.projectId as projectId, min(d.day) as day from ProjectFlowDay d "
+      + "where d.todoCount is null and d.day < ?1 group by d.projectId order by d.projectId")
+  List<PendingRow> findPendingCompaction(LocalDate before);
+
+  @Modifying
+  @Query("delete from ProjectFlowDay d where d.projectId in ?1")
+  int deleteByProjectIdIn(Collection<Long> projectIds);
+
+  interface PendingRow {
+    Long getProjectId();
+
+    LocalDate getDay();
+  }
+}
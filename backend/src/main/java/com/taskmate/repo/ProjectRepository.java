@@ -1,10 +1,28 @@
 package com.taskmate.repo;
 
 import com.taskmate.domain.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
   List<Project> findByTeamId(Long teamId);
+
+  @Query("select p.team.id from Project p where p.id = ?1")
+  Optional<Long> findTeamIdById(Long projectId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<Project> streamByTeamId(Long teamId);
+
+  @Query("select p.id from Project p where p.team.id = ?1 order by p.id")
+  List<Long> findIdsByTeamId(Long teamId, Pageable page);
+
+  long countByTeamId(Long teamId);
 }
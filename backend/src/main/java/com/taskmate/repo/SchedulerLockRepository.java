@@ -0,0 +1,17 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+  // renews our own lease or takes over an expired one; 0 while another node holds it
+  @Modifying
+  @Query("update SchedulerLock l set l.owner = ?2, l.leaseUntil = ?3 "
+      + "where l.name = ?1 and (l.owner = ?2 or l.leaseUntil < ?4)")
+  int claim(String name, String owner, Instant leaseUntil, Instant now);
+}
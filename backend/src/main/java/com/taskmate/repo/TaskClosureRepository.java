@@ -0,0 +1,45 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.TaskClosure;
+import com.taskmate.domain.enums.TaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface TaskClosureRepository extends JpaRepository<TaskClosure, Long> {
+
+  @Modifying
+  @Query("insert into TaskClosure (ancestorId, descendantId, depth) values (?1, ?1, 0)")
+  int insertSelf(Long taskId);
+
+  // every ancestor of the parent (itself included) becomes an ancestor of the task, one level further
+  @Modifying
+  @Query("insert into TaskClosure (ancestorId, descendantId, depth) "
+      + "select c.ancestorId, ?2, c.depth + 1 from TaskClosure c where c.descendantId = ?1")
+  int linkUnder(Long parentTaskId, Long taskId);
+
+  // cross product of the parent's ancestors and the subtree of the task
+  @Modifying
+  @Query("insert into TaskClosure (ancestorId, descendantId, depth) "
+      + "select a.ancestorId, d.descendantId, a.depth + d.depth + 1 from TaskClosure a, TaskClosure d "
+      + "where a.descendantId = ?1 and d.ancestorId = ?2")
+  int linkSubtreeUnder(Long parentTaskId, Long taskId);
+
+  @Query("select count(c) > 0 from TaskClosure c where c.ancestorId = ?1 and c.descendantId = ?2")
+  boolean existsPath(Long ancestorId, Long descendantId);
+
+  @Query("select count(c) > 0 from TaskClosure c where c.ancestorId = ?1 and c.depth > 0")
+  boolean hasDescendants(Long taskId);
+
+  interface StatusCountRow {
+    TaskStatus getStatus();
+
+    long getCount();
+  }
+
+  @Query("select t.status as status, count(t) as count from TaskClosure c join Task t on t.id = c.descendantId "
+      + "where c.ancestorId = ?1 and c.depth > 0 group by t.status")
+  List<StatusCountRow> countDescendantsByStatus(Long taskId);
+}
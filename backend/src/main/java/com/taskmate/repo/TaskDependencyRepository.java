@@ -0,0 +1,28 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+  interface EdgeRow {
+    Long getTaskId();
+
+    Long getDependsOnTaskId();
+  }
+
+  @Query("select d.task.id as taskId, d.dependsOn.id as dependsOnTaskId from TaskDependency d "
+      + "where d.projectId = ?1")
+  List<EdgeRow> findEdgesByProjectId(Long projectId);
+
+  @Query("select count(d) > 0 from TaskDependency d where d.task.id = ?1 and d.dependsOn.id = ?2")
+  boolean existsEdge(Long taskId, Long dependsOnTaskId);
+
+  @Modifying
+  @Query("delete from TaskDependency d where d.task.id = ?1 and d.dependsOn.id = ?2")
+  int deleteEdge(Long taskId, Long dependsOnTaskId);
+}
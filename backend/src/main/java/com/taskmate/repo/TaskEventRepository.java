@@ -0,0 +1,34 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.TaskEvent;
+import com.taskmate.domain.enums.TaskEventType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+  // keyset pages, newest first: (task_id, id) / (team_id, id) indexes
+  @Query("select e from TaskEvent e where e.taskId = ?1 and e.projectId = ?2 and e.id < ?3 order by e.id desc")
+  List<TaskEvent> findTaskFeed(Long taskId, Long projectId, long beforeId, Pageable page);
+
+  @Query("select e from TaskEvent e where e.teamId = ?1 and e.id < ?2 order by e.id desc")
+  List<TaskEvent> findTeamFeed(Long teamId, long beforeId, Pageable page);
+
+  // first change of a given kind away from a value, e.g. when a task first left TODO; null if none
+  @Query("select min(e.occurredAt) from TaskEvent e where e.taskId = ?1 and e.type = ?2 and e.oldValue = ?3")
+  Instant findFirstChangeFrom(Long taskId, TaskEventType type, Long oldValue);
+
+  @Query("select e.id from TaskEvent e where e.teamId = ?1 order by e.id")
+  List<Long> findIdsByTeamId(Long teamId, Pageable page);
+
+  // digest pass: first id of a time window via idx_task_events_time, then primary key order
+  @Query("select min(e.id) from TaskEvent e where e.occurredAt >= ?1")
+  Long findFirstIdFrom(Instant from);
+
+  @Query("select e from TaskEvent e where e.id >= ?1 order by e.id")
+  List<TaskEvent> findPageFrom(long fromId, Pageable page);
+}
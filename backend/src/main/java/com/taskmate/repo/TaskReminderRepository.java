@@ -0,0 +1,19 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.TaskReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskReminderRepository extends JpaRepository<TaskReminder, Long> {
+
+  List<TaskReminder> findByTaskIdIn(Collection<Long> taskIds);
+
+  @Modifying
+  @Query("delete from TaskReminder r where r.dueDate < ?1")
+  int deleteDueBefore(LocalDate day);
+}
@@ -1,10 +1,97 @@
 package com.taskmate.repo;
 
 import com.taskmate.domain.Task;
+import com.taskmate.domain.enums.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
   List<Task> findByProjectId(Long projectId);
+
+  // fetch size is honoured as a server-side cursor on MySQL when useCursorFetch=true
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<Task> streamByProjectId(Long projectId);
+
+  @Query("select t.id from Task t where t.project.team.id = ?1 order by t.id")
+  List<Long> findIdsByTeamId(Long teamId, Pageable page);
+
+  @Query("select count(t) from Task t where t.project.team.id = ?1")
+  long countByTeamId(Long teamId);
+
+  // a task with live subtasks stays until they are archived, so no subtree loses its root
+  @Query("select t.id from Task t where t.status = ?1 and t.updatedAt < ?2 and not exists "
+      + "(select c.id from TaskClosure c where c.ancestorId = t.id and c.depth > 0) order by t.updatedAt")
+  List<Long> findLeafIdsByStatusUpdatedBefore(TaskStatus status, Instant cutoff, Pageable page);
+
+  @Query("select distinct t.project.id from Task t where t.id in ?1")
+  List<Long> findProjectIdsByIdIn(Collection<Long> ids);
+
+  interface DueRow {
+    Long getId();
+
+    LocalDate getDueDate();
+  }
+
+  // range on idx_tasks_due_status; only the upcoming window, never the whole table
+  @Query("select t.id as id, t.dueDate as dueDate from Task t "
+      + "where t.dueDate between ?1 and ?2 and t.status <> ?3")
+  List<DueRow> findDueBetween(LocalDate from, LocalDate to, TaskStatus excluded);
+
+  @Query("select t.id as id, t.dueDate as dueDate from Task t where t.project.id = ?1")
+  List<DueRow> findDueRowsByProjectId(Long projectId);
+
+  @Query("select count(t) from Task t where t.project.id = ?1 and t.id in ?2")
+  long countByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+  @Query("select t from Task t join fetch t.project join fetch t.createdBy left join fetch t.assignedTo "
+      + "where t.id in ?1")
+  List<Task> findWithPeopleByIdIn(Collection<Long> ids);
+
+  interface HierarchyRow {
+    Long getParentTaskId();
+
+    TaskStatus getStatus();
+
+    int getSubtasksTotal();
+
+    int getSubtasksDone();
+  }
+
+  // straight from the row: the rollup columns change under the entity through the update below
+  @Query("select t.parentTaskId as parentTaskId, t.status as status, t.subtasksTotal as subtasksTotal, "
+      + "t.subtasksDone as subtasksDone from Task t where t.id = ?1")
+  Optional<HierarchyRow> findHierarchyById(Long id);
+
+  // relative, so concurrent writes below the same ancestors never lose a count
+  @Modifying
+  @Query("update Task t set t.subtasksTotal = t.subtasksTotal + ?2, t.subtasksDone = t.subtasksDone + ?3 "
+      + "where t.id in (select c.ancestorId from TaskClosure c where c.descendantId = ?1 and c.depth > 0)")
+  int addToAncestorRollups(Long taskId, int total, int done);
+
+  // parents before their children
+  @Query("select t from TaskClosure c join Task t on t.id = c.descendantId join fetch t.project "
+      + "join fetch t.createdBy left join fetch t.assignedTo "
+      + "where c.ancestorId = ?1 and c.depth > 0 order by c.depth, t.id")
+  List<Task> findDescendants(Long taskId);
+
+  interface TitleRow {
+    Long getId();
+
+    String getTitle();
+  }
+
+  @Query("select t.id as id, t.title as title from Task t where t.id in ?1")
+  List<TitleRow> findTitlesByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,25 @@
+package com.taskmate.repo;
+
+import com.taskmate.domain.TeamDeletionJob;
+import com.taskmate.domain.enums.TeamDeletionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TeamDeletionJobRepository extends JpaRepository<TeamDeletionJob, Long> {
+  Optional<TeamDeletionJob> findFirstByTeamIdOrderByIdDesc(Long teamId);
+
+  @Query("select j.id from TeamDeletionJob j where j.status in ?1 and (j.leaseUntil is null or j.leaseUntil < ?2) order by j.id")
+  List<Long> findRunnableIds(Collection<TeamDeletionStatus> statuses, Instant now, Pageable page);
+
+  // conditional on the lease being free, so only one worker across nodes owns a job at a time
+  @Modifying
+  @Query("update TeamDeletionJob j set j.leaseUntil = ?2 where j.id = ?1 and (j.leaseUntil is null or j.leaseUntil < ?3)")
+  int claim(Long id, Instant leaseUntil, Instant now);
+}
@@ -2,17 +2,47 @@ package com.taskmate.repo;
 
 import com.taskmate.domain.TeamMember;
 import com.taskmate.domain.enums.TeamRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
   Optional<TeamMember> findByTeamIdAndUserId(Long teamId, Long userId);
   List<TeamMember> findByUserId(Long userId);
   List<TeamMember> findByTeamId(Long teamId);
 
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<TeamMember> streamByTeamId(Long teamId);
+
   @Query("select (count(tm) > 0) from TeamMember tm where tm.team.id = ?1 and tm.user.id = ?2 and tm.teamRole = ?3")
   boolean existsRole(Long teamId, Long userId, TeamRole role);
+
+  @Query("select tm.user.id from TeamMember tm where tm.team.id = ?1")
+  List<Long> findUserIdsByTeamId(Long teamId);
+
+  @Modifying
+  @Query("delete from TeamMember tm where tm.team.id = ?1")
+  int deleteByTeamId(Long teamId);
+
+  interface MemberRow {
+    Long getTeamId();
+
+    Long getUserId();
+
+    String getName();
+
+    String getEmail();
+  }
+
+  @Query("select tm.team.id as teamId, u.id as userId, u.name as name, u.email as email "
+      + "from TeamMember tm join tm.user u where tm.team.id in ?1")
+  List<MemberRow> findMemberRowsByTeamIdIn(Collection<Long> teamIds);
 }
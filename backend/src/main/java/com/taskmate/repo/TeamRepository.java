@@ -2,5 +2,19 @@ package com.taskmate.repo;
 
 import com.taskmate.domain.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {}
+import java.util.Collection;
+import java.util.List;
+
+public interface TeamRepository extends JpaRepository<Team, Long> {
+
+  interface NameRow {
+    Long getId();
+
+    String getName();
+  }
+
+  @Query("select t.id as id, t.name as name from Team t where t.id in ?1 and t.deleting = false")
+  List<NameRow> findLiveNamesByIdIn(Collection<Long> ids);
+}
@@ -1,11 +1,24 @@
 package com.taskmate.repo;
 
 import com.taskmate.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+  // runs on every authenticated request (JwtAuthFilter + CurrentUserService); served from the query cache
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<User> findByEmail(String email);
+
   boolean existsByEmail(String email);
+
+  List<User> findByIdGreaterThanOrderById(Long afterId, Pageable page);
+
+  List<User> findByUpdatedAtAfter(Instant since);
 }
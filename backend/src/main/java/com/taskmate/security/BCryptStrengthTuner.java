@@ -0,0 +1,41 @@
+package com.taskmate.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt strength (log2 rounds) whose hash time on this machine fits a latency budget.
+ * Measures the minimum strength, then relies on every +1 doubling the cost.
+ */
+final class BCryptStrengthTuner {
+
+  private static final int MAX_STRENGTH = 16;
+  private static final int SAMPLES = 5;
+
+  private BCryptStrengthTuner() {
+  }
+
+  /** @return the largest strength in [minStrength, 16] expected to hash within {@code budget} */
+  static int tune(int minStrength, Duration budget) {
+    BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+    probe.encode("warm-up");
+    long[] nanos = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      probe.encode("measure-" + i);
+      nanos[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(nanos);
+    long median = Math.max(1, nanos[SAMPLES / 2]);
+
+    int strength = minStrength;
+    long expected = median;
+    while (strength < MAX_STRENGTH && expected * 2 <= budget.toNanos()) {
+      strength++;
+      expected *= 2;
+    }
+    return strength;
+  }
+}
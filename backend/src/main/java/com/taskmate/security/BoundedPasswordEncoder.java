@@ -0,0 +1,100 @@
+package com.taskmate.security;
+
+import com.taskmate.api.error.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the (deliberately slow) delegate encoder on a small dedicated pool, one thread per core,
+ * so a login storm can only use that much CPU. When the bounded queue is full the caller gets
+ * an immediate 503 instead of piling up behind it.
+ * Metrics: {@code taskmate.password.hash} (timer, tag {@code op}), {@code taskmate.password.hash.rejected},
+ * and the executor metrics of {@code password-hash} (queued, active, ...).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejected;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    AtomicInteger seq = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), r -> {
+          Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hash");
+    this.encodeTimer = hashTimer(meterRegistry, "encode");
+    this.matchesTimer = hashTimer(meterRegistry, "matches");
+    this.rejected = Counter.builder("taskmate.password.hash.rejected")
+        .description("Hash requests turned away because the hashing queue was full")
+        .register(meterRegistry);
+  }
+
+  private static Timer hashTimer(MeterRegistry registry, String op) {
+    return Timer.builder("taskmate.password.hash")
+        .description("Time spent hashing on the password-hash pool (excludes queueing)")
+        .tag("op", op)
+        .publishPercentiles(0.5, 0.99)
+        .register(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T run(Callable<T> work) {
+    Future<T> future;
+    try {
+      future = executor.submit(work);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServiceUnavailableException("Too many authentication requests, please retry shortly", 1);
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Interrupted while waiting for password hashing", 1);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
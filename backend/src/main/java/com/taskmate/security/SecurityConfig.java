@@ -1,6 +1,9 @@
 package com.taskmate.security;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,6 +16,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableMethodSecurity
 @RequiredArgsConstructor
@@ -36,8 +41,19 @@ public class SecurityConfig {
   }
 
   @Bean
-  PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                  @Value("${taskmate.security.bcrypt.strength:10}") int strength,
+                                  @Value("${taskmate.security.bcrypt.auto-tune:false}") boolean autoTune,
+                                  @Value("${taskmate.security.bcrypt.latency-budget:250ms}") Duration latencyBudget,
+                                  @Value("${taskmate.security.bcrypt.threads:0}") int threads,
+                                  @Value("${taskmate.security.bcrypt.queue-capacity:64}") int queueCapacity) {
+    // the configured strength is a floor: auto-tune only ever raises it
+    int effective = autoTune ? BCryptStrengthTuner.tune(strength, latencyBudget) : strength;
+    Gauge.builder("taskmate.password.hash.strength", () -> effective)
+        .description("BCrypt strength used for new hashes")
+        .register(meterRegistry);
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(effective), poolSize, queueCapacity, meterRegistry);
   }
 
   @Bean
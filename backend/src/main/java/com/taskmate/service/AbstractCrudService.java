@@ -1,9 +1,12 @@
 package com.taskmate.service;
 
 import com.taskmate.api.error.NotFoundException;
+import jakarta.persistence.EntityManager;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Inheritance example: shared CRUD behavior via a generic base class.
@@ -33,4 +36,17 @@ public abstract class AbstractCrudService<T, ID> implements CrudService<T, ID> {
   public void delete(ID id) {
     repo().delete(getOrThrow(id));
   }
+
+  /**
+   * Hands each streamed row to the sink and detaches it right after, so the persistence
+   * context does not grow with the result set. Must run inside a transaction.
+   */
+  protected <E> void forEachDetached(EntityManager em, Stream<E> rows, Consumer<? super E> sink) {
+    try (rows) {
+      rows.forEach(row -> {
+        sink.accept(row);
+        em.detach(row);
+      });
+    }
+  }
 }
@@ -0,0 +1,13 @@
+package com.taskmate.service;
+
+import com.taskmate.api.dto.analytics.FlowAnalyticsResponse;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+  /** Cumulative flow, throughput and lead/cycle times; {@code from}/{@code to} default to the last 30 days. */
+  FlowAnalyticsResponse project(Long projectId, LocalDate from, LocalDate to);
+
+  /** Same as {@link #project}, summed over all projects of the team. */
+  FlowAnalyticsResponse team(Long teamId, LocalDate from, LocalDate to);
+}
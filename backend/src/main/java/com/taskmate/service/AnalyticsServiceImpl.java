@@ -0,0 +1,212 @@
+package com.taskmate.service;
+
+import com.taskmate.api.dto.analytics.DurationStatsResponse;
+import com.taskmate.api.dto.analytics.FlowAnalyticsResponse;
+import com.taskmate.api.dto.analytics.FlowDayResponse;
+import com.taskmate.api.error.BadRequestException;
+import com.taskmate.api.error.NotFoundException;
+import com.taskmate.domain.ProjectFlowDay;
+import com.taskmate.domain.User;
+import com.taskmate.repo.ProjectCycleTimeRepository;
+import com.taskmate.repo.ProjectFlowDayRepository;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.service.analytics.CycleTimeBuckets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Answers flow analytics from the daily aggregates only: per project, one lookup for the last
+ * compacted day before the range, then one row per day in it (days without a row carry the counts
+ * forward). Raw tasks are never scanned.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+  private static final int DEFAULT_DAYS = 30;
+  private static final int MAX_DAYS = 366;
+
+  private static final int COLUMNS = 6;
+  private static final int CREATED = 4;
+  private static final int COMPLETED = 5;
+
+  private final ProjectFlowDayRepository flowDayRepository;
+  private final ProjectCycleTimeRepository cycleTimeRepository;
+  private final ProjectRepository projectRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final PermissionService permissionService;
+  private final ZoneId zone;
+
+  public AnalyticsServiceImpl(ProjectFlowDayRepository flowDayRepository, ProjectCycleTimeRepository cycleTimeRepository,
+                              ProjectRepository projectRepository, CurrentUserProvider currentUserProvider,
+                              PermissionService permissionService, @Value("${taskmate.analytics.zone:UTC}") ZoneId zone) {
+    this.flowDayRepository = flowDayRepository;
+    this.cycleTimeRepository = cycleTimeRepository;
+    this.projectRepository = projectRepository;
+    this.currentUserProvider = currentUserProvider;
+    this.permissionService = permissionService;
+    this.zone = zone;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public FlowAnalyticsResponse project(Long projectId, LocalDate from, LocalDate to) {
+    User me = currentUserProvider.requireCurrentUser();
+    Long teamId = projectRepository.findTeamIdById(projectId)
+        .orElseThrow(() -> new NotFoundException("Project not found: " + projectId));
+    permissionService.assertTeamMember(teamId, me.getId());
+    return build(List.of(projectId), from, to);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public FlowAnalyticsResponse team(Long teamId, LocalDate from, LocalDate to) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    return build(projectRepository.findIdsByTeamId(teamId, Pageable.unpaged()), from, to);
+  }
+
+  private FlowAnalyticsResponse build(Collection<Long> projectIds, LocalDate from, LocalDate to) {
+    if (to == null) {
+      to = LocalDate.now(zone);
+    }
+    if (from == null) {
+      from = to.minusDays(DEFAULT_DAYS - 1);
+    }
+    if (from.isAfter(to)) {
+      throw new BadRequestException("from must not be after to");
+    }
+    int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+    if (days > MAX_DAYS) {
+      throw new BadRequestException("Range too long, max " + MAX_DAYS + " days");
+    }
+
+    long[][] series = new long[days][COLUMNS];
+    long[] hours = new long[2];
+    for (Long projectId : projectIds) {
+      accumulate(projectId, from, to, series, hours);
+    }
+
+    long completed = 0;
+    List<FlowDayResponse> flow = new ArrayList<>(days);
+    for (int i = 0; i < days; i++) {
+      long[] s = series[i];
+      completed += s[COMPLETED];
+      flow.add(FlowDayResponse.builder()
+          .date(from.plusDays(i))
+          .todo(s[0])
+          .inProgress(s[1])
+          .review(s[2])
+          .done(s[3])
+          .created(s[CREATED])
+          .completed(s[COMPLETED])
+          .build());
+    }
+
+    long[][] buckets = new long[CycleTimeBuckets.COUNT][2];
+    if (!projectIds.isEmpty()) {
+      for (ProjectCycleTimeRepository.BucketRow row : cycleTimeRepository.sumByBucket(projectIds, from, to)) {
+        buckets[row.getBucket()][0] = row.getLeadCount();
+        buckets[row.getBucket()][1] = row.getCycleCount();
+      }
+    }
+
+    return FlowAnalyticsResponse.builder()
+        .from(from)
+        .to(to)
+        .days(flow)
+        .throughput(completed)
+        .leadTime(stats(completed, hours[0], buckets, 0))
+        .cycleTime(stats(completed, hours[1], buckets, 1))
+        .build();
+  }
+
+  /** Adds one project's end-of-day counts and daily totals to {@code series}, lead/cycle hours to {@code hours}. */
+  private void accumulate(Long projectId, LocalDate from, LocalDate to, long[][] series, long[] hours) {
+    long[] counts = new long[4];
+    LocalDate start = LocalDate.EPOCH;
+    List<ProjectFlowDay> base = flowDayRepository.findCompactedBefore(projectId, from, PageRequest.of(0, 1));
+    if (!base.isEmpty()) {
+      apply(base.get(0), counts);
+      start = base.get(0).getDay().plusDays(1);
+    }
+
+    List<ProjectFlowDay> rows = flowDayRepository.findByProjectIdAndDayBetweenOrderByDay(projectId, start, to);
+    int next = 0;
+    // uncompacted days before the range, only when compaction is behind
+    while (next < rows.size() && rows.get(next).getDay().isBefore(from)) {
+      apply(rows.get(next++), counts);
+    }
+    for (int i = 0; i < series.length; i++) {
+      long[] s = series[i];
+      if (next < rows.size() && rows.get(next).getDay().equals(from.plusDays(i))) {
+        ProjectFlowDay d = rows.get(next++);
+        apply(d, counts);
+        s[CREATED] += d.getCreated();
+        s[COMPLETED] += d.getCompleted();
+        hours[0] += d.getLeadHours();
+        hours[1] += d.getCycleHours();
+      }
+      for (int c = 0; c < counts.length; c++) {
+        s[c] += counts[c];
+      }
+    }
+  }
+
+  private static void apply(ProjectFlowDay d, long[] counts) {
+    if (d.isCompacted()) {
+      counts[0] = d.getTodoCount();
+      counts[1] = d.getInProgressCount();
+      counts[2] = d.getReviewCount();
+      counts[3] = d.getDoneCount();
+    } else {
+      counts[0] += d.getTodoDelta();
+      counts[1] += d.getInProgressDelta();
+      counts[2] += d.getReviewDelta();
+      counts[3] += d.getDoneDelta();
+    }
+  }
+
+  private static DurationStatsResponse stats(long count, long hours, long[][] buckets, int column) {
+    List<DurationStatsResponse.Bucket> histogram = new ArrayList<>(buckets.length);
+    long total = 0;
+    for (int b = 0; b < buckets.length; b++) {
+      total += buckets[b][column];
+      histogram.add(DurationStatsResponse.Bucket.builder()
+          .minDays(CycleTimeBuckets.minDays(b))
+          .maxDays(CycleTimeBuckets.maxDays(b))
+          .count(buckets[b][column])
+          .build());
+    }
+    return DurationStatsResponse.builder()
+        .count(count)
+        .averageDays(count == 0 ? null : Math.round(hours * 10.0 / 24 / count) / 10.0)
+        .p50Days(percentile(buckets, column, total, 0.50))
+        .p85Days(percentile(buckets, column, total, 0.85))
+        .histogram(histogram)
+        .build();
+  }
+
+  private static Integer percentile(long[][] buckets, int column, long total, double p) {
+    if (total == 0) {
+      return null;
+    }
+    long seen = 0;
+    for (int b = 0; b < buckets.length; b++) {
+      seen += buckets[b][column];
+      if (seen >= Math.ceil(total * p)) {
+        return CycleTimeBuckets.maxDays(b);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,105 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.enums.TaskStatus;
+import com.taskmate.repo.ArchivedDiscussionMessageRepository;
+import com.taskmate.repo.ArchivedTaskRepository;
+import com.taskmate.repo.DiscussionMessageRepository;
+import com.taskmate.repo.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves DONE tasks not touched for {@code task-after} and messages older than {@code message-after}
+ * into the archive tables, so {@code tasks} / {@code discussion_messages} and their indexes only hold
+ * the hot working set. Each batch is copied (INSERT ... SELECT) and deleted in one short transaction;
+ * affected projects/teams get a version bump so cached lists and ETags move on.
+ */
+@Component
+public class ArchivalJob {
+
+  private final TaskRepository taskRepository;
+  private final ArchivedTaskRepository archivedTaskRepository;
+  private final DiscussionMessageRepository messageRepository;
+  private final ArchivedDiscussionMessageRepository archivedMessageRepository;
+  private final ContentVersionService contentVersionService;
+  private final TransactionTemplate tx;
+  private final Counter tasksArchived;
+  private final Counter messagesArchived;
+
+  @Value("${taskmate.archive.enabled:true}")
+  private boolean enabled;
+
+  @Value("${taskmate.archive.task-after:30d}")
+  private Duration taskAfter;
+
+  @Value("${taskmate.archive.message-after:90d}")
+  private Duration messageAfter;
+
+  @Value("${taskmate.archive.batch-size:500}")
+  private int batchSize;
+
+  public ArchivalJob(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                     DiscussionMessageRepository messageRepository,
+                     ArchivedDiscussionMessageRepository archivedMessageRepository,
+                     ContentVersionService contentVersionService, TransactionTemplate tx, MeterRegistry meterRegistry) {
+    this.taskRepository = taskRepository;
+    this.archivedTaskRepository = archivedTaskRepository;
+    this.messageRepository = messageRepository;
+    this.archivedMessageRepository = archivedMessageRepository;
+    this.contentVersionService = contentVersionService;
+    this.tx = tx;
+    this.tasksArchived = Counter.builder("taskmate.archive.moved").tag("kind", "task").register(meterRegistry);
+    this.messagesArchived = Counter.builder("taskmate.archive.moved").tag("kind", "message").register(meterRegistry);
+  }
+
+  @Scheduled(initialDelayString = "${taskmate.archive.interval-ms:3600000}",
+      fixedDelayString = "${taskmate.archive.interval-ms:3600000}")
+  public void run() {
+    if (!enabled) {
+      return;
+    }
+    Instant now = Instant.now();
+    int moved;
+    do {
+      moved = tx.execute(status -> archiveTasks(now.minus(taskAfter), now));
+    } while (moved == batchSize);
+    do {
+      moved = tx.execute(status -> archiveMessages(now.minus(messageAfter), now));
+    } while (moved == batchSize);
+  }
+
+  private int archiveTasks(Instant cutoff, Instant now) {
+    List<Long> ids = taskRepository.findLeafIdsByStatusUpdatedBefore(TaskStatus.DONE, cutoff, PageRequest.of(0, batchSize));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    List<Long> projectIds = taskRepository.findProjectIdsByIdIn(ids);
+    archivedTaskRepository.copyFromTasks(ids, now);
+    taskRepository.deleteAllByIdInBatch(ids);
+    projectIds.forEach(contentVersionService::bumpProject);
+    tasksArchived.increment(ids.size());
+    return ids.size();
+  }
+
+  private int archiveMessages(Instant cutoff, Instant now) {
+    List<Long> ids = messageRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    List<Long> teamIds = messageRepository.findTeamIdsByIdIn(ids);
+    archivedMessageRepository.copyFromMessages(ids, now);
+    messageRepository.deleteAllByIdInBatch(ids);
+    teamIds.forEach(contentVersionService::bumpTeam);
+    messagesArchived.increment(ids.size());
+    return ids.size();
+  }
+}
@@ -25,6 +25,7 @@ public class AuthServiceImpl implements AuthService {
   private final PasswordEncoder passwordEncoder;
   private final AuthenticationManager authenticationManager;
   private final JwtService jwtService;
+  private final UserDirectory userDirectory;
 
   @Override
   public AuthResponse register(RegisterRequest req) {
@@ -38,6 +39,7 @@ public class AuthServiceImpl implements AuthService {
     u.setRole(userRepository.count() == 0 ? GlobalRole.ADMIN : GlobalRole.MEMBER);
     u.setInitials(makeInitials(req.getName()));
     u = userRepository.save(u);
+    userDirectory.put(u);
 
     String token = jwtService.generateToken(u.getEmail(), Map.of(
         "uid", u.getId(),
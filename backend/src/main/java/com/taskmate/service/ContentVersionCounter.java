@@ -0,0 +1,32 @@
+package com.taskmate.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds to a {@code content_versions} counter, creating the row on first use. Runs in the caller's
+ * transaction; plain JDBC so a lost insert race doesn't mark that transaction rollback-only.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentVersionCounter {
+
+  private static final String UPDATE = "update content_versions set version = version + ? where scope_key = ?";
+  private static final String INSERT = "insert into content_versions (scope_key, version) values (?, ?)";
+
+  private final JdbcTemplate jdbc;
+
+  public void add(String scopeKey, long delta) {
+    if (jdbc.update(UPDATE, delta, scopeKey) > 0) {
+      return;
+    }
+    try {
+      jdbc.update(INSERT, scopeKey, delta);
+    } catch (DuplicateKeyException e) {
+      // another transaction created the row in between
+      jdbc.update(UPDATE, delta, scopeKey);
+    }
+  }
+}
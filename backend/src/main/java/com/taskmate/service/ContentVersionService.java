@@ -0,0 +1,18 @@
+package com.taskmate.service;
+
+public interface ContentVersionService {
+  /** ETag for team-scoped lists (projects, members, files, messages); checks membership first. */
+  String teamEtag(Long teamId);
+
+  /** ETag for the task list of a project; checks membership of the owning team first. */
+  String projectEtag(Long projectId);
+
+  /** Current team version without a permission check, for keys of internal caches / coalescing. */
+  long teamVersion(Long teamId);
+
+  /** Current project version without a permission check, for keys of internal caches / coalescing. */
+  long projectVersion(Long projectId);
+
+  void bumpTeam(Long teamId);
+  void bumpProject(Long projectId);
+}
@@ -0,0 +1,80 @@
+package com.taskmate.service;
+
+import com.taskmate.api.error.NotFoundException;
+import com.taskmate.domain.ContentVersion;
+import com.taskmate.domain.User;
+import com.taskmate.repo.ContentVersionRepository;
+import com.taskmate.repo.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ContentVersionServiceImpl implements ContentVersionService {
+
+  private final ContentVersionRepository versionRepository;
+  private final ContentVersionCounter versionCounter;
+  private final ProjectRepository projectRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final PermissionService permissionService;
+
+  @Override
+  @Transactional(readOnly = true)
+  public String teamEtag(Long teamId) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    return "t" + teamId + "-" + current(teamKey(teamId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String projectEtag(Long projectId) {
+    User me = currentUserProvider.requireCurrentUser();
+    Long teamId = projectRepository.findTeamIdById(projectId)
+        .orElseThrow(() -> new NotFoundException("Project not found: " + projectId));
+    permissionService.assertTeamMember(teamId, me.getId());
+    return "p" + projectId + "-" + current(projectKey(projectId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long teamVersion(Long teamId) {
+    return current(teamKey(teamId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long projectVersion(Long projectId) {
+    return current(projectKey(projectId));
+  }
+
+  @Override
+  @Transactional
+  public void bumpTeam(Long teamId) {
+    bump(teamKey(teamId));
+  }
+
+  @Override
+  @Transactional
+  public void bumpProject(Long projectId) {
+    bump(projectKey(projectId));
+  }
+
+  private long current(String key) {
+    return versionRepository.findById(key).map(ContentVersion::getVersion).orElse(0L);
+  }
+
+  private void bump(String key) {
+    // rows are seeded by the migration and created on first write of a new team/project
+    versionCounter.add(key, 1);
+  }
+
+  private static String teamKey(Long teamId) {
+    return "team:" + teamId;
+  }
+
+  private static String projectKey(Long projectId) {
+    return "project:" + projectId;
+  }
+}
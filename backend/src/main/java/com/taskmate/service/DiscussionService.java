@@ -1,11 +1,17 @@
 package com.taskmate.service;
 
 import com.taskmate.api.dto.discussion.MessageCreateRequest;
+import com.taskmate.api.dto.discussion.MessageResponse;
 import com.taskmate.domain.DiscussionMessage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DiscussionService {
   DiscussionMessage post(MessageCreateRequest req);
-  List<DiscussionMessage> listByTeam(Long teamId);
+  /** Messages oldest first; archived ones are older than any hot message, so they come first when included. */
+  List<MessageResponse> listByTeam(Long teamId, boolean includeArchived);
+  /** The newest {@code limit} messages (at most the cache size), oldest first, served from memory when warm. */
+  List<MessageResponse> recent(Long teamId, int limit);
+  void streamByTeam(Long teamId, boolean includeArchived, Consumer<DiscussionMessage> sink);
 }
@@ -1,18 +1,27 @@
 package com.taskmate.service;
 
 import com.taskmate.api.dto.discussion.MessageCreateRequest;
+import com.taskmate.api.dto.discussion.MessageResponse;
 import com.taskmate.api.error.NotFoundException;
+import com.taskmate.domain.ArchivedDiscussionMessage;
 import com.taskmate.domain.DiscussionMessage;
 import com.taskmate.domain.Team;
 import com.taskmate.domain.User;
+import com.taskmate.repo.ArchivedDiscussionMessageRepository;
 import com.taskmate.repo.DiscussionMessageRepository;
 import com.taskmate.repo.TeamRepository;
+import com.taskmate.service.search.SearchDocument;
+import com.taskmate.service.search.SearchIndexer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +31,15 @@ public class DiscussionServiceImpl extends AbstractCrudService<DiscussionMessage
   private final TeamRepository teamRepository;
   private final CurrentUserProvider currentUserProvider;
   private final PermissionService permissionService;
+  private final EntityManager entityManager;
+  private final ContentVersionService contentVersionService;
+  private final SingleFlight singleFlight;
+  private final ArchivedDiscussionMessageRepository archivedMessageRepository;
+  private final SearchIndexer searchIndexer;
+  private final UnreadService unreadService;
+  private final DiscussionWriteBehind writeBehind;
+  private final TransactionTemplate tx;
+  private final RecentMessagesCache recentMessages;
 
   @Override
   protected JpaRepository<DiscussionMessage, Long> repo() {
@@ -33,12 +51,19 @@ public class DiscussionServiceImpl extends AbstractCrudService<DiscussionMessage
     return "Message not found: " + id;
   }
 
+  // no @Transactional: with write-behind the caller may wait for a group commit and must not hold
+  // a connection meanwhile; the direct path opens its own transaction
   @Override
-  @Transactional
   public DiscussionMessage post(MessageCreateRequest req) {
     User me = currentUserProvider.requireCurrentUser();
     permissionService.assertTeamMember(req.getTeamId(), me.getId());
+    if (writeBehind.isEnabled()) {
+      return writeBehind.submit(req.getTeamId(), me, req.getContent());
+    }
+    return tx.execute(s -> insert(req, me));
+  }
 
+  private DiscussionMessage insert(MessageCreateRequest req, User me) {
     Team team = teamRepository.findById(req.getTeamId())
         .orElseThrow(() -> new NotFoundException("Team not found: " + req.getTeamId()));
 
@@ -46,14 +71,49 @@ public class DiscussionServiceImpl extends AbstractCrudService<DiscussionMessage
     m.setTeam(team);
     m.setAuthor(me);
     m.setContent(req.getContent());
-    return messageRepository.save(m);
+    contentVersionService.bumpTeam(team.getId());
+    unreadService.onPost(team.getId(), me.getId());
+    DiscussionMessage saved = messageRepository.save(m);
+    searchIndexer.index(SearchDocument.of(saved));
+    recentMessages.onPosted(team.getId(), List.of(RecentMessagesCache.toResponse(saved)));
+    return saved;
+  }
+
+  @Override
+  public List<MessageResponse> listByTeam(Long teamId, boolean includeArchived) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    long version = contentVersionService.teamVersion(teamId);
+    if (!includeArchived) {
+      return singleFlight.list("messages.byTeam", List.of(teamId, version),
+          () -> messageRepository.findByTeamIdOrderByCreatedAtAsc(teamId).stream()
+              .map(RecentMessagesCache::toResponse).toList());
+    }
+    return singleFlight.list("messages.byTeam.withArchive", List.of(teamId, version), () -> {
+      List<MessageResponse> all = new ArrayList<>();
+      archivedMessageRepository.findByTeamIdOrderByCreatedAtAsc(teamId)
+          .forEach(a -> all.add(RecentMessagesCache.toResponse(a.toMessage())));
+      messageRepository.findByTeamIdOrderByCreatedAtAsc(teamId).forEach(m -> all.add(RecentMessagesCache.toResponse(m)));
+      return all;
+    });
+  }
+
+  @Override
+  public List<MessageResponse> recent(Long teamId, int limit) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    return recentMessages.recent(teamId, Math.max(1, Math.min(limit, recentMessages.capacity())));
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<DiscussionMessage> listByTeam(Long teamId) {
+  public void streamByTeam(Long teamId, boolean includeArchived, Consumer<DiscussionMessage> sink) {
     User me = currentUserProvider.requireCurrentUser();
     permissionService.assertTeamMember(teamId, me.getId());
-    return messageRepository.findByTeamIdOrderByCreatedAtAsc(teamId);
+    if (includeArchived) {
+      forEachDetached(entityManager, archivedMessageRepository.streamByTeamIdOrderByCreatedAtAsc(teamId),
+          (ArchivedDiscussionMessage a) -> sink.accept(a.toMessage()));
+    }
+    forEachDetached(entityManager, messageRepository.streamByTeamIdOrderByCreatedAtAsc(teamId), sink);
   }
 }
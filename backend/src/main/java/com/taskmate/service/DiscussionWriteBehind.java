@@ -0,0 +1,279 @@
+package com.taskmate.service;
+
+import com.taskmate.api.error.ServiceUnavailableException;
+import com.taskmate.domain.DiscussionMessage;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.service.search.SearchDocument;
+import com.taskmate.service.search.SearchIndexer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional write-behind path for {@code POST /api/teams/{id}/messages}: posts go into a bounded
+ * queue and a single flusher thread writes them as multi-row inserts, one transaction per batch
+ * (every {@code flush-interval} or {@code batch-size} messages, whichever comes first).
+ * <p>
+ * One flusher writing in queue order keeps messages of a team in posting order. With
+ * {@code ack: DURABLE} a post returns once its batch has committed (group commit, real id in the
+ * response, or no id if the batch misses {@code ack-timeout}); with {@code ack: QUEUED} it
+ * returns right after enqueueing, without an id, and a crash loses whatever was still queued.
+ * On shutdown the queue is drained before the datasource closes.
+ */
+@Slf4j
+@Component
+public class DiscussionWriteBehind {
+
+  public enum Ack { DURABLE, QUEUED }
+
+  private record Pending(long teamId, User author, String content, Instant createdAt, CompletableFuture<Long> stored) {}
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final ContentVersionService contentVersionService;
+  private final UnreadService unreadService;
+  private final SearchIndexer searchIndexer;
+  private final RecentMessagesCache recentMessages;
+  private final boolean enabled;
+  private final Ack ack;
+  private final int batchSize;
+  private final Duration flushInterval;
+  private final Duration ackTimeout;
+  private final Duration shutdownTimeout;
+  private final BlockingQueue<Pending> queue;
+  private final Counter written;
+  private final Counter rejected;
+  private final Counter failed;
+  private final DistributionSummary batchSizes;
+  private volatile boolean accepting;
+  private Thread flusher;
+
+  public DiscussionWriteBehind(JdbcTemplate jdbc, TransactionTemplate tx,
+                               ContentVersionService contentVersionService, UnreadService unreadService,
+                               SearchIndexer searchIndexer, RecentMessagesCache recentMessages,
+                               @Value("${taskmate.discussion.write-behind.enabled:false}") boolean enabled,
+                               @Value("${taskmate.discussion.write-behind.ack:DURABLE}") Ack ack,
+                               @Value("${taskmate.discussion.write-behind.queue-capacity:10000}") int queueCapacity,
+                               @Value("${taskmate.discussion.write-behind.batch-size:200}") int batchSize,
+                               @Value("${taskmate.discussion.write-behind.flush-interval:5ms}") Duration flushInterval,
+                               @Value("${taskmate.discussion.write-behind.ack-timeout:5s}") Duration ackTimeout,
+                               @Value("${taskmate.discussion.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+                               MeterRegistry meterRegistry) {
+    this.jdbc = jdbc;
+    this.tx = tx;
+    this.contentVersionService = contentVersionService;
+    this.unreadService = unreadService;
+    this.searchIndexer = searchIndexer;
+    this.recentMessages = recentMessages;
+    this.enabled = enabled;
+    this.ack = ack;
+    this.batchSize = batchSize;
+    this.flushInterval = flushInterval;
+    this.ackTimeout = ackTimeout;
+    this.shutdownTimeout = shutdownTimeout;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.written = Counter.builder("taskmate.discussion.write-behind.written").register(meterRegistry);
+    this.rejected = Counter.builder("taskmate.discussion.write-behind.rejected")
+        .description("Posts refused because the queue was full")
+        .register(meterRegistry);
+    this.failed = Counter.builder("taskmate.discussion.write-behind.failed").register(meterRegistry);
+    this.batchSizes = DistributionSummary.builder("taskmate.discussion.write-behind.batch").register(meterRegistry);
+    Gauge.builder("taskmate.discussion.write-behind.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      return;
+    }
+    accepting = true;
+    flusher = new Thread(this::run, "discussion-write-behind");
+    flusher.start();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Queues a message whose author's membership was already checked. The returned message has its id
+   * set only with {@code ack: DURABLE}.
+   */
+  public DiscussionMessage submit(Long teamId, User author, String content) {
+    if (!accepting) {
+      throw new ServiceUnavailableException("Server is shutting down", 1);
+    }
+    Pending p = new Pending(teamId, author, content, Instant.now(), new CompletableFuture<>());
+    if (!queue.offer(p)) {
+      rejected.increment();
+      throw new ServiceUnavailableException("Too many messages are being posted, please retry shortly", 1);
+    }
+    DiscussionMessage m = view(p);
+    if (ack == Ack.DURABLE) {
+      m.setId(await(p));
+    }
+    return m;
+  }
+
+  private Long await(Pending p) {
+    try {
+      return p.stored().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // still queued and will be written: answer like QUEUED (no id) so a retry does not post it twice
+      return null;
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private void run() {
+    List<Pending> batch = new ArrayList<>(batchSize);
+    while (accepting || !queue.isEmpty()) {
+      try {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long left = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || left <= 0 || !accepting) {
+            break;
+          }
+          Pending next = queue.poll(left, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        flush(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<Pending> batch) {
+    try {
+      List<Long> ids = tx.execute(s -> write(batch));
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).stored().complete(ids.get(i));
+      }
+      written.increment(batch.size());
+      batchSizes.record(batch.size());
+    } catch (RuntimeException ex) {
+      if (batch.size() == 1) {
+        failed.increment();
+        log.error("Dropping discussion message for team {}: {}", batch.get(0).teamId(), ex.toString());
+        batch.get(0).stored().completeExceptionally(ex);
+        return;
+      }
+      // one bad row (e.g. a team deleted meanwhile) must not take the rest down: retry one by one
+      log.warn("Batch of {} messages failed, retrying individually: {}", batch.size(), ex.toString());
+      for (Pending p : batch) {
+        flush(new ArrayList<>(List.of(p)));
+      }
+    }
+  }
+
+  private List<Long> write(List<Pending> batch) {
+    StringBuilder sql = new StringBuilder(
+        "insert into discussion_messages (created_at, updated_at, team_id, author_user_id, content) values ");
+    for (int i = 0; i < batch.size(); i++) {
+      sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+    }
+    KeyHolder keys = new GeneratedKeyHolder();
+    jdbc.update(con -> {
+      PreparedStatement ps = con.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS);
+      int i = 1;
+      for (Pending p : batch) {
+        Timestamp at = Timestamp.from(p.createdAt());
+        ps.setTimestamp(i++, at);
+        ps.setTimestamp(i++, at);
+        ps.setLong(i++, p.teamId());
+        ps.setLong(i++, p.author().getId());
+        ps.setString(i++, p.content());
+      }
+      return ps;
+    }, keys);
+    List<Long> ids = keys.getKeyList().stream()
+        .map(k -> ((Number) k.values().iterator().next()).longValue())
+        .toList();
+
+    // side effects once per team per batch instead of once per message
+    Map<Long, List<DiscussionMessage>> byTeam = new LinkedHashMap<>();
+    for (int i = 0; i < batch.size(); i++) {
+      Pending p = batch.get(i);
+      DiscussionMessage m = view(p);
+      m.setId(ids.get(i));
+      byTeam.computeIfAbsent(p.teamId(), t -> new ArrayList<>()).add(m);
+      searchIndexer.index(SearchDocument.of(m));
+    }
+    byTeam.forEach((teamId, messages) -> {
+      contentVersionService.bumpTeam(teamId);
+      unreadService.onPosts(teamId, messages.stream().map(m -> m.getAuthor().getId()).toList());
+      recentMessages.onPosted(teamId, messages.stream().map(RecentMessagesCache::toResponse).toList());
+    });
+    return ids;
+  }
+
+  private static DiscussionMessage view(Pending p) {
+    Team team = new Team();
+    team.setId(p.teamId());
+    DiscussionMessage m = new DiscussionMessage();
+    m.setTeam(team);
+    m.setAuthor(p.author());
+    m.setContent(p.content());
+    m.setCreatedAt(p.createdAt());
+    m.setUpdatedAt(p.createdAt());
+    return m;
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    if (flusher == null) {
+      return;
+    }
+    accepting = false;
+    flusher.join(shutdownTimeout.toMillis());
+    if (flusher.isAlive()) {
+      log.warn("Write-behind queue not drained within {}, {} messages lost", shutdownTimeout, queue.size());
+      flusher.interrupt();
+    }
+  }
+}
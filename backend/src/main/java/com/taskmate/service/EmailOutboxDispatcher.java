@@ -0,0 +1,193 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.EmailOutbox;
+import com.taskmate.domain.enums.EmailOutboxStatus;
+import com.taskmate.repo.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers {@code email_outbox} rows: claims a batch of due rows, sends them over one SMTP
+ * connection, then records the outcome. Failed rows are retried with exponential backoff
+ * (plus jitter) until {@code max-attempts}, then left as FAILED. Rows that reach SENT or FAILED
+ * lose their body (it may hold an OTP); {@link EmailOutboxPurgeJob} deletes them later.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+  private final EmailOutboxRepository outboxRepository;
+  private final JavaMailSender mailSender;
+  private final TransactionTemplate tx;
+
+  private final AtomicLong pendingDepth = new AtomicLong();
+  private final AtomicLong failedDepth = new AtomicLong();
+  private final Counter sent;
+  private final Counter retried;
+  private final Counter failed;
+
+  @Value("${app.mail.from:no-reply@taskmate.local}")
+  private String from;
+
+  @Value("${taskmate.mail.outbox.batch-size:50}")
+  private int batchSize;
+
+  @Value("${taskmate.mail.outbox.max-attempts:8}")
+  private int maxAttempts;
+
+  @Value("${taskmate.mail.outbox.retry-base:30s}")
+  private Duration retryBase;
+
+  @Value("${taskmate.mail.outbox.retry-max:1h}")
+  private Duration retryMax;
+
+  @Value("${taskmate.mail.outbox.lease:5m}")
+  private Duration lease;
+
+  public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository, JavaMailSender mailSender,
+                               TransactionTemplate tx, MeterRegistry meterRegistry) {
+    this.outboxRepository = outboxRepository;
+    this.mailSender = mailSender;
+    this.tx = tx;
+    Gauge.builder("taskmate.mail.outbox.depth", pendingDepth, AtomicLong::get)
+        .description("Emails waiting in the outbox")
+        .tag("status", "pending")
+        .register(meterRegistry);
+    Gauge.builder("taskmate.mail.outbox.depth", failedDepth, AtomicLong::get)
+        .description("Emails that gave up after max attempts")
+        .tag("status", "failed")
+        .register(meterRegistry);
+    this.sent = Counter.builder("taskmate.mail.outbox.sent").register(meterRegistry);
+    this.retried = Counter.builder("taskmate.mail.outbox.retried").register(meterRegistry);
+    this.failed = Counter.builder("taskmate.mail.outbox.failed").register(meterRegistry);
+  }
+
+  @Scheduled(initialDelayString = "${taskmate.mail.outbox.poll-interval-ms:2000}",
+      fixedDelayString = "${taskmate.mail.outbox.poll-interval-ms:2000}")
+  public void poll() {
+    // keep going while batches come back full
+    int claimed;
+    do {
+      claimed = dispatchBatch();
+    } while (claimed == batchSize);
+    pendingDepth.set(outboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+    failedDepth.set(outboxRepository.countByStatus(EmailOutboxStatus.FAILED));
+  }
+
+  /** @return number of rows claimed (and attempted) */
+  public int dispatchBatch() {
+    String token = UUID.randomUUID().toString();
+    List<EmailOutbox> batch = tx.execute(status -> {
+      Instant now = Instant.now();
+      List<Long> ids = outboxRepository.findDueIds(EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+      if (ids.isEmpty()) {
+        return List.of();
+      }
+      outboxRepository.claim(token, now.plus(lease), ids, EmailOutboxStatus.PENDING, now);
+      return outboxRepository.findByClaimTokenOrderById(token);
+    });
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+
+    // a duplicate that slipped past the enqueue check goes out once
+    Set<String> keys = new HashSet<>();
+    Map<SimpleMailMessage, EmailOutbox> messages = new IdentityHashMap<>();
+    for (EmailOutbox row : batch) {
+      if (keys.add(row.getDedupKey())) {
+        messages.put(toMessage(row), row);
+      }
+    }
+
+    Set<Object> failures = Collections.newSetFromMap(new IdentityHashMap<>());
+    String error = null;
+    try {
+      mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+    } catch (MailSendException e) {
+      error = e.getMessage();
+      if (e.getFailedMessages().isEmpty()) {
+        failures.addAll(messages.keySet());
+      } else {
+        failures.addAll(e.getFailedMessages().keySet());
+      }
+    } catch (MailException e) {
+      error = e.getMessage();
+      failures.addAll(messages.keySet());
+    }
+
+    Instant now = Instant.now();
+    for (EmailOutbox row : batch) {
+      row.setClaimToken(null);
+      row.setAttempts(row.getAttempts() + 1);
+    }
+    for (Map.Entry<SimpleMailMessage, EmailOutbox> e : messages.entrySet()) {
+      EmailOutbox row = e.getValue();
+      if (!failures.contains(e.getKey())) {
+        row.setStatus(EmailOutboxStatus.SENT);
+        row.setSentAt(now);
+        row.setBody("");
+        sent.increment();
+      } else if (row.getAttempts() >= maxAttempts) {
+        row.setStatus(EmailOutboxStatus.FAILED);
+        row.setBody("");
+        row.setLastError(truncate(error));
+        failed.increment();
+      } else {
+        row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+        row.setLastError(truncate(error));
+        retried.increment();
+      }
+    }
+    for (EmailOutbox row : batch) {
+      if (row.getStatus() == EmailOutboxStatus.PENDING && !messages.containsValue(row)) {
+        row.setStatus(EmailOutboxStatus.SENT);
+        row.setBody("");
+        row.setLastError("duplicate of a message in the same batch");
+      }
+    }
+    tx.executeWithoutResult(status -> outboxRepository.saveAll(batch));
+    return batch.size();
+  }
+
+  private SimpleMailMessage toMessage(EmailOutbox row) {
+    SimpleMailMessage msg = new SimpleMailMessage();
+    msg.setFrom(from);
+    msg.setTo(row.getRecipient());
+    msg.setSubject(row.getSubject());
+    msg.setText(row.getBody());
+    return msg;
+  }
+
+  private Duration backoff(int attempts) {
+    long base = retryBase.toMillis() << Math.min(attempts - 1, 20);
+    long capped = Math.min(retryMax.toMillis(), base);
+    // +-20% jitter so rows that failed together don't retry in lockstep
+    long jitter = (long) (capped * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+    return Duration.ofMillis(capped + jitter);
+  }
+
+  private static String truncate(String s) {
+    return s == null || s.length() <= 500 ? s : s.substring(0, 500);
+  }
+}
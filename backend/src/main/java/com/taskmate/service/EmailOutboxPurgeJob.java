@@ -0,0 +1,55 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.enums.EmailOutboxStatus;
+import com.taskmate.repo.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes SENT and FAILED rows of {@code email_outbox} older than {@code retention} in small
+ * batches, one short transaction per batch. Rows are never purged inside the dedup window, or a
+ * deduplicated email could go out twice.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxPurgeJob {
+
+  private static final List<EmailOutboxStatus> FINISHED =
+      List.of(EmailOutboxStatus.SENT, EmailOutboxStatus.FAILED);
+
+  private final EmailOutboxRepository outboxRepository;
+  private final TransactionTemplate tx;
+
+  @Value("${taskmate.mail.outbox.retention:7d}")
+  private Duration retention;
+
+  @Value("${taskmate.mail.outbox.dedup-window:1h}")
+  private Duration dedupWindow;
+
+  @Value("${taskmate.mail.outbox.purge-batch-size:500}")
+  private int batchSize;
+
+  @Scheduled(fixedDelayString = "${taskmate.mail.outbox.purge-interval-ms:3600000}",
+      initialDelayString = "${taskmate.mail.outbox.purge-interval-ms:3600000}")
+  public void purge() {
+    Instant cutoff = Instant.now().minus(retention.compareTo(dedupWindow) >= 0 ? retention : dedupWindow);
+    int deleted;
+    do {
+      deleted = tx.execute(status -> {
+        List<Long> ids = outboxRepository.findFinishedIdsCreatedBefore(FINISHED, cutoff, PageRequest.of(0, batchSize));
+        if (!ids.isEmpty()) {
+          outboxRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+      });
+    } while (deleted == batchSize);
+  }
+}
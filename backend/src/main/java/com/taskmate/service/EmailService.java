@@ -2,4 +2,12 @@ package com.taskmate.service;
 
 public interface EmailService {
   void send(String to, String subject, String body);
+
+  /**
+   * Like {@link #send(String, String, String)}, but a second email with the same {@code dedupKey}
+   * within the dedup window is dropped (e.g. "digest:team:7:2024-05-01").
+   */
+  default void send(String to, String subject, String body, String dedupKey) {
+    send(to, subject, body);
+  }
 }
@@ -1,14 +1,17 @@
 package com.taskmate.service;
 
+import com.taskmate.api.dto.file.FileResponse;
 import com.taskmate.domain.FileResource;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FileService {
   FileResource upload(Long teamId, MultipartFile file);
-  List<FileResource> list(Long teamId);
+  List<FileResponse> list(Long teamId);
+  void stream(Long teamId, Consumer<FileResource> sink);
   Resource download(Long fileId);
   FileResource getMeta(Long fileId);
 }
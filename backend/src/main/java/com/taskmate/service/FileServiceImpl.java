@@ -1,12 +1,16 @@
 package com.taskmate.service;
 
+import com.taskmate.api.dto.file.FileResponse;
 import com.taskmate.api.error.NotFoundException;
 import com.taskmate.domain.FileResource;
 import com.taskmate.domain.Team;
 import com.taskmate.domain.User;
 import com.taskmate.repo.FileResourceRepository;
 import com.taskmate.repo.TeamRepository;
+import com.taskmate.service.search.SearchDocument;
+import com.taskmate.service.search.SearchIndexer;
 import com.taskmate.service.storage.FileStorageService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +30,10 @@ public class FileServiceImpl extends AbstractCrudService<FileResource, Long> imp
   private final CurrentUserProvider currentUserProvider;
   private final PermissionService permissionService;
   private final FileStorageService storageService;
+  private final EntityManager entityManager;
+  private final ContentVersionService contentVersionService;
+  private final SingleFlight singleFlight;
+  private final SearchIndexer searchIndexer;
 
   @Override
   protected JpaRepository<FileResource, Long> repo() {
@@ -52,15 +61,38 @@ public class FileServiceImpl extends AbstractCrudService<FileResource, Long> imp
     fr.setOriginalName(file.getOriginalFilename() == null ? "file" : file.getOriginalFilename());
     fr.setContentType(file.getContentType() == null ? "application/octet-stream" : file.getContentType());
     fr.setSizeBytes(file.getSize());
-    return fileRepo.save(fr);
+    contentVersionService.bumpTeam(teamId);
+    FileResource saved = fileRepo.save(fr);
+    searchIndexer.index(SearchDocument.of(saved));
+    return saved;
+  }
+
+  @Override
+  public List<FileResponse> list(Long teamId) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    return singleFlight.list("files.byTeam", List.of(teamId, contentVersionService.teamVersion(teamId)),
+        () -> fileRepo.findByTeamIdOrderByCreatedAtDesc(teamId).stream().map(FileServiceImpl::toResponse).toList());
+  }
+
+  private static FileResponse toResponse(FileResource f) {
+    return FileResponse.builder()
+        .id(f.getId())
+        .teamId(f.getTeam().getId())
+        .uploadedByUserId(f.getUploadedBy().getId())
+        .originalName(f.getOriginalName())
+        .contentType(f.getContentType())
+        .sizeBytes(f.getSizeBytes())
+        .createdAt(f.getCreatedAt())
+        .build();
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<FileResource> list(Long teamId) {
+  public void stream(Long teamId, Consumer<FileResource> sink) {
     User me = currentUserProvider.requireCurrentUser();
     permissionService.assertTeamMember(teamId, me.getId());
-    return fileRepo.findByTeamIdOrderByCreatedAtDesc(teamId);
+    forEachDetached(entityManager, fileRepo.streamByTeamIdOrderByCreatedAtDesc(teamId), sink);
   }
 
   @Override
@@ -0,0 +1,57 @@
+package com.taskmate.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Keyed HMAC-SHA256 digests for OTPs. An OTP is short-lived and guarded by an attempt counter, so a
+ * slow password hash buys nothing; the server-side key keeps a leaked table from being brute-forced
+ * offline, and comparison is constant-time.
+ */
+@Component
+public class OtpHasher {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final String PREFIX = "hmac256:";
+
+  private final SecretKeySpec key;
+
+  public OtpHasher(@Value("${taskmate.security.otp.hmac-key}") String secret) {
+    this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+  }
+
+  public String digest(Long userId, String otp) {
+    return PREFIX + HexFormat.of().formatHex(mac(userId, otp));
+  }
+
+  public boolean matches(Long userId, String otp, String stored) {
+    if (otp == null || stored == null || !stored.startsWith(PREFIX)) {
+      return false;
+    }
+    byte[] expected;
+    try {
+      expected = HexFormat.of().parseHex(stored.substring(PREFIX.length()));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    return MessageDigest.isEqual(expected, mac(userId, otp));
+  }
+
+  private byte[] mac(Long userId, String otp) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      // bind the digest to the user so rows cannot be swapped between accounts
+      return mac.doFinal((userId + ":" + otp).getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
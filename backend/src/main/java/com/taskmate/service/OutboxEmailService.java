@@ -0,0 +1,64 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.EmailOutbox;
+import com.taskmate.domain.enums.EmailOutboxStatus;
+import com.taskmate.repo.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Default {@link EmailService}: writes the email to {@code email_outbox} in the caller's transaction,
+ * so it commits or rolls back with the business change and never waits on SMTP.
+ * {@link EmailOutboxDispatcher} delivers it afterwards.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+public class OutboxEmailService implements EmailService {
+
+  private final EmailOutboxRepository outboxRepository;
+
+  @Value("${taskmate.mail.outbox.dedup-window:1h}")
+  private Duration dedupWindow;
+
+  @Override
+  @Transactional
+  public void send(String to, String subject, String body) {
+    send(to, subject, body, contentKey(to, subject, body));
+  }
+
+  @Override
+  @Transactional
+  public void send(String to, String subject, String body, String dedupKey) {
+    if (outboxRepository.existsByDedupKeyAndCreatedAtAfter(dedupKey, Instant.now().minus(dedupWindow))) {
+      return;
+    }
+    outboxRepository.save(EmailOutbox.builder()
+        .dedupKey(dedupKey)
+        .recipient(to)
+        .subject(subject)
+        .body(body)
+        .status(EmailOutboxStatus.PENDING)
+        .build());
+  }
+
+  private static String contentKey(String to, String subject, String body) {
+    try {
+      MessageDigest sha = MessageDigest.getInstance("SHA-256");
+      byte[] hash = sha.digest((to + '\n' + subject + '\n' + body).getBytes(StandardCharsets.UTF_8));
+      return "sha256:" + HexFormat.of().formatHex(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.taskmate.service;
+
+import com.taskmate.repo.PasswordResetOtpRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes expired (and therefore also used) rows of {@code password_reset_otps} in small batches,
+ * one short transaction per batch, so the purge never holds long locks.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordResetOtpPurgeJob {
+
+  private final PasswordResetOtpRepository otpRepository;
+  private final TransactionTemplate tx;
+
+  @Value("${taskmate.security.otp.purge-batch-size:500}")
+  private int batchSize;
+
+  @Scheduled(fixedDelayString = "${taskmate.security.otp.purge-interval-ms:3600000}",
+      initialDelayString = "${taskmate.security.otp.purge-interval-ms:3600000}")
+  public void purge() {
+    Instant now = Instant.now();
+    int deleted;
+    do {
+      deleted = tx.execute(status -> {
+        List<Long> ids = otpRepository.findExpiredIds(now, PageRequest.of(0, batchSize));
+        if (!ids.isEmpty()) {
+          otpRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+      });
+    } while (deleted == batchSize);
+  }
+}
@@ -5,6 +5,7 @@ import com.taskmate.domain.User;
 import com.taskmate.repo.PasswordResetOtpRepository;
 import com.taskmate.repo.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,8 +23,12 @@ public class PasswordResetService {
   private final PasswordResetOtpRepository otpRepository;
   private final PasswordEncoder passwordEncoder;
   private final EmailService emailService;
+  private final OtpHasher otpHasher;
   private final SecureRandom random = new SecureRandom();
 
+  @Value("${taskmate.security.otp.max-attempts:5}")
+  private int maxAttempts;
+
   /**
    * Mengirim OTP ke email user (jika email terdaftar).
    * Untuk keamanan, method ini sengaja tidak membocorkan apakah email ada atau tidak.
@@ -45,7 +50,7 @@ public class PasswordResetService {
     String otp = generateOtp6();
     PasswordResetOtp token = PasswordResetOtp.builder()
         .user(user)
-        .otpHash(passwordEncoder.encode(otp))
+        .otpHash(otpHasher.digest(user.getId(), otp))
         .expiresAt(Instant.now().plus(OTP_TTL))
         .used(false)
         .createdAt(Instant.now())
@@ -62,7 +67,8 @@ public class PasswordResetService {
     emailService.send(user.getEmail(), subject, body);
   }
 
-  @Transactional
+  // failed attempts (and burning an expired OTP) must be committed even though the caller gets an error
+  @Transactional(noRollbackFor = IllegalArgumentException.class)
   public void resetPassword(String email, String otp, String newPassword) {
     User user = userRepository.findByEmail(email)
         .orElseThrow(() -> new IllegalArgumentException("Email tidak terdaftar"));
@@ -78,15 +84,18 @@ public class PasswordResetService {
       otpRepository.save(token);
       throw new IllegalArgumentException("OTP sudah kadaluarsa");
     }
-    if (!passwordEncoder.matches(otp, token.getOtpHash())) {
+    if (!otpHasher.matches(user.getId(), otp, token.getOtpHash())) {
+      if (otpRepository.recordWrongGuess(token.getId(), maxAttempts) == 0 || otpRepository.isUsed(token.getId())) {
+        throw new IllegalArgumentException("OTP salah terlalu banyak, silakan minta OTP baru");
+      }
       throw new IllegalArgumentException("OTP salah");
     }
+    if (otpRepository.consume(token.getId(), maxAttempts) == 0) {
+      throw new IllegalArgumentException("OTP sudah digunakan / hangus, silakan minta OTP baru");
+    }
 
     user.setPasswordHash(passwordEncoder.encode(newPassword));
     userRepository.save(user);
-
-    token.setUsed(true);
-    otpRepository.save(token);
   }
 
   private String generateOtp6() {
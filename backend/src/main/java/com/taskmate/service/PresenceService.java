@@ -0,0 +1,16 @@
+package com.taskmate.service;
+
+import com.taskmate.service.presence.PresenceRegistry;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface PresenceService {
+  void heartbeat(Long teamId);
+
+  void leave(Long teamId);
+
+  List<PresenceRegistry.Member> online(Long teamId);
+
+  SseEmitter subscribe(Long teamId);
+}
@@ -0,0 +1,68 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.User;
+import com.taskmate.service.presence.PresenceRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PresenceServiceImpl implements PresenceService {
+
+  private final PresenceRegistry presenceRegistry;
+  private final PermissionService permissionService;
+  private final CurrentUserProvider currentUserProvider;
+
+  @Value("${taskmate.presence.stream-timeout:30m}")
+  private Duration streamTimeout;
+
+  // removals on this node evict at once; this bounds how long one made on another node goes unnoticed
+  @Value("${taskmate.presence.recheck-after:1m}")
+  private Duration recheckAfter;
+
+  @Override
+  public void heartbeat(Long teamId) {
+    User me = currentUserProvider.requireCurrentUser();
+    // membership is checked when a user comes online and then every recheck-after; heartbeats in
+    // between only bump the expiry
+    boolean verify = !verifiedRecently(teamId, me.getId());
+    if (verify) {
+      permissionService.assertTeamMember(teamId, me.getId());
+    }
+    presenceRegistry.heartbeat(teamId, me.getId(), me.getName(), me.getInitials(), verify);
+  }
+
+  @Override
+  public void leave(Long teamId) {
+    presenceRegistry.leave(teamId, currentUserProvider.requireCurrentUser().getId());
+  }
+
+  @Override
+  public List<PresenceRegistry.Member> online(Long teamId) {
+    assertCanSee(teamId);
+    return presenceRegistry.online(teamId);
+  }
+
+  @Override
+  public SseEmitter subscribe(Long teamId) {
+    Long userId = assertCanSee(teamId);
+    return presenceRegistry.subscribe(teamId, userId, streamTimeout.toMillis());
+  }
+
+  private Long assertCanSee(Long teamId) {
+    Long userId = currentUserProvider.requireCurrentUser().getId();
+    if (!verifiedRecently(teamId, userId)) {
+      permissionService.assertTeamMember(teamId, userId);
+    }
+    return userId;
+  }
+
+  private boolean verifiedRecently(Long teamId, Long userId) {
+    return presenceRegistry.isVerifiedSince(teamId, userId, System.currentTimeMillis() - recheckAfter.toMillis());
+  }
+}
@@ -1,14 +1,17 @@
 package com.taskmate.service;
 
 import com.taskmate.api.dto.project.ProjectCreateRequest;
+import com.taskmate.api.dto.project.ProjectResponse;
 import com.taskmate.api.dto.project.ProjectUpdateRequest;
 import com.taskmate.domain.Project;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProjectService {
   Project create(ProjectCreateRequest req);
-  List<Project> listByTeam(Long teamId);
+  List<ProjectResponse> listByTeam(Long teamId);
+  void streamByTeam(Long teamId, Consumer<Project> sink);
   Project getForTeam(Long projectId, Long teamId);
   Project update(Long projectId, ProjectUpdateRequest req);
   void delete(Long projectId);
@@ -1,19 +1,25 @@
 package com.taskmate.service;
 
 import com.taskmate.api.dto.project.ProjectCreateRequest;
+import com.taskmate.api.dto.project.ProjectResponse;
 import com.taskmate.api.dto.project.ProjectUpdateRequest;
 import com.taskmate.api.error.BadRequestException;
 import com.taskmate.domain.Project;
 import com.taskmate.domain.Team;
 import com.taskmate.domain.User;
+import com.taskmate.repo.ProjectCycleTimeRepository;
+import com.taskmate.repo.ProjectFlowDayRepository;
 import com.taskmate.repo.ProjectRepository;
 import com.taskmate.repo.TeamRepository;
+import com.taskmate.service.search.SearchIndexer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +29,12 @@ public class ProjectServiceImpl extends AbstractCrudService<Project, Long> imple
   private final TeamRepository teamRepository;
   private final CurrentUserProvider currentUserProvider;
   private final PermissionService permissionService;
+  private final EntityManager entityManager;
+  private final ContentVersionService contentVersionService;
+  private final SingleFlight singleFlight;
+  private final SearchIndexer searchIndexer;
+  private final ProjectFlowDayRepository flowDayRepository;
+  private final ProjectCycleTimeRepository cycleTimeRepository;
 
   @Override
   protected JpaRepository<Project, Long> repo() {
@@ -51,15 +63,38 @@ public class ProjectServiceImpl extends AbstractCrudService<Project, Long> imple
     p.setStatus(req.getStatus());
     p.setStartDate(req.getStartDate());
     p.setDueDate(req.getDueDate());
-    return projectRepository.save(p);
+    p = projectRepository.save(p);
+    contentVersionService.bumpTeam(team.getId());
+    contentVersionService.bumpProject(p.getId());
+    return p;
+  }
+
+  @Override
+  public List<ProjectResponse> listByTeam(Long teamId) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    return singleFlight.list("projects.byTeam", List.of(teamId, contentVersionService.teamVersion(teamId)),
+        () -> projectRepository.findByTeamId(teamId).stream().map(ProjectServiceImpl::toResponse).toList());
+  }
+
+  private static ProjectResponse toResponse(Project p) {
+    return ProjectResponse.builder()
+        .id(p.getId())
+        .teamId(p.getTeam().getId())
+        .name(p.getName())
+        .description(p.getDescription())
+        .status(p.getStatus())
+        .startDate(p.getStartDate())
+        .dueDate(p.getDueDate())
+        .build();
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<Project> listByTeam(Long teamId) {
+  public void streamByTeam(Long teamId, Consumer<Project> sink) {
     User me = currentUserProvider.requireCurrentUser();
     permissionService.assertTeamMember(teamId, me.getId());
-    return projectRepository.findByTeamId(teamId);
+    forEachDetached(entityManager, projectRepository.streamByTeamId(teamId), sink);
   }
 
   @Override
@@ -83,12 +118,20 @@ public class ProjectServiceImpl extends AbstractCrudService<Project, Long> imple
     if (req.getStatus() != null) p.setStatus(req.getStatus());
     if (req.getStartDate() != null) p.setStartDate(req.getStartDate());
     if (req.getDueDate() != null) p.setDueDate(req.getDueDate());
+    contentVersionService.bumpTeam(p.getTeam().getId());
     return projectRepository.save(p);
   }
 
   @Override
   @Transactional
   public void delete(Long projectId) {
-    super.delete(projectId);
+    Project p = getOrThrow(projectId);
+    projectRepository.delete(p);
+    contentVersionService.bumpTeam(p.getTeam().getId());
+    contentVersionService.bumpProject(projectId);
+    // its tasks went with the FK cascade; the analytics rows have no FK
+    flowDayRepository.deleteByProjectIdIn(List.of(projectId));
+    cycleTimeRepository.deleteByProjectIdIn(List.of(projectId));
+    searchIndexer.removeProject(projectId);
   }
 }
@@ -0,0 +1,242 @@
+package com.taskmate.service;
+
+import com.taskmate.api.dto.discussion.MessageResponse;
+import com.taskmate.domain.DiscussionMessage;
+import com.taskmate.repo.DiscussionMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Last {@code size} messages of recently read teams, as ready-to-send responses. Each ring is tagged
+ * with the team's content version it reflects: a read whose current version differs reloads from
+ * the database, so writes on other nodes, archiving and deletions never serve stale data. Local
+ * posts append in place and move the tag along instead of dropping the ring.
+ * <p>
+ * Whole teams are evicted least-recently-read first once the estimated footprint passes
+ * {@code max-memory}.
+ */
+@Component
+public class RecentMessagesCache {
+
+  // object headers, boxed fields and the Instant, on top of the two strings
+  private static final int ENTRY_OVERHEAD = 160;
+
+  private static final class Ring {
+    final MessageResponse[] buf;
+    int head;
+    int size;
+    long version;
+    long bytes;
+
+    Ring(int capacity, long version) {
+      this.buf = new MessageResponse[capacity];
+      this.version = version;
+    }
+
+    void add(MessageResponse m) {
+      if (size > 0 && m.getId() <= buf[(head + size - 1) % buf.length].getId()) {
+        return; // already loaded by a warm that raced with the post
+      }
+      if (size == buf.length) {
+        bytes -= sizeOf(buf[head]);
+        buf[head] = null;
+        head = (head + 1) % buf.length;
+        size--;
+      }
+      buf[(head + size) % buf.length] = m;
+      size++;
+      bytes += sizeOf(m);
+    }
+
+    List<MessageResponse> last(int limit) {
+      int n = Math.min(limit, size);
+      List<MessageResponse> out = new ArrayList<>(n);
+      for (int i = size - n; i < size; i++) {
+        out.add(buf[(head + i) % buf.length]);
+      }
+      return out;
+    }
+  }
+
+  private final DiscussionMessageRepository messageRepository;
+  private final ContentVersionService contentVersionService;
+  private final TransactionTemplate readTx;
+  private final int size;
+  private final long maxBytes;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<Long, Ring> rings = new LinkedHashMap<>(64, 0.75f, true);
+  private long totalBytes;
+  private final Counter hits;
+  private final Counter misses;
+
+  public RecentMessagesCache(DiscussionMessageRepository messageRepository,
+                             ContentVersionService contentVersionService, TransactionTemplate tx,
+                             @Value("${taskmate.discussion.recent.size:50}") int size,
+                             @Value("${taskmate.discussion.recent.max-memory:64MB}") DataSize maxMemory,
+                             MeterRegistry meterRegistry) {
+    this.messageRepository = messageRepository;
+    this.contentVersionService = contentVersionService;
+    this.readTx = new TransactionTemplate(tx.getTransactionManager());
+    this.readTx.setReadOnly(true);
+    this.size = size;
+    this.maxBytes = maxMemory.toBytes();
+    this.hits = Counter.builder("taskmate.discussion.recent").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("taskmate.discussion.recent").tag("result", "miss").register(meterRegistry);
+    Gauge.builder("taskmate.discussion.recent.teams", this, c -> c.teams()).register(meterRegistry);
+    Gauge.builder("taskmate.discussion.recent.bytes", this, c -> c.bytes()).register(meterRegistry);
+  }
+
+  public int capacity() {
+    return size;
+  }
+
+  /** Up to {@code limit} newest messages, oldest first. Membership must be checked by the caller. */
+  public List<MessageResponse> recent(Long teamId, int limit) {
+    long version = contentVersionService.teamVersion(teamId);
+    lock.lock();
+    try {
+      Ring ring = rings.get(teamId);
+      if (ring != null && ring.version == version) {
+        hits.increment();
+        return ring.last(limit);
+      }
+    } finally {
+      lock.unlock();
+    }
+    misses.increment();
+    Ring warmed = load(teamId);
+    lock.lock();
+    try {
+      put(teamId, warmed);
+    } finally {
+      lock.unlock();
+    }
+    return warmed.last(limit);
+  }
+
+  /**
+   * Called inside the posting transaction, after its single {@code bumpTeam}. The messages are
+   * appended once the transaction commits, if the ring was at the version just before ours.
+   */
+  public void onPosted(Long teamId, List<MessageResponse> messages) {
+    long version = contentVersionService.teamVersion(teamId);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        lock.lock();
+        try {
+          Ring ring = rings.get(teamId);
+          if (ring == null) {
+            return;
+          }
+          if (ring.version != version - 1) {
+            // another writer got in between; the next read reloads
+            remove(teamId);
+            return;
+          }
+          totalBytes -= ring.bytes;
+          messages.forEach(ring::add);
+          ring.version = version;
+          totalBytes += ring.bytes;
+          evictOverBudget();
+        } finally {
+          lock.unlock();
+        }
+      }
+    });
+  }
+
+  public void evict(Long teamId) {
+    lock.lock();
+    try {
+      remove(teamId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Ring load(Long teamId) {
+    // version and rows from one snapshot, so the tag never claims rows the ring does not hold
+    return readTx.execute(s -> {
+      Ring ring = new Ring(size, contentVersionService.teamVersion(teamId));
+      List<DiscussionMessage> newest = messageRepository.findNewestByTeamId(teamId, PageRequest.of(0, size));
+      for (int i = newest.size() - 1; i >= 0; i--) {
+        ring.add(toResponse(newest.get(i)));
+      }
+      return ring;
+    });
+  }
+
+  private void put(Long teamId, Ring ring) {
+    remove(teamId);
+    rings.put(teamId, ring);
+    totalBytes += ring.bytes;
+    evictOverBudget();
+  }
+
+  private void remove(Long teamId) {
+    Ring old = rings.remove(teamId);
+    if (old != null) {
+      totalBytes -= old.bytes;
+    }
+  }
+
+  private void evictOverBudget() {
+    var it = rings.entrySet().iterator();
+    // never evict the most recently used ring, even if it alone is over budget
+    while (totalBytes > maxBytes && rings.size() > 1 && it.hasNext()) {
+      Map.Entry<Long, Ring> eldest = it.next();
+      totalBytes -= eldest.getValue().bytes;
+      it.remove();
+    }
+  }
+
+  private int teams() {
+    lock.lock();
+    try {
+      return rings.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long bytes() {
+    lock.lock();
+    try {
+      return totalBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  static MessageResponse toResponse(DiscussionMessage m) {
+    return MessageResponse.builder()
+        .id(m.getId())
+        .teamId(m.getTeam().getId())
+        .authorUserId(m.getAuthor().getId())
+        .authorName(m.getAuthor().getName())
+        .content(m.getContent())
+        .createdAt(m.getCreatedAt())
+        .build();
+  }
+
+  private static long sizeOf(MessageResponse m) {
+    long chars = (m.getContent() == null ? 0 : m.getContent().length())
+        + (m.getAuthorName() == null ? 0 : m.getAuthorName().length());
+    return ENTRY_OVERHEAD + 2 * chars;
+  }
+}
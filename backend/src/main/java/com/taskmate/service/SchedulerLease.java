@@ -0,0 +1,53 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.SchedulerLock;
+import com.taskmate.repo.SchedulerLockRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Leader election for node-local schedulers through {@code scheduler_locks}: whoever holds the
+ * named lease runs the work, and renews it each time. A node that dies simply stops renewing and
+ * another one takes over after at most one lease.
+ */
+@Component
+public class SchedulerLease {
+
+  private final SchedulerLockRepository lockRepository;
+  private final TransactionTemplate tx;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  public SchedulerLease(SchedulerLockRepository lockRepository, TransactionTemplate tx) {
+    this.lockRepository = lockRepository;
+    this.tx = tx;
+  }
+
+  /** Takes or renews the lease; false while another node holds it. */
+  public boolean acquire(String name, Duration lease) {
+    Instant now = Instant.now();
+    if (Boolean.TRUE.equals(tx.execute(status -> lockRepository.claim(name, nodeId, now.plus(lease), now) == 1))) {
+      return true;
+    }
+    try {
+      // first use of the name; the insert fails if another node got there first
+      return Boolean.TRUE.equals(tx.execute(status -> {
+        if (lockRepository.existsById(name)) {
+          return false;
+        }
+        lockRepository.saveAndFlush(new SchedulerLock(name, nodeId, now.plus(lease)));
+        return true;
+      }));
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  public String nodeId() {
+    return nodeId;
+  }
+}
@@ -0,0 +1,17 @@
+package com.taskmate.service;
+
+import com.taskmate.service.search.SearchHit;
+import com.taskmate.service.search.SearchType;
+
+import java.util.List;
+
+public interface SearchService {
+  /**
+   * Full-text search over the teams the current user belongs to (or just {@code teamId} when given);
+   * {@code type} null means tasks, messages and files.
+   */
+  List<SearchHit> search(String q, Long teamId, SearchType type, int limit);
+
+  /** Starts a full index rebuild in the background; false if one is already running. */
+  boolean rebuildIndex();
+}
@@ -0,0 +1,64 @@
+package com.taskmate.service;
+
+import com.taskmate.api.error.BadRequestException;
+import com.taskmate.domain.User;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.service.search.SearchHit;
+import com.taskmate.service.search.SearchIndex;
+import com.taskmate.service.search.SearchIndexer;
+import com.taskmate.service.search.SearchType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+  private static final int MAX_LIMIT = 50;
+
+  private final SearchIndex searchIndex;
+  private final SearchIndexer searchIndexer;
+  private final TeamMemberRepository teamMemberRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final PermissionService permissionService;
+  private final Timer queryTimer;
+
+  public SearchServiceImpl(SearchIndex searchIndex, SearchIndexer searchIndexer,
+                           TeamMemberRepository teamMemberRepository, CurrentUserProvider currentUserProvider,
+                           PermissionService permissionService, MeterRegistry meterRegistry) {
+    this.searchIndex = searchIndex;
+    this.searchIndexer = searchIndexer;
+    this.teamMemberRepository = teamMemberRepository;
+    this.currentUserProvider = currentUserProvider;
+    this.permissionService = permissionService;
+    this.queryTimer = Timer.builder("taskmate.search.query")
+        .description("Full-text query latency (index only, membership lookup excluded)")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public List<SearchHit> search(String q, Long teamId, SearchType type, int limit) {
+    if (!StringUtils.hasText(q)) {
+      throw new BadRequestException("Query must not be empty");
+    }
+    User me = currentUserProvider.requireCurrentUser();
+    List<Long> teamIds;
+    if (teamId != null) {
+      permissionService.assertTeamMember(teamId, me.getId());
+      teamIds = List.of(teamId);
+    } else {
+      teamIds = teamMemberRepository.findByUserId(me.getId()).stream().map(tm -> tm.getTeam().getId()).toList();
+    }
+    int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return queryTimer.record(() -> searchIndex.search(q, teamIds, type, k));
+  }
+
+  @Override
+  public boolean rebuildIndex() {
+    return searchIndexer.rebuildAsync();
+  }
+}
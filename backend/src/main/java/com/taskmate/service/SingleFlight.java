@@ -0,0 +1,128 @@
+package com.taskmate.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent identical reads: while a load for (operation, key) is running, other callers
+ * with the same key wait for it and get the same result instead of running the query again.
+ * Nothing is cached once the load finishes. The load runs in its own read-only transaction
+ * (so it may be served by a read replica).
+ *
+ * <p>Callers must do their own authorization before joining, must not be inside a transaction
+ * (a waiting caller would hold a pooled connection for nothing), and must treat the shared
+ * result as read-only. Loaders return snapshots (response DTOs), never entities: a detached
+ * entity is mutable and may reach lazy associations from several threads. Put a content version
+ * in the key so a caller that has just written never joins a load that started before its write.
+ *
+ * <p>Metrics per operation: {@code taskmate.singleflight.executions}, {@code taskmate.singleflight.coalesced}
+ * and the gauge {@code taskmate.singleflight.coalescing.ratio} (coalesced / all calls).
+ */
+@Component
+public class SingleFlight {
+
+  private final MeterRegistry meterRegistry;
+  private final TransactionOperations loadTransaction;
+
+  private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+  @Autowired
+  public SingleFlight(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+    this(meterRegistry, readOnly(transactionManager));
+  }
+
+  SingleFlight(MeterRegistry meterRegistry, TransactionOperations loadTransaction) {
+    this.meterRegistry = meterRegistry;
+    this.loadTransaction = loadTransaction;
+  }
+
+  private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(true);
+    return template;
+  }
+
+  /** Loads a list once per concurrent key and hands every caller the same unmodifiable copy. */
+  public <T> List<T> list(String operation, Object key, Supplier<List<T>> loader) {
+    return execute(operation, key, () -> List.copyOf(loader.get()));
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String operation, Object key, Supplier<T> loader) {
+    Stats s = stats.computeIfAbsent(operation, this::register);
+    Key k = new Key(operation, key);
+    CompletableFuture<Object> mine = new CompletableFuture<>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(k, mine);
+    if (running != null) {
+      s.coalesced.increment();
+      return (T) await(running);
+    }
+
+    s.executions.increment();
+    try {
+      T value = loadTransaction.execute(status -> loader.get());
+      mine.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(k, mine);
+    }
+  }
+
+  private static Object await(CompletableFuture<Object> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      if (e.getCause() instanceof Error err) {
+        throw err;
+      }
+      throw e;
+    }
+  }
+
+  private Stats register(String operation) {
+    Stats s = new Stats(
+        Counter.builder("taskmate.singleflight.executions")
+            .description("Loads actually executed")
+            .tag("operation", operation)
+            .register(meterRegistry),
+        Counter.builder("taskmate.singleflight.coalesced")
+            .description("Calls served by joining a load already in flight")
+            .tag("operation", operation)
+            .register(meterRegistry));
+    Gauge.builder("taskmate.singleflight.coalescing.ratio", s, Stats::ratio)
+        .description("Share of calls that joined a load in flight")
+        .tag("operation", operation)
+        .register(meterRegistry);
+    return s;
+  }
+
+  private record Key(String operation, Object key) {
+  }
+
+  private record Stats(Counter executions, Counter coalesced) {
+    double ratio() {
+      double total = executions.count() + coalesced.count();
+      return total == 0 ? 0 : coalesced.count() / total;
+    }
+  }
+}
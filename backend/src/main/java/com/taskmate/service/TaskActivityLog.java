@@ -0,0 +1,185 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.Task;
+import com.taskmate.domain.TaskEvent;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.TaskEventType;
+import com.taskmate.domain.enums.TaskPriority;
+import com.taskmate.domain.enums.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Appends task activity ({@code task_events}). Events of one transaction are buffered and written
+ * with a single JDBC batch just before commit, so an update touching four fields costs one round
+ * trip. Values are stored as numbers: status/priority codes below, user ids, and due dates as epoch
+ * days.
+ */
+@Component
+public class TaskActivityLog {
+
+  /** Fields of a task that are tracked, captured before an update. */
+  public record Snapshot(TaskStatus status, Long assigneeId, TaskPriority priority, LocalDate dueDate) {
+    public static Snapshot of(Task t) {
+      return new Snapshot(t.getStatus(), t.getAssignedTo() == null ? null : t.getAssignedTo().getId(),
+          t.getPriority(), t.getDueDate());
+    }
+  }
+
+  private static final String INSERT = "insert into task_events "
+      + "(task_id, project_id, team_id, actor_user_id, occurred_at, type, old_value, new_value) "
+      + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbc;
+
+  public TaskActivityLog(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  public void created(Task t, User actor) {
+    append(event(t, actor, TaskEventType.CREATED, null, code(t.getStatus())));
+  }
+
+  public void changed(Task t, Snapshot before, User actor) {
+    Snapshot after = Snapshot.of(t);
+    if (before.status() != after.status()) {
+      append(event(t, actor, TaskEventType.STATUS, code(before.status()), code(after.status())));
+    }
+    if (!Objects.equals(before.assigneeId(), after.assigneeId())) {
+      append(event(t, actor, TaskEventType.ASSIGNEE, before.assigneeId(), after.assigneeId()));
+    }
+    if (before.priority() != after.priority()) {
+      append(event(t, actor, TaskEventType.PRIORITY, code(before.priority()), code(after.priority())));
+    }
+    if (!Objects.equals(before.dueDate(), after.dueDate())) {
+      append(event(t, actor, TaskEventType.DUE_DATE, epochDay(before.dueDate()), epochDay(after.dueDate())));
+    }
+  }
+
+  public void deleted(Task t, User actor) {
+    append(event(t, actor, TaskEventType.DELETED, code(t.getStatus()), null));
+  }
+
+  private TaskEvent event(Task t, User actor, TaskEventType type, Long oldValue, Long newValue) {
+    TaskEvent e = new TaskEvent();
+    e.setTaskId(t.getId());
+    e.setProjectId(t.getProject().getId());
+    e.setTeamId(t.getProject().getTeam().getId());
+    e.setActorUserId(actor.getId());
+    e.setOccurredAt(Instant.now());
+    e.setType(type);
+    e.setOldValue(oldValue);
+    e.setNewValue(newValue);
+    return e;
+  }
+
+  private void append(TaskEvent e) {
+    @SuppressWarnings("unchecked")
+    List<TaskEvent> pending = (List<TaskEvent>) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      List<TaskEvent> buffer = new ArrayList<>();
+      TransactionSynchronizationManager.bindResource(this, buffer);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+          write(buffer);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(TaskActivityLog.this);
+        }
+      });
+      pending = buffer;
+    }
+    pending.add(e);
+  }
+
+  private void write(List<TaskEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    List<Object[]> rows = new ArrayList<>(events.size());
+    for (TaskEvent e : events) {
+      rows.add(new Object[]{e.getTaskId(), e.getProjectId(), e.getTeamId(), e.getActorUserId(),
+          Timestamp.from(e.getOccurredAt()), e.getType().code(), e.getOldValue(), e.getNewValue()});
+    }
+    jdbc.batchUpdate(INSERT, rows);
+  }
+
+  // stable codes, independent of enum declaration order
+
+  public static Long code(TaskStatus s) {
+    if (s == null) {
+      return null;
+    }
+    return switch (s) {
+      case TODO -> 1L;
+      case IN_PROGRESS -> 2L;
+      case REVIEW -> 3L;
+      case DONE -> 4L;
+    };
+  }
+
+  public static TaskStatus status(Long code) {
+    if (code == null) {
+      return null;
+    }
+    for (TaskStatus s : TaskStatus.values()) {
+      if (code.equals(code(s))) {
+        return s;
+      }
+    }
+    throw new IllegalArgumentException("Unknown status code: " + code);
+  }
+
+  public static Long code(TaskPriority p) {
+    if (p == null) {
+      return null;
+    }
+    return switch (p) {
+      case LOW -> 1L;
+      case MEDIUM -> 2L;
+      case HIGH -> 3L;
+      case URGENT -> 4L;
+    };
+  }
+
+  public static TaskPriority priority(Long code) {
+    if (code == null) {
+      return null;
+    }
+    for (TaskPriority p : TaskPriority.values()) {
+      if (code.equals(code(p))) {
+        return p;
+      }
+    }
+    throw new IllegalArgumentException("Unknown priority code: " + code);
+  }
+
+  private static Long epochDay(LocalDate d) {
+    return d == null ? null : d.toEpochDay();
+  }
+
+  /** Human-readable form of a stored value, for the feed API. */
+  public static String describe(TaskEventType type, Long value) {
+    if (value == null) {
+      return null;
+    }
+    return switch (type) {
+      case CREATED, STATUS, DELETED -> status(value).name();
+      case PRIORITY -> priority(value).name();
+      case DUE_DATE -> LocalDate.ofEpochDay(value).toString();
+      case ASSIGNEE -> value.toString();
+    };
+  }
+}
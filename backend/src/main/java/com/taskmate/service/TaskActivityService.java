@@ -0,0 +1,12 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.TaskEvent;
+
+import java.util.List;
+
+public interface TaskActivityService {
+  /** Newest first; pass the last id of a page as {@code beforeId} for the next one. */
+  List<TaskEvent> taskFeed(Long projectId, Long taskId, Long beforeId, int limit);
+
+  List<TaskEvent> teamFeed(Long teamId, Long beforeId, int limit);
+}
@@ -0,0 +1,52 @@
+package com.taskmate.service;
+
+import com.taskmate.api.error.NotFoundException;
+import com.taskmate.domain.TaskEvent;
+import com.taskmate.domain.User;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TaskEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TaskActivityServiceImpl implements TaskActivityService {
+
+  private static final int MAX_LIMIT = 100;
+
+  private final TaskEventRepository eventRepository;
+  private final ProjectRepository projectRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final PermissionService permissionService;
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<TaskEvent> taskFeed(Long projectId, Long taskId, Long beforeId, int limit) {
+    User me = currentUserProvider.requireCurrentUser();
+    Long teamId = projectRepository.findTeamIdById(projectId)
+        .orElseThrow(() -> new NotFoundException("Project not found: " + projectId));
+    permissionService.assertTeamMember(teamId, me.getId());
+    // events carry their project, so a task id from another project yields nothing
+    return eventRepository.findTaskFeed(taskId, projectId, cursor(beforeId), page(limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<TaskEvent> teamFeed(Long teamId, Long beforeId, int limit) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    return eventRepository.findTeamFeed(teamId, cursor(beforeId), page(limit));
+  }
+
+  private static long cursor(Long beforeId) {
+    return beforeId == null ? Long.MAX_VALUE : beforeId;
+  }
+
+  private static PageRequest page(int limit) {
+    return PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIMIT)));
+  }
+}
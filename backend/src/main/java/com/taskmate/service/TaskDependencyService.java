@@ -0,0 +1,12 @@
+package com.taskmate.service;
+
+import com.taskmate.service.dependency.ProjectSchedule;
+
+public interface TaskDependencyService {
+  /** {@code taskId} cannot start before {@code dependsOnTaskId} is done; both in {@code projectId}. */
+  void add(Long projectId, Long taskId, Long dependsOnTaskId);
+
+  void remove(Long projectId, Long taskId, Long dependsOnTaskId);
+
+  ProjectSchedule schedule(Long projectId);
+}
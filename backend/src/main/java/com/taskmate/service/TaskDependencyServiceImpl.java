@@ -0,0 +1,88 @@
+package com.taskmate.service;
+
+import com.taskmate.api.error.BadRequestException;
+import com.taskmate.api.error.NotFoundException;
+import com.taskmate.domain.TaskDependency;
+import com.taskmate.domain.User;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TaskDependencyRepository;
+import com.taskmate.repo.TaskRepository;
+import com.taskmate.service.dependency.DependencyGraphCache;
+import com.taskmate.service.dependency.ProjectSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TaskDependencyServiceImpl implements TaskDependencyService {
+
+  private final TaskDependencyRepository dependencyRepository;
+  private final TaskRepository taskRepository;
+  private final ProjectRepository projectRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final PermissionService permissionService;
+  private final ContentVersionService contentVersionService;
+  private final DependencyGraphCache graphCache;
+
+  @Override
+  // read committed: once the version bump below holds the project's row lock, the cycle check must
+  // see edges committed by the writer before us, not the snapshot of our first read
+  @Transactional(isolation = Isolation.READ_COMMITTED)
+  public void add(Long projectId, Long taskId, Long dependsOnTaskId) {
+    assertMember(projectId);
+    if (taskId.equals(dependsOnTaskId)) {
+      throw new BadRequestException("A task cannot depend on itself");
+    }
+    if (taskRepository.countByProjectIdAndIdIn(projectId, List.of(taskId, dependsOnTaskId)) != 2) {
+      throw new NotFoundException("Both tasks must exist in project " + projectId);
+    }
+    if (dependencyRepository.existsEdge(taskId, dependsOnTaskId)) {
+      return;
+    }
+    contentVersionService.bumpProject(projectId);
+    List<Long> cycle = graphCache.cycleIfAdded(projectId, taskId, dependsOnTaskId);
+    if (!cycle.isEmpty()) {
+      throw new BadRequestException("Dependency would create a cycle: "
+          + cycle.stream().map(String::valueOf).collect(Collectors.joining(" -> ")));
+    }
+    TaskDependency d = new TaskDependency();
+    d.setProjectId(projectId);
+    d.setTask(taskRepository.getReferenceById(taskId));
+    d.setDependsOn(taskRepository.getReferenceById(dependsOnTaskId));
+    dependencyRepository.save(d);
+    graphCache.onEdgeAdded(projectId, taskId, dependsOnTaskId);
+  }
+
+  @Override
+  @Transactional
+  public void remove(Long projectId, Long taskId, Long dependsOnTaskId) {
+    assertMember(projectId);
+    if (taskRepository.countByProjectIdAndIdIn(projectId, List.of(taskId)) == 0) {
+      throw new NotFoundException("Task not found: " + taskId);
+    }
+    if (dependencyRepository.deleteEdge(taskId, dependsOnTaskId) == 0) {
+      return;
+    }
+    contentVersionService.bumpProject(projectId);
+    graphCache.onEdgeRemoved(projectId, taskId, dependsOnTaskId);
+  }
+
+  @Override
+  public ProjectSchedule schedule(Long projectId) {
+    // not transactional: a hit is answered from memory without holding a connection
+    assertMember(projectId);
+    return graphCache.schedule(projectId);
+  }
+
+  private void assertMember(Long projectId) {
+    User me = currentUserProvider.requireCurrentUser();
+    Long teamId = projectRepository.findTeamIdById(projectId)
+        .orElseThrow(() -> new NotFoundException("Project not found: " + projectId));
+    permissionService.assertTeamMember(teamId, me.getId());
+  }
+}
@@ -0,0 +1,99 @@
+package com.taskmate.service;
+
+import com.taskmate.api.error.BadRequestException;
+import com.taskmate.domain.Task;
+import com.taskmate.domain.TaskClosure;
+import com.taskmate.domain.enums.TaskStatus;
+import com.taskmate.repo.TaskClosureRepository;
+import com.taskmate.repo.TaskRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Keeps the closure table and the rollup counters of ancestors in step with task writes. Each change
+ * is a handful of set-based statements over the closure rows of one task, whatever the depth or the
+ * size of the subtree. Called inside the writing transaction after its {@code bumpProject}, whose row
+ * lock also keeps two structural changes of one project from interleaving.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskHierarchy {
+
+  private final TaskClosureRepository closureRepository;
+  private final TaskRepository taskRepository;
+  private final EntityManager entityManager;
+
+  /** A new task, linked under its {@code parentTaskId} when set. */
+  public void created(Task t) {
+    closureRepository.insertSelf(t.getId());
+    if (t.getParentTaskId() != null) {
+      closureRepository.linkUnder(t.getParentTaskId(), t.getId());
+      taskRepository.addToAncestorRollups(t.getId(), 1, done(t.getStatus()));
+    }
+  }
+
+  public void statusChanged(Task t, TaskStatus before) {
+    int delta = done(t.getStatus()) - done(before);
+    if (delta != 0 && t.getParentTaskId() != null) {
+      taskRepository.addToAncestorRollups(t.getId(), 0, delta);
+    }
+  }
+
+  /** Before the delete; its closure rows then go with it. */
+  public void deleting(Task t) {
+    if (closureRepository.hasDescendants(t.getId())) {
+      throw new BadRequestException("Task has subtasks; move or delete them first");
+    }
+    if (t.getParentTaskId() != null) {
+      // archived subtasks still count towards the ancestors, so they leave with the task
+      TaskRepository.HierarchyRow row = taskRepository.findHierarchyById(t.getId()).orElseThrow();
+      taskRepository.addToAncestorRollups(t.getId(), -(row.getSubtasksTotal() + 1),
+          -(row.getSubtasksDone() + done(row.getStatus())));
+    }
+  }
+
+  /** Moves the task with its whole subtree under {@code parentTaskId}, or to the top level when null. */
+  public void move(Task t, Long parentTaskId) {
+    if (Objects.equals(t.getParentTaskId(), parentTaskId)) {
+      return;
+    }
+    if (parentTaskId != null && closureRepository.existsPath(t.getId(), parentTaskId)) {
+      throw new BadRequestException("A task cannot be moved under itself or one of its subtasks");
+    }
+    TaskRepository.HierarchyRow row = taskRepository.findHierarchyById(t.getId()).orElseThrow();
+    int total = row.getSubtasksTotal() + 1;
+    int done = row.getSubtasksDone() + done(row.getStatus());
+    if (t.getParentTaskId() != null) {
+      taskRepository.addToAncestorRollups(t.getId(), -total, -done);
+      unlinkFromAncestors(t.getId());
+    }
+    if (parentTaskId != null) {
+      closureRepository.linkSubtreeUnder(parentTaskId, t.getId());
+      taskRepository.addToAncestorRollups(t.getId(), total, done);
+    }
+    t.setParentTaskId(parentTaskId);
+  }
+
+  // Drops the links between the subtree and everything above the task. MySQL rejects a DELETE whose
+  // subquery reads the same table unless it goes through a derived table, which DISTINCT keeps the
+  // optimizer from merging back in.
+  private void unlinkFromAncestors(Long taskId) {
+    entityManager.createNativeQuery("delete from task_closure "
+            + "where descendant_id in (select s.id from "
+            + "(select distinct descendant_id as id from task_closure where ancestor_id = ?1) s) "
+            + "and ancestor_id in (select a.id from "
+            + "(select distinct ancestor_id as id from task_closure where descendant_id = ?1 and depth > 0) a)")
+        .setParameter(1, taskId)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(TaskClosure.class)
+        .executeUpdate();
+  }
+
+  private static int done(TaskStatus status) {
+    return status == TaskStatus.DONE ? 1 : 0;
+  }
+}
@@ -1,14 +1,24 @@
 package com.taskmate.service;
 
+import com.taskmate.api.dto.task.SubtaskRollupResponse;
 import com.taskmate.api.dto.task.TaskCreateRequest;
+import com.taskmate.api.dto.task.TaskResponse;
 import com.taskmate.api.dto.task.TaskUpdateRequest;
 import com.taskmate.domain.Task;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
   Task create(TaskCreateRequest req);
-  List<Task> listByProject(Long projectId);
+  /** Hot tasks of the project; with {@code includeArchived} the archived (cold) ones follow. */
+  List<TaskResponse> listByProject(Long projectId, boolean includeArchived);
+  void streamByProject(Long projectId, boolean includeArchived, Consumer<Task> sink);
   Task update(Long taskId, TaskUpdateRequest req);
   void delete(Long taskId);
+  /** Moves the task with its subtree under {@code parentTaskId}, or to the top level when null. */
+  Task move(Long taskId, Long parentTaskId);
+  /** Every live descendant, parents before their children. */
+  List<Task> subtasks(Long taskId);
+  SubtaskRollupResponse rollup(Long taskId);
 }
@@ -1,22 +1,40 @@
 package com.taskmate.service;
 
+import com.taskmate.api.dto.task.SubtaskRollupResponse;
 import com.taskmate.api.dto.task.TaskCreateRequest;
+import com.taskmate.api.dto.task.TaskResponse;
 import com.taskmate.api.dto.task.TaskUpdateRequest;
 import com.taskmate.api.error.ForbiddenException;
 import com.taskmate.api.error.NotFoundException;
+import com.taskmate.domain.ArchivedTask;
 import com.taskmate.domain.Project;
 import com.taskmate.domain.Task;
 import com.taskmate.domain.User;
 import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TaskStatus;
+import com.taskmate.repo.ArchivedTaskRepository;
 import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TaskClosureRepository;
 import com.taskmate.repo.TaskRepository;
 import com.taskmate.repo.UserRepository;
+import com.taskmate.service.analytics.FlowRecorder;
+import com.taskmate.service.dependency.DependencyGraphCache;
+import com.taskmate.service.reminder.DueReminderScheduler;
+import com.taskmate.service.search.SearchDocument;
+import com.taskmate.service.search.SearchIndexer;
+import com.taskmate.service.search.SearchType;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +45,17 @@ public class TaskServiceImpl extends AbstractCrudService<Task, Long> implements
   private final UserRepository userRepository;
   private final CurrentUserProvider currentUserProvider;
   private final PermissionService permissionService;
+  private final EntityManager entityManager;
+  private final ContentVersionService contentVersionService;
+  private final SingleFlight singleFlight;
+  private final ArchivedTaskRepository archivedTaskRepository;
+  private final SearchIndexer searchIndexer;
+  private final TaskActivityLog activityLog;
+  private final FlowRecorder flowRecorder;
+  private final DueReminderScheduler dueReminders;
+  private final DependencyGraphCache dependencyGraphs;
+  private final TaskHierarchy hierarchy;
+  private final TaskClosureRepository closureRepository;
 
   @Override
   protected JpaRepository<Task, Long> repo() {
@@ -56,6 +85,10 @@ public class TaskServiceImpl extends AbstractCrudService<Task, Long> implements
     t.setStatus(req.getStatus());
     t.setPriority(req.getPriority());
     t.setDueDate(req.getDueDate());
+    if (req.getParentTaskId() != null) {
+      assertInProject(project.getId(), req.getParentTaskId());
+      t.setParentTaskId(req.getParentTaskId());
+    }
 
     if (req.getAssignedToUserId() != null) {
       User assignee = userRepository.findById(req.getAssignedToUserId())
@@ -65,17 +98,67 @@ public class TaskServiceImpl extends AbstractCrudService<Task, Long> implements
       t.setAssignedTo(assignee);
     }
 
-    return taskRepository.save(t);
+    contentVersionService.bumpProject(project.getId());
+    Task saved = taskRepository.save(t);
+    hierarchy.created(saved);
+    searchIndexer.index(SearchDocument.of(saved));
+    activityLog.created(saved, me);
+    flowRecorder.created(saved);
+    dueReminders.onSaved(saved);
+    dependencyGraphs.onTaskSaved(saved);
+    return saved;
+  }
+
+  @Override
+  public List<TaskResponse> listByProject(Long projectId, boolean includeArchived) {
+    // not transactional: callers waiting on a shared load must not hold a connection
+    User me = currentUserProvider.requireCurrentUser();
+    Project project = projectRepository.findById(projectId)
+        .orElseThrow(() -> new NotFoundException("Project not found: " + projectId));
+    permissionService.assertTeamMember(project.getTeam().getId(), me.getId());
+    long version = contentVersionService.projectVersion(projectId);
+    if (!includeArchived) {
+      return singleFlight.list("tasks.byProject", List.of(projectId, version),
+          () -> taskRepository.findByProjectId(projectId).stream().map(TaskServiceImpl::toResponse).toList());
+    }
+    return singleFlight.list("tasks.byProject.withArchive", List.of(projectId, version), () -> {
+      List<TaskResponse> all = new ArrayList<>();
+      taskRepository.findByProjectId(projectId).forEach(t -> all.add(toResponse(t)));
+      archivedTaskRepository.findByProjectId(projectId).forEach(a -> all.add(toResponse(a.toTask())));
+      return all;
+    });
+  }
+
+  // shared between callers of a single-flight load, so it must not hold the (mutable, lazy) entity
+  private static TaskResponse toResponse(Task t) {
+    return TaskResponse.builder()
+        .id(t.getId())
+        .projectId(t.getProject().getId())
+        .title(t.getTitle())
+        .description(t.getDescription())
+        .status(t.getStatus())
+        .priority(t.getPriority())
+        .createdByUserId(t.getCreatedBy().getId())
+        .assignedToUserId(t.getAssignedTo() == null ? null : t.getAssignedTo().getId())
+        .dueDate(t.getDueDate())
+        .parentTaskId(t.getParentTaskId())
+        .subtasksTotal(t.getSubtasksTotal())
+        .subtasksDone(t.getSubtasksDone())
+        .build();
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<Task> listByProject(Long projectId) {
+  public void streamByProject(Long projectId, boolean includeArchived, Consumer<Task> sink) {
     User me = currentUserProvider.requireCurrentUser();
     Project project = projectRepository.findById(projectId)
         .orElseThrow(() -> new NotFoundException("Project not found: " + projectId));
     permissionService.assertTeamMember(project.getTeam().getId(), me.getId());
-    return taskRepository.findByProjectId(projectId);
+    forEachDetached(entityManager, taskRepository.streamByProjectId(projectId), sink);
+    if (includeArchived) {
+      forEachDetached(entityManager, archivedTaskRepository.streamByProjectId(projectId),
+          (ArchivedTask a) -> sink.accept(a.toTask()));
+    }
   }
 
   @Override
@@ -93,6 +176,7 @@ public class TaskServiceImpl extends AbstractCrudService<Task, Long> implements
     if (!isAdmin && !isCreator && !isAssignee) {
       throw new ForbiddenException("Only ADMIN, creator, or assignee can update this task");
     }
+    TaskActivityLog.Snapshot before = TaskActivityLog.Snapshot.of(t);
 
     if (req.getTitle() != null) t.setTitle(req.getTitle());
     if (req.getDescription() != null) t.setDescription(req.getDescription());
@@ -107,7 +191,15 @@ public class TaskServiceImpl extends AbstractCrudService<Task, Long> implements
       t.setAssignedTo(assignee);
     }
 
-    return taskRepository.save(t);
+    contentVersionService.bumpProject(t.getProject().getId());
+    Task saved = taskRepository.save(t);
+    hierarchy.statusChanged(saved, before.status());
+    searchIndexer.index(SearchDocument.of(saved));
+    activityLog.changed(saved, before, me);
+    flowRecorder.statusChanged(saved, before.status());
+    dueReminders.onSaved(saved);
+    dependencyGraphs.onTaskSaved(saved);
+    return saved;
   }
 
   @Override
@@ -123,6 +215,87 @@ public class TaskServiceImpl extends AbstractCrudService<Task, Long> implements
     if (!isAdmin && !isCreator) {
       throw new ForbiddenException("Only ADMIN or creator can delete this task");
     }
-    super.delete(taskId);
+    hierarchy.deleting(t);
+    activityLog.deleted(t, me);
+    flowRecorder.deleted(t);
+    dueReminders.onDeleted(taskId);
+    taskRepository.delete(t);
+    contentVersionService.bumpProject(t.getProject().getId());
+    // its edges go with it (ON DELETE CASCADE)
+    dependencyGraphs.onTaskDeleted(t.getProject().getId(), taskId);
+    searchIndexer.remove(SearchType.TASK, taskId);
+  }
+
+  @Override
+  // read committed: once the version bump holds the project's row lock, the closure rows read below
+  // must be the latest committed ones, not the snapshot of our first read
+  @Transactional(isolation = Isolation.READ_COMMITTED)
+  public Task move(Long taskId, Long parentTaskId) {
+    User me = currentUserProvider.requireCurrentUser();
+    Task t = getOrThrow(taskId);
+    Long projectId = t.getProject().getId();
+    permissionService.assertTeamMember(t.getProject().getTeam().getId(), me.getId());
+
+    boolean isAdmin = me.getRole() == GlobalRole.ADMIN;
+    boolean isCreator = t.getCreatedBy().getId().equals(me.getId());
+    boolean isAssignee = t.getAssignedTo() != null && t.getAssignedTo().getId().equals(me.getId());
+    if (!isAdmin && !isCreator && !isAssignee) {
+      throw new ForbiddenException("Only ADMIN, creator, or assignee can move this task");
+    }
+    if (parentTaskId != null) {
+      assertInProject(projectId, parentTaskId);
+    }
+
+    contentVersionService.bumpProject(projectId);
+    entityManager.refresh(t);
+    hierarchy.move(t, parentTaskId);
+    Task saved = taskRepository.save(t);
+    dependencyGraphs.onTaskSaved(saved);
+    return saved;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Task> subtasks(Long taskId) {
+    assertCanRead(taskId);
+    return taskRepository.findDescendants(taskId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public SubtaskRollupResponse rollup(Long taskId) {
+    assertCanRead(taskId);
+    TaskRepository.HierarchyRow row = taskRepository.findHierarchyById(taskId).orElseThrow();
+    Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+    for (TaskStatus s : TaskStatus.values()) {
+      byStatus.put(s, 0L);
+    }
+    long live = 0;
+    for (TaskClosureRepository.StatusCountRow r : closureRepository.countDescendantsByStatus(taskId)) {
+      byStatus.put(r.getStatus(), r.getCount());
+      live += r.getCount();
+    }
+    // only DONE tasks are archived; they leave the closure table but not the counters
+    byStatus.merge(TaskStatus.DONE, row.getSubtasksTotal() - live, Long::sum);
+    int total = row.getSubtasksTotal();
+    return SubtaskRollupResponse.builder()
+        .taskId(taskId)
+        .total(total)
+        .done(row.getSubtasksDone())
+        .percentDone(total == 0 ? 0 : row.getSubtasksDone() * 100 / total)
+        .byStatus(byStatus)
+        .build();
+  }
+
+  private void assertCanRead(Long taskId) {
+    User me = currentUserProvider.requireCurrentUser();
+    Task t = getOrThrow(taskId);
+    permissionService.assertTeamMember(t.getProject().getTeam().getId(), me.getId());
+  }
+
+  private void assertInProject(Long projectId, Long parentTaskId) {
+    if (taskRepository.countByProjectIdAndIdIn(projectId, List.of(parentTaskId)) == 0) {
+      throw new NotFoundException("Parent task not found in project: " + parentTaskId);
+    }
   }
 }
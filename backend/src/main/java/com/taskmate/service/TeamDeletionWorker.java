@@ -0,0 +1,242 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.FileResource;
+import com.taskmate.domain.TeamDeletionJob;
+import com.taskmate.domain.enums.TeamDeletionPhase;
+import com.taskmate.domain.enums.TeamDeletionStatus;
+import com.taskmate.repo.ArchivedDiscussionMessageRepository;
+import com.taskmate.repo.ArchivedTaskRepository;
+import com.taskmate.repo.ContentVersionRepository;
+import com.taskmate.repo.DiscussionMessageRepository;
+import com.taskmate.repo.DiscussionReadCursorRepository;
+import com.taskmate.repo.FileResourceRepository;
+import com.taskmate.repo.ProjectCycleTimeRepository;
+import com.taskmate.repo.ProjectFlowDayRepository;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TaskEventRepository;
+import com.taskmate.repo.TaskRepository;
+import com.taskmate.repo.TeamDeletionJobRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.service.storage.FileStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Purges teams marked for deletion: files (blob first, then row), messages, tasks and projects
+ * are deleted in id-ordered batches of {@code batch-size}, each batch in its own short transaction
+ * together with the job's progress counters. Nothing but the job row remembers where it was, so a
+ * crash or restart simply resumes with the next batch. The team row goes last.
+ */
+@Slf4j
+@Component
+public class TeamDeletionWorker {
+
+  private static final Set<TeamDeletionStatus> RUNNABLE = Set.of(TeamDeletionStatus.PENDING, TeamDeletionStatus.RUNNING);
+
+  private final TeamDeletionJobRepository jobRepository;
+  private final TeamRepository teamRepository;
+  private final TeamMemberRepository teamMemberRepository;
+  private final ProjectRepository projectRepository;
+  private final TaskRepository taskRepository;
+  private final TaskEventRepository taskEventRepository;
+  private final DiscussionMessageRepository messageRepository;
+  private final FileResourceRepository fileRepository;
+  private final ArchivedTaskRepository archivedTaskRepository;
+  private final ArchivedDiscussionMessageRepository archivedMessageRepository;
+  private final ContentVersionRepository versionRepository;
+  private final DiscussionReadCursorRepository readCursorRepository;
+  private final ProjectFlowDayRepository flowDayRepository;
+  private final ProjectCycleTimeRepository cycleTimeRepository;
+  private final FileStorageService storageService;
+  private final TransactionTemplate tx;
+  private final Counter rowsDeleted;
+  private final Counter jobsFinished;
+
+  @Value("${taskmate.team-deletion.batch-size:500}")
+  private int batchSize;
+
+  @Value("${taskmate.team-deletion.lease:2m}")
+  private Duration lease;
+
+  @Value("${taskmate.team-deletion.retry-delay:1m}")
+  private Duration retryDelay;
+
+  // pause between batches, gives replicas and other writers room on very large teams
+  @Value("${taskmate.team-deletion.batch-pause:0ms}")
+  private Duration batchPause;
+
+  public TeamDeletionWorker(TeamDeletionJobRepository jobRepository, TeamRepository teamRepository,
+                            TeamMemberRepository teamMemberRepository, ProjectRepository projectRepository,
+                            TaskRepository taskRepository, TaskEventRepository taskEventRepository,
+                            DiscussionMessageRepository messageRepository,
+                            FileResourceRepository fileRepository, ArchivedTaskRepository archivedTaskRepository,
+                            ArchivedDiscussionMessageRepository archivedMessageRepository,
+                            ContentVersionRepository versionRepository,
+                            DiscussionReadCursorRepository readCursorRepository,
+                            ProjectFlowDayRepository flowDayRepository, ProjectCycleTimeRepository cycleTimeRepository,
+                            FileStorageService storageService, TransactionTemplate tx, MeterRegistry meterRegistry) {
+    this.jobRepository = jobRepository;
+    this.teamRepository = teamRepository;
+    this.teamMemberRepository = teamMemberRepository;
+    this.projectRepository = projectRepository;
+    this.taskRepository = taskRepository;
+    this.taskEventRepository = taskEventRepository;
+    this.messageRepository = messageRepository;
+    this.fileRepository = fileRepository;
+    this.archivedTaskRepository = archivedTaskRepository;
+    this.archivedMessageRepository = archivedMessageRepository;
+    this.versionRepository = versionRepository;
+    this.readCursorRepository = readCursorRepository;
+    this.flowDayRepository = flowDayRepository;
+    this.cycleTimeRepository = cycleTimeRepository;
+    this.storageService = storageService;
+    this.tx = tx;
+    this.rowsDeleted = Counter.builder("taskmate.team-deletion.rows").register(meterRegistry);
+    this.jobsFinished = Counter.builder("taskmate.team-deletion.finished").register(meterRegistry);
+  }
+
+  @Scheduled(initialDelayString = "${taskmate.team-deletion.poll-interval-ms:10000}",
+      fixedDelayString = "${taskmate.team-deletion.poll-interval-ms:10000}")
+  public void poll() {
+    List<Long> ids = jobRepository.findRunnableIds(RUNNABLE, Instant.now(), PageRequest.of(0, 10));
+    for (Long id : ids) {
+      run(id);
+    }
+  }
+
+  /** Runs one job to completion, unless another worker holds its lease. */
+  public void run(Long jobId) {
+    Boolean claimed = tx.execute(status -> jobRepository.claim(jobId, Instant.now().plus(lease), Instant.now()) == 1);
+    if (!Boolean.TRUE.equals(claimed)) {
+      return;
+    }
+    try {
+      boolean done;
+      do {
+        done = Boolean.TRUE.equals(tx.execute(status -> step(jobId)));
+        if (!done && !batchPause.isZero()) {
+          Thread.sleep(batchPause.toMillis());
+        }
+      } while (!done);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      release(jobId, null);
+    } catch (RuntimeException e) {
+      log.warn("Team deletion job {} failed, will retry", jobId, e);
+      release(jobId, e.getMessage());
+    }
+  }
+
+  /** One batch of the current phase; @return true once the job is finished. */
+  private boolean step(Long jobId) {
+    TeamDeletionJob job = jobRepository.findById(jobId).orElseThrow();
+    if (job.getStatus() == TeamDeletionStatus.DONE) {
+      return true;
+    }
+    Long teamId = job.getTeamId();
+    if (job.getStatus() == TeamDeletionStatus.PENDING) {
+      job.setFilesTotal(fileRepository.countByTeamId(teamId));
+      job.setMessagesTotal(messageRepository.countByTeamId(teamId) + archivedMessageRepository.countByTeamId(teamId));
+      job.setTasksTotal(taskRepository.countByTeamId(teamId) + archivedTaskRepository.countByTeamId(teamId));
+      job.setProjectsTotal(projectRepository.countByTeamId(teamId));
+      job.setStatus(TeamDeletionStatus.RUNNING);
+    }
+
+    Pageable batch = PageRequest.of(0, batchSize);
+    int deleted = switch (job.getPhase()) {
+      case FILES -> {
+        List<FileResource> files = fileRepository.findBatchByTeamId(teamId, batch);
+        // blob before row: if the transaction fails the row is still there and the delete is retried
+        files.forEach(f -> storageService.delete(f.getStorageKey()));
+        fileRepository.deleteAllInBatch(files);
+        job.setFilesDeleted(job.getFilesDeleted() + files.size());
+        yield files.size();
+      }
+      case MESSAGES -> {
+        // hot rows first, then the archive
+        List<Long> ids = messageRepository.findIdsByTeamId(teamId, batch);
+        if (ids.isEmpty()) {
+          ids = archivedMessageRepository.findIdsByTeamId(teamId, batch);
+          archivedMessageRepository.deleteAllByIdInBatch(ids);
+        } else {
+          messageRepository.deleteAllByIdInBatch(ids);
+        }
+        job.setMessagesDeleted(job.getMessagesDeleted() + ids.size());
+        yield ids.size();
+      }
+      case TASKS -> {
+        List<Long> ids = taskRepository.findIdsByTeamId(teamId, batch);
+        if (ids.isEmpty()) {
+          ids = archivedTaskRepository.findIdsByTeamId(teamId, batch);
+          archivedTaskRepository.deleteAllByIdInBatch(ids);
+        } else {
+          taskRepository.deleteAllByIdInBatch(ids);
+        }
+        if (ids.isEmpty()) {
+          // activity history goes last; it is not part of the task counters
+          List<Long> eventIds = taskEventRepository.findIdsByTeamId(teamId, batch);
+          taskEventRepository.deleteAllByIdInBatch(eventIds);
+          yield eventIds.size();
+        }
+        job.setTasksDeleted(job.getTasksDeleted() + ids.size());
+        yield ids.size();
+      }
+      case PROJECTS -> {
+        List<Long> ids = projectRepository.findIdsByTeamId(teamId, batch);
+        if (!ids.isEmpty()) {
+          flowDayRepository.deleteByProjectIdIn(ids);
+          cycleTimeRepository.deleteByProjectIdIn(ids);
+        }
+        projectRepository.deleteAllByIdInBatch(ids);
+        versionRepository.deleteAllByIdInBatch(ids.stream().map(id -> "project:" + id).toList());
+        job.setProjectsDeleted(job.getProjectsDeleted() + ids.size());
+        yield ids.size();
+      }
+      case TEAM -> {
+        teamMemberRepository.deleteByTeamId(teamId);
+        teamRepository.deleteAllByIdInBatch(List.of(teamId));
+        readCursorRepository.deleteByTeamId(teamId);
+        versionRepository.deleteAllByIdInBatch(List.of("team:" + teamId, "messages:" + teamId));
+        job.setStatus(TeamDeletionStatus.DONE);
+        job.setFinishedAt(Instant.now());
+        job.setLeaseUntil(null);
+        jobsFinished.increment();
+        yield 0;
+      }
+    };
+    rowsDeleted.increment(deleted);
+
+    if (job.getStatus() == TeamDeletionStatus.DONE) {
+      return true;
+    }
+    // a phase is only left once it comes back empty: hot and archived rows share it
+    if (deleted == 0) {
+      job.setPhase(job.getPhase().next());
+    }
+    job.setLeaseUntil(Instant.now().plus(lease));
+    job.setLastError(null);
+    return false;
+  }
+
+  private void release(Long jobId, String error) {
+    tx.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+      job.setLeaseUntil(Instant.now().plus(retryDelay));
+      if (error != null) {
+        job.setLastError(error.length() <= 500 ? error : error.substring(0, 500));
+      }
+    }));
+  }
+}
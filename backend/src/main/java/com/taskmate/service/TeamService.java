@@ -2,19 +2,25 @@ package com.taskmate.service;
 
 import com.taskmate.api.dto.team.TeamCreateRequest;
 import com.taskmate.api.dto.team.TeamMemberAddRequest;
+import com.taskmate.api.dto.team.TeamMemberResponse;
 import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamDeletionJob;
 import com.taskmate.domain.TeamMember;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TeamService {
   Team createTeam(TeamCreateRequest req);
   List<Team> listTeamsForCurrentUser();
   Team getTeamForCurrentUser(Long teamId);
   Team updateTeam(Long teamId, TeamCreateRequest req);
-  void deleteTeam(Long teamId);
+  /** Marks the team as deleting and queues the purge; returns the (possibly already running) job. */
+  TeamDeletionJob deleteTeam(Long teamId);
+  TeamDeletionJob getDeletion(Long teamId);
 
-  List<TeamMember> listMembers(Long teamId);
+  List<TeamMemberResponse> listMembers(Long teamId);
+  void streamMembers(Long teamId, Consumer<TeamMember> sink);
   TeamMember addMember(Long teamId, TeamMemberAddRequest req);
   void removeMember(Long teamId, Long memberId);
 }
@@ -2,21 +2,32 @@ package com.taskmate.service;
 
 import com.taskmate.api.dto.team.TeamCreateRequest;
 import com.taskmate.api.dto.team.TeamMemberAddRequest;
+import com.taskmate.api.dto.team.TeamMemberResponse;
 import com.taskmate.api.error.BadRequestException;
 import com.taskmate.api.error.NotFoundException;
 import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamDeletionJob;
 import com.taskmate.domain.TeamMember;
 import com.taskmate.domain.User;
+import com.taskmate.domain.enums.TeamDeletionPhase;
+import com.taskmate.domain.enums.TeamDeletionStatus;
 import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.TeamDeletionJobRepository;
 import com.taskmate.repo.TeamMemberRepository;
 import com.taskmate.repo.TeamRepository;
 import com.taskmate.repo.UserRepository;
+import com.taskmate.service.presence.PresenceRegistry;
+import com.taskmate.service.search.SearchIndexer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +38,14 @@ public class TeamServiceImpl extends AbstractCrudService<Team, Long> implements
   private final UserRepository userRepository;
   private final CurrentUserProvider currentUserProvider;
   private final PermissionService permissionService;
+  private final EntityManager entityManager;
+  private final ContentVersionService contentVersionService;
+  private final SingleFlight singleFlight;
+  private final TeamDeletionJobRepository deletionJobRepository;
+  private final SearchIndexer searchIndexer;
+  private final UnreadService unreadService;
+  private final RecentMessagesCache recentMessages;
+  private final PresenceRegistry presenceRegistry;
 
   @Override
   protected JpaRepository<Team, Long> repo() {
@@ -38,6 +57,14 @@ public class TeamServiceImpl extends AbstractCrudService<Team, Long> implements
     return "Team not found: " + id;
   }
 
+  // a team being purged is gone as far as the API is concerned
+  @Override
+  public Team getOrThrow(Long id) {
+    Team team = super.getOrThrow(id);
+    if (team.isDeleting()) throw new NotFoundException(notFoundMessage(id));
+    return team;
+  }
+
   @Override
   @Transactional
   public Team createTeam(TeamCreateRequest req) {
@@ -53,6 +80,7 @@ public class TeamServiceImpl extends AbstractCrudService<Team, Long> implements
     tm.setUser(me);
     tm.setTeamRole(TeamRole.OWNER);
     teamMemberRepository.save(tm);
+    contentVersionService.bumpTeam(team.getId());
 
     return team;
   }
@@ -80,24 +108,67 @@ public class TeamServiceImpl extends AbstractCrudService<Team, Long> implements
     Team t = getOrThrow(teamId);
     t.setName(req.getName());
     t.setDescription(req.getDescription());
+    contentVersionService.bumpTeam(teamId);
     return teamRepository.save(t);
   }
 
   @Override
   @Transactional
-  public void deleteTeam(Long teamId) {
-    // deleting the team will cascade by FK constraints if configured; we keep it simple: delete members then team
-    if (!teamRepository.existsById(teamId)) throw new NotFoundException("Team not found: " + teamId);
-    teamMemberRepository.findByTeamId(teamId).forEach(m -> teamMemberRepository.deleteById(m.getId()));
-    teamRepository.deleteById(teamId);
+  public TeamDeletionJob deleteTeam(Long teamId) {
+    Team team = teamRepository.findById(teamId).orElseThrow(() -> new NotFoundException(notFoundMessage(teamId)));
+    if (team.isDeleting()) {
+      return getDeletion(teamId);
+    }
+    // only the cheap part happens here: the team disappears for everyone at once (no members left,
+    // admin endpoints see it as not found) and TeamDeletionWorker purges the content in batches
+    team.setDeleting(true);
+    teamMemberRepository.deleteByTeamId(teamId);
+
+    TeamDeletionJob job = new TeamDeletionJob();
+    job.setTeamId(teamId);
+    job.setTeamName(team.getName());
+    job.setRequestedByUserId(currentUserProvider.requireCurrentUser().getId());
+    job.setStatus(TeamDeletionStatus.PENDING);
+    job.setPhase(TeamDeletionPhase.FILES);
+    contentVersionService.bumpTeam(teamId);
+    searchIndexer.removeTeam(teamId);
+    recentMessages.evict(teamId);
+    afterCommit(() -> presenceRegistry.evictTeam(teamId));
+    return deletionJobRepository.save(job);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TeamDeletionJob getDeletion(Long teamId) {
+    return deletionJobRepository.findFirstByTeamIdOrderByIdDesc(teamId)
+        .orElseThrow(() -> new NotFoundException("No deletion for team: " + teamId));
+  }
+
+  @Override
+  public List<TeamMemberResponse> listMembers(Long teamId) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    return singleFlight.list("members.byTeam", List.of(teamId, contentVersionService.teamVersion(teamId)),
+        () -> teamMemberRepository.findByTeamId(teamId).stream().map(TeamServiceImpl::toResponse).toList());
+  }
+
+  private static TeamMemberResponse toResponse(TeamMember tm) {
+    return TeamMemberResponse.builder()
+        .id(tm.getId())
+        .teamId(tm.getTeam().getId())
+        .userId(tm.getUser().getId())
+        .userName(tm.getUser().getName())
+        .userEmail(tm.getUser().getEmail())
+        .teamRole(tm.getTeamRole())
+        .build();
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<TeamMember> listMembers(Long teamId) {
+  public void streamMembers(Long teamId, Consumer<TeamMember> sink) {
     User me = currentUserProvider.requireCurrentUser();
     permissionService.assertTeamMember(teamId, me.getId());
-    return teamMemberRepository.findByTeamId(teamId);
+    forEachDetached(entityManager, teamMemberRepository.streamByTeamId(teamId), sink);
   }
 
   @Override
@@ -116,6 +187,8 @@ public class TeamServiceImpl extends AbstractCrudService<Team, Long> implements
     tm.setTeam(team);
     tm.setUser(user);
     tm.setTeamRole(req.getTeamRole());
+    contentVersionService.bumpTeam(teamId);
+    unreadService.onJoin(teamId, user.getId());
     return teamMemberRepository.save(tm);
   }
 
@@ -130,5 +203,19 @@ public class TeamServiceImpl extends AbstractCrudService<Team, Long> implements
       throw new BadRequestException("Member does not belong to the team");
     }
     teamMemberRepository.delete(tm);
+    contentVersionService.bumpTeam(teamId);
+    Long userId = tm.getUser().getId();
+    afterCommit(() -> presenceRegistry.evict(teamId, userId));
+  }
+
+  // presence is memory only: evicting before commit would let a heartbeat re-register a member
+  // whose removal is still in flight, and a rollback would drop someone who never left
+  private static void afterCommit(Runnable action) {
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
   }
 }
@@ -0,0 +1,21 @@
+package com.taskmate.service;
+
+import com.taskmate.repo.DiscussionReadCursorRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UnreadService {
+  /** Counts a new message in the team; the author's own cursor moves past it. */
+  void onPost(Long teamId, Long authorId);
+
+  /** Same as {@link #onPost} for several messages of one team written together. */
+  void onPosts(Long teamId, Collection<Long> authorIds);
+
+  /** Starts a new member at the current position, so joining does not flag the whole history. */
+  void onJoin(Long teamId, Long userId);
+
+  void markRead(Long teamId);
+
+  List<DiscussionReadCursorRepository.UnreadRow> myUnread();
+}
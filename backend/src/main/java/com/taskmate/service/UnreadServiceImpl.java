@@ -0,0 +1,81 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.ContentVersion;
+import com.taskmate.domain.DiscussionReadCursor;
+import com.taskmate.domain.User;
+import com.taskmate.repo.ContentVersionRepository;
+import com.taskmate.repo.DiscussionReadCursorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class UnreadServiceImpl implements UnreadService {
+
+  private final ContentVersionRepository versionRepository;
+  private final ContentVersionCounter versionCounter;
+  private final DiscussionReadCursorRepository cursorRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final PermissionService permissionService;
+
+  @Override
+  @Transactional
+  public void onPost(Long teamId, Long authorId) {
+    onPosts(teamId, List.of(authorId));
+  }
+
+  @Override
+  @Transactional
+  public void onPosts(Long teamId, Collection<Long> authorIds) {
+    String key = counterKey(teamId);
+    // rows are seeded by the migration and created on the first post of a new team
+    versionCounter.add(key, authorIds.size());
+    long current = current(teamId);
+    new LinkedHashSet<>(authorIds).forEach(authorId -> moveCursor(teamId, authorId, current));
+  }
+
+  @Override
+  @Transactional
+  public void onJoin(Long teamId, Long userId) {
+    moveCursor(teamId, userId, current(teamId));
+  }
+
+  @Override
+  @Transactional
+  public void markRead(Long teamId) {
+    User me = currentUserProvider.requireCurrentUser();
+    permissionService.assertTeamMember(teamId, me.getId());
+    moveCursor(teamId, me.getId(), current(teamId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<DiscussionReadCursorRepository.UnreadRow> myUnread() {
+    return cursorRepository.findUnreadByUserId(currentUserProvider.requireCurrentUser().getId());
+  }
+
+  private long current(Long teamId) {
+    return versionRepository.findById(counterKey(teamId)).map(ContentVersion::getVersion).orElse(0L);
+  }
+
+  private void moveCursor(Long teamId, Long userId, long readCount) {
+    if (cursorRepository.advance(teamId, userId, readCount, Instant.now()) == 0
+        && !cursorRepository.existsByTeamIdAndUserId(teamId, userId)) {
+      DiscussionReadCursor c = new DiscussionReadCursor();
+      c.setTeamId(teamId);
+      c.setUserId(userId);
+      c.setReadCount(readCount);
+      cursorRepository.save(c);
+    }
+  }
+
+  static String counterKey(Long teamId) {
+    return "messages:" + teamId;
+  }
+}
@@ -0,0 +1,159 @@
+package com.taskmate.service;
+
+import com.taskmate.domain.User;
+import com.taskmate.repo.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index of all users for autocomplete. Every user is filed under a few normalized
+ * terms (full name, each name word, email, email local part, initials) in a sorted concurrent map,
+ * so a prefix lookup is one range scan that yields the shortest (closest) terms first.
+ * <p>
+ * Loaded at startup, updated directly on register and caught up every {@code refresh-interval}
+ * from {@code users.updated_at}, which also picks up changes made on other nodes.
+ */
+@Slf4j
+@Component
+public class UserDirectory {
+
+  public record Entry(long id, String name, String email, String initials) {}
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final char SEP = '\u0000';
+
+  private final UserRepository userRepository;
+  private final ConcurrentSkipListMap<String, Entry> terms = new ConcurrentSkipListMap<>();
+  private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private volatile Instant watermark = Instant.EPOCH;
+
+  @Value("${taskmate.users.directory.load-batch-size:1000}")
+  private int loadBatchSize;
+
+  // an entry skipped because it is excluded still costs a step; bounds the scan for very short prefixes
+  @Value("${taskmate.users.directory.max-scan:5000}")
+  private int maxScan;
+
+  public UserDirectory(UserRepository userRepository, MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    Gauge.builder("taskmate.users.directory.size", byId, Map::size).register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    Instant started = Instant.now();
+    writeLock.lock();
+    try {
+      terms.clear();
+      byId.clear();
+    } finally {
+      writeLock.unlock();
+    }
+    long after = 0;
+    List<User> batch;
+    do {
+      batch = userRepository.findByIdGreaterThanOrderById(after, PageRequest.of(0, loadBatchSize));
+      for (User u : batch) {
+        put(u);
+        after = u.getId();
+      }
+    } while (batch.size() == loadBatchSize);
+    watermark = started;
+    log.info("User directory loaded: {} users", byId.size());
+  }
+
+  @Scheduled(initialDelayString = "${taskmate.users.directory.refresh-interval-ms:60000}",
+      fixedDelayString = "${taskmate.users.directory.refresh-interval-ms:60000}")
+  public void refresh() {
+    Instant started = Instant.now();
+    // small overlap so a row committed just before the previous watermark is not missed
+    userRepository.findByUpdatedAtAfter(watermark.minus(Duration.ofSeconds(5))).forEach(this::put);
+    watermark = started;
+  }
+
+  public void put(User u) {
+    Entry e = new Entry(u.getId(), u.getName(), u.getEmail(), u.getInitials());
+    writeLock.lock();
+    try {
+      Entry old = byId.put(e.id(), e);
+      if (old != null) {
+        termsOf(old).forEach(t -> terms.remove(t + SEP + old.id()));
+      }
+      termsOf(e).forEach(t -> terms.put(t + SEP + e.id(), e));
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** Up to {@code limit} users with a term starting with {@code prefix}, closest terms first. */
+  public List<Entry> search(String prefix, Set<Long> excludeIds, int limit) {
+    String p = normalize(prefix);
+    if (p.isEmpty()) {
+      return List.of();
+    }
+    Set<Entry> out = new LinkedHashSet<>();
+    int scanned = 0;
+    for (Entry e : terms.subMap(p, true, p + Character.MAX_VALUE, false).values()) {
+      if (out.size() == limit || ++scanned > maxScan) {
+        break;
+      }
+      if (!excludeIds.contains(e.id())) {
+        out.add(e);
+      }
+    }
+    return new ArrayList<>(out);
+  }
+
+  public int size() {
+    return byId.size();
+  }
+
+  private static Set<String> termsOf(Entry e) {
+    Set<String> out = new LinkedHashSet<>();
+    String name = normalize(e.name());
+    out.add(name);
+    for (String word : name.split("\\s+")) {
+      out.add(word);
+    }
+    String email = normalize(e.email());
+    out.add(email);
+    int at = email.indexOf('@');
+    if (at > 0) {
+      out.add(email.substring(0, at));
+    }
+    out.add(normalize(e.initials()));
+    out.remove("");
+    return out;
+  }
+
+  // lower case without diacritics, so "andre" finds "André"
+  static String normalize(String s) {
+    if (s == null) {
+      return "";
+    }
+    String decomposed = Normalizer.normalize(s.trim(), Normalizer.Form.NFD);
+    return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+  }
+}
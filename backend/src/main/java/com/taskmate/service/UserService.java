@@ -0,0 +1,11 @@
+package com.taskmate.service;
+
+import java.util.List;
+
+public interface UserService {
+  /**
+   * Autocomplete over name, email and initials; users already in {@code excludeTeamId} (if given)
+   * are left out.
+   */
+  List<UserDirectory.Entry> search(String q, Long excludeTeamId, int limit);
+}
@@ -0,0 +1,44 @@
+package com.taskmate.service;
+
+import com.taskmate.api.error.BadRequestException;
+import com.taskmate.repo.TeamMemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class UserServiceImpl implements UserService {
+
+  private static final int MAX_LIMIT = 50;
+
+  private final UserDirectory userDirectory;
+  private final TeamMemberRepository teamMemberRepository;
+  private final Timer searchTimer;
+
+  public UserServiceImpl(UserDirectory userDirectory, TeamMemberRepository teamMemberRepository,
+                         MeterRegistry meterRegistry) {
+    this.userDirectory = userDirectory;
+    this.teamMemberRepository = teamMemberRepository;
+    this.searchTimer = Timer.builder("taskmate.users.search")
+        .description("User directory lookup latency (index only)")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public List<UserDirectory.Entry> search(String q, Long excludeTeamId, int limit) {
+    if (!StringUtils.hasText(q)) {
+      throw new BadRequestException("Query must not be empty");
+    }
+    Set<Long> exclude = excludeTeamId == null
+        ? Set.of()
+        : new HashSet<>(teamMemberRepository.findUserIdsByTeamId(excludeTeamId));
+    int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return searchTimer.record(() -> userDirectory.search(q, exclude, k));
+  }
+}
@@ -0,0 +1,37 @@
+package com.taskmate.service.analytics;
+
+import java.time.Duration;
+
+/**
+ * Fixed histogram buckets for lead/cycle times, in whole days with Fibonacci-like upper bounds:
+ * [0,1), [1,2), [2,3), [3,5), [5,8), ... [34,55), [55,inf). Stored as the bucket index, so the bounds
+ * must only ever be extended at the end.
+ */
+public final class CycleTimeBuckets {
+
+  private static final int[] UPPER_DAYS = {1, 2, 3, 5, 8, 13, 21, 34, 55};
+
+  public static final int COUNT = UPPER_DAYS.length + 1;
+
+  private CycleTimeBuckets() {
+  }
+
+  public static int of(Duration d) {
+    long days = Math.max(0, d.toDays());
+    for (int i = 0; i < UPPER_DAYS.length; i++) {
+      if (days < UPPER_DAYS[i]) {
+        return i;
+      }
+    }
+    return UPPER_DAYS.length;
+  }
+
+  public static int minDays(int bucket) {
+    return bucket == 0 ? 0 : UPPER_DAYS[bucket - 1];
+  }
+
+  /** Exclusive upper bound in days, null for the open-ended last bucket. */
+  public static Integer maxDays(int bucket) {
+    return bucket < UPPER_DAYS.length ? UPPER_DAYS[bucket] : null;
+  }
+}
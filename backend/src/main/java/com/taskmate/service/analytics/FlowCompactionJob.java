@@ -0,0 +1,71 @@
+package com.taskmate.service.analytics;
+
+import com.taskmate.domain.ProjectFlowDay;
+import com.taskmate.repo.ProjectFlowDayRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Nightly fold of {@code project_flow_days}: for every project with uncompacted past days, the
+ * end-of-day counts are computed from the last compacted day plus the deltas, one short transaction
+ * per project. Reads then start from a stored count instead of summing a project's whole history.
+ * Re-running is harmless (same inputs, same counts), so every node may run it.
+ */
+@Slf4j
+@Component
+public class FlowCompactionJob {
+
+  private final ProjectFlowDayRepository flowDayRepository;
+  private final TransactionTemplate tx;
+  private final ZoneId zone;
+  private final Counter daysCompacted;
+
+  public FlowCompactionJob(ProjectFlowDayRepository flowDayRepository, TransactionTemplate tx,
+                           @Value("${taskmate.analytics.zone:UTC}") ZoneId zone, MeterRegistry meterRegistry) {
+    this.flowDayRepository = flowDayRepository;
+    this.tx = tx;
+    this.zone = zone;
+    this.daysCompacted = Counter.builder("taskmate.analytics.compacted-days").register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${taskmate.analytics.compaction-cron:0 10 0 * * *}", zone = "${taskmate.analytics.zone:UTC}")
+  public void run() {
+    // today still receives deltas; it is folded tomorrow night
+    LocalDate today = LocalDate.now(zone);
+    for (ProjectFlowDayRepository.PendingRow row : flowDayRepository.findPendingCompaction(today)) {
+      try {
+        tx.executeWithoutResult(status -> compact(row.getProjectId(), row.getDay(), today.minusDays(1)));
+      } catch (RuntimeException e) {
+        log.warn("Flow compaction of project {} failed, retried next run", row.getProjectId(), e);
+      }
+    }
+  }
+
+  private void compact(Long projectId, LocalDate from, LocalDate to) {
+    int[] counts = new int[4];
+    List<ProjectFlowDay> base = flowDayRepository.findCompactedBefore(projectId, from, PageRequest.of(0, 1));
+    if (!base.isEmpty()) {
+      ProjectFlowDay b = base.get(0);
+      counts = new int[]{b.getTodoCount(), b.getInProgressCount(), b.getReviewCount(), b.getDoneCount()};
+    }
+    List<ProjectFlowDay> days = flowDayRepository.lockRange(projectId, from, to);
+    for (ProjectFlowDay d : days) {
+      counts[0] += d.getTodoDelta();
+      counts[1] += d.getInProgressDelta();
+      counts[2] += d.getReviewDelta();
+      counts[3] += d.getDoneDelta();
+      flowDayRepository.setCounts(d.getId(), counts[0], counts[1], counts[2], counts[3]);
+    }
+    daysCompacted.increment(days.size());
+  }
+}
@@ -0,0 +1,194 @@
+package com.taskmate.service.analytics;
+
+import com.taskmate.domain.Task;
+import com.taskmate.domain.enums.TaskEventType;
+import com.taskmate.domain.enums.TaskStatus;
+import com.taskmate.repo.TaskEventRepository;
+import com.taskmate.service.TaskActivityLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the daily flow aggregates ({@code project_flow_days}, {@code project_cycle_times}) up to date
+ * as tasks are created, change status or are deleted. Changes of one transaction are summed per
+ * project and applied just before commit as one relative UPDATE per touched row (INSERT the first
+ * time a project shows up on a day), so the hot per-day row is only locked for the end of the
+ * transaction. Every move into DONE counts as a completion; a reopened task that is finished again
+ * counts twice.
+ */
+@Component
+public class FlowRecorder {
+
+  private static final int CREATED = 4;
+  private static final int COMPLETED = 5;
+  private static final int LEAD_HOURS = 6;
+  private static final int CYCLE_HOURS = 7;
+
+  private static final String UPDATE_DAY = "update project_flow_days set "
+      + "todo_delta = todo_delta + ?, in_progress_delta = in_progress_delta + ?, "
+      + "review_delta = review_delta + ?, done_delta = done_delta + ?, "
+      // counts are null until compacted; a commit landing on an already compacted day keeps them right
+      + "todo_count = todo_count + ?, in_progress_count = in_progress_count + ?, "
+      + "review_count = review_count + ?, done_count = done_count + ?, "
+      + "created = created + ?, completed = completed + ?, lead_hours = lead_hours + ?, cycle_hours = cycle_hours + ? "
+      + "where project_id = ? and stat_day = ?";
+
+  private static final String INSERT_DAY = "insert into project_flow_days "
+      + "(project_id, stat_day, todo_delta, in_progress_delta, review_delta, done_delta, "
+      + "created, completed, lead_hours, cycle_hours) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String UPDATE_BUCKET = "update project_cycle_times set "
+      + "lead_count = lead_count + ?, cycle_count = cycle_count + ? where project_id = ? and stat_day = ? and bucket = ?";
+
+  private static final String INSERT_BUCKET = "insert into project_cycle_times "
+      + "(project_id, stat_day, bucket, lead_count, cycle_count) values (?, ?, ?, ?, ?)";
+
+  /** Per-transaction sums: eight flow columns and a lead/cycle pair per bucket, by project. */
+  private static final class Pending {
+    final Map<Long, long[]> flow = new TreeMap<>();
+    final Map<Long, int[][]> buckets = new TreeMap<>();
+
+    long[] flow(Long projectId) {
+      return flow.computeIfAbsent(projectId, id -> new long[8]);
+    }
+  }
+
+  private final JdbcTemplate jdbc;
+  private final TaskEventRepository eventRepository;
+  private final ZoneId zone;
+
+  public FlowRecorder(JdbcTemplate jdbc, TaskEventRepository eventRepository,
+                      @Value("${taskmate.analytics.zone:UTC}") ZoneId zone) {
+    this.jdbc = jdbc;
+    this.eventRepository = eventRepository;
+    this.zone = zone;
+  }
+
+  public void created(Task t) {
+    long[] flow = pending().flow(t.getProject().getId());
+    flow[index(t.getStatus())]++;
+    flow[CREATED]++;
+    if (t.getStatus() == TaskStatus.DONE) {
+      completed(t, null);
+    }
+  }
+
+  public void statusChanged(Task t, TaskStatus from) {
+    if (from == t.getStatus()) {
+      return;
+    }
+    long[] flow = pending().flow(t.getProject().getId());
+    flow[index(from)]--;
+    flow[index(t.getStatus())]++;
+    if (t.getStatus() == TaskStatus.DONE) {
+      completed(t, from);
+    }
+  }
+
+  public void deleted(Task t) {
+    pending().flow(t.getProject().getId())[index(t.getStatus())]--;
+  }
+
+  private void completed(Task t, TaskStatus from) {
+    Instant now = Instant.now();
+    Instant createdAt = t.getCreatedAt() == null ? now : t.getCreatedAt();
+    // cycle time runs from the first move out of TODO; tasks created past TODO (or older than the
+    // activity log) started at creation
+    Instant started;
+    if (from == TaskStatus.TODO) {
+      started = now;
+    } else {
+      started = from == null ? null
+          : eventRepository.findFirstChangeFrom(t.getId(), TaskEventType.STATUS, TaskActivityLog.code(TaskStatus.TODO));
+      if (started == null) {
+        started = createdAt;
+      }
+    }
+    Duration lead = Duration.between(createdAt, now);
+    Duration cycle = Duration.between(started, now);
+
+    Pending pending = pending();
+    long[] flow = pending.flow(t.getProject().getId());
+    flow[COMPLETED]++;
+    flow[LEAD_HOURS] += Math.max(0, lead.toHours());
+    flow[CYCLE_HOURS] += Math.max(0, cycle.toHours());
+    int[][] buckets = pending.buckets.computeIfAbsent(t.getProject().getId(), id -> new int[CycleTimeBuckets.COUNT][2]);
+    buckets[CycleTimeBuckets.of(lead)][0]++;
+    buckets[CycleTimeBuckets.of(cycle)][1]++;
+  }
+
+  private Pending pending() {
+    Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      Pending created = new Pending();
+      TransactionSynchronizationManager.bindResource(this, created);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+          write(created);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(FlowRecorder.this);
+        }
+      });
+      pending = created;
+    }
+    return pending;
+  }
+
+  private void write(Pending pending) {
+    // the commit day, not the change day: a transaction straddling midnight lands on the new day
+    LocalDate day = LocalDate.now(zone);
+    // project id order, so concurrent transactions lock day rows in the same order
+    pending.flow.forEach((projectId, f) -> {
+      Object[] update = {f[0], f[1], f[2], f[3], f[0], f[1], f[2], f[3],
+          f[CREATED], f[COMPLETED], f[LEAD_HOURS], f[CYCLE_HOURS], projectId, day};
+      upsert(UPDATE_DAY, update, INSERT_DAY, new Object[]{projectId, day, f[0], f[1], f[2], f[3],
+          f[CREATED], f[COMPLETED], f[LEAD_HOURS], f[CYCLE_HOURS]});
+    });
+    pending.buckets.forEach((projectId, buckets) -> {
+      for (int b = 0; b < buckets.length; b++) {
+        int lead = buckets[b][0];
+        int cycle = buckets[b][1];
+        if (lead != 0 || cycle != 0) {
+          upsert(UPDATE_BUCKET, new Object[]{lead, cycle, projectId, day, b},
+              INSERT_BUCKET, new Object[]{projectId, day, b, lead, cycle});
+        }
+      }
+    });
+  }
+
+  private void upsert(String update, Object[] updateArgs, String insert, Object[] insertArgs) {
+    if (jdbc.update(update, updateArgs) > 0) {
+      return;
+    }
+    try {
+      jdbc.update(insert, insertArgs);
+    } catch (DuplicateKeyException e) {
+      // another transaction created the row in between
+      jdbc.update(update, updateArgs);
+    }
+  }
+
+  private static int index(TaskStatus s) {
+    return switch (s) {
+      case TODO -> 0;
+      case IN_PROGRESS -> 1;
+      case REVIEW -> 2;
+      case DONE -> 3;
+    };
+  }
+}
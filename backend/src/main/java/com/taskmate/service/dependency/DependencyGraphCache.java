@@ -0,0 +1,194 @@
+package com.taskmate.service.dependency;
+
+import com.taskmate.domain.Task;
+import com.taskmate.repo.TaskDependencyRepository;
+import com.taskmate.repo.TaskRepository;
+import com.taskmate.service.ContentVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Dependency graphs of recently viewed projects, with their computed schedules. Like
+ * {@link com.taskmate.service.RecentMessagesCache}, each graph is tagged with the project's content
+ * version it reflects: a read whose current version differs reloads, so writes on other nodes,
+ * archiving and team deletion are never served stale. Task and edge writes on this node update the
+ * graph in place after commit and move the tag along; the schedule is recomputed on the next read
+ * only if a due date or an edge changed.
+ * <p>
+ * At most {@code max-projects} graphs are kept, least recently used dropped first.
+ */
+@Component
+public class DependencyGraphCache {
+
+  private static final class Entry {
+    final TaskGraph graph;
+    long version;
+
+    Entry(TaskGraph graph, long version) {
+      this.graph = graph;
+      this.version = version;
+    }
+  }
+
+  private final TaskRepository taskRepository;
+  private final TaskDependencyRepository dependencyRepository;
+  private final ContentVersionService contentVersionService;
+  private final TransactionTemplate readTx;
+  private final int maxProjects;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<Long, Entry> graphs = new LinkedHashMap<>(64, 0.75f, true);
+  private final Counter hits;
+  private final Counter misses;
+
+  public DependencyGraphCache(TaskRepository taskRepository, TaskDependencyRepository dependencyRepository,
+                              ContentVersionService contentVersionService, TransactionTemplate tx,
+                              @Value("${taskmate.dependencies.cache.max-projects:256}") int maxProjects,
+                              MeterRegistry meterRegistry) {
+    this.taskRepository = taskRepository;
+    this.dependencyRepository = dependencyRepository;
+    this.contentVersionService = contentVersionService;
+    this.readTx = new TransactionTemplate(tx.getTransactionManager());
+    this.readTx.setReadOnly(true);
+    this.maxProjects = maxProjects;
+    this.hits = Counter.builder("taskmate.dependencies.cache").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("taskmate.dependencies.cache").tag("result", "miss").register(meterRegistry);
+    Gauge.builder("taskmate.dependencies.cache.projects", this, c -> c.projects()).register(meterRegistry);
+  }
+
+  /** Membership must be checked by the caller. */
+  public ProjectSchedule schedule(Long projectId) {
+    long version = contentVersionService.projectVersion(projectId);
+    lock.lock();
+    try {
+      Entry entry = graphs.get(projectId);
+      if (entry != null && entry.version == version) {
+        hits.increment();
+        return entry.graph.schedule();
+      }
+    } finally {
+      lock.unlock();
+    }
+    misses.increment();
+    // version and rows from one snapshot, so the tag never claims edges the graph does not hold
+    Entry loaded = readTx.execute(s -> load(projectId, contentVersionService.projectVersion(projectId)));
+    ProjectSchedule schedule = loaded.graph.schedule();
+    put(projectId, loaded);
+    return schedule;
+  }
+
+  /**
+   * Called inside the transaction adding {@code taskId -> dependsOnTaskId}, after its single
+   * {@code bumpProject}, which holds off every other writer of the project until commit. The check
+   * runs against the committed graph, reloaded in the caller's transaction if the cached one is not
+   * at the version just before ours.
+   */
+  public List<Long> cycleIfAdded(Long projectId, Long taskId, Long dependsOnTaskId) {
+    long committed = contentVersionService.projectVersion(projectId) - 1;
+    lock.lock();
+    try {
+      Entry entry = graphs.get(projectId);
+      if (entry != null && entry.version == committed) {
+        hits.increment();
+        return entry.graph.cycleIfAdded(taskId, dependsOnTaskId);
+      }
+    } finally {
+      lock.unlock();
+    }
+    misses.increment();
+    Entry loaded = load(projectId, committed);
+    List<Long> cycle = loaded.graph.cycleIfAdded(taskId, dependsOnTaskId);
+    put(projectId, loaded);
+    return cycle;
+  }
+
+  /** The following hooks run inside the writing transaction, after its single {@code bumpProject}. */
+  public void onEdgeAdded(Long projectId, Long taskId, Long dependsOnTaskId) {
+    afterCommit(projectId, g -> g.addEdge(taskId, dependsOnTaskId));
+  }
+
+  public void onEdgeRemoved(Long projectId, Long taskId, Long dependsOnTaskId) {
+    afterCommit(projectId, g -> g.removeEdge(taskId, dependsOnTaskId));
+  }
+
+  public void onTaskSaved(Task task) {
+    Long taskId = task.getId();
+    LocalDate dueDate = task.getDueDate();
+    afterCommit(task.getProject().getId(), g -> g.putTask(taskId, dueDate));
+  }
+
+  public void onTaskDeleted(Long projectId, Long taskId) {
+    afterCommit(projectId, g -> g.removeTask(taskId));
+  }
+
+  private void afterCommit(Long projectId, Consumer<TaskGraph> change) {
+    long version = contentVersionService.projectVersion(projectId);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        lock.lock();
+        try {
+          Entry entry = graphs.get(projectId);
+          if (entry == null) {
+            return;
+          }
+          if (entry.version != version - 1) {
+            // another writer got in between; the next read reloads
+            graphs.remove(projectId);
+            return;
+          }
+          change.accept(entry.graph);
+          entry.version = version;
+        } finally {
+          lock.unlock();
+        }
+      }
+    });
+  }
+
+  private Entry load(Long projectId, long version) {
+    TaskGraph graph = new TaskGraph();
+    taskRepository.findDueRowsByProjectId(projectId).forEach(r -> graph.putTask(r.getId(), r.getDueDate()));
+    dependencyRepository.findEdgesByProjectId(projectId)
+        .forEach(e -> graph.addEdge(e.getTaskId(), e.getDependsOnTaskId()));
+    return new Entry(graph, version);
+  }
+
+  private void put(Long projectId, Entry entry) {
+    lock.lock();
+    try {
+      Entry current = graphs.get(projectId);
+      if (current != null && current.version > entry.version) {
+        return; // a newer graph landed while this one was loading
+      }
+      graphs.put(projectId, entry);
+      var it = graphs.entrySet().iterator();
+      while (graphs.size() > maxProjects && it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int projects() {
+    lock.lock();
+    try {
+      return graphs.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.taskmate.service.dependency;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Schedule of one project derived from its dependency graph. {@code items} are in topological order
+ * (prerequisites first, ties by task id); {@code criticalPath} is the chain of tasks that drives the
+ * latest finish, first to last.
+ */
+public record ProjectSchedule(List<Item> items, List<Long> criticalPath, LocalDate finish) {
+
+  /**
+   * {@code earliestStart} is the day after the latest-finishing prerequisite, null without dated
+   * prerequisites. {@code finish} is the due date, pushed back to {@code earliestStart} when that is
+   * later ({@code late}); tasks without a due date finish on their earliest start.
+   */
+  public record Item(Long taskId, List<Long> dependsOn, LocalDate dueDate, LocalDate earliestStart,
+                     LocalDate finish, boolean late) {
+  }
+}
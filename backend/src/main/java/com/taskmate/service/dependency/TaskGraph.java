@@ -0,0 +1,163 @@
+package com.taskmate.service.dependency;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Dependency graph of one project: every task with its due date, and the edges in both directions.
+ * Acyclic by construction, since every edge is checked with {@link #cycleIfAdded} first. The schedule
+ * is computed once and kept until the next change. Not thread-safe; {@link DependencyGraphCache} only
+ * touches it under its lock.
+ */
+final class TaskGraph {
+
+  private final Map<Long, LocalDate> dueDates = new HashMap<>();
+  private final Map<Long, Set<Long>> prerequisites = new HashMap<>();
+  private final Map<Long, Set<Long>> dependents = new HashMap<>();
+  private ProjectSchedule schedule;
+
+  boolean hasTask(Long taskId) {
+    return dueDates.containsKey(taskId);
+  }
+
+  void putTask(Long taskId, LocalDate dueDate) {
+    // status or title edits leave the schedule alone
+    if (!dueDates.containsKey(taskId) || !Objects.equals(dueDates.get(taskId), dueDate)) {
+      dueDates.put(taskId, dueDate);
+      schedule = null;
+    }
+  }
+
+  void removeTask(Long taskId) {
+    dueDates.remove(taskId);
+    for (Long p : prerequisites.getOrDefault(taskId, Set.of())) {
+      unlink(dependents, p, taskId);
+    }
+    for (Long d : dependents.getOrDefault(taskId, Set.of())) {
+      unlink(prerequisites, d, taskId);
+    }
+    prerequisites.remove(taskId);
+    dependents.remove(taskId);
+    schedule = null;
+  }
+
+  void addEdge(Long taskId, Long dependsOnTaskId) {
+    prerequisites.computeIfAbsent(taskId, k -> new HashSet<>()).add(dependsOnTaskId);
+    dependents.computeIfAbsent(dependsOnTaskId, k -> new HashSet<>()).add(taskId);
+    schedule = null;
+  }
+
+  void removeEdge(Long taskId, Long dependsOnTaskId) {
+    unlink(prerequisites, taskId, dependsOnTaskId);
+    unlink(dependents, dependsOnTaskId, taskId);
+    schedule = null;
+  }
+
+  /**
+   * The cycle that {@code taskId -> dependsOnTaskId} would close, in "depends on" order starting and
+   * ending with {@code taskId}; empty if the edge is safe. One DFS over the dependents of
+   * {@code taskId}, so O(V+E) at worst.
+   */
+  List<Long> cycleIfAdded(Long taskId, Long dependsOnTaskId) {
+    Map<Long, Long> reachedFrom = new HashMap<>();
+    reachedFrom.put(taskId, null);
+    Deque<Long> stack = new ArrayDeque<>();
+    stack.push(taskId);
+    while (!stack.isEmpty()) {
+      Long at = stack.pop();
+      if (at.equals(dependsOnTaskId)) {
+        // walking back from dependsOn to task follows "depends on" edges
+        List<Long> cycle = new ArrayList<>();
+        cycle.add(taskId);
+        for (Long n = at; n != null; n = reachedFrom.get(n)) {
+          cycle.add(n);
+        }
+        return cycle;
+      }
+      for (Long next : dependents.getOrDefault(at, Set.of())) {
+        if (!reachedFrom.containsKey(next)) {
+          reachedFrom.put(next, at);
+          stack.push(next);
+        }
+      }
+    }
+    return List.of();
+  }
+
+  ProjectSchedule schedule() {
+    if (schedule == null) {
+      schedule = computeSchedule();
+    }
+    return schedule;
+  }
+
+  // Kahn's algorithm; a task is scheduled once all of its prerequisites have been
+  private ProjectSchedule computeSchedule() {
+    Map<Long, Integer> waitingOn = new HashMap<>();
+    PriorityQueue<Long> ready = new PriorityQueue<>();
+    for (Long id : dueDates.keySet()) {
+      int n = prerequisites.getOrDefault(id, Set.of()).size();
+      if (n == 0) {
+        ready.add(id);
+      } else {
+        waitingOn.put(id, n);
+      }
+    }
+    Map<Long, LocalDate> finish = new HashMap<>();
+    Map<Long, Long> drivenBy = new HashMap<>();
+    List<ProjectSchedule.Item> items = new ArrayList<>(dueDates.size());
+    Long last = null;
+    while (!ready.isEmpty()) {
+      Long id = ready.poll();
+      List<Long> deps = new ArrayList<>(prerequisites.getOrDefault(id, Set.of()));
+      Collections.sort(deps);
+      LocalDate start = null;
+      for (Long p : deps) {
+        LocalDate f = finish.get(p);
+        if (f != null && (start == null || f.plusDays(1).isAfter(start))) {
+          start = f.plusDays(1);
+          drivenBy.put(id, p);
+        }
+      }
+      LocalDate due = dueDates.get(id);
+      boolean late = due != null && start != null && start.isAfter(due);
+      LocalDate end = due == null || late ? start : due;
+      if (end != null) {
+        finish.put(id, end);
+        if (last == null || end.isAfter(finish.get(last))) {
+          last = id;
+        }
+      }
+      items.add(new ProjectSchedule.Item(id, List.copyOf(deps), due, start, end, late));
+      for (Long d : dependents.getOrDefault(id, Set.of())) {
+        if (waitingOn.merge(d, -1, Integer::sum) == 0) {
+          waitingOn.remove(d);
+          ready.add(d);
+        }
+      }
+    }
+    List<Long> critical = new ArrayList<>();
+    for (Long n = last; n != null; n = drivenBy.get(n)) {
+      critical.add(n);
+    }
+    Collections.reverse(critical);
+    return new ProjectSchedule(List.copyOf(items), List.copyOf(critical), last == null ? null : finish.get(last));
+  }
+
+  private static void unlink(Map<Long, Set<Long>> adjacency, Long from, Long to) {
+    Set<Long> set = adjacency.get(from);
+    if (set != null && set.remove(to) && set.isEmpty()) {
+      adjacency.remove(from);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.taskmate.service.digest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A text template with {@code {{name}}} placeholders, split into literal and placeholder parts once
+ * at startup; rendering is a single pass appending into a caller-owned builder, so the digest run
+ * neither re-parses templates nor allocates a string per fragment.
+ */
+final class DigestTemplate {
+
+  private final String[] literals;
+  private final String[] names;
+
+  private DigestTemplate(String[] literals, String[] names) {
+    this.literals = literals;
+    this.names = names;
+  }
+
+  static DigestTemplate compile(String source) {
+    List<String> literals = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    int pos = 0;
+    while (true) {
+      int open = source.indexOf("{{", pos);
+      if (open < 0) {
+        break;
+      }
+      int close = source.indexOf("}}", open);
+      if (close < 0) {
+        throw new IllegalArgumentException("Unclosed placeholder in template: " + source);
+      }
+      literals.add(source.substring(pos, open));
+      names.add(source.substring(open + 2, close).trim());
+      pos = close + 2;
+    }
+    literals.add(source.substring(pos));
+    return new DigestTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+  }
+
+  void render(StringBuilder out, Map<String, ?> values) {
+    for (int i = 0; i < names.length; i++) {
+      out.append(literals[i]);
+      Object value = values.get(names[i]);
+      if (value != null) {
+        out.append(value);
+      }
+    }
+    out.append(literals[names.length]);
+  }
+
+  String render(Map<String, ?> values) {
+    StringBuilder out = new StringBuilder();
+    render(out, values);
+    return out.toString();
+  }
+}
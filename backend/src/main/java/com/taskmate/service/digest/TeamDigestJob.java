@@ -0,0 +1,395 @@
+package com.taskmate.service.digest;
+
+import com.taskmate.domain.DigestRun;
+import com.taskmate.domain.TaskEvent;
+import com.taskmate.domain.enums.DigestRunStatus;
+import com.taskmate.domain.enums.TaskEventType;
+import com.taskmate.repo.DigestRunRepository;
+import com.taskmate.repo.DiscussionMessageRepository;
+import com.taskmate.repo.FileResourceRepository;
+import com.taskmate.repo.TaskEventRepository;
+import com.taskmate.repo.TaskRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.service.EmailService;
+import com.taskmate.service.SchedulerLease;
+import com.taskmate.service.TaskActivityLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Daily activity digest, built as a batch pipeline instead of per-user queries:
+ * <ol>
+ *   <li>collect: one id-ordered pass each over the day's task events, discussion messages and files,
+ *   partitioned into one in-memory summary per team;</li>
+ *   <li>fan out: one query for the members of all active teams, each member gets references to
+ *   their teams' summaries;</li>
+ *   <li>send: bodies rendered from precompiled templates and queued to {@link EmailService} in
+ *   batches, each batch committed together with the {@link DigestRun} checkpoint.</li>
+ * </ol>
+ * Mentions are {@code @name} tokens in messages matching the local part of a member's email.
+ * Only the holder of the {@code team-digest} lease runs it.
+ */
+@Slf4j
+@Component
+public class TeamDigestJob {
+
+  static final String LOCK = "team-digest";
+
+  private static final Pattern MENTION = Pattern.compile("@([\\p{L}0-9_-]+(?:\\.[\\p{L}0-9_-]+)*)");
+  private static final int SNIPPET = 80;
+
+  private static final DigestTemplate SUBJECT = DigestTemplate.compile("TaskMate - Ringkasan aktivitas {{date}}");
+  private static final DigestTemplate HEADER = DigestTemplate.compile(
+      "Halo {{name}},\n\nBerikut ringkasan aktivitas tim Anda pada {{date}}.\n");
+  private static final DigestTemplate TEAM = DigestTemplate.compile("\n== {{team}} ==\n");
+  private static final DigestTemplate SECTION = DigestTemplate.compile("{{count}} {{what}}:\n");
+  private static final DigestTemplate ITEM = DigestTemplate.compile("  - {{text}}\n");
+  private static final DigestTemplate MORE = DigestTemplate.compile("  ... dan {{count}} lainnya\n");
+  private static final DigestTemplate FOOTER = DigestTemplate.compile("\n- TaskMate");
+
+  /** What happened in one team that day; lists keep the first {@code max-items}, counts are exact. */
+  private static final class TeamDay {
+    final Long teamId;
+    String name;
+    int newTasks;
+    final List<String> newTaskTitles = new ArrayList<>();
+    int statusChanges;
+    final List<String> statusLines = new ArrayList<>();
+    int files;
+    final List<String> fileNames = new ArrayList<>();
+    final Map<String, Mentions> mentions = new HashMap<>();
+
+    TeamDay(Long teamId) {
+      this.teamId = teamId;
+    }
+  }
+
+  private static final class Mentions {
+    int total;
+    final List<String> lines = new ArrayList<>();
+  }
+
+  private record Recipient(Long userId, String name, String email, List<TeamDay> teams) {
+  }
+
+  private final TaskEventRepository eventRepository;
+  private final TaskRepository taskRepository;
+  private final DiscussionMessageRepository messageRepository;
+  private final FileResourceRepository fileRepository;
+  private final TeamRepository teamRepository;
+  private final TeamMemberRepository memberRepository;
+  private final DigestRunRepository runRepository;
+  private final EmailService emailService;
+  private final SchedulerLease lease;
+  private final TransactionTemplate tx;
+  private final Timer collectTimer;
+  private final Timer fanOutTimer;
+  private final Timer sendTimer;
+  private final Counter changesRead;
+  private final Counter emailsQueued;
+
+  @Value("${taskmate.digest.enabled:true}")
+  private boolean enabled;
+
+  @Value("${taskmate.digest.zone:UTC}")
+  private ZoneId zone;
+
+  @Value("${taskmate.digest.page-size:1000}")
+  private int pageSize;
+
+  @Value("${taskmate.digest.batch-size:500}")
+  private int batchSize;
+
+  @Value("${taskmate.digest.max-items:10}")
+  private int maxItems;
+
+  @Value("${taskmate.digest.lease:10m}")
+  private Duration leaseDuration;
+
+  public TeamDigestJob(TaskEventRepository eventRepository, TaskRepository taskRepository,
+                       DiscussionMessageRepository messageRepository, FileResourceRepository fileRepository,
+                       TeamRepository teamRepository, TeamMemberRepository memberRepository,
+                       DigestRunRepository runRepository, EmailService emailService, SchedulerLease lease,
+                       TransactionTemplate tx, MeterRegistry meterRegistry) {
+    this.eventRepository = eventRepository;
+    this.taskRepository = taskRepository;
+    this.messageRepository = messageRepository;
+    this.fileRepository = fileRepository;
+    this.teamRepository = teamRepository;
+    this.memberRepository = memberRepository;
+    this.runRepository = runRepository;
+    this.emailService = emailService;
+    this.lease = lease;
+    this.tx = tx;
+    this.collectTimer = Timer.builder("taskmate.digest.phase").tag("phase", "collect").register(meterRegistry);
+    this.fanOutTimer = Timer.builder("taskmate.digest.phase").tag("phase", "fanout").register(meterRegistry);
+    this.sendTimer = Timer.builder("taskmate.digest.phase").tag("phase", "send").register(meterRegistry);
+    this.changesRead = Counter.builder("taskmate.digest.changes").register(meterRegistry);
+    this.emailsQueued = Counter.builder("taskmate.digest.emails").register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${taskmate.digest.cron:0 0 6 * * *}", zone = "${taskmate.digest.zone:UTC}")
+  public void runYesterday() {
+    if (enabled && finishUnfinished()) {
+      run(LocalDate.now(zone).minusDays(1));
+    }
+  }
+
+  /** Finishes runs left RUNNING by a node that died or lost the lease. */
+  @Scheduled(fixedDelayString = "${taskmate.digest.resume-interval-ms:600000}",
+      initialDelayString = "${taskmate.digest.resume-interval-ms:600000}")
+  public void resumeUnfinished() {
+    if (enabled) {
+      finishUnfinished();
+    }
+  }
+
+  /** @return false if a run could not be finished (lease held elsewhere or lost on the way). */
+  private boolean finishUnfinished() {
+    List<LocalDate> days = tx.execute(status -> runRepository.findByStatusOrderByDay(DigestRunStatus.RUNNING)
+        .stream().map(DigestRun::getDay).toList());
+    for (LocalDate day : days) {
+      DigestRun run = run(day);
+      if (run == null || run.getStatus() != DigestRunStatus.DONE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Builds and queues the digest of {@code day}, resuming an unfinished run; null without the lease. */
+  public DigestRun run(LocalDate day) {
+    if (!lease.acquire(LOCK, leaseDuration)) {
+      return null;
+    }
+    DigestRun run = tx.execute(status -> runRepository.findByDay(day).orElseGet(() -> {
+      DigestRun r = new DigestRun();
+      r.setDay(day);
+      r.setStatus(DigestRunStatus.RUNNING);
+      return runRepository.save(r);
+    }));
+    if (run.getStatus() == DigestRunStatus.DONE) {
+      return run;
+    }
+
+    Instant from = day.atStartOfDay(zone).toInstant();
+    Instant to = day.plusDays(1).atStartOfDay(zone).toInstant();
+    long[] changes = new long[1];
+    Map<Long, TeamDay> teams = collectTimer.record(() -> collect(from, to, changes));
+    TreeMap<Long, Recipient> recipients = fanOutTimer.record(() -> fanOut(teams));
+    tx.executeWithoutResult(status -> {
+      DigestRun r = runRepository.findById(run.getId()).orElseThrow();
+      r.setChangesTotal(changes[0]);
+      r.setRecipientsTotal(recipients.size());
+    });
+    log.info("Digest {}: {} active teams, {} recipients, resuming after user {}",
+        day, teams.size(), recipients.size(), run.getLastUserId());
+    boolean finished = Boolean.TRUE.equals(sendTimer.record(() -> send(run.getId(), day, recipients)));
+    return tx.execute(status -> {
+      DigestRun r = runRepository.findById(run.getId()).orElseThrow();
+      if (finished) {
+        r.setStatus(DigestRunStatus.DONE);
+        r.setFinishedAt(Instant.now());
+      }
+      return r;
+    });
+  }
+
+  private Map<Long, TeamDay> collect(Instant from, Instant to, long[] changes) {
+    Map<Long, TeamDay> teams = new HashMap<>();
+    scan(eventRepository.findFirstIdFrom(from),
+        next -> eventRepository.findPageFrom(next, PageRequest.of(0, pageSize)),
+        TaskEvent::getId, TaskEvent::getOccurredAt, to, changes, events -> addEvents(teams, events));
+    scan(messageRepository.findFirstIdCreatedFrom(from),
+        next -> messageRepository.findDigestRowsFrom(next, PageRequest.of(0, pageSize)),
+        DiscussionMessageRepository.DigestRow::getId, DiscussionMessageRepository.DigestRow::getCreatedAt, to, changes,
+        messages -> messages.forEach(m -> addMentions(team(teams, m.getTeamId()), m)));
+    scan(fileRepository.findFirstIdCreatedFrom(from),
+        next -> fileRepository.findDigestRowsFrom(next, PageRequest.of(0, pageSize)),
+        FileResourceRepository.DigestRow::getId, FileResourceRepository.DigestRow::getCreatedAt, to, changes,
+        files -> files.forEach(f -> {
+          TeamDay t = team(teams, f.getTeamId());
+          t.files++;
+          capped(t.fileNames, f.getName());
+        }));
+    return teams;
+  }
+
+  /** Reads rows from {@code firstId} on in primary key order until one is at or after {@code to}. */
+  private <T> void scan(Long firstId, LongFunction<List<T>> page, Function<T, Long> id, Function<T, Instant> time,
+                        Instant to, long[] changes, Consumer<List<T>> sink) {
+    if (firstId == null) {
+      return;
+    }
+    long next = firstId;
+    while (true) {
+      List<T> rows = page.apply(next);
+      boolean last = rows.size() < pageSize;
+      int end = 0;
+      while (end < rows.size() && time.apply(rows.get(end)).isBefore(to)) {
+        end++;
+      }
+      if (end > 0) {
+        sink.accept(rows.subList(0, end));
+        changes[0] += end;
+        changesRead.increment(end);
+      }
+      if (last || end < rows.size()) {
+        return;
+      }
+      next = id.apply(rows.get(rows.size() - 1)) + 1;
+    }
+  }
+
+  private void addEvents(Map<Long, TeamDay> teams, List<TaskEvent> events) {
+    List<Long> taskIds = events.stream()
+        .filter(e -> e.getType() == TaskEventType.CREATED || e.getType() == TaskEventType.STATUS)
+        .map(TaskEvent::getTaskId).distinct().toList();
+    Map<Long, String> titles = new HashMap<>();
+    if (!taskIds.isEmpty()) {
+      taskRepository.findTitlesByIdIn(taskIds).forEach(r -> titles.put(r.getId(), r.getTitle()));
+    }
+    for (TaskEvent e : events) {
+      String title = titles.getOrDefault(e.getTaskId(), "Task #" + e.getTaskId());
+      if (e.getType() == TaskEventType.CREATED) {
+        TeamDay t = team(teams, e.getTeamId());
+        t.newTasks++;
+        capped(t.newTaskTitles, title);
+      } else if (e.getType() == TaskEventType.STATUS) {
+        TeamDay t = team(teams, e.getTeamId());
+        t.statusChanges++;
+        capped(t.statusLines, title + ": " + TaskActivityLog.describe(e.getType(), e.getOldValue())
+            + " -> " + TaskActivityLog.describe(e.getType(), e.getNewValue()));
+      }
+    }
+  }
+
+  private void addMentions(TeamDay t, DiscussionMessageRepository.DigestRow m) {
+    Set<String> handles = new HashSet<>();
+    Matcher matcher = MENTION.matcher(m.getContent());
+    while (matcher.find()) {
+      handles.add(matcher.group(1).toLowerCase(Locale.ROOT));
+    }
+    if (handles.isEmpty()) {
+      return;
+    }
+    String content = m.getContent().strip();
+    String line = m.getAuthorName() + ": " + (content.length() <= SNIPPET ? content : content.substring(0, SNIPPET) + "...");
+    handles.forEach(h -> {
+      Mentions mentions = t.mentions.computeIfAbsent(h, k -> new Mentions());
+      mentions.total++;
+      capped(mentions.lines, line);
+    });
+  }
+
+  private TreeMap<Long, Recipient> fanOut(Map<Long, TeamDay> teams) {
+    TreeMap<Long, Recipient> recipients = new TreeMap<>();
+    List<Long> teamIds = new ArrayList<>(teams.keySet());
+    for (int i = 0; i < teamIds.size(); i += pageSize) {
+      List<Long> chunk = teamIds.subList(i, Math.min(i + pageSize, teamIds.size()));
+      // teams being deleted come back without a name and are skipped
+      teamRepository.findLiveNamesByIdIn(chunk).forEach(r -> teams.get(r.getId()).name = r.getName());
+      for (TeamMemberRepository.MemberRow m : memberRepository.findMemberRowsByTeamIdIn(chunk)) {
+        TeamDay t = teams.get(m.getTeamId());
+        if (t.name != null) {
+          recipients.computeIfAbsent(m.getUserId(), id -> new Recipient(id, m.getName(), m.getEmail(), new ArrayList<>()))
+              .teams().add(t);
+        }
+      }
+    }
+    return recipients;
+  }
+
+  /** @return true when every recipient is queued, false if the lease was lost on the way. */
+  private boolean send(Long runId, LocalDate day, TreeMap<Long, Recipient> recipients) {
+    long lastUserId = tx.execute(status -> runRepository.findById(runId).orElseThrow().getLastUserId());
+    List<Recipient> pending = new ArrayList<>(recipients.tailMap(lastUserId, false).values());
+    String subject = SUBJECT.render(Map.of("date", day));
+    for (int i = 0; i < pending.size(); i += batchSize) {
+      if (!lease.acquire(LOCK, leaseDuration)) {
+        log.warn("Digest {} lost its lease; the next lease holder resumes it from the checkpoint", day);
+        return false;
+      }
+      List<Recipient> batch = pending.subList(i, Math.min(i + batchSize, pending.size()));
+      tx.executeWithoutResult(status -> {
+        for (Recipient r : batch) {
+          emailService.send(r.email(), subject, body(r, day), "digest:user:" + r.userId() + ":" + day);
+        }
+        DigestRun run = runRepository.findById(runId).orElseThrow();
+        run.setLastUserId(batch.get(batch.size() - 1).userId());
+        run.setEmailsSent(run.getEmailsSent() + batch.size());
+      });
+      emailsQueued.increment(batch.size());
+    }
+    return true;
+  }
+
+  private String body(Recipient r, LocalDate day) {
+    StringBuilder out = new StringBuilder(512);
+    HEADER.render(out, Map.of("name", r.name(), "date", day));
+    int at = r.email().indexOf('@');
+    String handle = (at < 0 ? r.email() : r.email().substring(0, at)).toLowerCase(Locale.ROOT);
+    List<TeamDay> teams = new ArrayList<>(r.teams());
+    teams.sort(Comparator.comparing(t -> t.name));
+    for (TeamDay t : teams) {
+      TEAM.render(out, Map.of("team", t.name));
+      Mentions mentions = t.mentions.get(handle);
+      if (mentions != null) {
+        section(out, "sebutan untuk Anda", mentions.lines, mentions.total);
+      }
+      section(out, "task baru", t.newTaskTitles, t.newTasks);
+      section(out, "perubahan status", t.statusLines, t.statusChanges);
+      section(out, "file baru", t.fileNames, t.files);
+    }
+    FOOTER.render(out, Map.of());
+    return out.toString();
+  }
+
+  private static void section(StringBuilder out, String what, List<String> items, int total) {
+    if (total == 0) {
+      return;
+    }
+    SECTION.render(out, Map.of("count", total, "what", what));
+    items.forEach(item -> ITEM.render(out, Map.of("text", item)));
+    if (total > items.size()) {
+      MORE.render(out, Map.of("count", total - items.size()));
+    }
+  }
+
+  private void capped(List<String> list, String item) {
+    if (list.size() < maxItems) {
+      list.add(item);
+    }
+  }
+
+  private static TeamDay team(Map<Long, TeamDay> teams, Long teamId) {
+    return teams.computeIfAbsent(teamId, TeamDay::new);
+  }
+}
@@ -0,0 +1,70 @@
+package com.taskmate.service.presence;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hashed timing wheel: items are hashed by deadline tick into a fixed ring of slots, and each tick
+ * only looks at one slot, so expiring N items costs O(N) in total regardless of how many are alive.
+ * <p>
+ * Deadlines may move later after scheduling (a heartbeat just bumps a field): when a slot comes
+ * due, {@code onDue} returns the item's current deadline to put it back on the wheel, or a negative
+ * value to drop it. This avoids removing/reinserting on every refresh.
+ */
+final class HashedTimingWheel<T> {
+
+  private final long tickMillis;
+  private final Queue<T>[] slots;
+  private final ReentrantLock advanceLock = new ReentrantLock();
+  private volatile long currentTick = -1;
+
+  @SuppressWarnings("unchecked")
+  HashedTimingWheel(long tickMillis, int slotCount) {
+    this.tickMillis = tickMillis;
+    this.slots = new Queue[slotCount];
+    for (int i = 0; i < slotCount; i++) {
+      slots[i] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  void schedule(T item, long deadlineMillis) {
+    // never into the slot being drained right now; a deadline past the wheel's horizon simply comes
+    // around early and is rescheduled by onDue
+    long tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+    slots[(int) (tick % slots.length)].add(item);
+  }
+
+  /** Processes every slot whose tick is <= {@code nowMillis}; called from a single ticker. */
+  void advance(long nowMillis, ToLongFunction<T> onDue) {
+    long nowTick = nowMillis / tickMillis;
+    advanceLock.lock();
+    try {
+      long from;
+      if (currentTick < 0 || nowTick < currentTick) {
+        // first run, or the clock stepped back: one full turn re-checks every item against the new time
+        from = nowTick - slots.length + 1;
+      } else {
+        // after a long pause one full turn already visits every slot
+        from = Math.max(currentTick + 1, nowTick - slots.length + 1);
+      }
+      for (long tick = from; tick <= nowTick; tick++) {
+        currentTick = tick;
+        Queue<T> slot = slots[(int) (tick % slots.length)];
+        for (int n = slot.size(); n > 0; n--) {
+          T item = slot.poll();
+          if (item == null) {
+            break;
+          }
+          long next = onDue.applyAsLong(item);
+          if (next >= 0) {
+            schedule(item, next);
+          }
+        }
+      }
+    } finally {
+      advanceLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,325 @@
+package com.taskmate.service.presence;
+
+import com.taskmate.api.error.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Who is online in which team, kept only in memory (per node). Clients heartbeat every few seconds;
+ * an entry lives until {@code ttl} after its last heartbeat and is expired by a timing wheel.
+ * <p>
+ * team -> users maps are split over lock stripes by team id so heartbeats of different teams do not
+ * contend. Total entries and stream subscribers are capped, and nothing here touches the database.
+ */
+@Slf4j
+@Component
+public class PresenceRegistry {
+
+  /** Also the payload of pushed events; same JSON shape as {@code PresenceResponse}. */
+  public record Member(long userId, String name, String initials, Instant lastSeenAt) {}
+
+  public record Event(String type, long teamId, Member member) {}
+
+  private record Subscriber(long userId, SseEmitter emitter) {}
+
+  private static final int STRIPES = 64;
+
+  private static final class Entry {
+    final long teamId;
+    final long userId;
+    final String name;
+    final String initials;
+    volatile long lastSeen;
+    volatile long deadline;
+    // last time team membership was confirmed against the database
+    volatile long verifiedAt;
+
+    Entry(long teamId, long userId, String name, String initials, long now, long deadline) {
+      this.teamId = teamId;
+      this.userId = userId;
+      this.name = name;
+      this.initials = initials;
+      this.lastSeen = now;
+      this.deadline = deadline;
+      this.verifiedAt = now;
+    }
+
+    Member toMember() {
+      return new Member(userId, name, initials, Instant.ofEpochMilli(lastSeen));
+    }
+  }
+
+  private static final class Stripe {
+    final ReentrantLock lock = new ReentrantLock();
+    final Map<Long, Map<Long, Entry>> teams = new HashMap<>();
+  }
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  private final HashedTimingWheel<Entry> wheel;
+  private final long ttlMillis;
+  private final int maxEntries;
+  private final int maxSubscribersPerTeam;
+  private final AtomicInteger entries = new AtomicInteger();
+  private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor pushExecutor;
+  private final Counter pushDropped;
+
+  public PresenceRegistry(@Value("${taskmate.presence.ttl:45s}") Duration ttl,
+                          @Value("${taskmate.presence.tick-ms:1000}") long tickMillis,
+                          @Value("${taskmate.presence.max-entries:100000}") int maxEntries,
+                          @Value("${taskmate.presence.max-subscribers-per-team:200}") int maxSubscribersPerTeam,
+                          @Value("${taskmate.presence.push-queue-capacity:10000}") int pushQueueCapacity,
+                          MeterRegistry meterRegistry) {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+    this.ttlMillis = ttl.toMillis();
+    this.maxEntries = maxEntries;
+    this.maxSubscribersPerTeam = maxSubscribersPerTeam;
+    // one slot more than the ttl spans, so a fresh deadline never wraps around the ring
+    this.wheel = new HashedTimingWheel<>(tickMillis, (int) (ttlMillis / tickMillis) + 2);
+    this.pushDropped = Counter.builder("taskmate.presence.push.dropped").register(meterRegistry);
+    // a single pusher keeps events ordered; a slow client only delays pushes, never a heartbeat
+    this.pushExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(pushQueueCapacity), r -> {
+          Thread t = new Thread(r, "presence-push");
+          t.setDaemon(true);
+          return t;
+        }, (r, ex) -> pushDropped.increment());
+    Gauge.builder("taskmate.presence.online", entries, AtomicInteger::get).register(meterRegistry);
+    Gauge.builder("taskmate.presence.subscribers", subscribers,
+        s -> s.values().stream().mapToInt(List::size).sum()).register(meterRegistry);
+  }
+
+  /**
+   * Marks the user online in the team; returns true if they just came online. {@code verified}: the
+   * caller has just checked membership (always required for a user coming online).
+   */
+  public boolean heartbeat(long teamId, long userId, String name, String initials, boolean verified) {
+    long now = System.currentTimeMillis();
+    Stripe s = stripe(teamId);
+    Entry created;
+    s.lock.lock();
+    try {
+      Map<Long, Entry> users = s.teams.computeIfAbsent(teamId, id -> new HashMap<>());
+      Entry e = users.get(userId);
+      if (e != null) {
+        e.lastSeen = now;
+        e.deadline = now + ttlMillis;
+        if (verified) {
+          e.verifiedAt = now;
+        }
+        return false;
+      }
+      if (entries.incrementAndGet() > maxEntries) {
+        entries.decrementAndGet();
+        if (users.isEmpty()) {
+          s.teams.remove(teamId);
+        }
+        throw new ServiceUnavailableException("Presence registry is full", ttlMillis / 1000);
+      }
+      created = new Entry(teamId, userId, name, initials, now, now + ttlMillis);
+      users.put(userId, created);
+    } finally {
+      s.lock.unlock();
+    }
+    wheel.schedule(created, created.deadline);
+    publish(new Event("online", teamId, created.toMember()));
+    return true;
+  }
+
+  public void leave(long teamId, long userId) {
+    Entry removed = remove(teamId, userId, null, Long.MAX_VALUE);
+    if (removed != null) {
+      publish(new Event("offline", teamId, removed.toMember()));
+    }
+  }
+
+  public boolean isOnline(long teamId, long userId) {
+    return isVerifiedSince(teamId, userId, Long.MIN_VALUE);
+  }
+
+  /** Online, with membership confirmed at or after {@code since} (epoch millis). */
+  public boolean isVerifiedSince(long teamId, long userId, long since) {
+    Stripe s = stripe(teamId);
+    s.lock.lock();
+    try {
+      Map<Long, Entry> users = s.teams.get(teamId);
+      Entry e = users == null ? null : users.get(userId);
+      return e != null && e.verifiedAt >= since;
+    } finally {
+      s.lock.unlock();
+    }
+  }
+
+  /** A member left the team: drops them and closes their streams on this node. */
+  public void evict(long teamId, long userId) {
+    leave(teamId, userId);
+    List<Subscriber> list = subscribers.get(teamId);
+    if (list != null) {
+      list.stream().filter(sub -> sub.userId() == userId).forEach(sub -> sub.emitter().complete());
+    }
+  }
+
+  /** The team is gone: drops everyone and closes every stream of it on this node. */
+  public void evictTeam(long teamId) {
+    Stripe s = stripe(teamId);
+    s.lock.lock();
+    try {
+      Map<Long, Entry> users = s.teams.remove(teamId);
+      if (users != null) {
+        entries.addAndGet(-users.size());
+      }
+    } finally {
+      s.lock.unlock();
+    }
+    List<Subscriber> list = subscribers.remove(teamId);
+    if (list != null) {
+      list.forEach(sub -> sub.emitter().complete());
+    }
+  }
+
+  public List<Member> online(long teamId) {
+    List<Member> out = new ArrayList<>();
+    Stripe s = stripe(teamId);
+    s.lock.lock();
+    try {
+      Map<Long, Entry> users = s.teams.get(teamId);
+      if (users != null) {
+        users.values().forEach(e -> out.add(e.toMember()));
+      }
+    } finally {
+      s.lock.unlock();
+    }
+    out.sort(Comparator.comparing(Member::name, String.CASE_INSENSITIVE_ORDER));
+    return out;
+  }
+
+  /** Opens a push stream: a {@code snapshot} event now, then {@code online}/{@code offline} events. */
+  public SseEmitter subscribe(long teamId, long userId, long timeoutMillis) {
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    Subscriber subscriber = new Subscriber(userId, emitter);
+    List<Subscriber> list = subscribers.compute(teamId, (id, l) -> {
+      List<Subscriber> next = l == null ? new CopyOnWriteArrayList<>() : l;
+      if (next.size() < maxSubscribersPerTeam) {
+        next.add(subscriber);
+      }
+      return next;
+    });
+    if (!list.contains(subscriber)) {
+      throw new ServiceUnavailableException("Too many presence subscribers for this team", 30);
+    }
+    Runnable unsubscribe = () -> subscribers.computeIfPresent(teamId, (id, l) -> {
+      l.remove(subscriber);
+      return l.isEmpty() ? null : l;
+    });
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(ex -> unsubscribe.run());
+    List<Member> snapshot = online(teamId);
+    pushExecutor.execute(() -> send(emitter, "snapshot", snapshot));
+    return emitter;
+  }
+
+  @Scheduled(fixedRateString = "${taskmate.presence.tick-ms:1000}")
+  public void tick() {
+    expire(System.currentTimeMillis());
+  }
+
+  /** Expires everyone whose deadline is <= {@code now}; public so tests can jump ahead in time. */
+  public void expire(long now) {
+    wheel.advance(now, e -> {
+      if (e.deadline <= now && remove(e.teamId, e.userId, e, now) != null) {
+        publish(new Event("offline", e.teamId, e.toMember()));
+        return -1;
+      }
+      // refreshed since it was scheduled: back on the wheel, unless it already left explicitly
+      return isCurrent(e) ? e.deadline : -1;
+    });
+  }
+
+  private boolean isCurrent(Entry e) {
+    Stripe s = stripe(e.teamId);
+    s.lock.lock();
+    try {
+      Map<Long, Entry> users = s.teams.get(e.teamId);
+      return users != null && users.get(e.userId) == e;
+    } finally {
+      s.lock.unlock();
+    }
+  }
+
+  // removes the entry (only {@code expected}, if given) when its deadline is <= notAfter
+  private Entry remove(long teamId, long userId, Entry expected, long notAfter) {
+    Stripe s = stripe(teamId);
+    s.lock.lock();
+    try {
+      Map<Long, Entry> users = s.teams.get(teamId);
+      Entry e = users == null ? null : users.get(userId);
+      if (e == null || (expected != null && e != expected) || e.deadline > notAfter) {
+        return null;
+      }
+      users.remove(userId);
+      if (users.isEmpty()) {
+        s.teams.remove(teamId);
+      }
+      entries.decrementAndGet();
+      return e;
+    } finally {
+      s.lock.unlock();
+    }
+  }
+
+  private void publish(Event event) {
+    if (subscribers.containsKey(event.teamId())) {
+      pushExecutor.execute(() -> {
+        List<Subscriber> list = subscribers.get(event.teamId());
+        if (list != null) {
+          list.forEach(sub -> send(sub.emitter(), event.type(), event.member()));
+        }
+      });
+    }
+  }
+
+  private void send(SseEmitter emitter, String name, Object data) {
+    try {
+      emitter.send(SseEmitter.event().name(name).data(data));
+    } catch (IOException | IllegalStateException ex) {
+      // client went away; completing triggers the unsubscribe callback
+      emitter.completeWithError(ex);
+    }
+  }
+
+  private Stripe stripe(long teamId) {
+    return stripes[(int) (Long.hashCode(teamId) & (STRIPES - 1))];
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pushExecutor.shutdownNow();
+    subscribers.values().forEach(l -> l.forEach(sub -> sub.emitter().complete()));
+  }
+}
@@ -0,0 +1,271 @@
+package com.taskmate.service.reminder;
+
+import com.taskmate.domain.Task;
+import com.taskmate.domain.TaskReminder;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.TaskStatus;
+import com.taskmate.repo.TaskReminderRepository;
+import com.taskmate.repo.TaskRepository;
+import com.taskmate.service.EmailService;
+import com.taskmate.service.SchedulerLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Due-date reminders. Open tasks due within {@code horizon} sit on an in-memory hierarchical timing
+ * wheel keyed by their reminder time ({@code days-before} the due date at {@code remind-at}); the
+ * window is loaded with one range scan on {@code (due_date, status)} and then kept current by task
+ * create/update/delete after commit, so no run ever scans all tasks.
+ * <p>
+ * Every node keeps a wheel, but only the holder of the {@code due-reminders} lease sends. Changes
+ * made on other nodes reach it through the periodic reload, and each due task is checked against
+ * the database before sending. Reminders go out as one digest per recipient (assignee, else creator)
+ * and are marked in {@code task_reminders} in the same transaction, so a reload or a takeover never
+ * sends one twice.
+ */
+@Slf4j
+@Component
+public class DueReminderScheduler {
+
+  static final String LOCK = "due-reminders";
+
+  private record Reminder(long taskId, long fireAtMillis) {
+  }
+
+  private final TaskRepository taskRepository;
+  private final TaskReminderRepository reminderRepository;
+  private final EmailService emailService;
+  private final SchedulerLease lease;
+  private final TransactionTemplate tx;
+  // minute slots for the next hour, hour slots for the day, day slots for ~2 months
+  private final HierarchicalTimingWheel<Reminder> wheel =
+      new HierarchicalTimingWheel<>(System.currentTimeMillis(), 60_000, 60, 24, 64);
+  // the reminder time each task should fire at; wheel entries that no longer match are stale
+  private final Map<Long, Long> fireAt = new ConcurrentHashMap<>();
+  private final Counter tasksReminded;
+  private final Counter digestsSent;
+  private volatile boolean leader;
+
+  @Value("${taskmate.reminders.enabled:true}")
+  private boolean enabled;
+
+  @Value("${taskmate.reminders.zone:UTC}")
+  private ZoneId zone;
+
+  @Value("${taskmate.reminders.days-before:1}")
+  private int daysBefore;
+
+  @Value("${taskmate.reminders.remind-at:08:00}")
+  private String remindAt;
+
+  @Value("${taskmate.reminders.horizon:30d}")
+  private Duration horizon;
+
+  @Value("${taskmate.reminders.lease:3m}")
+  private Duration leaseDuration;
+
+  @Value("${taskmate.reminders.batch-size:200}")
+  private int batchSize;
+
+  public DueReminderScheduler(TaskRepository taskRepository, TaskReminderRepository reminderRepository,
+                              EmailService emailService, SchedulerLease lease, TransactionTemplate tx,
+                              MeterRegistry meterRegistry) {
+    this.taskRepository = taskRepository;
+    this.reminderRepository = reminderRepository;
+    this.emailService = emailService;
+    this.lease = lease;
+    this.tx = tx;
+    this.tasksReminded = Counter.builder("taskmate.reminders.tasks").register(meterRegistry);
+    this.digestsSent = Counter.builder("taskmate.reminders.digests").register(meterRegistry);
+    Gauge.builder("taskmate.reminders.scheduled", fireAt, Map::size).register(meterRegistry);
+  }
+
+  /** Called from a task write; takes effect once the transaction commits. */
+  public void onSaved(Task t) {
+    Long taskId = t.getId();
+    LocalDate due = t.getStatus() == TaskStatus.DONE ? null : t.getDueDate();
+    afterCommit(() -> track(taskId, due, LocalDate.now(zone)));
+  }
+
+  public void onDeleted(Long taskId) {
+    afterCommit(() -> fireAt.remove(taskId));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(initialDelayString = "${taskmate.reminders.reload-interval-ms:600000}",
+      fixedDelayString = "${taskmate.reminders.reload-interval-ms:600000}")
+  public void reload() {
+    if (!enabled) {
+      return;
+    }
+    LocalDate today = LocalDate.now(zone);
+    List<TaskRepository.DueRow> rows = taskRepository.findDueBetween(today, horizonEnd(today), TaskStatus.DONE);
+    // rows whose reminder time has passed were either sent already or missed (written on another
+    // node, or while nobody held the lease); only the missed ones go back on the wheel
+    long now = System.currentTimeMillis();
+    List<Long> pastIds = rows.stream().filter(r -> fireTime(r.getDueDate()) <= now).map(TaskRepository.DueRow::getId).toList();
+    Set<String> sent = new HashSet<>();
+    if (!pastIds.isEmpty()) {
+      reminderRepository.findByTaskIdIn(pastIds).forEach(r -> sent.add(r.getTaskId() + ":" + r.getDueDate()));
+    }
+    for (TaskRepository.DueRow r : rows) {
+      if (!sent.contains(r.getId() + ":" + r.getDueDate())) {
+        track(r.getId(), r.getDueDate(), today);
+      }
+    }
+    log.debug("Loaded {} upcoming due dates", rows.size());
+  }
+
+  @Scheduled(initialDelayString = "${taskmate.reminders.tick-ms:60000}",
+      fixedDelayString = "${taskmate.reminders.tick-ms:60000}")
+  public void tick() {
+    tick(Instant.now());
+  }
+
+  /** Sends what is due at {@code now}; @return number of tasks reminded (0 on a node without the lease). */
+  public int tick(Instant now) {
+    if (!enabled) {
+      return 0;
+    }
+    boolean wasLeader = leader;
+    leader = lease.acquire(LOCK, leaseDuration);
+    if (leader && !wasLeader) {
+      // taking over: whatever fell due while nobody held the lease is on the wheel again right away
+      reload();
+    }
+    List<Long> due = new ArrayList<>();
+    for (Reminder r : wheel.advance(now.toEpochMilli())) {
+      if (fireAt.remove(r.taskId(), r.fireAtMillis())) {
+        due.add(r.taskId());
+      }
+    }
+    if (!leader || due.isEmpty()) {
+      // the lease holder sends these; popping them keeps this wheel's memory bounded
+      return 0;
+    }
+    int sent = 0;
+    for (int i = 0; i < due.size(); i += batchSize) {
+      List<Long> batch = due.subList(i, Math.min(i + batchSize, due.size()));
+      try {
+        sent += tx.execute(status -> send(batch, now));
+      } catch (RuntimeException e) {
+        log.warn("Sending {} due-date reminders failed, retried on the next reload", batch.size(), e);
+      }
+    }
+    return sent;
+  }
+
+  /** The daily cleanup of old markers; only the lease holder does it. */
+  @Scheduled(cron = "${taskmate.reminders.purge-cron:0 30 3 * * *}", zone = "${taskmate.reminders.zone:UTC}")
+  public void purge() {
+    if (leader) {
+      tx.executeWithoutResult(status -> reminderRepository.deleteDueBefore(LocalDate.now(zone).minusDays(7)));
+    }
+  }
+
+  private int send(List<Long> taskIds, Instant now) {
+    Set<String> already = new HashSet<>();
+    for (TaskReminder r : reminderRepository.findByTaskIdIn(taskIds)) {
+      already.add(r.getTaskId() + ":" + r.getDueDate());
+    }
+    Map<Long, List<Task>> byRecipient = new LinkedHashMap<>();
+    for (Task t : taskRepository.findWithPeopleByIdIn(taskIds)) {
+      // re-checked here: the task may have changed on another node since it was scheduled
+      if (t.getStatus() == TaskStatus.DONE || t.getDueDate() == null
+          || fireTime(t.getDueDate()) > now.toEpochMilli()
+          || t.getDueDate().isBefore(LocalDate.now(zone))
+          || already.contains(t.getId() + ":" + t.getDueDate())) {
+        continue;
+      }
+      User to = t.getAssignedTo() != null ? t.getAssignedTo() : t.getCreatedBy();
+      byRecipient.computeIfAbsent(to.getId(), id -> new ArrayList<>()).add(t);
+    }
+
+    int count = 0;
+    for (List<Task> tasks : byRecipient.values()) {
+      tasks.sort(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId));
+      User to = tasks.get(0).getAssignedTo() != null ? tasks.get(0).getAssignedTo() : tasks.get(0).getCreatedBy();
+      emailService.send(to.getEmail(), "TaskMate - Pengingat " + tasks.size() + " task jatuh tempo", digest(to, tasks));
+      for (Task t : tasks) {
+        TaskReminder r = new TaskReminder();
+        r.setTaskId(t.getId());
+        r.setDueDate(t.getDueDate());
+        r.setSentAt(now);
+        reminderRepository.save(r);
+      }
+      count += tasks.size();
+      digestsSent.increment();
+    }
+    tasksReminded.increment(count);
+    return count;
+  }
+
+  private static String digest(User to, List<Task> tasks) {
+    StringBuilder body = new StringBuilder("Halo ").append(to.getName()).append(",\n\n")
+        .append("Task berikut akan segera jatuh tempo:\n\n");
+    for (Task t : tasks) {
+      body.append("- ").append(t.getTitle())
+          .append(" (").append(t.getProject().getName()).append(") - jatuh tempo ").append(t.getDueDate())
+          .append('\n');
+    }
+    return body.append("\n- TaskMate").toString();
+  }
+
+  private void track(Long taskId, LocalDate due, LocalDate today) {
+    if (due == null || due.isBefore(today) || due.isAfter(horizonEnd(today))) {
+      // beyond the window: a later reload brings it in
+      fireAt.remove(taskId);
+      return;
+    }
+    long at = fireTime(due);
+    Long previous = fireAt.put(taskId, at);
+    if (previous == null || previous != at) {
+      wheel.schedule(new Reminder(taskId, at), at);
+    }
+  }
+
+  private long fireTime(LocalDate due) {
+    return due.minusDays(daysBefore).atTime(LocalTime.parse(remindAt)).atZone(zone).toInstant().toEpochMilli();
+  }
+
+  private LocalDate horizonEnd(LocalDate today) {
+    return today.plusDays(horizon.toDays());
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,100 @@
+package com.taskmate.service.reminder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: level 0 has {@code wheelSizes[0]} slots of {@code tickMillis}, every
+ * higher level has slots as long as the whole level below. An item sits in the finest level whose
+ * range still covers its deadline; when time reaches the slot of a coarser level, its items are
+ * placed again and so drop into finer levels, firing from level 0 (or straight away once due).
+ * Scheduling is O(levels) and each item moves at most once per level, so weeks of deadlines cost a
+ * few dozen slots instead of one slot per minute. Deadlines past the top level wait in an overflow
+ * list until they fit.
+ */
+final class HierarchicalTimingWheel<T> {
+
+  private record Entry<T>(T item, long deadline) {
+  }
+
+  private final long[] tick;
+  private final int[] size;
+  private final ArrayDeque<Entry<T>>[][] slots;
+  private final List<Entry<T>> overflow = new ArrayList<>();
+  // everything with a deadline <= processedUntil has been handed out
+  private long processedUntil;
+  private int count;
+
+  @SuppressWarnings("unchecked")
+  HierarchicalTimingWheel(long startMillis, long tickMillis, int... wheelSizes) {
+    this.tick = new long[wheelSizes.length];
+    this.size = wheelSizes.clone();
+    this.slots = new ArrayDeque[wheelSizes.length][];
+    long t = tickMillis;
+    for (int level = 0; level < wheelSizes.length; level++) {
+      tick[level] = t;
+      slots[level] = new ArrayDeque[wheelSizes[level]];
+      for (int i = 0; i < wheelSizes[level]; i++) {
+        slots[level][i] = new ArrayDeque<>();
+      }
+      t *= wheelSizes[level];
+    }
+    this.processedUntil = startMillis;
+  }
+
+  /** Adds an item; one already due is returned by the next {@link #advance}. */
+  synchronized void schedule(T item, long deadlineMillis) {
+    place(new Entry<>(item, Math.max(deadlineMillis, processedUntil + 1)));
+    count++;
+  }
+
+  /** Returns every item whose deadline is <= {@code nowMillis}. A clock stepping back fires nothing. */
+  synchronized List<T> advance(long nowMillis) {
+    List<T> due = new ArrayList<>();
+    if (nowMillis <= processedUntil) {
+      return due;
+    }
+    List<Entry<T>> moved = new ArrayList<>();
+    for (int level = 0; level < tick.length; level++) {
+      long from = processedUntil / tick[level];
+      long to = nowMillis / tick[level];
+      // after a long pause one turn visits every slot of the level
+      for (long k = Math.max(from, to - size[level] + 1); k <= to; k++) {
+        ArrayDeque<Entry<T>> slot = slots[level][(int) (k % size[level])];
+        moved.addAll(slot);
+        slot.clear();
+      }
+    }
+    long topFrom = processedUntil / tick[tick.length - 1];
+    if (nowMillis / tick[tick.length - 1] != topFrom && !overflow.isEmpty()) {
+      moved.addAll(overflow);
+      overflow.clear();
+    }
+    processedUntil = nowMillis;
+    for (Entry<T> e : moved) {
+      if (e.deadline() <= nowMillis) {
+        due.add(e.item());
+        count--;
+      } else {
+        place(e);
+      }
+    }
+    return due;
+  }
+
+  synchronized int size() {
+    return count;
+  }
+
+  private void place(Entry<T> e) {
+    for (int level = 0; level < tick.length; level++) {
+      long k = e.deadline() / tick[level];
+      if (k - processedUntil / tick[level] < size[level]) {
+        slots[level][(int) (k % size[level])].add(e);
+        return;
+      }
+    }
+    overflow.add(e);
+  }
+}
@@ -0,0 +1,38 @@
+package com.taskmate.service.search;
+
+import com.taskmate.domain.DiscussionMessage;
+import com.taskmate.domain.FileResource;
+import com.taskmate.domain.Task;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the searchable fields of one row, taken inside the writing transaction so the
+ * indexer thread never touches a (possibly detached) entity.
+ */
+public record SearchDocument(SearchType type, long id, long teamId, Long projectId,
+                             String title, String body, Instant createdAt) {
+
+  public String key() {
+    return key(type, id);
+  }
+
+  public static String key(SearchType type, long id) {
+    return type.name() + ":" + id;
+  }
+
+  public static SearchDocument of(Task t) {
+    return new SearchDocument(SearchType.TASK, t.getId(), t.getProject().getTeam().getId(), t.getProject().getId(),
+        t.getTitle(), t.getDescription(), t.getCreatedAt());
+  }
+
+  public static SearchDocument of(DiscussionMessage m) {
+    return new SearchDocument(SearchType.MESSAGE, m.getId(), m.getTeam().getId(), null,
+        null, m.getContent(), m.getCreatedAt());
+  }
+
+  public static SearchDocument of(FileResource f) {
+    return new SearchDocument(SearchType.FILE, f.getId(), f.getTeam().getId(), null,
+        f.getOriginalName(), null, f.getCreatedAt());
+  }
+}
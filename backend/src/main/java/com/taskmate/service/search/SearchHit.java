@@ -0,0 +1,6 @@
+package com.taskmate.service.search;
+
+import java.time.Instant;
+
+public record SearchHit(SearchType type, long id, long teamId, Long projectId,
+                        String title, String snippet, Instant createdAt, float score) {}
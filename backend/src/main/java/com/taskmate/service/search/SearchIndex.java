@@ -0,0 +1,181 @@
+package com.taskmate.service.search;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Lucene index: one document per task, message and file, keyed by {@code TYPE:id}. Writes come
+ * only from {@link SearchIndexer}'s thread; searches use near-real-time readers from a
+ * {@link SearcherManager}, so they see whatever the indexer last refreshed, committed or not.
+ */
+@Component
+public class SearchIndex {
+
+  private static final int SNIPPET_LENGTH = 160;
+
+  private final Directory directory;
+  private final Analyzer analyzer;
+  private final IndexWriter writer;
+  private final SearcherManager searcherManager;
+
+  public SearchIndex(@Value("${taskmate.search.index-dir:}") String dir) throws IOException {
+    // empty dir = in-memory index (tests); otherwise an FSDirectory that survives restarts
+    this.directory = StringUtils.hasText(dir)
+        ? FSDirectory.open(Path.of(dir).toAbsolutePath().normalize())
+        : new ByteBuffersDirectory();
+    this.analyzer = CustomAnalyzer.builder()
+        .withTokenizer("standard")
+        .addTokenFilter("lowercase")
+        .addTokenFilter("asciiFolding")
+        .build();
+    this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+        .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+    this.searcherManager = new SearcherManager(writer, null);
+  }
+
+  void upsert(SearchDocument d) throws IOException {
+    Document doc = new Document();
+    doc.add(new StringField("key", d.key(), Field.Store.NO));
+    doc.add(new StringField("type", d.type().name(), Field.Store.YES));
+    doc.add(new StoredField("id", d.id()));
+    doc.add(new StringField("team", Long.toString(d.teamId()), Field.Store.YES));
+    if (d.projectId() != null) {
+      doc.add(new StringField("project", Long.toString(d.projectId()), Field.Store.YES));
+    }
+    if (d.title() != null) {
+      doc.add(new TextField("title", d.title(), Field.Store.YES));
+    }
+    if (d.body() != null) {
+      doc.add(new TextField("body", d.body(), Field.Store.YES));
+    }
+    if (d.createdAt() != null) {
+      doc.add(new StoredField("createdAt", d.createdAt().toEpochMilli()));
+    }
+    writer.updateDocument(new Term("key", d.key()), doc);
+  }
+
+  void delete(SearchType type, long id) throws IOException {
+    writer.deleteDocuments(new Term("key", SearchDocument.key(type, id)));
+  }
+
+  void deleteProject(long projectId) throws IOException {
+    writer.deleteDocuments(new Term("project", Long.toString(projectId)));
+  }
+
+  void deleteTeam(long teamId) throws IOException {
+    writer.deleteDocuments(new Term("team", Long.toString(teamId)));
+  }
+
+  void deleteAll() throws IOException {
+    writer.deleteAll();
+  }
+
+  void refresh() throws IOException {
+    searcherManager.maybeRefreshBlocking();
+  }
+
+  void commit() throws IOException {
+    if (writer.hasUncommittedChanges()) {
+      writer.commit();
+    }
+  }
+
+  public int docCount() {
+    return writer.getDocStats().numDocs;
+  }
+
+  /**
+   * Ranked hits for {@code text} (simple query syntax: {@code "phrase"}, {@code -not}, {@code prefix*})
+   * restricted to {@code teamIds} and optionally one type.
+   */
+  public List<SearchHit> search(String text, Collection<Long> teamIds, SearchType type, int limit) {
+    SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of("title", 2f, "body", 1f));
+    parser.setDefaultOperator(BooleanClause.Occur.MUST);
+    Query parsed = parser.parse(text);
+    if (parsed == null || teamIds.isEmpty()) {
+      return List.of();
+    }
+    BooleanQuery.Builder query = new BooleanQuery.Builder()
+        .add(parsed, BooleanClause.Occur.MUST)
+        .add(new TermInSetQuery("team", teamIds.stream().map(id -> new BytesRef(Long.toString(id))).toList()),
+            BooleanClause.Occur.FILTER);
+    if (type != null) {
+      query.add(new TermQuery(new Term("type", type.name())), BooleanClause.Occur.FILTER);
+    }
+
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        TopDocs top = searcher.search(query.build(), limit);
+        StoredFields stored = searcher.storedFields();
+        List<SearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+        for (ScoreDoc sd : top.scoreDocs) {
+          hits.add(toHit(stored.document(sd.doc), sd.score));
+        }
+        return hits;
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static SearchHit toHit(Document doc, float score) {
+    String project = doc.get("project");
+    String body = doc.get("body");
+    Number createdAt = doc.getField("createdAt") == null ? null : doc.getField("createdAt").numericValue();
+    return new SearchHit(
+        SearchType.valueOf(doc.get("type")),
+        doc.getField("id").numericValue().longValue(),
+        Long.parseLong(doc.get("team")),
+        project == null ? null : Long.parseLong(project),
+        doc.get("title"),
+        body == null || body.length() <= SNIPPET_LENGTH ? body : body.substring(0, SNIPPET_LENGTH) + "…",
+        createdAt == null ? null : Instant.ofEpochMilli(createdAt.longValue()),
+        score);
+  }
+
+  @PreDestroy
+  void close() throws IOException {
+    searcherManager.close();
+    writer.close();
+    directory.close();
+  }
+}
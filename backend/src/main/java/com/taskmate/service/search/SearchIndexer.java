@@ -0,0 +1,268 @@
+package com.taskmate.service.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps {@link SearchIndex} in sync with the database. Service write paths hand over snapshots;
+ * they are queued after their transaction commits (a rolled back write never reaches the index)
+ * and applied in batches by one background thread, which refreshes searchers after every batch
+ * and commits to disk at most every {@code commit-interval}.
+ * <p>
+ * When the queue is full the change is dropped and counted; {@link #rebuild()} re-reads everything
+ * from the database and is also run at startup when the index is empty.
+ */
+@Slf4j
+@Component
+public class SearchIndexer {
+
+  @FunctionalInterface
+  interface IndexOp {
+    void apply(SearchIndex index) throws IOException;
+  }
+
+  private final SearchIndex index;
+  private final EntityManager entityManager;
+  private final TransactionTemplate readTx;
+  private final BlockingQueue<IndexOp> queue;
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+  private final Thread worker;
+  private volatile boolean running = true;
+
+  private final Counter applied;
+  private final Counter dropped;
+  private final Timer rebuildTimer;
+
+  @Value("${taskmate.search.batch-size:500}")
+  private int batchSize;
+
+  @Value("${taskmate.search.commit-interval:1s}")
+  private Duration commitInterval;
+
+  @Value("${taskmate.search.rebuild-if-empty:true}")
+  private boolean rebuildIfEmpty;
+
+  private Instant lastCommit = Instant.now();
+
+  public SearchIndexer(SearchIndex index, EntityManager entityManager, TransactionTemplate tx,
+                       @Value("${taskmate.search.queue-capacity:10000}") int queueCapacity,
+                       MeterRegistry meterRegistry) {
+    this.index = index;
+    this.entityManager = entityManager;
+    this.readTx = new TransactionTemplate(tx.getTransactionManager());
+    this.readTx.setReadOnly(true);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.applied = Counter.builder("taskmate.search.indexed").register(meterRegistry);
+    this.dropped = Counter.builder("taskmate.search.queue.dropped").register(meterRegistry);
+    this.rebuildTimer = Timer.builder("taskmate.search.rebuild").register(meterRegistry);
+    Gauge.builder("taskmate.search.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+    Gauge.builder("taskmate.search.docs", index, SearchIndex::docCount).register(meterRegistry);
+    this.worker = new Thread(this::drain, "search-indexer");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  public void index(SearchDocument doc) {
+    afterCommit(idx -> idx.upsert(doc));
+  }
+
+  public void remove(SearchType type, long id) {
+    afterCommit(idx -> idx.delete(type, id));
+  }
+
+  public void removeProject(long projectId) {
+    afterCommit(idx -> idx.deleteProject(projectId));
+  }
+
+  public void removeTeam(long teamId) {
+    afterCommit(idx -> idx.deleteTeam(teamId));
+  }
+
+  /** Blocks until everything queued so far is applied and visible to searches. */
+  public boolean flush(Duration timeout) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(1);
+    if (!queue.offer(idx -> {
+      idx.refresh();
+      done.countDown();
+    }, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+      return false;
+    }
+    return done.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** @return false when a rebuild is already running */
+  public boolean rebuildAsync() {
+    if (rebuilding.get()) {
+      return false;
+    }
+    Thread t = new Thread(() -> {
+      try {
+        rebuild();
+      } catch (RuntimeException e) {
+        log.error("Search index rebuild failed", e);
+      }
+    }, "search-rebuild");
+    t.setDaemon(true);
+    t.start();
+    return true;
+  }
+
+  /**
+   * Drops the index and re-reads all tasks (hot and archived), messages (hot and archived) and files
+   * in id-ordered batches. Live changes queued meanwhile are applied afterwards, so nothing is lost.
+   */
+  public void rebuild() {
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    writeLock.lock();
+    try {
+      rebuildTimer.record(() -> {
+        try {
+          index.deleteAll();
+          load(SearchType.TASK, "select t.id, t.project.team.id, t.project.id, t.title, t.description, t.createdAt " +
+              "from Task t where t.id > :after order by t.id");
+          load(SearchType.TASK, "select t.id, t.project.team.id, t.project.id, t.title, t.description, t.createdAt " +
+              "from ArchivedTask t where t.id > :after order by t.id");
+          load(SearchType.MESSAGE, "select m.id, m.team.id, null, null, m.content, m.createdAt " +
+              "from DiscussionMessage m where m.id > :after order by m.id");
+          load(SearchType.MESSAGE, "select m.id, m.team.id, null, null, m.content, m.createdAt " +
+              "from ArchivedDiscussionMessage m where m.id > :after order by m.id");
+          load(SearchType.FILE, "select f.id, f.team.id, null, f.originalName, null, f.createdAt " +
+              "from FileResource f where f.id > :after order by f.id");
+          index.commit();
+          index.refresh();
+          lastCommit = Instant.now();
+        } catch (IOException e) {
+          throw new IllegalStateException("Search index rebuild failed", e);
+        }
+      });
+      log.info("Search index rebuilt: {} documents", index.docCount());
+    } finally {
+      writeLock.unlock();
+      rebuilding.set(false);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void rebuildIfEmpty() {
+    if (rebuildIfEmpty && index.docCount() == 0) {
+      rebuildAsync();
+    }
+  }
+
+  private void load(SearchType type, String jpql) throws IOException {
+    // keyset pagination: each batch is a short read-only transaction and the persistence context stays empty
+    long after = 0;
+    List<Object[]> rows;
+    do {
+      long from = after;
+      rows = readTx.execute(status -> entityManager.createQuery(jpql, Object[].class)
+          .setParameter("after", from)
+          .setMaxResults(batchSize)
+          .getResultList());
+      for (Object[] r : rows) {
+        index.upsert(new SearchDocument(type, (Long) r[0], (Long) r[1], (Long) r[2],
+            (String) r[3], (String) r[4], (Instant) r[5]));
+        after = (Long) r[0];
+      }
+    } while (rows.size() == batchSize);
+  }
+
+  private void afterCommit(IndexOp op) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          enqueue(op);
+        }
+      });
+    } else {
+      enqueue(op);
+    }
+  }
+
+  private void enqueue(IndexOp op) {
+    if (!queue.offer(op)) {
+      dropped.increment();
+      log.warn("Search indexing queue full, change dropped; run a rebuild to resync");
+    }
+  }
+
+  private void drain() {
+    List<IndexOp> batch = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        IndexOp first = queue.poll(200, TimeUnit.MILLISECONDS);
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, batchSize - 1);
+          apply(batch);
+          batch.clear();
+        }
+        maybeCommit();
+      } catch (InterruptedException e) {
+        running = false;
+      } catch (IOException | RuntimeException e) {
+        log.error("Search indexing batch failed", e);
+        batch.clear();
+      }
+    }
+  }
+
+  private void apply(List<IndexOp> batch) throws IOException {
+    writeLock.lock();
+    try {
+      for (IndexOp op : batch) {
+        op.apply(index);
+      }
+      index.refresh();
+      applied.increment(batch.size());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void maybeCommit() throws IOException {
+    if (Duration.between(lastCommit, Instant.now()).compareTo(commitInterval) < 0 || !writeLock.tryLock()) {
+      return;
+    }
+    try {
+      index.commit();
+      lastCommit = Instant.now();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    worker.join(TimeUnit.SECONDS.toMillis(10));
+  }
+}
@@ -0,0 +1,5 @@
+package com.taskmate.service.search;
+
+public enum SearchType {
+  TASK, MESSAGE, FILE
+}
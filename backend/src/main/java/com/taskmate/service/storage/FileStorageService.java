@@ -6,4 +6,7 @@ import org.springframework.web.multipart.MultipartFile;
 public interface FileStorageService {
   String store(MultipartFile file);
   Resource loadAsResource(String storageKey);
+
+  /** Removes the blob; a key that is already gone is not an error, so callers may retry. */
+  void delete(String storageKey);
 }
@@ -50,4 +50,15 @@ public class LocalFileStorageService implements FileStorageService {
     if (!Files.exists(p)) throw new NotFoundException("File not found");
     return new FileSystemResource(p);
   }
+
+  @Override
+  public void delete(String storageKey) {
+    Path p = baseDir.resolve(storageKey).normalize();
+    if (!p.startsWith(baseDir)) throw new BadRequestException("Invalid storage key");
+    try {
+      Files.deleteIfExists(p);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot delete stored file: " + storageKey, e);
+    }
+  }
 }
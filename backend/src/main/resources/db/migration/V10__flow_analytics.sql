@@ -0,0 +1,42 @@
+-- Daily flow aggregates for GET /api/projects/{id}/analytics. Task writes add to the *_delta
+-- columns; the nightly compaction fills the *_count columns (end-of-day totals).
+CREATE TABLE project_flow_days (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  project_id BIGINT NOT NULL,
+  stat_day DATE NOT NULL,
+  todo_delta INT NOT NULL,
+  in_progress_delta INT NOT NULL,
+  review_delta INT NOT NULL,
+  done_delta INT NOT NULL,
+  todo_count INT NULL,
+  in_progress_count INT NULL,
+  review_count INT NULL,
+  done_count INT NULL,
+  created INT NOT NULL,
+  completed INT NOT NULL,
+  lead_hours BIGINT NOT NULL,
+  cycle_hours BIGINT NOT NULL,
+  UNIQUE KEY uk_flow_days_project_day (project_id, stat_day)
+) ENGINE=InnoDB;
+
+CREATE TABLE project_cycle_times (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  project_id BIGINT NOT NULL,
+  stat_day DATE NOT NULL,
+  bucket TINYINT NOT NULL,
+  lead_count INT NOT NULL,
+  cycle_count INT NOT NULL,
+  UNIQUE KEY uk_cycle_times_project_day_bucket (project_id, stat_day, bucket)
+) ENGINE=InnoDB;
+
+-- current state as today's delta; archived tasks were DONE and still count as done
+INSERT INTO project_flow_days (project_id, stat_day, todo_delta, in_progress_delta, review_delta, done_delta,
+                               created, completed, lead_hours, cycle_hours)
+SELECT p.id, UTC_DATE(),
+       (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'TODO'),
+       (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'IN_PROGRESS'),
+       (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'REVIEW'),
+       (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'DONE')
+     + (SELECT COUNT(*) FROM tasks_archive a WHERE a.project_id = p.id),
+       0, 0, 0, 0
+FROM projects p;
@@ -0,0 +1,18 @@
+-- Due-date reminders: the scheduler loads its window with a range scan on (due_date, status),
+-- marks sent reminders per due date and elects one sending node through a named lease.
+CREATE INDEX idx_tasks_due_status ON tasks (due_date, status);
+
+CREATE TABLE task_reminders (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  task_id BIGINT NOT NULL,
+  due_date DATE NOT NULL,
+  sent_at TIMESTAMP(6) NOT NULL,
+  UNIQUE KEY uk_task_reminders_task_due (task_id, due_date),
+  KEY idx_task_reminders_due (due_date)
+) ENGINE=InnoDB;
+
+CREATE TABLE scheduler_locks (
+  name VARCHAR(64) PRIMARY KEY,
+  owner VARCHAR(100) NOT NULL,
+  lease_until TIMESTAMP(6) NOT NULL
+) ENGINE=InnoDB;
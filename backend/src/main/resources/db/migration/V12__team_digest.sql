@@ -0,0 +1,18 @@
+-- Daily digest: the pass over a day starts at the first id at or after midnight, found through
+-- these time indexes, and continues in primary key order. digest_runs is the resumable checkpoint.
+CREATE INDEX idx_task_events_time ON task_events (occurred_at);
+CREATE INDEX idx_files_created ON files (created_at);
+
+CREATE TABLE digest_runs (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  digest_day DATE NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  last_user_id BIGINT NOT NULL,
+  changes_total BIGINT NOT NULL,
+  recipients_total BIGINT NOT NULL,
+  emails_sent BIGINT NOT NULL,
+  finished_at TIMESTAMP(6) NULL,
+  UNIQUE KEY uk_digest_runs_day (digest_day)
+) ENGINE=InnoDB;
@@ -0,0 +1,13 @@
+-- Task dependencies: edges of each project's dependency graph, loaded per project into the
+-- in-memory graph cache. Edges go with either task (delete, archive, team purge).
+CREATE TABLE task_dependencies (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  project_id BIGINT NOT NULL,
+  task_id BIGINT NOT NULL,
+  depends_on_task_id BIGINT NOT NULL,
+  UNIQUE KEY uk_task_dependencies_edge (task_id, depends_on_task_id),
+  KEY idx_task_dependencies_project (project_id),
+  KEY idx_task_dependencies_depends_on (depends_on_task_id),
+  CONSTRAINT fk_dependency_task FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE,
+  CONSTRAINT fk_dependency_depends_on FOREIGN KEY (depends_on_task_id) REFERENCES tasks(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
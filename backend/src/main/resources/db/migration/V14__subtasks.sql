@@ -0,0 +1,23 @@
+-- Subtasks: tasks keep their direct parent and rollup counters over all descendants; the hierarchy
+-- itself is a closure table (every ancestor/descendant pair, each task with itself at depth 0), so
+-- subtree reads, rollups and moves are single indexed statements.
+ALTER TABLE tasks
+  ADD COLUMN parent_task_id BIGINT NULL,
+  ADD COLUMN subtasks_total INT NOT NULL DEFAULT 0,
+  ADD COLUMN subtasks_done INT NOT NULL DEFAULT 0;
+
+ALTER TABLE tasks_archive ADD COLUMN parent_task_id BIGINT NULL;
+
+CREATE TABLE task_closure (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  ancestor_id BIGINT NOT NULL,
+  descendant_id BIGINT NOT NULL,
+  depth INT NOT NULL,
+  UNIQUE KEY uk_task_closure_pair (ancestor_id, descendant_id),
+  KEY idx_task_closure_descendant (descendant_id, depth),
+  CONSTRAINT fk_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES tasks(id) ON DELETE CASCADE,
+  CONSTRAINT fk_closure_descendant FOREIGN KEY (descendant_id) REFERENCES tasks(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM tasks;
@@ -0,0 +1,3 @@
+-- Finished outbox rows are purged by EmailOutboxPurgeJob; their bodies (which may hold an OTP) are cleared
+CREATE INDEX idx_outbox_finished ON email_outbox (status, created_at);
+UPDATE email_outbox SET body = '' WHERE status IN ('SENT', 'FAILED');
@@ -0,0 +1,8 @@
+-- Change counters backing ETag / If-None-Match on list endpoints
+CREATE TABLE content_versions (
+  scope_key VARCHAR(64) PRIMARY KEY,
+  version BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO content_versions (scope_key, version) SELECT CONCAT('team:', id), 1 FROM teams;
+INSERT INTO content_versions (scope_key, version) SELECT CONCAT('project:', id), 1 FROM projects;
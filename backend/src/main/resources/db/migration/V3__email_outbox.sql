@@ -0,0 +1,18 @@
+-- Transactional outbox for emails, drained by EmailOutboxDispatcher
+CREATE TABLE email_outbox (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  dedup_key VARCHAR(128) NOT NULL,
+  recipient VARCHAR(190) NOT NULL,
+  subject VARCHAR(255) NOT NULL,
+  body TEXT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  attempts INT NOT NULL,
+  next_attempt_at TIMESTAMP(6) NOT NULL,
+  claim_token VARCHAR(36) NULL,
+  last_error VARCHAR(500) NULL,
+  created_at TIMESTAMP(6) NOT NULL,
+  sent_at TIMESTAMP(6) NULL,
+  KEY idx_outbox_due (status, next_attempt_at),
+  KEY idx_outbox_dedup (dedup_key),
+  KEY idx_outbox_claim (claim_token)
+) ENGINE=InnoDB;
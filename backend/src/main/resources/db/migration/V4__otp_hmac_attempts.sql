@@ -0,0 +1,11 @@
+-- OTPs are HMAC digests now; pending BCrypt-hashed OTPs can no longer be verified
+UPDATE password_reset_otps SET used = 1 WHERE used = 0;
+
+ALTER TABLE password_reset_otps ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+
+-- findTopByUserAndUsedFalseOrderByCreatedAtDesc; also serves the user_id foreign key
+CREATE INDEX idx_reset_user_active ON password_reset_otps (user_id, used, created_at);
+DROP INDEX idx_reset_user ON password_reset_otps;
+
+-- batched purge of expired rows
+CREATE INDEX idx_reset_expires ON password_reset_otps (expires_at);
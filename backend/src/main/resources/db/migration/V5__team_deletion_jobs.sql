@@ -0,0 +1,26 @@
+-- Background team deletion: teams are flagged, then purged in batches by TeamDeletionWorker
+ALTER TABLE teams ADD COLUMN deleting BIT(1) NOT NULL DEFAULT b'0';
+
+CREATE TABLE team_deletion_jobs (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  team_id BIGINT NOT NULL,
+  team_name VARCHAR(120) NOT NULL,
+  requested_by_user_id BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  phase VARCHAR(20) NOT NULL,
+  files_total BIGINT NOT NULL,
+  files_deleted BIGINT NOT NULL,
+  messages_total BIGINT NOT NULL,
+  messages_deleted BIGINT NOT NULL,
+  tasks_total BIGINT NOT NULL,
+  tasks_deleted BIGINT NOT NULL,
+  projects_total BIGINT NOT NULL,
+  projects_deleted BIGINT NOT NULL,
+  lease_until TIMESTAMP(6) NULL,
+  last_error VARCHAR(500) NULL,
+  finished_at TIMESTAMP(6) NULL,
+  KEY idx_tdj_team (team_id),
+  KEY idx_tdj_status (status, lease_until)
+) ENGINE=InnoDB;
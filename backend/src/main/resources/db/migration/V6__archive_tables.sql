@@ -0,0 +1,36 @@
+-- Cold storage for DONE tasks and old discussion messages, filled in batches by ArchivalJob.
+-- Rows keep their original ids; pages are compressed since archived rows are rarely read.
+CREATE TABLE tasks_archive (
+  id BIGINT PRIMARY KEY,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  archived_at TIMESTAMP(6) NOT NULL,
+  project_id BIGINT NOT NULL,
+  created_by_user_id BIGINT NOT NULL,
+  assigned_to_user_id BIGINT NULL,
+  title VARCHAR(200) NOT NULL,
+  description TEXT NULL,
+  status VARCHAR(20) NOT NULL,
+  priority VARCHAR(20) NOT NULL,
+  due_date DATE NULL,
+  KEY idx_tasks_archive_project (project_id),
+  CONSTRAINT fk_task_archive_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+  CONSTRAINT fk_task_archive_created_by FOREIGN KEY (created_by_user_id) REFERENCES users(id),
+  CONSTRAINT fk_task_archive_assigned_to FOREIGN KEY (assigned_to_user_id) REFERENCES users(id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED;
+
+CREATE TABLE discussion_messages_archive (
+  id BIGINT PRIMARY KEY,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  archived_at TIMESTAMP(6) NOT NULL,
+  team_id BIGINT NOT NULL,
+  author_user_id BIGINT NOT NULL,
+  content TEXT NOT NULL,
+  KEY idx_discussion_archive_team (team_id, created_at),
+  CONSTRAINT fk_discussion_archive_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
+  CONSTRAINT fk_discussion_archive_author FOREIGN KEY (author_user_id) REFERENCES users(id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED;
+
+CREATE INDEX idx_tasks_status_updated ON tasks (status, updated_at);
+CREATE INDEX idx_discussion_created ON discussion_messages (created_at);
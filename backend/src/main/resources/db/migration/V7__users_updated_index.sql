@@ -0,0 +1,2 @@
+-- UserDirectory catches up from users.updated_at on every refresh.
+CREATE INDEX idx_users_updated ON users (updated_at);
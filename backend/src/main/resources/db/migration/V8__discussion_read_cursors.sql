@@ -0,0 +1,23 @@
+-- Unread badges: one message counter per team (content_versions 'messages:<teamId>') and one read
+-- cursor per member; unread = counter - read_count.
+CREATE TABLE discussion_read_cursors (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  team_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  read_count BIGINT NOT NULL,
+  UNIQUE KEY uk_read_cursor_team_user (team_id, user_id)
+) ENGINE=InnoDB;
+
+INSERT INTO content_versions (scope_key, version)
+SELECT CONCAT('messages:', t.id),
+       (SELECT COUNT(*) FROM discussion_messages m WHERE m.team_id = t.id)
+     + (SELECT COUNT(*) FROM discussion_messages_archive a WHERE a.team_id = t.id)
+FROM teams t;
+
+-- existing members start with everything read
+INSERT INTO discussion_read_cursors (created_at, updated_at, team_id, user_id, read_count)
+SELECT NOW(6), NOW(6), tm.team_id, tm.user_id, v.version
+FROM team_members tm
+JOIN content_versions v ON v.scope_key = CONCAT('messages:', tm.team_id);
@@ -0,0 +1,15 @@
+-- Append-only task activity. Narrow rows: type and status/priority values are small codes,
+-- assignee changes store user ids and due-date changes epoch days (see TaskActivityLog).
+CREATE TABLE task_events (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  task_id BIGINT NOT NULL,
+  project_id BIGINT NOT NULL,
+  team_id BIGINT NOT NULL,
+  actor_user_id BIGINT NOT NULL,
+  occurred_at TIMESTAMP(6) NOT NULL,
+  type TINYINT NOT NULL,
+  old_value BIGINT NULL,
+  new_value BIGINT NULL,
+  KEY idx_task_events_task (task_id, id),
+  KEY idx_task_events_team (team_id, id)
+) ENGINE=InnoDB;
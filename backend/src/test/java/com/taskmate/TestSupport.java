@@ -1,9 +1,16 @@
 package com.taskmate;
 
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamMember;
 import com.taskmate.domain.User;
 import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
 import com.taskmate.repo.UserRepository;
 import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Map;
@@ -20,7 +27,35 @@ public class TestSupport {
     return repo.save(u);
   }
 
+  public static Team createTeam(TeamRepository teamRepo, TeamMemberRepository memberRepo, String name, User owner) {
+    Team t = new Team();
+    t.setName(name);
+    t.setCreatedBy(owner);
+    t = teamRepo.save(t);
+
+    TeamMember tm = new TeamMember();
+    tm.setTeam(t);
+    tm.setUser(owner);
+    tm.setTeamRole(TeamRole.OWNER);
+    memberRepo.save(tm);
+    return t;
+  }
+
   public static String tokenFor(JwtService jwtService, User user) {
     return jwtService.generateToken(user.getEmail(), Map.of("uid", user.getId(), "role", user.getRole().name()));
   }
+
+  /**
+   * Empties every table of the shared H2 test database, regardless of FK order, and drops the
+   * second-level cache that would otherwise still hold the truncated rows.
+   */
+  public static void wipeDatabase(JdbcTemplate jdbc, EntityManagerFactory emf) {
+    jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE");
+    for (String table : jdbc.queryForList(
+        "select table_name from information_schema.tables where table_schema = 'PUBLIC'", String.class)) {
+      jdbc.execute("TRUNCATE TABLE " + table);
+    }
+    jdbc.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    emf.getCache().evictAll();
+  }
 }
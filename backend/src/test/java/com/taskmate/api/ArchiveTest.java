@@ -0,0 +1,156 @@
+package com.taskmate.api;
+
+import com.taskmate.TestSupport;
+import com.taskmate.domain.DiscussionMessage;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Task;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TaskStatus;
+import com.taskmate.repo.*;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.ArchivalJob;
+import com.taskmate.service.TeamDeletionWorker;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "taskmate.archive.batch-size=2",
+    "taskmate.archive.task-after=30d",
+    "taskmate.archive.message-after=90d"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ArchiveTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired TaskRepository taskRepo;
+  @Autowired DiscussionMessageRepository messageRepo;
+  @Autowired ArchivedTaskRepository archivedTaskRepo;
+  @Autowired ArchivedDiscussionMessageRepository archivedMessageRepo;
+  @Autowired ArchivalJob archivalJob;
+  @Autowired TeamDeletionWorker deletionWorker;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private User admin;
+  private String token;
+  private Team team;
+  private Project project;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    token = TestSupport.tokenFor(jwtService, admin);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Team", admin);
+    project = new Project();
+    project.setTeam(team);
+    project.setCreatedBy(admin);
+    project.setName("P");
+    project = projectRepo.save(project);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void old_done_tasks_and_old_messages_move_to_the_archive_and_stay_readable() throws Exception {
+    for (int i = 0; i < 3; i++) task("old done " + i, TaskStatus.DONE, 40);
+    task("recent done", TaskStatus.DONE, 5);
+    task("old open", TaskStatus.IN_PROGRESS, 40);
+    for (int i = 0; i < 3; i++) message("old " + i, 100 - i);
+    message("new", 1);
+
+    archivalJob.run();
+
+    assertThat(taskRepo.count()).isEqualTo(2);
+    assertThat(archivedTaskRepo.count()).isEqualTo(3);
+    assertThat(messageRepo.count()).isEqualTo(1);
+    assertThat(archivedMessageRepo.count()).isEqualTo(3);
+
+    mvc.perform(get("/api/projects/{id}/tasks", project.getId()).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].title", containsInAnyOrder("recent done", "old open")));
+    mvc.perform(get("/api/projects/{id}/tasks", project.getId()).param("includeArchived", "true")
+            .header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$[*].title", containsInAnyOrder(
+            "recent done", "old open", "old done 0", "old done 1", "old done 2")));
+    mvc.perform(get("/api/projects/{id}/tasks", project.getId()).param("includeArchived", "true").param("stream", "true")
+            .header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$.length()").value(5));
+
+    mvc.perform(get("/api/teams/{id}/messages", team.getId()).header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$[*].content", contains("new")));
+    mvc.perform(get("/api/teams/{id}/messages", team.getId()).param("includeArchived", "true")
+            .header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$[*].content", contains("old 0", "old 1", "old 2", "new")));
+  }
+
+  @Test
+  void team_deletion_also_purges_the_archive() throws Exception {
+    for (int i = 0; i < 3; i++) task("old done " + i, TaskStatus.DONE, 40);
+    message("old", 100);
+    archivalJob.run();
+
+    mvc.perform(delete("/api/teams/{id}", team.getId()).header("Authorization", "Bearer " + token))
+        .andExpect(status().isAccepted());
+    deletionWorker.poll();
+
+    assertThat(archivedTaskRepo.count()).isZero();
+    assertThat(archivedMessageRepo.count()).isZero();
+    assertThat(teamRepo.existsById(team.getId())).isFalse();
+  }
+
+  private void task(String title, TaskStatus status, int daysAgo) {
+    Task t = new Task();
+    t.setProject(project);
+    t.setCreatedBy(admin);
+    t.setTitle(title);
+    t.setStatus(status);
+    t = taskRepo.save(t);
+    jdbc.update("update tasks set updated_at = ? where id = ?", ago(daysAgo), t.getId());
+  }
+
+  private void message(String content, int daysAgo) {
+    DiscussionMessage m = new DiscussionMessage();
+    m.setTeam(team);
+    m.setAuthor(admin);
+    m.setContent(content);
+    m = messageRepo.save(m);
+    jdbc.update("update discussion_messages set created_at = ? where id = ?", ago(daysAgo), m.getId());
+  }
+
+  private static Timestamp ago(int days) {
+    return Timestamp.from(Instant.now().minus(Duration.ofDays(days)));
+  }
+}
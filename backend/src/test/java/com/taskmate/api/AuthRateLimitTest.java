@@ -0,0 +1,94 @@
+package com.taskmate.api;
+
+import com.taskmate.TestSupport;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "taskmate.ratelimit.enabled=true",
+    "taskmate.ratelimit.routes.login.ip=100/1m",
+    "taskmate.ratelimit.routes.login.email=2/1m",
+    "taskmate.ratelimit.routes.forgot-password.ip=3/1h",
+    "taskmate.ratelimit.routes.forgot-password.email=100/1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AuthRateLimitTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void login_attempts_are_limited_per_email() throws Exception {
+    login("10.0.0.1", "Victim@Test.com").andExpect(status().is(not(429)));
+    login("10.0.0.2", "victim@test.com").andExpect(status().is(not(429)));
+
+    // a third IP does not help: the email bucket is empty
+    login("10.0.0.3", "victim@test.com")
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists("Retry-After"))
+        .andExpect(jsonPath("$.status").value(429));
+
+    login("10.0.0.3", "someone-else@test.com").andExpect(status().is(not(429)));
+  }
+
+  @Test
+  void oversized_bodies_cannot_skip_the_email_bucket() throws Exception {
+    String padded = "{\"email\":\"victim@test.com\",\"password\":\"wrong-password\",\"pad\":\""
+        + "x".repeat(16 * 1024) + "\"}";
+    mvc.perform(post("/api/auth/login")
+            .with(r -> { r.setRemoteAddr("10.0.2.1"); return r; })
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(padded))
+        .andExpect(status().isPayloadTooLarge())
+        .andExpect(jsonPath("$.status").value(413));
+  }
+
+  @Test
+  void forgot_password_is_limited_per_ip() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      forgot("10.0.1.1", "user" + i + "@test.com").andExpect(status().isOk());
+    }
+    forgot("10.0.1.1", "user9@test.com").andExpect(status().isTooManyRequests());
+    forgot("10.0.1.2", "user9@test.com").andExpect(status().isOk());
+  }
+
+  private ResultActions login(String ip, String email) throws Exception {
+    return mvc.perform(post("/api/auth/login")
+        .with(r -> { r.setRemoteAddr(ip); return r; })
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}"));
+  }
+
+  private ResultActions forgot(String ip, String email) throws Exception {
+    return mvc.perform(post("/api/auth/forgot-password")
+        .with(r -> { r.setRemoteAddr(ip); return r; })
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"" + email + "\"}"));
+  }
+}
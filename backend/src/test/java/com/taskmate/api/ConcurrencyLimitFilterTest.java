@@ -0,0 +1,74 @@
+package com.taskmate.api;
+
+import com.taskmate.api.limit.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "taskmate.limiter.min=1",
+    "taskmate.limiter.read.max=1"
+})
+@ActiveProfiles("test")
+public class ConcurrencyLimitFilterTest {
+
+  @Autowired ConcurrencyLimitFilter filter;
+  @Autowired MeterRegistry meterRegistry;
+
+  @Test
+  void request_over_the_group_limit_is_rejected_without_touching_other_groups() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    MockFilterChain blockingChain = new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest request, ServletResponse response) {
+        entered.countDown();
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+
+    CompletableFuture<MockHttpServletResponse> slow = CompletableFuture.supplyAsync(() -> run("GET", "/api/teams/1/projects", blockingChain));
+    assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+    MockHttpServletResponse rejected = run("GET", "/api/teams/1/projects", new MockFilterChain());
+    assertThat(rejected.getStatus()).isEqualTo(503);
+    assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(rejected.getContentAsString()).contains("\"status\":503");
+
+    // other groups have their own limit
+    assertThat(run("POST", "/api/auth/login", new MockFilterChain()).getStatus()).isEqualTo(200);
+
+    release.countDown();
+    assertThat(slow.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+    assertThat(run("GET", "/api/teams/1/projects", new MockFilterChain()).getStatus()).isEqualTo(200);
+
+    assertThat(meterRegistry.get("taskmate.limiter.rejected").tag("group", "read").counter().count()).isEqualTo(1.0);
+  }
+
+  private MockHttpServletResponse run(String method, String uri, MockFilterChain chain) {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    try {
+      filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    return response;
+  }
+}
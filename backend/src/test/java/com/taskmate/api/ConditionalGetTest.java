@@ -0,0 +1,143 @@
+package com.taskmate.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.TestSupport;
+import com.taskmate.api.dto.task.TaskCreateRequest;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.ContentVersionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired ObjectMapper om;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+  @Autowired ContentVersionService versionService;
+
+  private String token;
+  private String outsiderToken;
+  private Long projectId;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User owner = TestSupport.createUser(userRepo, encoder, "Owner", "owner@test.com", "owner123", GlobalRole.MEMBER);
+    User outsider = TestSupport.createUser(userRepo, encoder, "Outsider", "outsider@test.com", "outsider123", GlobalRole.MEMBER);
+    Team team = TestSupport.createTeam(teamRepo, memberRepo, "Team", owner);
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(owner);
+    p.setName("Board");
+    projectId = projectRepo.save(p).getId();
+    token = TestSupport.tokenFor(jwtService, owner);
+    outsiderToken = TestSupport.tokenFor(jwtService, outsider);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void concurrent_first_bumps_of_a_scope_are_all_counted() throws Exception {
+    long fresh = projectId + 1000;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> bumps = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        bumps.add(pool.submit(() -> {
+          start.await();
+          versionService.bumpProject(fresh);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> bump : bumps) {
+        bump.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(versionService.projectVersion(fresh)).isEqualTo(8);
+  }
+
+  @Test
+  void unchanged_task_list_returns_304_until_a_task_is_written() throws Exception {
+    String etag = mvc.perform(get("/api/projects/{id}/tasks", projectId).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mvc.perform(get("/api/projects/{id}/tasks", projectId).header("Authorization", "Bearer " + token)
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    TaskCreateRequest req = new TaskCreateRequest();
+    req.setTitle("New task");
+    mvc.perform(post("/api/projects/{id}/tasks", projectId).header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(om.writeValueAsString(req)))
+        .andExpect(status().isOk());
+
+    String newEtag = mvc.perform(get("/api/projects/{id}/tasks", projectId).header("Authorization", "Bearer " + token)
+            .header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].title").value("New task"))
+        .andReturn().getResponse().getHeader("ETag");
+    assertThat(newEtag).isNotEqualTo(etag);
+  }
+
+  @Test
+  void etag_does_not_bypass_membership_check() throws Exception {
+    String etag = mvc.perform(get("/api/projects/{id}/tasks", projectId).header("Authorization", "Bearer " + token))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mvc.perform(get("/api/projects/{id}/tasks", projectId).header("Authorization", "Bearer " + outsiderToken)
+            .header("If-None-Match", etag))
+        .andExpect(status().isForbidden());
+  }
+}
@@ -0,0 +1,144 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamMember;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "taskmate.discussion.write-behind.enabled=true",
+    "taskmate.discussion.write-behind.batch-size=16"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DiscussionWriteBehindTest {
+
+  private static final int PER_AUTHOR = 40;
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private String aliceToken;
+  private String bobToken;
+  private Team team;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User alice = TestSupport.createUser(userRepo, encoder, "Alice", "alice@test.com", "alice123", GlobalRole.MEMBER);
+    User bob = TestSupport.createUser(userRepo, encoder, "Bob", "bob@test.com", "bob12345", GlobalRole.MEMBER);
+    aliceToken = TestSupport.tokenFor(jwtService, alice);
+    bobToken = TestSupport.tokenFor(jwtService, bob);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Incident", alice);
+    TeamMember tm = new TeamMember();
+    tm.setTeam(team);
+    tm.setUser(bob);
+    tm.setTeamRole(TeamRole.MEMBER);
+    memberRepo.save(tm);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void concurrent_posts_are_stored_in_batches_and_keep_per_author_order() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<List<Long>>> authors = new ArrayList<>();
+      for (String[] who : new String[][]{{"a", aliceToken}, {"b", bobToken}}) {
+        authors.add(pool.submit(() -> {
+          List<Long> ids = new ArrayList<>();
+          for (int i = 0; i < PER_AUTHOR; i++) {
+            String body = mvc.perform(post("/api/teams/" + team.getId() + "/messages")
+                    .header("Authorization", "Bearer " + who[1])
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"content\":\"" + who[0] + "-" + i + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            ids.add(((Number) JsonPath.read(body, "$.id")).longValue());
+          }
+          return ids;
+        }));
+      }
+      List<Long> all = new ArrayList<>();
+      for (Future<List<Long>> f : authors) {
+        List<Long> ids = f.get();
+        // durable ack: every response carries the stored id, increasing in posting order
+        assertThat(ids).isSorted();
+        all.addAll(ids);
+      }
+      assertThat(new HashSet<>(all)).hasSize(2 * PER_AUTHOR);
+    } finally {
+      pool.shutdown();
+    }
+
+    String list = mvc.perform(get("/api/teams/" + team.getId() + "/messages")
+            .header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    List<String> contents = JsonPath.read(list, "$[*].content");
+    assertThat(contents).hasSize(2 * PER_AUTHOR);
+    assertThat(contents.stream().filter(c -> c.startsWith("a-")).toList())
+        .containsExactlyElementsOf(expected("a"));
+    assertThat(contents.stream().filter(c -> c.startsWith("b-")).toList())
+        .containsExactlyElementsOf(expected("b"));
+    assertThat(jdbc.queryForObject("select version from content_versions where scope_key = ?", Long.class,
+        "messages:" + team.getId())).isEqualTo(2L * PER_AUTHOR);
+  }
+
+  @Test
+  void non_members_are_rejected_before_queueing() throws Exception {
+    User carol = TestSupport.createUser(userRepo, encoder, "Carol", "carol@test.com", "carol123", GlobalRole.MEMBER);
+    mvc.perform(post("/api/teams/" + team.getId() + "/messages")
+            .header("Authorization", "Bearer " + TestSupport.tokenFor(jwtService, carol))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"content\":\"hi\"}"))
+        .andExpect(status().isForbidden());
+  }
+
+  private static List<String> expected(String prefix) {
+    List<String> out = new ArrayList<>();
+    for (int i = 0; i < PER_AUTHOR; i++) {
+      out.add(prefix + "-" + i);
+    }
+    return out;
+  }
+}
@@ -0,0 +1,172 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.EmailOutbox;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamMember;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.EmailOutboxRepository;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.reminder.DueReminderScheduler;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DueReminderTest {
+
+  // the scheduler's wheel lives as long as the cached context and never goes back in time, so every
+  // test works on later due dates than the one before
+  private static final AtomicInteger OFFSET = new AtomicInteger(3);
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired EmailOutboxRepository outboxRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+  @Autowired DueReminderScheduler scheduler;
+
+  private User admin;
+  private User alice;
+  private User bob;
+  private String token;
+  private Project project;
+  private LocalDate due;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    alice = TestSupport.createUser(userRepo, encoder, "Alice", "alice@test.com", "alice123", GlobalRole.MEMBER);
+    bob = TestSupport.createUser(userRepo, encoder, "Bob", "bob@test.com", "bob12345", GlobalRole.MEMBER);
+    token = TestSupport.tokenFor(jwtService, admin);
+    Team team = TestSupport.createTeam(teamRepo, memberRepo, "Team", admin);
+    for (User u : new User[]{alice, bob}) {
+      TeamMember m = new TeamMember();
+      m.setTeam(team);
+      m.setUser(u);
+      m.setTeamRole(TeamRole.MEMBER);
+      memberRepo.save(m);
+    }
+    project = new Project();
+    project.setTeam(team);
+    project.setCreatedBy(admin);
+    project.setName("Launch");
+    project = projectRepo.save(project);
+    due = LocalDate.now(ZoneOffset.UTC).plusDays(OFFSET.getAndAdd(8));
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void sends_one_digest_per_recipient_once() throws Exception {
+    createTask("Slides", alice, due, "TODO");
+    createTask("Budget", alice, due, "IN_PROGRESS");
+    createTask("Venue", bob, due, "TODO");
+    createTask("Catering", null, due, "TODO");
+    createTask("Done already", alice, due, "DONE");
+    createTask("Far away", bob, due.plusDays(60), "TODO");
+
+    assertThat(scheduler.tick(fireTime(due).minus(1, ChronoUnit.MINUTES))).isZero();
+    assertThat(scheduler.tick(fireTime(due).plus(1, ChronoUnit.MINUTES))).isEqualTo(4);
+
+    Map<String, EmailOutbox> byRecipient = outboxRepo.findAll().stream()
+        .collect(Collectors.toMap(EmailOutbox::getRecipient, e -> e));
+    assertThat(byRecipient).containsOnlyKeys("alice@test.com", "bob@test.com", "admin@test.com");
+    assertThat(byRecipient.get("alice@test.com").getSubject()).contains("2 task");
+    assertThat(byRecipient.get("alice@test.com").getBody()).contains("Slides", "Budget", "Launch").doesNotContain("Done already");
+    // unassigned tasks remind their creator
+    assertThat(byRecipient.get("admin@test.com").getBody()).contains("Catering");
+
+    // a reload (or another node taking over) does not remind twice
+    scheduler.reload();
+    assertThat(scheduler.tick(fireTime(due).plus(2, ChronoUnit.MINUTES))).isZero();
+    assertThat(outboxRepo.count()).isEqualTo(3);
+  }
+
+  @Test
+  void follows_due_date_changes_and_only_the_lease_holder_sends() throws Exception {
+    long moved = createTask("Moved", alice, due, "TODO");
+    long finished = createTask("Finished", alice, due, "TODO");
+    update(moved, "{\"dueDate\":\"" + due.plusDays(2) + "\"}");
+    update(finished, "{\"status\":\"DONE\"}");
+
+    assertThat(scheduler.tick(fireTime(due).plus(1, ChronoUnit.MINUTES))).isZero();
+
+    jdbc.update("update scheduler_locks set owner = 'other-node', lease_until = ? where name = 'due-reminders'",
+        Timestamp.from(Instant.now().plus(1, ChronoUnit.HOURS)));
+    assertThat(scheduler.tick(fireTime(due.plusDays(2)).plus(1, ChronoUnit.MINUTES))).isZero();
+    assertThat(outboxRepo.count()).isZero();
+
+    // the other node's lease runs out: this one takes over and sends what it missed
+    jdbc.update("update scheduler_locks set lease_until = ? where name = 'due-reminders'",
+        Timestamp.from(Instant.now().minus(1, ChronoUnit.MINUTES)));
+    assertThat(scheduler.tick(fireTime(due.plusDays(2)).plus(2, ChronoUnit.MINUTES))).isEqualTo(1);
+    assertThat(outboxRepo.findAll().get(0).getBody()).contains("Moved");
+  }
+
+  private static Instant fireTime(LocalDate due) {
+    return due.minusDays(1).atTime(LocalTime.of(8, 0)).toInstant(ZoneOffset.UTC);
+  }
+
+  private long createTask(String title, User assignee, LocalDate dueDate, String status) throws Exception {
+    String body = mvc.perform(post("/api/projects/" + project.getId() + "/tasks")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\":\"" + title + "\",\"dueDate\":\"" + dueDate + "\",\"status\":\"" + status + "\""
+                + (assignee == null ? "" : ",\"assignedToUserId\":" + assignee.getId()) + "}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return ((Number) JsonPath.read(body, "$.id")).longValue();
+  }
+
+  private void update(long taskId, String json) throws Exception {
+    mvc.perform(put("/api/projects/" + project.getId() + "/tasks/" + taskId)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json))
+        .andExpect(status().isOk());
+  }
+}
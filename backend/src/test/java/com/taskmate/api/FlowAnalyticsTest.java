@@ -0,0 +1,175 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.analytics.FlowCompactionJob;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class FlowAnalyticsTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+  @Autowired FlowCompactionJob compactionJob;
+
+  private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+  private User admin;
+  private String token;
+  private Team team;
+  private Project project;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    token = TestSupport.tokenFor(jwtService, admin);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Team", admin);
+    project = new Project();
+    project.setTeam(team);
+    project.setCreatedBy(admin);
+    project.setName("P");
+    project = projectRepo.save(project);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void task_writes_update_todays_bucket() throws Exception {
+    long a = createTask();
+    createTask();
+    long c = createTask();
+    update(a, "IN_PROGRESS");
+    update(a, "DONE");
+    mvc.perform(delete("/api/projects/" + project.getId() + "/tasks/" + c)
+        .header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+    mvc.perform(get("/api/projects/" + project.getId() + "/analytics")
+            .param("from", today.toString()).param("to", today.toString())
+            .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.days", hasSize(1)))
+        .andExpect(jsonPath("$.days[0].todo").value(1))
+        .andExpect(jsonPath("$.days[0].inProgress").value(0))
+        .andExpect(jsonPath("$.days[0].done").value(1))
+        .andExpect(jsonPath("$.days[0].created").value(3))
+        .andExpect(jsonPath("$.days[0].completed").value(1))
+        .andExpect(jsonPath("$.throughput").value(1))
+        .andExpect(jsonPath("$.cycleTime.count").value(1))
+        .andExpect(jsonPath("$.cycleTime.histogram[0].count").value(1))
+        .andExpect(jsonPath("$.cycleTime.p50Days").value(1))
+        .andExpect(jsonPath("$.leadTime.averageDays").value(0.0));
+
+    // one row per project and day, however many writes
+    assertThat(jdbc.queryForObject("select count(*) from project_flow_days", Integer.class)).isEqualTo(1);
+  }
+
+  @Test
+  void compaction_folds_past_days_and_reads_carry_counts_forward() throws Exception {
+    insertDay(today.minusDays(3), 5, 0, 5, 0, 0);
+    insertDay(today.minusDays(1), -2, 2, 0, 2, 24 * 9);
+    jdbc.update("insert into project_cycle_times (project_id, stat_day, bucket, lead_count, cycle_count) "
+        + "values (?, ?, 4, 2, 2)", project.getId(), today.minusDays(1));
+    createTask();
+
+    compactionJob.run();
+
+    Map<String, Object> compacted = jdbc.queryForMap("select todo_count, done_count from project_flow_days "
+        + "where project_id = ? and stat_day = ?", project.getId(), today.minusDays(1));
+    assertThat(((Number) compacted.get("todo_count")).intValue()).isEqualTo(3);
+    assertThat(((Number) compacted.get("done_count")).intValue()).isEqualTo(2);
+    // today keeps taking deltas until tomorrow's run
+    assertThat(jdbc.queryForObject("select count(*) from project_flow_days where todo_count is null", Integer.class))
+        .isEqualTo(1);
+
+    for (String path : new String[]{"/api/projects/" + project.getId(), "/api/teams/" + team.getId()}) {
+      mvc.perform(get(path + "/analytics")
+              .param("from", today.minusDays(3).toString()).param("to", today.toString())
+              .header("Authorization", "Bearer " + token))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.days[*].todo").value(contains(5, 5, 3, 4)))
+          .andExpect(jsonPath("$.days[*].done").value(contains(0, 0, 2, 2)))
+          .andExpect(jsonPath("$.throughput").value(2))
+          .andExpect(jsonPath("$.leadTime.averageDays").value(4.5))
+          .andExpect(jsonPath("$.leadTime.p85Days").value(8));
+    }
+
+    // starts from the compacted day before the range
+    mvc.perform(get("/api/projects/" + project.getId() + "/analytics")
+            .param("from", today.toString()).param("to", today.toString())
+            .header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$.days[0].todo").value(4))
+        .andExpect(jsonPath("$.days[0].done").value(2))
+        .andExpect(jsonPath("$.throughput").value(0));
+
+    mvc.perform(get("/api/projects/" + project.getId() + "/analytics")
+            .param("from", today.toString()).param("to", today.minusDays(1).toString())
+            .header("Authorization", "Bearer " + token))
+        .andExpect(status().isBadRequest());
+  }
+
+  private void insertDay(LocalDate day, int todo, int done, int created, int completed, long leadHours) {
+    jdbc.update("insert into project_flow_days (project_id, stat_day, todo_delta, in_progress_delta, review_delta, "
+            + "done_delta, created, completed, lead_hours, cycle_hours) values (?, ?, ?, 0, 0, ?, ?, ?, ?, ?)",
+        project.getId(), day, todo, done, created, completed, leadHours, leadHours);
+  }
+
+  private long createTask() throws Exception {
+    String body = mvc.perform(post("/api/projects/" + project.getId() + "/tasks")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\":\"T\"}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return ((Number) JsonPath.read(body, "$.id")).longValue();
+  }
+
+  private void update(long taskId, String status) throws Exception {
+    mvc.perform(put("/api/projects/" + project.getId() + "/tasks/" + taskId)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"status\":\"" + status + "\"}"))
+        .andExpect(status().isOk());
+  }
+}
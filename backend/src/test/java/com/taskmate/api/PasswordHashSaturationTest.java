@@ -0,0 +1,93 @@
+package com.taskmate.api;
+
+import com.taskmate.TestSupport;
+import com.taskmate.api.error.GlobalExceptionHandler;
+import com.taskmate.api.error.ServiceUnavailableException;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    // one hashing thread, one queue slot, and hashes slow enough to keep both busy
+    "taskmate.security.bcrypt.strength=14",
+    "taskmate.security.bcrypt.threads=1",
+    "taskmate.security.bcrypt.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PasswordHashSaturationTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired MeterRegistry meterRegistry;
+  @Autowired GlobalExceptionHandler exceptionHandler;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    TestSupport.createUser(userRepo, encoder, "Member", "member@test.com", "member123", GlobalRole.MEMBER);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void login_answers_503_with_retry_after_while_the_hash_pool_is_full() throws Exception {
+    CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+    while (meterRegistry.get("executor.queued").tag("name", "password-hash").gauge().value() < 1) {
+      Thread.sleep(5);
+    }
+
+    // unknown email takes DaoAuthenticationProvider's timing-protection path, the known one the normal check
+    for (String email : new String[]{"nobody@test.com", "member@test.com"}) {
+      mvc.perform(post("/api/auth/login")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{\"email\":\"" + email + "\",\"password\":\"member123\"}"))
+          .andExpect(status().isServiceUnavailable())
+          .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    running.get(30, TimeUnit.SECONDS);
+    queued.get(30, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void a_rejection_wrapped_by_the_authentication_provider_is_still_a_503() {
+    var wrapped = new InternalAuthenticationServiceException("busy",
+        new ServiceUnavailableException("Too many authentication requests, please retry shortly", 1));
+
+    var res = exceptionHandler.handleInternalAuthentication(wrapped, new MockHttpServletRequest("POST", "/api/auth/login"));
+
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(res.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+  }
+}
@@ -0,0 +1,172 @@
+package com.taskmate.api;
+
+import com.taskmate.TestSupport;
+import com.taskmate.domain.EmailOutbox;
+import com.taskmate.domain.PasswordResetOtp;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.EmailOutboxRepository;
+import com.taskmate.repo.PasswordResetOtpRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.service.PasswordResetOtpPurgeJob;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "taskmate.security.otp.max-attempts=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PasswordResetOtpTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired PasswordResetOtpRepository otpRepo;
+  @Autowired EmailOutboxRepository outboxRepo;
+  @Autowired PasswordResetOtpPurgeJob purgeJob;
+  @Autowired PasswordEncoder encoder;
+
+  private User user;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    user = TestSupport.createUser(userRepo, encoder, "Member", "member@test.com", "member123", GlobalRole.MEMBER);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void otp_is_stored_as_hmac_and_resets_the_password() throws Exception {
+    String otp = requestOtp();
+    assertThat(otpRepo.findAll()).singleElement()
+        .satisfies(row -> assertThat(row.getOtpHash()).startsWith("hmac256:").doesNotContain(otp));
+
+    reset(otp, "brandNew123").andExpect(status().isOk());
+    assertThat(encoder.matches("brandNew123", userRepo.findById(user.getId()).orElseThrow().getPasswordHash())).isTrue();
+    reset(otp, "again12345").andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void otp_is_burnt_after_max_wrong_attempts() throws Exception {
+    String otp = requestOtp();
+    String wrong = otp.equals("000000") ? "111111" : "000000";
+
+    reset(wrong, "brandNew123").andExpect(status().isBadRequest());
+    reset(wrong, "brandNew123").andExpect(status().isBadRequest());
+    assertThat(otpRepo.findAll()).singleElement().satisfies(row -> {
+      assertThat(row.getAttempts()).isEqualTo(2);
+      assertThat(row.isUsed()).isFalse();
+    });
+
+    reset(wrong, "brandNew123").andExpect(status().isBadRequest());
+    // locked: even the right code is refused now
+    reset(otp, "brandNew123").andExpect(status().isBadRequest());
+    assertThat(otpRepo.findAll()).singleElement().satisfies(row -> assertThat(row.isUsed()).isTrue());
+  }
+
+  @Test
+  void right_code_on_the_last_allowed_attempt_still_resets() throws Exception {
+    String otp = requestOtp();
+    String wrong = otp.equals("000000") ? "111111" : "000000";
+
+    reset(wrong, "brandNew123").andExpect(status().isBadRequest());
+    reset(wrong, "brandNew123").andExpect(status().isBadRequest());
+    reset(otp, "brandNew123").andExpect(status().isOk());
+
+    assertThat(encoder.matches("brandNew123", userRepo.findById(user.getId()).orElseThrow().getPasswordHash())).isTrue();
+    assertThat(otpRepo.findAll()).singleElement().satisfies(row -> {
+      assertThat(row.getAttempts()).isEqualTo(2);
+      assertThat(row.isUsed()).isTrue();
+    });
+  }
+
+  @Test
+  void concurrent_wrong_guesses_are_all_counted() throws Exception {
+    String otp = requestOtp();
+    String wrong = otp.equals("000000") ? "111111" : "000000";
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> guesses = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        guesses.add(pool.submit(() -> reset(wrong, "brandNew123").andExpect(status().isBadRequest())));
+      }
+      for (Future<?> guess : guesses) {
+        guess.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(otpRepo.findAll()).singleElement().satisfies(row -> {
+      assertThat(row.getAttempts()).isEqualTo(3);
+      assertThat(row.isUsed()).isTrue();
+    });
+    reset(otp, "brandNew123").andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void purge_deletes_expired_rows_only() {
+    for (int i = 0; i < 3; i++) {
+      otpRepo.save(PasswordResetOtp.builder().user(user).otpHash("hmac256:00").used(i == 0)
+          .expiresAt(Instant.now().minus(Duration.ofMinutes(1))).build());
+    }
+    PasswordResetOtp live = otpRepo.save(PasswordResetOtp.builder().user(user).otpHash("hmac256:00")
+        .expiresAt(Instant.now().plus(Duration.ofMinutes(10))).build());
+
+    purgeJob.purge();
+
+    assertThat(otpRepo.findAll()).extracting(PasswordResetOtp::getId).containsExactly(live.getId());
+  }
+
+  private String requestOtp() throws Exception {
+    Instant requestedAt = Instant.now();
+    mvc.perform(post("/api/auth/forgot-password")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"member@test.com\"}"))
+        .andExpect(status().isOk());
+    // dispatchers of other cached test contexts may write back rows of earlier tests after the wipe
+    EmailOutbox email = outboxRepo.findAll().stream()
+        .filter(e -> !e.getCreatedAt().isBefore(requestedAt))
+        .findFirst().orElseThrow();
+    Matcher m = Pattern.compile("OTP: (\\d{6})").matcher(email.getBody());
+    assertThat(m.find()).isTrue();
+    return m.group(1);
+  }
+
+  private ResultActions reset(String otp, String newPassword) throws Exception {
+    return mvc.perform(post("/api/auth/reset-password")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"member@test.com\",\"otp\":\"" + otp + "\",\"newPassword\":\"" + newPassword + "\"}"));
+  }
+}
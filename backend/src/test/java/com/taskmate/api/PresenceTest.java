@@ -0,0 +1,156 @@
+package com.taskmate.api;
+
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamMember;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.presence.PresenceRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PresenceTest {
+
+  private static final AtomicLong JUMPS = new AtomicLong();
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired PresenceRegistry presenceRegistry;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private String aliceToken;
+  private String bobToken;
+  private String carolToken;
+  private Team team;
+  private TeamMember bobMember;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User alice = TestSupport.createUser(userRepo, encoder, "Alice", "alice@test.com", "alice123", GlobalRole.MEMBER);
+    User bob = TestSupport.createUser(userRepo, encoder, "Bob", "bob@test.com", "bob12345", GlobalRole.MEMBER);
+    User carol = TestSupport.createUser(userRepo, encoder, "Carol", "carol@test.com", "carol123", GlobalRole.MEMBER);
+    aliceToken = TestSupport.tokenFor(jwtService, alice);
+    bobToken = TestSupport.tokenFor(jwtService, bob);
+    carolToken = TestSupport.tokenFor(jwtService, carol);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Core", alice);
+    TeamMember tm = new TeamMember();
+    tm.setTeam(team);
+    tm.setUser(bob);
+    tm.setTeamRole(TeamRole.MEMBER);
+    bobMember = memberRepo.save(tm);
+  }
+
+  @AfterEach
+  void cleanup() {
+    // team ids restart after the wipe; clear leftovers so the next test starts with nobody online
+    expireEveryone();
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void heartbeat_shows_member_online_until_leave_or_expiry() throws Exception {
+    heartbeat(aliceToken).andExpect(status().isNoContent());
+    heartbeat(bobToken).andExpect(status().isNoContent());
+
+    mvc.perform(get("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].name", contains("Alice", "Bob")));
+
+    mvc.perform(delete("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + bobToken))
+        .andExpect(status().isNoContent());
+    mvc.perform(get("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$[*].name", contains("Alice")));
+
+    expireEveryone();
+    mvc.perform(get("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$", hasSize(0)));
+  }
+
+  @Test
+  void non_members_cannot_heartbeat_or_watch() throws Exception {
+    heartbeat(carolToken).andExpect(status().isForbidden());
+    mvc.perform(get("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + carolToken))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void removed_members_drop_out_and_lose_access() throws Exception {
+    User admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    heartbeat(aliceToken).andExpect(status().isNoContent());
+    heartbeat(bobToken).andExpect(status().isNoContent());
+
+    mvc.perform(delete("/api/teams/" + team.getId() + "/members/" + bobMember.getId())
+            .header("Authorization", "Bearer " + TestSupport.tokenFor(jwtService, admin)))
+        .andExpect(status().is2xxSuccessful());
+
+    mvc.perform(get("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$[*].name", contains("Alice")));
+    heartbeat(bobToken).andExpect(status().isForbidden());
+    mvc.perform(get("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + bobToken))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void stream_pushes_snapshot_then_changes() throws Exception {
+    heartbeat(aliceToken);
+    MockHttpServletResponse stream = mvc.perform(get("/api/teams/" + team.getId() + "/presence/stream")
+            .header("Authorization", "Bearer " + aliceToken))
+        .andExpect(request().asyncStarted())
+        .andReturn().getResponse();
+
+    heartbeat(bobToken);
+    mvc.perform(delete("/api/teams/" + team.getId() + "/presence").header("Authorization", "Bearer " + bobToken));
+
+    long until = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!stream.getContentAsString().contains("event:offline") && System.nanoTime() < until) {
+      Thread.sleep(20);
+    }
+    String body = stream.getContentAsString();
+    assertThat(body).contains("event:snapshot", "\"name\":\"Alice\"", "event:online", "\"name\":\"Bob\"", "event:offline");
+    assertThat(body.indexOf("event:snapshot")).isLessThan(body.indexOf("event:online"));
+  }
+
+  // every call jumps further ahead than the last, so each one really lets time pass for the wheel
+  private void expireEveryone() {
+    presenceRegistry.expire(System.currentTimeMillis() + Duration.ofHours(JUMPS.incrementAndGet()).toMillis());
+  }
+
+  private ResultActions heartbeat(String token) throws Exception {
+    return mvc.perform(post("/api/teams/" + team.getId() + "/presence/heartbeat")
+        .header("Authorization", "Bearer " + token));
+  }
+}
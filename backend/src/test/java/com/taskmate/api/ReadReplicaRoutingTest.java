@@ -0,0 +1,124 @@
+package com.taskmate.api;
+
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; the replica is a snapshot of the
+ * primary with one row changed, so the response tells which side served the read. The first
+ * configured replica does not exist and must be failed over.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rw_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "taskmate.datasource.replicas.enabled=true",
+    "taskmate.datasource.replicas.urls=jdbc:h2:tcp://localhost:1/missing," + ReadReplicaRoutingTest.REPLICA_URL,
+    "taskmate.datasource.replicas.username=sa",
+    "taskmate.datasource.replicas.password=",
+    "taskmate.datasource.replicas.read-your-writes-window=1s",
+    "taskmate.datasource.replicas.connection-timeout=250ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:rw_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+  private String token;
+  private Long teamId;
+  private Long projectId;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User owner = TestSupport.createUser(userRepo, encoder, "Owner", "owner@test.com", "owner123", GlobalRole.ADMIN);
+    Team team = TestSupport.createTeam(teamRepo, memberRepo, "Team", owner);
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(owner);
+    p.setName("Board");
+    projectId = projectRepo.save(p).getId();
+    teamId = team.getId();
+    token = TestSupport.tokenFor(jwtService, owner);
+
+    replicateToReplica();
+    replica.update("update projects set name = 'Board (replica)' where id = ?", projectId);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    replica.execute("DROP ALL OBJECTS");
+  }
+
+  @Test
+  void reads_use_the_replica_until_the_user_writes() throws Exception {
+    listProjects().andExpect(jsonPath("$[0].name").value("Board (replica)"));
+
+    mvc.perform(put("/api/teams/{teamId}/projects/{id}", teamId, projectId)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\":\"Renamed\"}"))
+        .andExpect(status().isOk());
+
+    // inside the read-your-writes window: served by the primary
+    listProjects().andExpect(jsonPath("$[0].name").value("Renamed"));
+
+    Thread.sleep(1_200);
+    listProjects().andExpect(jsonPath("$[0].name").value("Board (replica)"));
+  }
+
+  private ResultActions listProjects() throws Exception {
+    // rows would otherwise come from the second-level cache, hiding which database answered
+    emf.getCache().evictAll();
+    return mvc.perform(get("/api/teams/{teamId}/projects", teamId).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+  }
+
+  /** Poor man's replication: copy the primary's schema and rows into the replica database. */
+  private void replicateToReplica() {
+    replica.execute("DROP ALL OBJECTS");
+    for (String sql : jdbc.queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class)) {
+      if (!sql.startsWith("CREATE USER")) {
+        replica.execute(sql);
+      }
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RecentMessagesTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+  @Autowired MeterRegistry meterRegistry;
+
+  private User alice;
+  private String aliceToken;
+  private Team team;
+
+  @BeforeEach
+  void setup() throws Exception {
+    TestSupport.wipeDatabase(jdbc, emf);
+    alice = TestSupport.createUser(userRepo, encoder, "Alice", "alice@test.com", "alice123", GlobalRole.MEMBER);
+    aliceToken = TestSupport.tokenFor(jwtService, alice);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Chat", alice);
+    for (int i = 0; i < 55; i++) {
+      postMessage("m-" + i);
+    }
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void newest_messages_are_warmed_once_then_kept_current_from_memory() throws Exception {
+    assertThat(recent(50)).hasSize(50).startsWith("m-5").endsWith("m-54");
+    double misses = count("miss");
+
+    postMessage("m-55");
+    assertThat(recent(3)).containsExactly("m-53", "m-54", "m-55");
+    assertThat(recent(500)).hasSize(50).startsWith("m-6");
+    assertThat(count("miss")).isEqualTo(misses);
+  }
+
+  @Test
+  void writes_from_elsewhere_are_picked_up_through_the_team_version() throws Exception {
+    recent(10);
+    double misses = count("miss");
+
+    // another node posting: row and version bump, but no local append
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbc.update("insert into discussion_messages (created_at, updated_at, team_id, author_user_id, content) values (?, ?, ?, ?, ?)",
+        now, now, team.getId(), alice.getId(), "from-node-b");
+    jdbc.update("update content_versions set version = version + 1 where scope_key = ?", "team:" + team.getId());
+
+    assertThat(recent(2)).containsExactly("m-54", "from-node-b");
+    assertThat(count("miss")).isEqualTo(misses + 1);
+  }
+
+  private List<String> recent(int n) throws Exception {
+    String body = mvc.perform(get("/api/teams/" + team.getId() + "/messages").param("recent", String.valueOf(n))
+            .header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return JsonPath.read(body, "$[*].content");
+  }
+
+  private void postMessage(String content) throws Exception {
+    mvc.perform(post("/api/teams/" + team.getId() + "/messages")
+            .header("Authorization", "Bearer " + aliceToken)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"content\":\"" + content + "\"}"))
+        .andExpect(status().isOk());
+  }
+
+  private double count(String result) {
+    return meterRegistry.get("taskmate.discussion.recent").tag("result", result).counter().count();
+  }
+}
@@ -0,0 +1,154 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.search.SearchIndexer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SearchTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired SearchIndexer searchIndexer;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private String aliceToken;
+  private String bobToken;
+  private Team teamA;
+  private Team teamB;
+  private Project projectA;
+  private Project projectB;
+
+  @BeforeEach
+  void setup() throws Exception {
+    TestSupport.wipeDatabase(jdbc, emf);
+    searchIndexer.rebuild();
+    User alice = TestSupport.createUser(userRepo, encoder, "Alice", "alice@test.com", "alice123", GlobalRole.MEMBER);
+    User bob = TestSupport.createUser(userRepo, encoder, "Bob", "bob@test.com", "bob12345", GlobalRole.MEMBER);
+    aliceToken = TestSupport.tokenFor(jwtService, alice);
+    bobToken = TestSupport.tokenFor(jwtService, bob);
+    teamA = TestSupport.createTeam(teamRepo, memberRepo, "A", alice);
+    teamB = TestSupport.createTeam(teamRepo, memberRepo, "B", bob);
+    projectA = project(teamA, alice);
+    projectB = project(teamB, bob);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void finds_tasks_messages_and_files_of_the_callers_teams_only() throws Exception {
+    long taskId = createTask(aliceToken, projectA, "Quarterly budget review", "Check the numbers");
+    postJson(aliceToken, "/api/teams/" + teamA.getId() + "/messages", "{\"content\":\"Budget meeting moved to Friday\"}");
+    mvc.perform(multipart("/api/teams/{teamId}/files", teamA.getId())
+            .file(new MockMultipartFile("file", "budget-2025.xlsx", "application/octet-stream", "x".getBytes()))
+            .header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isOk());
+    createTask(bobToken, projectB, "Secret budget", null);
+    searchIndexer.flush(Duration.ofSeconds(5));
+
+    mvc.perform(get("/api/search").param("q", "budget").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].type", containsInAnyOrder("TASK", "MESSAGE", "FILE")))
+        .andExpect(jsonPath("$[*].teamId", everyItem(is(teamA.getId().intValue()))));
+    mvc.perform(get("/api/search").param("q", "budg*").param("type", "TASK").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].id").value(taskId))
+        .andExpect(jsonPath("$[0].title").value("Quarterly budget review"));
+    mvc.perform(get("/api/search").param("q", "budget").param("teamId", teamB.getId().toString())
+            .header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isForbidden());
+
+    // updates and deletes follow
+    mvc.perform(put("/api/projects/{p}/tasks/{t}", projectA.getId(), taskId)
+            .header("Authorization", "Bearer " + aliceToken)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\":\"Quarterly forecast\"}"))
+        .andExpect(status().isOk());
+    searchIndexer.flush(Duration.ofSeconds(5));
+    mvc.perform(get("/api/search").param("q", "forecast").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$.length()").value(1));
+    mvc.perform(delete("/api/projects/{p}/tasks/{t}", projectA.getId(), taskId).header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isOk());
+    searchIndexer.flush(Duration.ofSeconds(5));
+    mvc.perform(get("/api/search").param("q", "forecast").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$.length()").value(0));
+  }
+
+  @Test
+  void rebuild_reindexes_everything_from_the_database() throws Exception {
+    createTask(aliceToken, projectA, "Migrate the reporting server", "old box");
+    searchIndexer.flush(Duration.ofSeconds(5));
+
+    searchIndexer.rebuild();
+
+    mvc.perform(get("/api/search").param("q", "reporting").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].snippet").value("old box"));
+    mvc.perform(post("/api/search/rebuild").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(status().isForbidden());
+  }
+
+  private long createTask(String token, Project project, String title, String description) throws Exception {
+    String body = postJson(token, "/api/projects/" + project.getId() + "/tasks",
+        "{\"title\":\"" + title + "\"" + (description == null ? "" : ",\"description\":\"" + description + "\"") + "}");
+    return ((Number) JsonPath.read(body, "$.id")).longValue();
+  }
+
+  private String postJson(String token, String path, String json) throws Exception {
+    return mvc.perform(post(path)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+  }
+
+  private Project project(Team team, User owner) {
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(owner);
+    p.setName("P" + team.getId());
+    return projectRepo.save(p);
+  }
+}
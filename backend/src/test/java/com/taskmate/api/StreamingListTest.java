@@ -0,0 +1,98 @@
+package com.taskmate.api;
+
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Task;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.*;
+import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StreamingListTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired TaskRepository taskRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private String ownerToken;
+  private String outsiderToken;
+  private Long projectId;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User owner = TestSupport.createUser(userRepo, encoder, "Owner", "owner@test.com", "owner123", GlobalRole.MEMBER);
+    User outsider = TestSupport.createUser(userRepo, encoder, "Outsider", "outsider@test.com", "outsider123", GlobalRole.MEMBER);
+    Team team = TestSupport.createTeam(teamRepo, memberRepo, "Team", owner);
+
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(owner);
+    p.setName("Board");
+    projectId = projectRepo.save(p).getId();
+
+    for (int i = 0; i < 25; i++) {
+      Task t = new Task();
+      t.setProject(p);
+      t.setCreatedBy(owner);
+      t.setAssignedTo(i % 2 == 0 ? owner : null);
+      t.setTitle("Task " + i);
+      taskRepo.save(t);
+    }
+
+    ownerToken = TestSupport.tokenFor(jwtService, owner);
+    outsiderToken = TestSupport.tokenFor(jwtService, outsider);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void streamed_tasks_match_buffered_list() throws Exception {
+    String buffered = mvc.perform(get("/api/projects/{id}/tasks", projectId)
+            .header("Authorization", "Bearer " + ownerToken))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    mvc.perform(get("/api/projects/{id}/tasks", projectId).param("stream", "true")
+            .header("Authorization", "Bearer " + ownerToken))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("application/json"))
+        .andExpect(content().json(buffered, true));
+  }
+
+  @Test
+  void streaming_still_checks_membership_before_writing() throws Exception {
+    mvc.perform(get("/api/projects/{id}/tasks", projectId).param("stream", "true")
+            .header("Authorization", "Bearer " + outsiderToken))
+        .andExpect(status().isForbidden())
+        .andExpect(jsonPath("$.message").value("You are not a member of this team"));
+  }
+}
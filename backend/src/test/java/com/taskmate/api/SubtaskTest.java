@@ -0,0 +1,182 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.ArchivalJob;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SubtaskTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+  @Autowired ArchivalJob archivalJob;
+
+  private User admin;
+  private String token;
+  private Team team;
+  private Project project;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    token = TestSupport.tokenFor(jwtService, admin);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Team", admin);
+    project = createProject("P");
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void subtree_reads_rollups_and_moves() throws Exception {
+    long epic = createTask(project, null);
+    long a = createTask(project, epic);
+    long b = createTask(project, epic);
+    long a1 = createTask(project, a);
+    long a2 = createTask(project, a);
+    setStatus(a1, "DONE");
+
+    mvc.perform(get(path(epic) + "/subtasks").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].id").value(contains((int) a, (int) b, (int) a1, (int) a2)))
+        .andExpect(jsonPath("$[2].parentTaskId").value(a))
+        .andExpect(jsonPath("$[0].subtasksTotal").value(2))
+        .andExpect(jsonPath("$[0].subtasksDone").value(1));
+    rollup(epic, 4, 1).andExpect(jsonPath("$.percentDone").value(25))
+        .andExpect(jsonPath("$.byStatus.TODO").value(3))
+        .andExpect(jsonPath("$.byStatus.DONE").value(1));
+
+    // a moves with its subtree; the epic still holds all of it
+    move(a, b).andExpect(status().isOk()).andExpect(jsonPath("$.parentTaskId").value(b));
+    rollup(epic, 4, 1);
+    rollup(b, 3, 1);
+    assertThat(jdbc.queryForObject("select depth from task_closure where ancestor_id = ? and descendant_id = ?",
+        Integer.class, epic, a1)).isEqualTo(3);
+    mvc.perform(get(path(b) + "/subtasks").header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$[*].id").value(contains((int) a, (int) a1, (int) a2)));
+
+    move(b, a1).andExpect(status().isBadRequest());
+    move(b, b).andExpect(status().isBadRequest());
+    move(a, createTask(createProject("Other"), null)).andExpect(status().isNotFound());
+
+    move(a, null).andExpect(status().isOk());
+    rollup(epic, 1, 0);
+    rollup(b, 0, 0);
+    rollup(a, 2, 1);
+    assertThat(jdbc.queryForObject("select count(*) from task_closure where descendant_id = ? and depth > 0",
+        Integer.class, a2)).isEqualTo(1);
+
+    mvc.perform(delete(path(a)).header("Authorization", "Bearer " + token))
+        .andExpect(status().isBadRequest());
+    mvc.perform(delete(path(a1)).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+    rollup(a, 1, 0);
+  }
+
+  @Test
+  void archived_subtasks_keep_counting_and_parents_wait_for_them() throws Exception {
+    long parent = createTask(project, null);
+    long child = createTask(project, parent);
+    setStatus(child, "DONE");
+    setStatus(parent, "DONE");
+    Timestamp old = Timestamp.from(Instant.now().minus(60, ChronoUnit.DAYS));
+    jdbc.update("update tasks set updated_at = ?", old);
+
+    archivalJob.run();
+
+    assertThat(jdbc.queryForList("select id from tasks", Long.class)).containsExactly(parent);
+    assertThat(jdbc.queryForObject("select parent_task_id from tasks_archive where id = ?", Long.class, child))
+        .isEqualTo(parent);
+    rollup(parent, 1, 1).andExpect(jsonPath("$.byStatus.DONE").value(1));
+
+    archivalJob.run();
+    assertThat(jdbc.queryForObject("select count(*) from tasks", Integer.class)).isZero();
+  }
+
+  private Project createProject(String name) {
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(admin);
+    p.setName(name);
+    return projectRepo.save(p);
+  }
+
+  private String path(long taskId) {
+    return "/api/projects/" + project.getId() + "/tasks/" + taskId;
+  }
+
+  private long createTask(Project p, Long parentTaskId) throws Exception {
+    String body = mvc.perform(post("/api/projects/" + p.getId() + "/tasks")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\":\"T\",\"parentTaskId\":" + parentTaskId + "}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return ((Number) JsonPath.read(body, "$.id")).longValue();
+  }
+
+  private void setStatus(long taskId, String status) throws Exception {
+    mvc.perform(put(path(taskId))
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"status\":\"" + status + "\"}"))
+        .andExpect(status().isOk());
+  }
+
+  private ResultActions move(long taskId, Long parentTaskId) throws Exception {
+    return mvc.perform(put(path(taskId) + "/parent")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"parentTaskId\":" + parentTaskId + "}"));
+  }
+
+  private ResultActions rollup(long taskId, int total, int done) throws Exception {
+    return mvc.perform(get(path(taskId) + "/rollup").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(total))
+        .andExpect(jsonPath("$.done").value(done));
+  }
+}
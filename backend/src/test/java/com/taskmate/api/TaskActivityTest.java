@@ -0,0 +1,135 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskActivityTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private User admin;
+  private String token;
+  private Team team;
+  private Project project;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    token = TestSupport.tokenFor(jwtService, admin);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Team", admin);
+    project = new Project();
+    project.setTeam(team);
+    project.setCreatedBy(admin);
+    project.setName("P");
+    project = projectRepo.save(project);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void updates_append_one_event_per_changed_field_in_one_batch() throws Exception {
+    long taskId = createTask("Write docs");
+    update(taskId, "{\"status\":\"IN_PROGRESS\",\"priority\":\"HIGH\",\"assignedToUserId\":" + admin.getId()
+        + ",\"dueDate\":\"2026-03-01\",\"title\":\"Write more docs\"}");
+    update(taskId, "{\"status\":\"IN_PROGRESS\"}"); // no change, no event
+    update(taskId, "{\"status\":\"DONE\"}");
+
+    mvc.perform(get("/api/projects/" + project.getId() + "/tasks/" + taskId + "/activity")
+            .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].type", contains("STATUS", "DUE_DATE", "PRIORITY", "ASSIGNEE", "STATUS", "CREATED")))
+        .andExpect(jsonPath("$[0].from").value("IN_PROGRESS"))
+        .andExpect(jsonPath("$[0].to").value("DONE"))
+        .andExpect(jsonPath("$[1].from").doesNotExist())
+        .andExpect(jsonPath("$[1].to").value("2026-03-01"))
+        .andExpect(jsonPath("$[2].to").value("HIGH"))
+        .andExpect(jsonPath("$[3].to").value(String.valueOf(admin.getId())))
+        .andExpect(jsonPath("$[5].to").value("TODO"))
+        .andExpect(jsonPath("$[5].actorUserId").value(admin.getId()));
+  }
+
+  @Test
+  void team_feed_pages_newest_first_and_keeps_deleted_tasks() throws Exception {
+    long first = createTask("A");
+    long second = createTask("B");
+    mvc.perform(delete("/api/projects/" + project.getId() + "/tasks/" + first)
+        .header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+    String page1 = mvc.perform(get("/api/teams/" + team.getId() + "/activity").param("limit", "2")
+            .header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$[*].type", contains("DELETED", "CREATED")))
+        .andExpect(jsonPath("$[0].taskId").value(first))
+        .andExpect(jsonPath("$[1].taskId").value(second))
+        .andReturn().getResponse().getContentAsString();
+    Number last = JsonPath.read(page1, "$[1].id");
+
+    mvc.perform(get("/api/teams/" + team.getId() + "/activity").param("limit", "2").param("before", last.toString())
+            .header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].taskId").value(first));
+
+    User outsider = TestSupport.createUser(userRepo, encoder, "Out", "out@test.com", "out12345", GlobalRole.MEMBER);
+    mvc.perform(get("/api/teams/" + team.getId() + "/activity")
+            .header("Authorization", "Bearer " + TestSupport.tokenFor(jwtService, outsider)))
+        .andExpect(status().isForbidden());
+  }
+
+  private long createTask(String title) throws Exception {
+    String body = mvc.perform(post("/api/projects/" + project.getId() + "/tasks")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\":\"" + title + "\"}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return ((Number) JsonPath.read(body, "$.id")).longValue();
+  }
+
+  private void update(long taskId, String json) throws Exception {
+    mvc.perform(put("/api/projects/" + project.getId() + "/tasks/" + taskId)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,191 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskDependencyTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private User admin;
+  private String token;
+  private Team team;
+  private Project project;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    token = TestSupport.tokenFor(jwtService, admin);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Team", admin);
+    project = createProject("P");
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void schedule_follows_dependencies_and_tracks_task_and_edge_changes() throws Exception {
+    long a = createTask(project, "2030-01-10");
+    long b = createTask(project, "2030-01-05");
+    long c = createTask(project, "2030-01-20");
+    long d = createTask(project, "2030-01-15");
+    addDependency(b, a).andExpect(status().isNoContent());
+    addDependency(c, b).andExpect(status().isNoContent());
+    addDependency(c, b).andExpect(status().isNoContent());
+
+    String etag = mvc.perform(get("/api/projects/" + project.getId() + "/schedule")
+            .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.tasks[*].taskId").value(contains((int) a, (int) b, (int) c, (int) d)))
+        .andExpect(jsonPath("$.tasks[1].dependsOn").value(contains((int) a)))
+        .andExpect(jsonPath("$.tasks[1].earliestStart").value("2030-01-11"))
+        .andExpect(jsonPath("$.tasks[1].finish").value("2030-01-11"))
+        .andExpect(jsonPath("$.tasks[1].late").value(true))
+        .andExpect(jsonPath("$.tasks[2].earliestStart").value("2030-01-12"))
+        .andExpect(jsonPath("$.tasks[2].finish").value("2030-01-20"))
+        .andExpect(jsonPath("$.tasks[2].late").value(false))
+        .andExpect(jsonPath("$.tasks[3].earliestStart").doesNotExist())
+        .andExpect(jsonPath("$.criticalPath").value(contains((int) a, (int) b, (int) c)))
+        .andExpect(jsonPath("$.finish").value("2030-01-20"))
+        .andReturn().getResponse().getHeader("ETag");
+    mvc.perform(get("/api/projects/" + project.getId() + "/schedule")
+            .header("Authorization", "Bearer " + token)
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    // a task write reaches the cached graph
+    mvc.perform(put("/api/projects/" + project.getId() + "/tasks/" + a)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"dueDate\":\"2030-01-25\"}"))
+        .andExpect(status().isOk());
+    schedule()
+        .andExpect(jsonPath("$.tasks[2].finish").value("2030-01-27"))
+        .andExpect(jsonPath("$.tasks[2].late").value(true))
+        .andExpect(jsonPath("$.finish").value("2030-01-27"));
+
+    mvc.perform(delete("/api/projects/" + project.getId() + "/tasks/" + b + "/dependencies/" + a)
+            .header("Authorization", "Bearer " + token))
+        .andExpect(status().isNoContent());
+    schedule()
+        .andExpect(jsonPath("$.tasks[2].earliestStart").value("2030-01-06"))
+        .andExpect(jsonPath("$.criticalPath").value(contains((int) a)))
+        .andExpect(jsonPath("$.finish").value("2030-01-25"));
+
+    // deleting a task takes its edges with it
+    mvc.perform(delete("/api/projects/" + project.getId() + "/tasks/" + b)
+            .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+    assertThat(jdbc.queryForObject("select count(*) from task_dependencies", Integer.class)).isZero();
+    schedule()
+        .andExpect(jsonPath("$.tasks[*].taskId").value(contains((int) a, (int) c, (int) d)))
+        .andExpect(jsonPath("$.tasks[1].dependsOn").value(empty()));
+
+    // changes made behind the cache's back are picked up through the project version
+    jdbc.update("insert into task_dependencies (project_id, task_id, depends_on_task_id) values (?, ?, ?)",
+        project.getId(), d, c);
+    jdbc.update("update content_versions set version = version + 1 where scope_key = ?", "project:" + project.getId());
+    schedule().andExpect(jsonPath("$.tasks[*].taskId").value(contains((int) a, (int) c, (int) d)))
+        .andExpect(jsonPath("$.tasks[2].earliestStart").value("2030-01-21"));
+  }
+
+  @Test
+  void cycles_self_and_foreign_dependencies_are_rejected() throws Exception {
+    long a = createTask(project, null);
+    long b = createTask(project, null);
+    long c = createTask(project, null);
+    long other = createTask(createProject("Other"), null);
+    addDependency(b, a).andExpect(status().isNoContent());
+    addDependency(c, b).andExpect(status().isNoContent());
+
+    addDependency(a, c)
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Dependency would create a cycle: " + a + " -> " + c + " -> " + b + " -> " + a));
+    addDependency(a, a).andExpect(status().isBadRequest());
+    addDependency(a, other).andExpect(status().isNotFound());
+    assertThat(jdbc.queryForObject("select count(*) from task_dependencies", Integer.class)).isEqualTo(2);
+
+    // undated tasks still get an order, without dates
+    schedule()
+        .andExpect(jsonPath("$.tasks[*].taskId").value(contains((int) a, (int) b, (int) c)))
+        .andExpect(jsonPath("$.criticalPath").value(empty()));
+
+    User outsider = TestSupport.createUser(userRepo, encoder, "Out", "out@test.com", "pass1234", GlobalRole.MEMBER);
+    mvc.perform(get("/api/projects/" + project.getId() + "/schedule")
+            .header("Authorization", "Bearer " + TestSupport.tokenFor(jwtService, outsider)))
+        .andExpect(status().isForbidden());
+  }
+
+  private Project createProject(String name) {
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(admin);
+    p.setName(name);
+    return projectRepo.save(p);
+  }
+
+  private long createTask(Project p, String dueDate) throws Exception {
+    String body = mvc.perform(post("/api/projects/" + p.getId() + "/tasks")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(dueDate == null ? "{\"title\":\"T\"}" : "{\"title\":\"T\",\"dueDate\":\"" + dueDate + "\"}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return ((Number) JsonPath.read(body, "$.id")).longValue();
+  }
+
+  private ResultActions addDependency(long taskId, long dependsOn) throws Exception {
+    return mvc.perform(post("/api/projects/" + project.getId() + "/tasks/" + taskId + "/dependencies")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"dependsOnTaskId\":" + dependsOn + "}"));
+  }
+
+  private ResultActions schedule() throws Exception {
+    return mvc.perform(get("/api/projects/" + project.getId() + "/schedule")
+            .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+  }
+}
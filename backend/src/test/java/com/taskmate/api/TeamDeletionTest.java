@@ -0,0 +1,189 @@
+package com.taskmate.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.DiscussionMessage;
+import com.taskmate.domain.FileResource;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Task;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamDeletionJob;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamDeletionStatus;
+import com.taskmate.repo.*;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.TeamDeletionWorker;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "taskmate.team-deletion.batch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TeamDeletionTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired TaskRepository taskRepo;
+  @Autowired DiscussionMessageRepository messageRepo;
+  @Autowired FileResourceRepository fileRepo;
+  @Autowired TeamDeletionJobRepository jobRepo;
+  @Autowired TeamDeletionWorker worker;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  @Value("${taskmate.storage.local-dir}")
+  String storageDir;
+
+  private User admin;
+  private String adminToken;
+  private Team team;
+  private Team otherTeam;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    adminToken = TestSupport.tokenFor(jwtService, admin);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Doomed", admin);
+    otherTeam = TestSupport.createTeam(teamRepo, memberRepo, "Survivor", admin);
+    fill(team, 3, 5, 3);
+    fill(otherTeam, 1, 2, 1);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void delete_hides_the_team_at_once_and_the_worker_purges_it_in_batches() throws Exception {
+    List<Path> blobs = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      String body = mvc.perform(multipart("/api/teams/{teamId}/files", team.getId())
+              .file(new MockMultipartFile("file", "doc" + i + ".txt", "text/plain", "hello".getBytes()))
+              .header("Authorization", "Bearer " + adminToken))
+          .andExpect(status().isOk())
+          .andReturn().getResponse().getContentAsString();
+      Long fileId = ((Number) JsonPath.read(body, "$.id")).longValue();
+      blobs.add(Path.of(storageDir).resolve(fileRepo.findById(fileId).orElseThrow().getStorageKey()));
+    }
+    assertThat(blobs).allMatch(Files::exists);
+
+    mvc.perform(delete("/api/teams/{teamId}", team.getId()).header("Authorization", "Bearer " + adminToken))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.status").value("PENDING"));
+
+    // gone for the API before any content is purged
+    mvc.perform(get("/api/teams").header("Authorization", "Bearer " + adminToken))
+        .andExpect(jsonPath("$.length()").value(1));
+    mvc.perform(put("/api/teams/{teamId}", team.getId())
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType("application/json")
+            .content("{\"name\":\"Back\"}"))
+        .andExpect(status().isNotFound());
+    assertThat(taskRepo.countByTeamId(team.getId())).isEqualTo(15);
+
+    worker.poll();
+
+    mvc.perform(get("/api/teams/{teamId}/deletion", team.getId()).header("Authorization", "Bearer " + adminToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("DONE"))
+        .andExpect(jsonPath("$.percent").value(100))
+        .andExpect(jsonPath("$.filesDeleted").value(3))
+        .andExpect(jsonPath("$.messagesDeleted").value(3))
+        .andExpect(jsonPath("$.tasksDeleted").value(15))
+        .andExpect(jsonPath("$.projectsDeleted").value(3));
+    assertThat(teamRepo.existsById(team.getId())).isFalse();
+    assertThat(blobs).noneMatch(Files::exists);
+
+    // the other team is untouched
+    assertThat(projectRepo.countByTeamId(otherTeam.getId())).isEqualTo(1);
+    assertThat(taskRepo.countByTeamId(otherTeam.getId())).isEqualTo(2);
+    assertThat(messageRepo.countByTeamId(otherTeam.getId())).isEqualTo(1);
+  }
+
+  @Test
+  void failed_batch_keeps_its_checkpoint_and_the_job_resumes_later() throws Exception {
+    // a storage key the store refuses to delete makes the FILES phase fail
+    FileResource bad = new FileResource();
+    bad.setTeam(team);
+    bad.setUploadedBy(admin);
+    bad.setStorageKey("../outside");
+    bad.setOriginalName("bad");
+    bad.setContentType("text/plain");
+    fileRepo.save(bad);
+
+    mvc.perform(delete("/api/teams/{teamId}", team.getId()).header("Authorization", "Bearer " + adminToken))
+        .andExpect(status().isAccepted());
+    Long jobId = jobRepo.findFirstByTeamIdOrderByIdDesc(team.getId()).orElseThrow().getId();
+
+    worker.run(jobId);
+
+    TeamDeletionJob failed = jobRepo.findById(jobId).orElseThrow();
+    assertThat(failed.getStatus()).isEqualTo(TeamDeletionStatus.PENDING);
+    assertThat(failed.getLastError()).contains("Invalid storage key");
+    // lease pushed out by retry-delay: a second run right away does nothing
+    worker.run(jobId);
+    assertThat(fileRepo.countByTeamId(team.getId())).isEqualTo(1);
+
+    jdbc.update("update files set storage_key = 'already-gone' where id = ?", bad.getId());
+    jdbc.update("update team_deletion_jobs set lease_until = null where id = ?", jobId);
+    worker.run(jobId);
+
+    TeamDeletionJob done = jobRepo.findById(jobId).orElseThrow();
+    assertThat(done.getStatus()).isEqualTo(TeamDeletionStatus.DONE);
+    assertThat(done.getLastError()).isNull();
+    assertThat(done.getTasksDeleted()).isEqualTo(15);
+    assertThat(teamRepo.existsById(team.getId())).isFalse();
+  }
+
+  private void fill(Team t, int projects, int tasksPerProject, int messages) {
+    for (int p = 0; p < projects; p++) {
+      Project project = new Project();
+      project.setTeam(t);
+      project.setCreatedBy(admin);
+      project.setName(t.getName() + " project " + p);
+      project = projectRepo.save(project);
+      for (int i = 0; i < tasksPerProject; i++) {
+        Task task = new Task();
+        task.setProject(project);
+        task.setCreatedBy(admin);
+        task.setTitle("task " + i);
+        taskRepo.save(task);
+      }
+    }
+    for (int m = 0; m < messages; m++) {
+      DiscussionMessage msg = new DiscussionMessage();
+      msg.setTeam(t);
+      msg.setAuthor(admin);
+      msg.setContent("message " + m);
+      messageRepo.save(msg);
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package com.taskmate.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.TestSupport;
+import com.taskmate.api.dto.team.TeamMemberAddRequest;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UnreadTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired ObjectMapper om;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private String adminToken;
+  private String aliceToken;
+  private String bobToken;
+  private User bob;
+  private Team alpha;
+  private Team beta;
+
+  @BeforeEach
+  void setup() throws Exception {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    User alice = TestSupport.createUser(userRepo, encoder, "Alice", "alice@test.com", "alice123", GlobalRole.MEMBER);
+    bob = TestSupport.createUser(userRepo, encoder, "Bob", "bob@test.com", "bob12345", GlobalRole.MEMBER);
+    adminToken = TestSupport.tokenFor(jwtService, admin);
+    aliceToken = TestSupport.tokenFor(jwtService, alice);
+    bobToken = TestSupport.tokenFor(jwtService, bob);
+    alpha = TestSupport.createTeam(teamRepo, memberRepo, "Alpha", alice);
+    beta = TestSupport.createTeam(teamRepo, memberRepo, "Beta", alice);
+    addMember(alpha, bob);
+    addMember(beta, bob);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void posts_count_as_unread_for_others_until_mark_read() throws Exception {
+    postMessage(alpha, aliceToken, "one");
+    postMessage(alpha, aliceToken, "two");
+    postMessage(beta, aliceToken, "three");
+
+    mvc.perform(get("/api/me/unread").header("Authorization", "Bearer " + bobToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].teamName", contains("Alpha", "Beta")))
+        .andExpect(jsonPath("$[*].unread", contains(2, 1)));
+    // own messages are never unread
+    mvc.perform(get("/api/me/unread").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$[*].unread", contains(0, 0)));
+
+    mvc.perform(post("/api/teams/" + alpha.getId() + "/messages/read").header("Authorization", "Bearer " + bobToken))
+        .andExpect(status().isNoContent());
+    postMessage(beta, bobToken, "reply");
+
+    mvc.perform(get("/api/me/unread").header("Authorization", "Bearer " + bobToken))
+        .andExpect(jsonPath("$[*].unread", contains(0, 0)));
+    mvc.perform(get("/api/me/unread").header("Authorization", "Bearer " + aliceToken))
+        .andExpect(jsonPath("$[*].unread", contains(0, 1)));
+  }
+
+  @Test
+  void new_members_start_without_history_and_outsiders_cannot_mark_read() throws Exception {
+    User carol = TestSupport.createUser(userRepo, encoder, "Carol", "carol@test.com", "carol123", GlobalRole.MEMBER);
+    String carolToken = TestSupport.tokenFor(jwtService, carol);
+    postMessage(alpha, aliceToken, "before carol");
+
+    mvc.perform(post("/api/teams/" + alpha.getId() + "/messages/read").header("Authorization", "Bearer " + carolToken))
+        .andExpect(status().isForbidden());
+
+    TeamMemberAddRequest req = new TeamMemberAddRequest();
+    req.setUserId(carol.getId());
+    req.setTeamRole(TeamRole.MEMBER);
+    mvc.perform(post("/api/teams/" + alpha.getId() + "/members")
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(om.writeValueAsString(req)))
+        .andExpect(status().isOk());
+    postMessage(alpha, aliceToken, "after carol");
+
+    mvc.perform(get("/api/me/unread").header("Authorization", "Bearer " + carolToken))
+        .andExpect(jsonPath("$[*].unread", contains(1)));
+  }
+
+  private void addMember(Team team, User user) throws Exception {
+    TeamMemberAddRequest req = new TeamMemberAddRequest();
+    req.setUserId(user.getId());
+    req.setTeamRole(TeamRole.MEMBER);
+    mvc.perform(post("/api/teams/" + team.getId() + "/members")
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(om.writeValueAsString(req)))
+        .andExpect(status().isOk());
+  }
+
+  private void postMessage(Team team, String token, String content) throws Exception {
+    mvc.perform(post("/api/teams/" + team.getId() + "/messages")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"content\":\"" + content + "\"}"))
+        .andExpect(status().isOk());
+  }
+}
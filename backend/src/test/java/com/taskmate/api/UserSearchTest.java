@@ -0,0 +1,120 @@
+package com.taskmate.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.TestSupport;
+import com.taskmate.api.dto.auth.RegisterRequest;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.UserDirectory;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserSearchTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired ObjectMapper om;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired UserDirectory userDirectory;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private String adminToken;
+  private String memberToken;
+  private Team team;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    User andre = TestSupport.createUser(userRepo, encoder, "André Wijaya", "andre@test.com", "andre123", GlobalRole.MEMBER);
+    TestSupport.createUser(userRepo, encoder, "Andi Pratama", "andi@test.com", "andi1234", GlobalRole.MEMBER);
+    TestSupport.createUser(userRepo, encoder, "Budi Santoso", "budi@test.com", "budi1234", GlobalRole.MEMBER);
+    userDirectory.load();
+    adminToken = TestSupport.tokenFor(jwtService, admin);
+    memberToken = TestSupport.tokenFor(jwtService, andre);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Core", andre);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void prefix_matches_any_name_word_email_or_initials_ignoring_accents() throws Exception {
+    mvc.perform(get("/api/users/search").param("q", "and")
+            .header("Authorization", "Bearer " + adminToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].email", contains("andi@test.com", "andre@test.com")));
+
+    mvc.perform(get("/api/users/search").param("q", "santo")
+            .header("Authorization", "Bearer " + adminToken))
+        .andExpect(jsonPath("$[*].email", contains("budi@test.com")));
+
+    mvc.perform(get("/api/users/search").param("q", "André W")
+            .header("Authorization", "Bearer " + adminToken))
+        .andExpect(jsonPath("$[*].email", contains("andre@test.com")));
+
+    mvc.perform(get("/api/users/search").param("q", "and").param("limit", "1")
+            .header("Authorization", "Bearer " + adminToken))
+        .andExpect(jsonPath("$", hasSize(1)));
+  }
+
+  @Test
+  void team_members_are_excluded_and_new_registrations_show_up() throws Exception {
+    mvc.perform(get("/api/users/search").param("q", "and").param("teamId", team.getId().toString())
+            .header("Authorization", "Bearer " + adminToken))
+        .andExpect(jsonPath("$[*].email", contains("andi@test.com")));
+
+    RegisterRequest reg = new RegisterRequest();
+    reg.setName("Anda Lestari");
+    reg.setEmail("anda@test.com");
+    reg.setPassword("secret123");
+    mvc.perform(post("/api/auth/register")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(om.writeValueAsString(reg)))
+        .andExpect(status().isOk());
+
+    mvc.perform(get("/api/users/search").param("q", "and").param("teamId", team.getId().toString())
+            .header("Authorization", "Bearer " + adminToken))
+        .andExpect(jsonPath("$[*].email", contains("anda@test.com", "andi@test.com")));
+  }
+
+  @Test
+  void search_is_admin_only_and_needs_a_query() throws Exception {
+    mvc.perform(get("/api/users/search").param("q", "and")
+            .header("Authorization", "Bearer " + memberToken))
+        .andExpect(status().isForbidden());
+
+    mvc.perform(get("/api/users/search").param("q", " ")
+            .header("Authorization", "Bearer " + adminToken))
+        .andExpect(status().isBadRequest());
+  }
+}
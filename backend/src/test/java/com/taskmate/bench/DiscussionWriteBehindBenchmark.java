@@ -0,0 +1,132 @@
+package com.taskmate.bench;
+
+import com.taskmate.TestSupport;
+import com.taskmate.api.dto.discussion.MessageCreateRequest;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamMember;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.CustomUserDetails;
+import com.taskmate.service.DiscussionService;
+import com.taskmate.service.DiscussionWriteBehind;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Posting throughput of one busy team: a transaction per message vs. write-behind with durable ack
+ * (group commit). Numbers against in-memory H2 understate the gain; the per-commit fsync on MySQL is
+ * what write-behind amortizes.
+ * Run with: mvn test -Pbench -Dtest=DiscussionWriteBehindBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "taskmate.discussion.write-behind.enabled=true")
+@ActiveProfiles("test")
+public class DiscussionWriteBehindBenchmark {
+
+  private static final int THREADS = 32;
+  private static final int POSTS_PER_THREAD = 300;
+
+  @Autowired DiscussionService discussionService;
+  @Autowired DiscussionWriteBehind writeBehind;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired PasswordEncoder encoder;
+
+  private final List<User> users = new ArrayList<>();
+  private Team team;
+
+  @BeforeEach
+  void seed() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User owner = TestSupport.createUser(userRepo, encoder, "Owner", "owner@test.com", "bench123", GlobalRole.MEMBER);
+    team = TestSupport.createTeam(teamRepo, memberRepo, "Incident", owner);
+    users.add(owner);
+    for (int i = 1; i < THREADS; i++) {
+      User u = TestSupport.createUser(userRepo, encoder, "User " + i, "user" + i + "@test.com", "bench123", GlobalRole.MEMBER);
+      TeamMember tm = new TeamMember();
+      tm.setTeam(team);
+      tm.setUser(u);
+      tm.setTeamRole(TeamRole.MEMBER);
+      memberRepo.save(tm);
+      users.add(u);
+    }
+    // counter rows normally exist before a team sees concurrent posts
+    jdbc.update("insert into content_versions (scope_key, version) values (?, 1), (?, 0)",
+        "team:" + team.getId(), "messages:" + team.getId());
+  }
+
+  @AfterEach
+  void cleanup() {
+    ReflectionTestUtils.setField(writeBehind, "enabled", true);
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void direct_vs_write_behind() throws Exception {
+    ReflectionTestUtils.setField(writeBehind, "enabled", false);
+    run(THREADS * 20); // warm-up
+    double direct = run(THREADS * POSTS_PER_THREAD);
+
+    ReflectionTestUtils.setField(writeBehind, "enabled", true);
+    run(THREADS * 20);
+    double behind = run(THREADS * POSTS_PER_THREAD);
+
+    System.out.printf("threads=%d posts=%d%n", THREADS, THREADS * POSTS_PER_THREAD);
+    System.out.printf("direct:       %,.0f msg/s%n", direct);
+    System.out.printf("write-behind: %,.0f msg/s (durable ack)%n", behind);
+  }
+
+  private double run(int total) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    try {
+      long start = System.nanoTime();
+      List<Future<?>> futures = new ArrayList<>();
+      for (User u : users) {
+        futures.add(pool.submit(() -> {
+          SecurityContextHolder.getContext().setAuthentication(
+              new UsernamePasswordAuthenticationToken(new CustomUserDetails(u), null, List.of()));
+          try {
+            for (int i = 0; i < total / THREADS; i++) {
+              MessageCreateRequest req = new MessageCreateRequest();
+              req.setTeamId(team.getId());
+              req.setContent("status update " + i + " from " + u.getName());
+              discussionService.post(req);
+            }
+          } finally {
+            SecurityContextHolder.clearContext();
+          }
+        }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+      return total / ((System.nanoTime() - start) / 1e9);
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
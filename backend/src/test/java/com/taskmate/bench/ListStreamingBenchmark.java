@@ -0,0 +1,172 @@
+package com.taskmate.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.TestSupport;
+import com.taskmate.api.controller.TaskController;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.*;
+import com.taskmate.security.CustomUserDetails;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the buffered list path with ?stream=true for a large project.
+ * Reports bytes allocated by the request thread and the live heap at the peak of each path.
+ * Run with: mvn test -Pbench -Dtest=ListStreamingBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class ListStreamingBenchmark {
+
+  private static final int ROWS = 20_000;
+
+  @Autowired TaskController taskController;
+  @Autowired ObjectMapper objectMapper;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired PasswordEncoder encoder;
+
+  private Long projectId;
+
+  @BeforeEach
+  void seed() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    User owner = TestSupport.createUser(userRepo, encoder, "Owner", "bench@test.com", "bench123", GlobalRole.MEMBER);
+    Team team = TestSupport.createTeam(teamRepo, memberRepo, "Bench", owner);
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(owner);
+    p.setName("Big board");
+    projectId = projectRepo.save(p).getId();
+
+    Timestamp now = Timestamp.from(Instant.now());
+    List<Object[]> rows = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      rows.add(new Object[]{now, now, projectId, owner.getId(), "Task " + i, "Description for task number " + i, "TODO", "MEDIUM"});
+    }
+    jdbc.batchUpdate("insert into tasks (created_at, updated_at, project_id, created_by_user_id, title, description, status, priority) "
+        + "values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(new CustomUserDetails(owner), null, List.of()));
+  }
+
+  @AfterEach
+  void cleanup() {
+    SecurityContextHolder.clearContext();
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void buffered_vs_streamed() throws Exception {
+    // warm-up both paths
+    for (int i = 0; i < 3; i++) {
+      objectMapper.writeValue(OutputStream.nullOutputStream(), taskController.list(projectId, false, new ServletWebRequest(new MockHttpServletRequest())));
+      taskController.listStream(projectId, false, new DiscardingResponse(Long.MAX_VALUE));
+    }
+
+    long base = liveHeap();
+    long a0 = allocated();
+    var list = taskController.list(projectId, false, new ServletWebRequest(new MockHttpServletRequest()));
+    long bufferedPeak = liveHeap() - base;
+    CountingStream out = new CountingStream(Long.MAX_VALUE);
+    objectMapper.writeValue(out, list);
+    long bufferedAlloc = allocated() - a0;
+    list = null;
+
+    base = liveHeap();
+    DiscardingResponse resp = new DiscardingResponse(out.count / 2);
+    long s0 = allocated();
+    taskController.listStream(projectId, false, resp);
+    long streamedAlloc = allocated() - s0;
+    long streamedPeak = resp.stream.peak - base;
+
+    System.out.printf("rows=%d json=%d bytes%n", ROWS, out.count);
+    System.out.printf("buffered: allocated=%,d B  live at peak=%,d B%n", bufferedAlloc, bufferedPeak);
+    System.out.printf("streamed: allocated=%,d B  live at peak=%,d B%n", streamedAlloc, streamedPeak);
+  }
+
+  private static long allocated() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+  }
+
+  private static long liveHeap() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  /** Counts bytes and samples the live heap once, when `sampleAt` bytes have gone through. */
+  private static class CountingStream extends ServletOutputStream {
+    private final long sampleAt;
+    long count;
+    long peak;
+
+    CountingStream(long sampleAt) {
+      this.sampleAt = sampleAt;
+    }
+
+    @Override
+    public void write(int b) {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      long before = count;
+      count += len;
+      if (before < sampleAt && count >= sampleAt) peak = liveHeap();
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener listener) {
+    }
+  }
+
+  private static class DiscardingResponse extends MockHttpServletResponse {
+    final CountingStream stream;
+
+    DiscardingResponse(long sampleAt) {
+      this.stream = new CountingStream(sampleAt);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+      return stream;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.taskmate.bench;
+
+import com.taskmate.api.limit.RateLimitPolicy;
+import com.taskmate.api.limit.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of one rate-limit decision under contention: 8 threads, 50k distinct keys, a bucket map
+ * capped at 20k keys so eviction runs too.
+ * Run with: mvn test -Pbench -Dtest=RateLimiterBenchmark
+ */
+@Tag("benchmark")
+public class RateLimiterBenchmark {
+
+  private static final int THREADS = 8;
+  private static final int DECISIONS_PER_THREAD = 2_000_000;
+  private static final int KEYS = 50_000;
+  private static final int CORES = Math.min(THREADS, Runtime.getRuntime().availableProcessors());
+
+  @Test
+  void decisions_per_second() throws Exception {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20_000);
+    RateLimitPolicy policy = RateLimitPolicy.parse("10/1m");
+    String[] keys = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = "login|ip|10.0." + (i / 256) + "." + (i % 256);
+    }
+
+    for (int round = 0; round < 2; round++) {
+      AtomicLong rejected = new AtomicLong();
+      CountDownLatch done = new CountDownLatch(THREADS);
+      long start = System.nanoTime();
+      for (int t = 0; t < THREADS; t++) {
+        int seed = t;
+        new Thread(() -> {
+          long r = 0;
+          for (int i = 0; i < DECISIONS_PER_THREAD; i++) {
+            // skewed: half the traffic on 100 hot keys
+            int k = (i & 1) == 0 ? Math.floorMod(i * 31 + seed, 100) : Math.floorMod(i * 7919 + seed, KEYS);
+            if (limiter.tryAcquire(keys[k], policy, System.nanoTime()) > 0) {
+              r++;
+            }
+          }
+          rejected.addAndGet(r);
+          done.countDown();
+        }).start();
+      }
+      done.await();
+      long elapsed = System.nanoTime() - start;
+      long total = (long) THREADS * DECISIONS_PER_THREAD;
+      System.out.printf("[bench] round %d: %.1f M decisions/s on %d cores (%.0f ns of CPU each), rejected %.1f%%, buckets %d%n",
+          round, total / (elapsed / 1e3), CORES, (double) elapsed * CORES / total, 100.0 * rejected.get() / total, limiter.size());
+    }
+  }
+}
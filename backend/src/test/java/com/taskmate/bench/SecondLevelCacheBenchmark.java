@@ -0,0 +1,127 @@
+package com.taskmate.bench;
+
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Task;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamMember;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.*;
+import com.taskmate.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per request for typical reads, with the second-level cache emptied before
+ * every request (cold, i.e. what we had before) vs. left warm.
+ * Run with: mvn test -Pbench -Dtest=SecondLevelCacheBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SecondLevelCacheBenchmark {
+
+  private static final int USERS = 20;
+  private static final int TASKS = 200;
+  private static final int REQUESTS = 50;
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired TaskRepository taskRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+
+  private String token;
+  private Long teamId;
+  private Long projectId;
+
+  @BeforeEach
+  void seed() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    List<User> users = new ArrayList<>();
+    for (int i = 0; i < USERS; i++) {
+      users.add(TestSupport.createUser(userRepo, encoder, "User " + i, "user" + i + "@bench.com", "pw123456", GlobalRole.MEMBER));
+    }
+    Team team = TestSupport.createTeam(teamRepo, memberRepo, "Bench", users.get(0));
+    teamId = team.getId();
+    for (int i = 1; i < USERS; i++) {
+      TeamMember tm = new TeamMember();
+      tm.setTeam(team);
+      tm.setUser(users.get(i));
+      memberRepo.save(tm);
+    }
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(users.get(0));
+    p.setName("Board");
+    projectId = projectRepo.save(p).getId();
+    for (int i = 0; i < TASKS; i++) {
+      Task t = new Task();
+      t.setProject(p);
+      t.setCreatedBy(users.get(i % USERS));
+      t.setAssignedTo(users.get((i + 1) % USERS));
+      t.setTitle("Task " + i);
+      taskRepo.save(t);
+    }
+    token = TestSupport.tokenFor(jwtService, users.get(0));
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void statements_per_request_cold_vs_warm() throws Exception {
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.setStatisticsEnabled(true);
+
+    for (String path : List.of("/api/projects/" + projectId + "/tasks", "/api/teams/" + teamId + "/members")) {
+      double cold = run(stats, path, true);
+      double warm = run(stats, path, false);
+      System.out.printf("%-32s cold=%.1f warm=%.1f statements/request (L2 hit ratio warm=%.2f)%n",
+          path, cold, warm, hitRatio(stats));
+    }
+  }
+
+  private double run(Statistics stats, String path, boolean evictEachTime) throws Exception {
+    mvc.perform(get(path).header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+    stats.clear();
+    for (int i = 0; i < REQUESTS; i++) {
+      if (evictEachTime) emf.getCache().evictAll();
+      mvc.perform(get(path).header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+    }
+    return (double) stats.getPrepareStatementCount() / REQUESTS;
+  }
+
+  private static double hitRatio(Statistics stats) {
+    long hits = stats.getSecondLevelCacheHitCount();
+    long total = hits + stats.getSecondLevelCacheMissCount();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
@@ -0,0 +1,220 @@
+package com.taskmate.bench;
+
+import com.taskmate.TaskmateApplication;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Task;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.*;
+import com.taskmate.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of the mixed TaskMate workload over real HTTP, once with Tomcat's platform-thread pool
+ * and once with virtual threads. Mix: 45% task list, 20% task create, 15% forgot-password (DB writes +
+ * BCrypt; the email goes to the outbox), 10% file download, 10% login (BCrypt).
+ * Needs JDK 21. Run with: mvn test -Pbench -Dtest=VirtualThreadsBenchmark
+ */
+@Tag("benchmark")
+public class VirtualThreadsBenchmark {
+
+  private static final int CLIENTS = 300;
+  private static final Duration WARMUP = Duration.ofSeconds(3);
+  private static final Duration MEASURE = Duration.ofSeconds(10);
+
+  @Test
+  void thread_per_request_vs_virtual_threads() throws Exception {
+    Result platform = run(false);
+    Result virtual = run(true);
+    System.out.println("[bench] clients=" + CLIENTS + " measured=" + MEASURE.toSeconds() + "s");
+    System.out.println("[bench] platform threads: " + platform);
+    System.out.println("[bench] virtual threads:  " + virtual);
+  }
+
+  private Result run(boolean virtualThreads) throws Exception {
+    String storage = Files.createTempDirectory("taskmate-bench").toString();
+    try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(TaskmateApplication.class)
+        .profiles("test")
+        .properties(
+            "server.port=0",
+            "spring.datasource.url=jdbc:h2:mem:vt_" + virtualThreads + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "spring.threads.virtual.enabled=" + virtualThreads,
+            "spring.datasource.hikari.maximum-pool-size=20",
+            // compare the threading models themselves, not the load shedding in front of them
+            "taskmate.limiter.enabled=false",
+            "taskmate.security.bcrypt.strength=10",
+            "taskmate.storage.local-dir=" + storage)
+        .run()) {
+      String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+      Fixture f = seed(ctx, base);
+
+      Result result = new Result();
+      HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+      ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+      long warmupEnd = System.nanoTime() + WARMUP.toNanos();
+      long end = warmupEnd + MEASURE.toNanos();
+      for (int c = 0; c < CLIENTS; c++) {
+        clients.submit(() -> {
+          while (System.nanoTime() < end) {
+            long t0 = System.nanoTime();
+            boolean ok;
+            try {
+              ok = oneRequest(http, base, f) < 400;
+            } catch (Exception e) {
+              ok = false;
+            }
+            if (t0 > warmupEnd) {
+              result.record(System.nanoTime() - t0, ok);
+            }
+          }
+          return null;
+        });
+      }
+      clients.shutdown();
+      clients.awaitTermination(WARMUP.plus(MEASURE).toSeconds() + 60, TimeUnit.SECONDS);
+      result.pinned = ctx.getBean(MeterRegistry.class).find("taskmate.virtual.pinned").counters().stream()
+          .mapToDouble(c -> c.count()).sum();
+      return result;
+    }
+  }
+
+  private int oneRequest(HttpClient http, String base, Fixture f) throws Exception {
+    int pick = ThreadLocalRandom.current().nextInt(100);
+    HttpRequest.Builder req;
+    if (pick < 45) {
+      req = HttpRequest.newBuilder(URI.create(base + "/api/projects/" + f.projectId + "/tasks")).GET();
+    } else if (pick < 65) {
+      req = json(base + "/api/projects/" + f.scratchProjectId + "/tasks",
+          "{\"projectId\":" + f.scratchProjectId + ",\"title\":\"load\"}");
+    } else if (pick < 80) {
+      return send(http, json(base + "/api/auth/forgot-password", "{\"email\":\"" + f.email + "\"}"));
+    } else if (pick < 90) {
+      req = HttpRequest.newBuilder(URI.create(base + "/api/teams/" + f.teamId + "/files/" + f.fileId + "/download")).GET();
+    } else {
+      return send(http, json(base + "/api/auth/login", "{\"email\":\"" + f.email + "\",\"password\":\"pw123456\"}"));
+    }
+    return send(http, req.header("Authorization", "Bearer " + f.token));
+  }
+
+  private static HttpRequest.Builder json(String url, String body) {
+    return HttpRequest.newBuilder(URI.create(url))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body));
+  }
+
+  private static int send(HttpClient http, HttpRequest.Builder req) throws Exception {
+    return http.send(req.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private Fixture seed(ConfigurableApplicationContext ctx, String base) throws Exception {
+    UserRepository userRepo = ctx.getBean(UserRepository.class);
+    User owner = TestSupport.createUser(userRepo, ctx.getBean(PasswordEncoder.class),
+        "Owner", "owner@bench.com", "pw123456", GlobalRole.MEMBER);
+    Team team = TestSupport.createTeam(ctx.getBean(TeamRepository.class), ctx.getBean(TeamMemberRepository.class), "Bench", owner);
+    ProjectRepository projectRepo = ctx.getBean(ProjectRepository.class);
+    TaskRepository taskRepo = ctx.getBean(TaskRepository.class);
+
+    Fixture f = new Fixture();
+    f.email = owner.getEmail();
+    f.token = TestSupport.tokenFor(ctx.getBean(JwtService.class), owner);
+    f.teamId = team.getId();
+    f.projectId = projectRepo.save(project(team, owner, "Board")).getId();
+    f.scratchProjectId = projectRepo.save(project(team, owner, "Scratch")).getId();
+    Project board = projectRepo.findById(f.projectId).orElseThrow();
+    for (int i = 0; i < 50; i++) {
+      Task t = new Task();
+      t.setProject(board);
+      t.setCreatedBy(owner);
+      t.setTitle("Task " + i);
+      taskRepo.save(t);
+    }
+
+    byte[] content = new byte[64 * 1024];
+    Arrays.fill(content, (byte) 'x');
+    String boundary = "----bench";
+    byte[] head = ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"spec.txt\"\r\n"
+        + "Content-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+    byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    HttpResponse<String> upload = HttpClient.newHttpClient().send(
+        HttpRequest.newBuilder(URI.create(base + "/api/teams/" + f.teamId + "/files"))
+            .header("Authorization", "Bearer " + f.token)
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, content, tail)))
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+    f.fileId = Long.valueOf(upload.body().replaceAll(".*\"id\":(\\d+).*", "$1"));
+    return f;
+  }
+
+  private static Project project(Team team, User owner, String name) {
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(owner);
+    p.setName(name);
+    return p;
+  }
+
+  private static class Fixture {
+    String email;
+    String token;
+    Long teamId;
+    Long projectId;
+    Long scratchProjectId;
+    Long fileId;
+  }
+
+  private static class Result {
+    final List<Long> latencies = new ArrayList<>();
+    final AtomicLong errors = new AtomicLong();
+    double pinned;
+
+    void record(long nanos, boolean ok) {
+      if (!ok) {
+        errors.incrementAndGet();
+      }
+      synchronized (latencies) {
+        latencies.add(nanos);
+      }
+    }
+
+    @Override
+    public String toString() {
+      List<Long> sorted;
+      synchronized (latencies) {
+        sorted = new ArrayList<>(latencies);
+      }
+      sorted.sort(null);
+      if (sorted.isEmpty()) {
+        return "no requests completed";
+      }
+      return String.format("throughput=%.0f req/s p50=%d ms p99=%d ms errors=%d pinned=%.0f",
+          sorted.size() / (double) MEASURE.toSeconds(),
+          sorted.get(sorted.size() / 2) / 1_000_000,
+          sorted.get((int) (sorted.size() * 0.99)) / 1_000_000,
+          errors.get(), pinned);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.taskmate.security;
+
+import com.taskmate.api.error.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void hashes_on_the_pool_and_rejects_fast_when_the_queue_is_full() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    PasswordEncoder slow = new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence raw) {
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return "hash:" + raw;
+      }
+
+      @Override
+      public boolean matches(CharSequence raw, String encoded) {
+        return encoded.equals(encode(raw));
+      }
+    };
+
+    try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, registry)) {
+      CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+      CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+      while (registry.get("executor.queued").tag("name", "password-hash").gauge().value() < 1) {
+        Thread.sleep(5);
+      }
+
+      long start = System.nanoTime();
+      assertThatThrownBy(() -> encoder.encode("c"))
+          .isInstanceOf(ServiceUnavailableException.class);
+      assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+      assertThat(registry.get("taskmate.password.hash.rejected").counter().count()).isEqualTo(1.0);
+
+      release.countDown();
+      assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+      assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+      assertThat(registry.get("taskmate.password.hash").tag("op", "encode").timer().count()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void auto_tune_never_goes_below_the_configured_strength() {
+    assertThat(BCryptStrengthTuner.tune(4, Duration.ZERO)).isEqualTo(4);
+    int tuned = BCryptStrengthTuner.tune(4, Duration.ofMillis(50));
+    assertThat(tuned).isBetween(4, 16);
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(tuned);
+    assertThat(encoder.matches("pw", encoder.encode("pw"))).isTrue();
+  }
+}
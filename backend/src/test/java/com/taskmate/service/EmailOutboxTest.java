@@ -0,0 +1,141 @@
+package com.taskmate.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.EmailOutbox;
+import com.taskmate.domain.enums.EmailOutboxStatus;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.repo.EmailOutboxRepository;
+import com.taskmate.repo.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.mail.host=localhost",
+    "spring.mail.port=3025",
+    "spring.mail.properties.mail.smtp.auth=false",
+    "spring.mail.properties.mail.smtp.starttls.enable=false",
+    // the test drives the dispatcher itself
+    "taskmate.mail.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EmailOutboxTest {
+
+  @RegisterExtension
+  static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired EmailService emailService;
+  @Autowired EmailOutboxDispatcher dispatcher;
+  @Autowired EmailOutboxRepository outboxRepo;
+  @Autowired EmailOutboxPurgeJob purgeJob;
+
+  @BeforeEach
+  void setup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+    TestSupport.createUser(userRepo, encoder, "Member", "member@test.com", "member123", GlobalRole.MEMBER);
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void otp_email_is_queued_with_the_request_and_delivered_by_the_dispatcher() throws Exception {
+    mvc.perform(post("/api/auth/forgot-password")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"member@test.com\"}"))
+        .andExpect(status().isOk());
+
+    assertThat(smtp.getReceivedMessages()).isEmpty();
+    assertThat(outboxRepo.findAll()).singleElement()
+        .extracting(EmailOutbox::getStatus).isEqualTo(EmailOutboxStatus.PENDING);
+
+    dispatcher.poll();
+
+    MimeMessage[] received = smtp.getReceivedMessages();
+    assertThat(received).hasSize(1);
+    assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("member@test.com");
+    assertThat(outboxRepo.findAll()).singleElement().satisfies(row -> {
+      assertThat(row.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+      assertThat(row.getAttempts()).isEqualTo(1);
+      assertThat(row.getBody()).isEmpty();
+    });
+  }
+
+  @Test
+  void purge_deletes_only_finished_rows_past_retention() {
+    emailService.send("old@test.com", "Old", "body");
+    dispatcher.poll();
+    emailService.send("fresh@test.com", "Fresh", "body");
+    dispatcher.poll();
+    emailService.send("pending@test.com", "Pending", "body");
+    jdbc.update("update email_outbox set created_at = ? where recipient in ('old@test.com', 'pending@test.com')",
+        Timestamp.from(Instant.now().minus(Duration.ofDays(30))));
+
+    purgeJob.purge();
+
+    assertThat(outboxRepo.findAll()).extracting(EmailOutbox::getRecipient)
+        .containsExactlyInAnyOrder("fresh@test.com", "pending@test.com");
+  }
+
+  @Test
+  void batch_goes_out_once_and_duplicates_are_dropped() {
+    for (int i = 0; i < 5; i++) {
+      emailService.send("user" + i + "@test.com", "Digest", "body " + i);
+    }
+    emailService.send("user0@test.com", "Digest", "body 0");
+    emailService.send("a@test.com", "Digest", "changed body", "digest:1");
+    emailService.send("a@test.com", "Digest", "changed body again", "digest:1");
+    assertThat(outboxRepo.count()).isEqualTo(6);
+
+    assertThat(dispatcher.dispatchBatch()).isEqualTo(6);
+    assertThat(smtp.getReceivedMessages()).hasSize(6);
+    assertThat(dispatcher.dispatchBatch()).isZero();
+  }
+
+  @Test
+  void smtp_failure_keeps_the_email_and_schedules_a_retry() {
+    smtp.stop();
+    emailService.send("member@test.com", "Hello", "body");
+
+    dispatcher.poll();
+
+    List<EmailOutbox> rows = outboxRepo.findAll();
+    assertThat(rows).singleElement().satisfies(row -> {
+      assertThat(row.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+      assertThat(row.getAttempts()).isEqualTo(1);
+      assertThat(row.getNextAttemptAt()).isAfter(Instant.now());
+      assertThat(row.getLastError()).isNotBlank();
+    });
+    assertThat(dispatcher.dispatchBatch()).isZero();
+  }
+}
@@ -0,0 +1,85 @@
+package com.taskmate.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final SingleFlight singleFlight = new SingleFlight(registry, TransactionOperations.withoutTransaction());
+
+  @Test
+  void concurrent_identical_calls_share_one_load() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      CompletableFuture<List<String>> leader = CompletableFuture.supplyAsync(() ->
+          singleFlight.list("tasks.byProject", List.of(1L, 7L), () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return new ArrayList<>(List.of("a", "b"));
+          }), pool);
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+      List<CompletableFuture<List<String>>> followers = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        followers.add(CompletableFuture.supplyAsync(() ->
+            singleFlight.list("tasks.byProject", List.of(1L, 7L), () -> {
+              loads.incrementAndGet();
+              return List.of();
+            }), pool));
+      }
+      // followers must have joined before the load finishes
+      while (registry.get("taskmate.singleflight.coalesced").counter().count() < 5) {
+        Thread.sleep(5);
+      }
+      release.countDown();
+
+      List<String> result = leader.get(5, TimeUnit.SECONDS);
+      for (CompletableFuture<List<String>> f : followers) {
+        assertThat(f.get(5, TimeUnit.SECONDS)).isSameAs(result);
+      }
+      assertThat(loads).hasValue(1);
+      assertThatThrownBy(() -> result.add("c")).isInstanceOf(UnsupportedOperationException.class);
+      assertThat(registry.get("taskmate.singleflight.coalescing.ratio").gauge().value()).isEqualTo(5.0 / 6.0);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void finished_loads_are_not_reused_and_failures_reach_the_caller() {
+    AtomicInteger loads = new AtomicInteger();
+    singleFlight.execute("op", 1L, loads::incrementAndGet);
+    singleFlight.execute("op", 1L, loads::incrementAndGet);
+    assertThat(loads).hasValue(2);
+
+    assertThatThrownBy(() -> singleFlight.execute("op", 2L, () -> {
+      throw new IllegalStateException("boom");
+    })).hasMessage("boom");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
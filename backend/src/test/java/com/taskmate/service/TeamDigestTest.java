@@ -0,0 +1,190 @@
+package com.taskmate.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskmate.TestSupport;
+import com.taskmate.domain.DigestRun;
+import com.taskmate.domain.EmailOutbox;
+import com.taskmate.domain.Project;
+import com.taskmate.domain.Team;
+import com.taskmate.domain.TeamMember;
+import com.taskmate.domain.User;
+import com.taskmate.domain.enums.DigestRunStatus;
+import com.taskmate.domain.enums.GlobalRole;
+import com.taskmate.domain.enums.TeamRole;
+import com.taskmate.repo.DigestRunRepository;
+import com.taskmate.repo.EmailOutboxRepository;
+import com.taskmate.repo.ProjectRepository;
+import com.taskmate.repo.TeamMemberRepository;
+import com.taskmate.repo.TeamRepository;
+import com.taskmate.repo.UserRepository;
+import com.taskmate.security.JwtService;
+import com.taskmate.service.digest.TeamDigestJob;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TeamDigestTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepo;
+  @Autowired TeamRepository teamRepo;
+  @Autowired TeamMemberRepository memberRepo;
+  @Autowired ProjectRepository projectRepo;
+  @Autowired EmailOutboxRepository outboxRepo;
+  @Autowired DigestRunRepository runRepo;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JwtService jwtService;
+  @Autowired TeamDigestJob digestJob;
+
+  private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+  private User admin;
+  private User alice;
+  private User bob;
+  private String token;
+
+  @BeforeEach
+  void setup() throws Exception {
+    TestSupport.wipeDatabase(jdbc, emf);
+    admin = TestSupport.createUser(userRepo, encoder, "Admin", "admin@test.com", "admin123", GlobalRole.ADMIN);
+    alice = TestSupport.createUser(userRepo, encoder, "Alice", "alice@test.com", "alice123", GlobalRole.MEMBER);
+    bob = TestSupport.createUser(userRepo, encoder, "Bob", "bob@test.com", "bob12345", GlobalRole.MEMBER);
+    token = TestSupport.tokenFor(jwtService, admin);
+
+    Team design = TestSupport.createTeam(teamRepo, memberRepo, "Design", admin);
+    addMember(design, alice);
+    addMember(design, bob);
+    Team ops = TestSupport.createTeam(teamRepo, memberRepo, "Ops", admin);
+    addMember(ops, alice);
+
+    Project board = project(design);
+    long spec = createTask(board, "Spec");
+    mvc.perform(put("/api/projects/" + board.getId() + "/tasks/" + spec)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"status\":\"IN_PROGRESS\"}"))
+        .andExpect(status().isOk());
+    createTask(project(ops), "Deploy");
+    mvc.perform(post("/api/teams/" + design.getId() + "/messages")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"content\":\"@alice tolong cek spec\"}"))
+        .andExpect(status().isOk());
+    jdbc.update("insert into files (created_at, updated_at, team_id, uploaded_by_user_id, storage_key, original_name, "
+            + "content_type, size_bytes) values (?, ?, ?, ?, 'k', 'plan.pdf', 'application/pdf', 10)",
+        Timestamp.from(Instant.now()), Timestamp.from(Instant.now()), ops.getId(), admin.getId());
+  }
+
+  @AfterEach
+  void cleanup() {
+    TestSupport.wipeDatabase(jdbc, emf);
+  }
+
+  @Test
+  void one_email_per_member_covering_all_their_teams() {
+    DigestRun run = digestJob.run(today);
+
+    assertThat(run.getStatus()).isEqualTo(DigestRunStatus.DONE);
+    assertThat(run.getEmailsSent()).isEqualTo(3);
+    // created x2, status change, message, file
+    assertThat(run.getChangesTotal()).isEqualTo(5);
+
+    Map<String, String> bodies = outboxRepo.findAll().stream()
+        .collect(Collectors.toMap(EmailOutbox::getRecipient, EmailOutbox::getBody));
+    assertThat(bodies).containsOnlyKeys("admin@test.com", "alice@test.com", "bob@test.com");
+    assertThat(bodies.get("alice@test.com"))
+        .contains("== Design ==", "== Ops ==", "sebutan untuk Anda", "Admin: @alice tolong cek spec",
+            "Spec: TODO -> IN_PROGRESS", "Deploy", "plan.pdf");
+    assertThat(bodies.get("bob@test.com"))
+        .contains("== Design ==", "Spec")
+        .doesNotContain("Ops", "plan.pdf", "sebutan");
+
+    // a finished day is not sent again
+    digestJob.run(today);
+    assertThat(outboxRepo.count()).isEqualTo(3);
+  }
+
+  @Test
+  void resumes_after_the_last_committed_recipient() {
+    DigestRun checkpoint = new DigestRun();
+    checkpoint.setDay(today);
+    checkpoint.setStatus(DigestRunStatus.RUNNING);
+    checkpoint.setLastUserId(alice.getId());
+    checkpoint.setEmailsSent(2);
+    runRepo.save(checkpoint);
+
+    DigestRun run = digestJob.run(today);
+
+    assertThat(run.getStatus()).isEqualTo(DigestRunStatus.DONE);
+    assertThat(run.getEmailsSent()).isEqualTo(3);
+    assertThat(outboxRepo.findAll()).extracting(EmailOutbox::getRecipient).containsExactly("bob@test.com");
+  }
+
+  @Test
+  void unfinished_runs_are_picked_up_by_the_sweep() {
+    DigestRun checkpoint = new DigestRun();
+    checkpoint.setDay(today);
+    checkpoint.setStatus(DigestRunStatus.RUNNING);
+    checkpoint.setLastUserId(admin.getId());
+    checkpoint.setEmailsSent(1);
+    runRepo.save(checkpoint);
+
+    digestJob.resumeUnfinished();
+
+    assertThat(runRepo.findByDay(today)).hasValueSatisfying(run -> {
+      assertThat(run.getStatus()).isEqualTo(DigestRunStatus.DONE);
+      assertThat(run.getEmailsSent()).isEqualTo(3);
+    });
+  }
+
+  private void addMember(Team team, User user) {
+    TeamMember m = new TeamMember();
+    m.setTeam(team);
+    m.setUser(user);
+    m.setTeamRole(TeamRole.MEMBER);
+    memberRepo.save(m);
+  }
+
+  private Project project(Team team) {
+    Project p = new Project();
+    p.setTeam(team);
+    p.setCreatedBy(admin);
+    p.setName(team.getName() + " board");
+    return projectRepo.save(p);
+  }
+
+  private long createTask(Project project, String title) throws Exception {
+    String body = mvc.perform(post("/api/projects/" + project.getId() + "/tasks")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\":\"" + title + "\"}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return ((Number) JsonPath.read(body, "$.id")).longValue();
+  }
+}
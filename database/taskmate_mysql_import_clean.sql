@@ -16,7 +16,8 @@ CREATE TABLE users (
   password_hash VARCHAR(255) NOT NULL,
   role VARCHAR(20) NOT NULL,
   initials VARCHAR(5) NOT NULL,
-  UNIQUE KEY uk_users_email (email)
+  UNIQUE KEY uk_users_email (email),
+  KEY idx_users_updated (updated_at)
 ) ENGINE=InnoDB;
 
 CREATE TABLE teams (
@@ -26,6 +27,7 @@ CREATE TABLE teams (
   name VARCHAR(120) NOT NULL,
   description TEXT NULL,
   created_by_user_id BIGINT NOT NULL,
+  deleting BIT(1) NOT NULL DEFAULT b'0',
   CONSTRAINT fk_team_created_by FOREIGN KEY (created_by_user_id) REFERENCES users(id)
 ) ENGINE=InnoDB;
 
@@ -72,8 +74,13 @@ CREATE TABLE tasks (
   status VARCHAR(20) NOT NULL,
   priority VARCHAR(20) NOT NULL,
   due_date DATE NULL,
+  parent_task_id BIGINT NULL,
+  subtasks_total INT NOT NULL DEFAULT 0,
+  subtasks_done INT NOT NULL DEFAULT 0,
   KEY idx_tasks_project (project_id),
   KEY idx_tasks_assignee (assigned_to_user_id),
+  KEY idx_tasks_status_updated (status, updated_at),
+  KEY idx_tasks_due_status (due_date, status),
   CONSTRAINT fk_task_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
   CONSTRAINT fk_task_created_by FOREIGN KEY (created_by_user_id) REFERENCES users(id),
   CONSTRAINT fk_task_assigned_to FOREIGN KEY (assigned_to_user_id) REFERENCES users(id)
@@ -87,6 +94,7 @@ CREATE TABLE discussion_messages (
   author_user_id BIGINT NOT NULL,
   content TEXT NOT NULL,
   KEY idx_discussion_team (team_id),
+  KEY idx_discussion_created (created_at),
   CONSTRAINT fk_discussion_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
   CONSTRAINT fk_discussion_author FOREIGN KEY (author_user_id) REFERENCES users(id)
 ) ENGINE=InnoDB;
@@ -102,6 +110,7 @@ CREATE TABLE files (
   content_type VARCHAR(120) NOT NULL,
   size_bytes BIGINT NOT NULL,
   KEY idx_files_team (team_id),
+  KEY idx_files_created (created_at),
   CONSTRAINT fk_files_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
   CONSTRAINT fk_files_uploader FOREIGN KEY (uploaded_by_user_id) REFERENCES users(id)
 ) ENGINE=InnoDB;
@@ -113,9 +122,198 @@ CREATE TABLE password_reset_otps (
   otp_hash VARCHAR(255) NOT NULL,
   expires_at TIMESTAMP(6) NOT NULL,
   used BIT(1) NOT NULL,
-  KEY idx_reset_user (user_id),
+  attempts INT NOT NULL DEFAULT 0,
+  KEY idx_reset_user_active (user_id, used, created_at),
+  KEY idx_reset_expires (expires_at),
   CONSTRAINT fk_reset_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 ) ENGINE=InnoDB;
 
+CREATE TABLE content_versions (
+  scope_key VARCHAR(64) PRIMARY KEY,
+  version BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+CREATE TABLE email_outbox (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  dedup_key VARCHAR(128) NOT NULL,
+  recipient VARCHAR(190) NOT NULL,
+  subject VARCHAR(255) NOT NULL,
+  body TEXT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  attempts INT NOT NULL,
+  next_attempt_at TIMESTAMP(6) NOT NULL,
+  claim_token VARCHAR(36) NULL,
+  last_error VARCHAR(500) NULL,
+  created_at TIMESTAMP(6) NOT NULL,
+  sent_at TIMESTAMP(6) NULL,
+  KEY idx_outbox_due (status, next_attempt_at),
+  KEY idx_outbox_dedup (dedup_key),
+  KEY idx_outbox_claim (claim_token),
+  KEY idx_outbox_finished (status, created_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE team_deletion_jobs (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  team_id BIGINT NOT NULL,
+  team_name VARCHAR(120) NOT NULL,
+  requested_by_user_id BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  phase VARCHAR(20) NOT NULL,
+  files_total BIGINT NOT NULL,
+  files_deleted BIGINT NOT NULL,
+  messages_total BIGINT NOT NULL,
+  messages_deleted BIGINT NOT NULL,
+  tasks_total BIGINT NOT NULL,
+  tasks_deleted BIGINT NOT NULL,
+  projects_total BIGINT NOT NULL,
+  projects_deleted BIGINT NOT NULL,
+  lease_until TIMESTAMP(6) NULL,
+  last_error VARCHAR(500) NULL,
+  finished_at TIMESTAMP(6) NULL,
+  KEY idx_tdj_team (team_id),
+  KEY idx_tdj_status (status, lease_until)
+) ENGINE=InnoDB;
+
+CREATE TABLE tasks_archive (
+  id BIGINT PRIMARY KEY,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  archived_at TIMESTAMP(6) NOT NULL,
+  project_id BIGINT NOT NULL,
+  created_by_user_id BIGINT NOT NULL,
+  assigned_to_user_id BIGINT NULL,
+  title VARCHAR(200) NOT NULL,
+  description TEXT NULL,
+  status VARCHAR(20) NOT NULL,
+  priority VARCHAR(20) NOT NULL,
+  due_date DATE NULL,
+  parent_task_id BIGINT NULL,
+  KEY idx_tasks_archive_project (project_id),
+  CONSTRAINT fk_task_archive_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+  CONSTRAINT fk_task_archive_created_by FOREIGN KEY (created_by_user_id) REFERENCES users(id),
+  CONSTRAINT fk_task_archive_assigned_to FOREIGN KEY (assigned_to_user_id) REFERENCES users(id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED;
+
+CREATE TABLE discussion_messages_archive (
+  id BIGINT PRIMARY KEY,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  archived_at TIMESTAMP(6) NOT NULL,
+  team_id BIGINT NOT NULL,
+  author_user_id BIGINT NOT NULL,
+  content TEXT NOT NULL,
+  KEY idx_discussion_archive_team (team_id, created_at),
+  CONSTRAINT fk_discussion_archive_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
+  CONSTRAINT fk_discussion_archive_author FOREIGN KEY (author_user_id) REFERENCES users(id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED;
+
+CREATE TABLE discussion_read_cursors (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  team_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  read_count BIGINT NOT NULL,
+  UNIQUE KEY uk_read_cursor_team_user (team_id, user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE task_events (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  task_id BIGINT NOT NULL,
+  project_id BIGINT NOT NULL,
+  team_id BIGINT NOT NULL,
+  actor_user_id BIGINT NOT NULL,
+  occurred_at TIMESTAMP(6) NOT NULL,
+  type TINYINT NOT NULL,
+  old_value BIGINT NULL,
+  new_value BIGINT NULL,
+  KEY idx_task_events_task (task_id, id),
+  KEY idx_task_events_team (team_id, id),
+  KEY idx_task_events_time (occurred_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE project_flow_days (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  project_id BIGINT NOT NULL,
+  stat_day DATE NOT NULL,
+  todo_delta INT NOT NULL,
+  in_progress_delta INT NOT NULL,
+  review_delta INT NOT NULL,
+  done_delta INT NOT NULL,
+  todo_count INT NULL,
+  in_progress_count INT NULL,
+  review_count INT NULL,
+  done_count INT NULL,
+  created INT NOT NULL,
+  completed INT NOT NULL,
+  lead_hours BIGINT NOT NULL,
+  cycle_hours BIGINT NOT NULL,
+  UNIQUE KEY uk_flow_days_project_day (project_id, stat_day)
+) ENGINE=InnoDB;
+
+CREATE TABLE project_cycle_times (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  project_id BIGINT NOT NULL,
+  stat_day DATE NOT NULL,
+  bucket TINYINT NOT NULL,
+  lead_count INT NOT NULL,
+  cycle_count INT NOT NULL,
+  UNIQUE KEY uk_cycle_times_project_day_bucket (project_id, stat_day, bucket)
+) ENGINE=InnoDB;
+
+CREATE TABLE task_reminders (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  task_id BIGINT NOT NULL,
+  due_date DATE NOT NULL,
+  sent_at TIMESTAMP(6) NOT NULL,
+  UNIQUE KEY uk_task_reminders_task_due (task_id, due_date),
+  KEY idx_task_reminders_due (due_date)
+) ENGINE=InnoDB;
+
+CREATE TABLE scheduler_locks (
+  name VARCHAR(64) PRIMARY KEY,
+  owner VARCHAR(100) NOT NULL,
+  lease_until TIMESTAMP(6) NOT NULL
+) ENGINE=InnoDB;
+
+CREATE TABLE digest_runs (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  digest_day DATE NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  last_user_id BIGINT NOT NULL,
+  changes_total BIGINT NOT NULL,
+  recipients_total BIGINT NOT NULL,
+  emails_sent BIGINT NOT NULL,
+  finished_at TIMESTAMP(6) NULL,
+  UNIQUE KEY uk_digest_runs_day (digest_day)
+) ENGINE=InnoDB;
+
+CREATE TABLE task_dependencies (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  project_id BIGINT NOT NULL,
+  task_id BIGINT NOT NULL,
+  depends_on_task_id BIGINT NOT NULL,
+  UNIQUE KEY uk_task_dependencies_edge (task_id, depends_on_task_id),
+  KEY idx_task_dependencies_project (project_id),
+  KEY idx_task_dependencies_depends_on (depends_on_task_id),
+  CONSTRAINT fk_dependency_task FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE,
+  CONSTRAINT fk_dependency_depends_on FOREIGN KEY (depends_on_task_id) REFERENCES tasks(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE task_closure (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  ancestor_id BIGINT NOT NULL,
+  descendant_id BIGINT NOT NULL,
+  depth INT NOT NULL,
+  UNIQUE KEY uk_task_closure_pair (ancestor_id, descendant_id),
+  KEY idx_task_closure_descendant (descendant_id, depth),
+  CONSTRAINT fk_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES tasks(id) ON DELETE CASCADE,
+  CONSTRAINT fk_closure_descendant FOREIGN KEY (descendant_id) REFERENCES tasks(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
 -- schema only (no seed)
 SET FOREIGN_KEY_CHECKS = 1;